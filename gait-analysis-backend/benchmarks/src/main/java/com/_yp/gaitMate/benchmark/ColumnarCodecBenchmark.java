@@ -0,0 +1,164 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.recording.ColumnarBlockDecoder;
+import com._yp.gaitMate.recording.ColumnarBlockEncoder;
+import com._yp.gaitMate.recording.ColumnarBlockFormat;
+import com._yp.gaitMate.recording.SegmentFormat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode throughput of the columnar session format on a synthetic 10-minute session
+ * (60 000 frames at 100 Hz). Scores are per session; divide by 60 000 for per-frame cost.
+ *
+ * <p>{@link #main(String[])} first prints the compression ratio against the fixed-width
+ * segment records and against the JSON the device publishes, then runs the benchmarks:</p>
+ * <pre>
+ * java -cp target/benchmarks.jar com._yp.gaitMate.benchmark.ColumnarCodecBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarCodecBenchmark {
+
+    static final int SESSION_FRAMES = 60_000;
+
+    @Param({"256", "1024", "4096"})
+    public int blockFrames;
+
+    private SensorFrame[] frames;
+    private ColumnarBlockEncoder encoder;
+    private ColumnarBlockDecoder decoder;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setUp() {
+        frames = generate(SESSION_FRAMES);
+        encoder = new ColumnarBlockEncoder(blockFrames);
+        decoder = new ColumnarBlockDecoder();
+        encoded = ByteBuffer.wrap(concat(encodeAll(frames, encoder)));
+    }
+
+    @Benchmark
+    public int encodeSession() {
+        int bytes = 0;
+        for (SensorFrame frame : frames) {
+            if (encoder.add(frame)) {
+                bytes += encoder.encode().length;
+            }
+        }
+        if (!encoder.isEmpty()) {
+            bytes += encoder.encode().length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public void decodeSession(Blackhole blackhole) {
+        encoded.rewind();
+        while (encoded.hasRemaining()) {
+            decoder.decode(encoded, blackhole::consume);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        printCompressionReport();
+
+        Options options = new OptionsBuilder()
+                .include(ColumnarCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Prints encoded sizes for a few block sizes next to the row-wise and JSON baselines.
+     */
+    static void printCompressionReport() {
+        SensorFrame[] session = generate(SESSION_FRAMES);
+
+        long jsonBytes = 0;
+        for (SensorFrame frame : session) {
+            jsonBytes += toJson(frame).length();
+        }
+        long rowBytes = SegmentFormat.HEADER_BYTES + (long) SESSION_FRAMES * SegmentFormat.RECORD_BYTES;
+
+        System.out.printf("Synthetic session: %,d frames (10 min @ 100 Hz)%n", SESSION_FRAMES);
+        System.out.printf("  %-22s %,12d bytes%n", "JSON payloads", jsonBytes);
+        System.out.printf("  %-22s %,12d bytes  (%.1fx vs JSON)%n", "segment (128 B rows)", rowBytes,
+                (double) jsonBytes / rowBytes);
+        for (int block : new int[]{256, 1024, 4096}) {
+            long columnar = concat(encodeAll(session, new ColumnarBlockEncoder(block))).length;
+            System.out.printf("  %-22s %,12d bytes  (%.1fx vs segment, %.1fx vs JSON, %.1f B/frame)%n",
+                    "columnar, " + block + "/block", columnar,
+                    (double) rowBytes / columnar, (double) jsonBytes / columnar,
+                    (double) columnar / SESSION_FRAMES);
+        }
+        System.out.printf("  (block header: %d B)%n", ColumnarBlockFormat.HEADER_BYTES);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static SensorFrame[] generate(int count) {
+        SyntheticSession source = new SyntheticSession(34, 42);
+        SensorFrame[] frames = new SensorFrame[count];
+        for (int i = 0; i < count; i++) {
+            frames[i] = new SensorFrame();
+            source.next(frames[i]);
+        }
+        return frames;
+    }
+
+    private static List<byte[]> encodeAll(SensorFrame[] frames, ColumnarBlockEncoder encoder) {
+        List<byte[]> blocks = new ArrayList<>();
+        for (SensorFrame frame : frames) {
+            if (encoder.add(frame)) {
+                blocks.add(encoder.encode());
+            }
+        }
+        if (!encoder.isEmpty()) {
+            blocks.add(encoder.encode());
+        }
+        return blocks;
+    }
+
+    private static byte[] concat(List<byte[]> blocks) {
+        int total = blocks.stream().mapToInt(b -> b.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        blocks.forEach(buffer::put);
+        return buffer.array();
+    }
+
+    private static String toJson(SensorFrame frame) {
+        StringBuilder json = new StringBuilder(640);
+        json.append("{\"type\":\"sensor_data\",\"device_id\":\"").append(frame.getDeviceId())
+                .append("\",\"timestamp\":").append(frame.getTimestamp());
+        for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+            json.append(",\"FSR_").append(c + 1).append("\":").append(frame.getFsr()[c]);
+        }
+        String[] imu = {"yaw", "pitch", "roll", "q0", "q1", "q2", "q3", "ax", "ay", "az", "gx", "gy", "gz"};
+        for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+            json.append(",\"").append(imu[c]).append("\":").append(frame.getImu()[c]);
+        }
+        String[] cal = {"sys_cal", "gyro_cal", "accel_cal", "mag_cal"};
+        for (int c = 0; c < SensorFrame.CAL_CHANNELS; c++) {
+            json.append(",\"").append(cal[c]).append("\":").append(frame.getCal()[c]);
+        }
+        return json.append('}').toString();
+    }
+}
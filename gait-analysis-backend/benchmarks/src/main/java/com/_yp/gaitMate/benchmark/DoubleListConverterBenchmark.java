@@ -0,0 +1,81 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.util.DoubleListToStringConverter;
+import com._yp.gaitMate.util.PackedDoubleArrayConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DoubleListToStringConverter} round trips for the stride lists stored with every result, against
+ * the {@link PackedDoubleArrayConverter} that replaced it. A 10-minute walk has roughly 500 strides.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar DoubleListConverterBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoubleListConverterBenchmark {
+
+    @Param({"50", "500"})
+    public int strides;
+
+    private DoubleListToStringConverter converter;
+    private List<Double> strideTimes;
+    private String column;
+    private PackedDoubleArrayConverter packedConverter;
+    private double[] strideArray;
+    private byte[] packedColumn;
+
+    @Setup
+    public void setUp() {
+        converter = new DoubleListToStringConverter();
+        Random random = new Random(42);
+        strideTimes = new ArrayList<>(strides);
+        for (int i = 0; i < strides; i++) {
+            strideTimes.add(1.1 + random.nextGaussian() * 0.05);
+        }
+        column = converter.convertToDatabaseColumn(strideTimes);
+        packedConverter = new PackedDoubleArrayConverter();
+        strideArray = strideTimes.stream().mapToDouble(Double::doubleValue).toArray();
+        packedColumn = packedConverter.convertToDatabaseColumn(strideArray);
+    }
+
+    @Benchmark
+    public String toColumn() {
+        return converter.convertToDatabaseColumn(strideTimes);
+    }
+
+    @Benchmark
+    public List<Double> fromColumn() {
+        return converter.convertToEntityAttribute(column);
+    }
+
+    @Benchmark
+    public List<Double> roundTrip() {
+        return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(strideTimes));
+    }
+
+    @Benchmark
+    public byte[] packedToColumn() {
+        return packedConverter.convertToDatabaseColumn(strideArray);
+    }
+
+    @Benchmark
+    public double[] packedFromColumn() {
+        return packedConverter.convertToEntityAttribute(packedColumn);
+    }
+
+    @Benchmark
+    public double[] packedRoundTrip() {
+        return packedConverter.convertToEntityAttribute(packedConverter.convertToDatabaseColumn(strideArray));
+    }
+}
@@ -0,0 +1,189 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.gait.LiveGaitMetricsService;
+import com._yp.gaitMate.gait.LiveMetricsProperties;
+import com._yp.gaitMate.mqtt.core.AbstractTopicListener;
+import com._yp.gaitMate.mqtt.core.DeviceTopicDispatcher;
+import com._yp.gaitMate.mqtt.core.IngestExecutors;
+import com._yp.gaitMate.mqtt.core.IngestProperties;
+import com._yp.gaitMate.mqtt.frame.DeviceStreams;
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.mqtt.frame.StreamProperties;
+import com._yp.gaitMate.mqtt.listeners.AliveSignalListener;
+import com._yp.gaitMate.mqtt.listeners.CalibrationStatusListener;
+import com._yp.gaitMate.mqtt.listeners.OrientationStatusListener;
+import com._yp.gaitMate.mqtt.listeners.SensorDataListener;
+import com._yp.gaitMate.mqtt.simulator.SensorKitSimulator;
+import com._yp.gaitMate.mqtt.simulator.SimulatorProperties;
+import com._yp.gaitMate.mqtt.transport.LoopbackMqttTransport;
+import com._yp.gaitMate.recording.RecordingProperties;
+import com._yp.gaitMate.recording.SessionRecorder;
+import com._yp.gaitMate.service.sensorKitService.DeviceLivenessTracker;
+import com._yp.gaitMate.service.sensorKitService.SensorKitService;
+import com._yp.gaitMate.websocket.NotificationService;
+import com._yp.gaitMate.websocket.SensorEncodingRegistry;
+import com._yp.gaitMate.websocket.SensorStreamProperties;
+import com._yp.gaitMate.websocket.SensorBatchProperties;
+import com._yp.gaitMate.websocket.SensorDataBatcher;
+import com._yp.gaitMate.websocket.message.SensorDataBatchWebSocketMessage;
+import com._yp.gaitMate.websocket.relay.InMemoryPresenceRegistry;
+import com._yp.gaitMate.websocket.relay.InProcessClusterRelay;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Single-node ingest load test: N simulated kits → loopback MQTT → dispatcher → sharded ingest →
+ * reorder buffer → recording + live metrics → STOMP message conversion.
+ * <p>
+ * Every kit runs an ACTIVE session, so frames are also written to segment files (in a temp
+ * directory) and fed to the live metrics. Latency is measured from the simulator handing a frame
+ * to the transport until the JSON STOMP message for it has been built and sent to the broker
+ * channel; the WebSocket write itself is not included. The reorder window
+ * ({@code mqtt.stream.reorder-window-frames} × sample period, 50 ms by default) is part of it. The database is replaced by a stub that
+ * links every kit to a user.
+ * </p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com._yp.gaitMate.benchmark.IngestLoadHarness 200 30 2   # devices, seconds, publisher threads
+ * </pre>
+ */
+public class IngestLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int devices = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int publisherThreads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        // Without Spring Boot, logback logs everything at DEBUG, which would dominate the measurement
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer latency = Timer.builder("harness.latency")
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .register(registry);
+        Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+        AtomicLong delivered = new AtomicLong();
+
+        // STOMP side: real Jackson conversion, the broker channel just accepts the message
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        NotificationService notifications = new NotificationService(template,
+                new SensorEncodingRegistry(new SensorStreamProperties()),
+                new InProcessClusterRelay("harness", new InProcessClusterRelay.Hub()), new InMemoryPresenceRegistry()) {
+            @Override
+            public void sendSensorFrameToUser(String username, SensorFrame frame) {
+                super.sendSensorFrameToUser(username, frame);
+                delivered(frame.getDeviceId(), frame.getTimestamp());
+            }
+
+            @Override
+            public void sendSensorDataBatchToUser(String username, SensorDataBatchWebSocketMessage message) {
+                super.sendSensorDataBatchToUser(username, message);
+                for (long timestamp : message.getTimestamps()) {
+                    delivered(message.getDeviceId(), timestamp);
+                }
+            }
+
+            private void delivered(long deviceId, long timestamp) {
+                Long publishedAt = inFlight.remove(key(deviceId, timestamp));
+                if (publishedAt != null) {
+                    latency.record(System.nanoTime() - publishedAt, TimeUnit.NANOSECONDS);
+                    delivered.incrementAndGet();
+                }
+            }
+        };
+
+        SensorKitService sensorKits = mock(SensorKitService.class, withSettings().stubOnly());
+        when(sensorKits.getUsernameBySensorKitId(anyLong())).thenReturn("load-test");
+
+        Path recordings = Files.createTempDirectory("gait-harness");
+        RecordingProperties recordingProperties = new RecordingProperties();
+        recordingProperties.setDirectory(recordings.toString());
+        SessionRecorder recorder = new SessionRecorder(recordingProperties, registry);
+        LiveGaitMetricsService liveMetrics = new LiveGaitMetricsService(new LiveMetricsProperties(), notifications);
+        DeviceStreams streams = new DeviceStreams(new StreamProperties());
+        SensorDataBatcher batcher = new SensorDataBatcher(new SensorBatchProperties(), notifications);
+        liveMetrics.start();
+        batcher.start();
+
+        IngestExecutors executors = new IngestExecutors(new IngestProperties(), registry);
+        List<AbstractTopicListener> listeners = List.of(
+                new SensorDataListener(sensorKits, batcher, recorder, liveMetrics, streams),
+                new AliveSignalListener(sensorKits, notifications, mock(DeviceLivenessTracker.class, withSettings().stubOnly())),
+                new CalibrationStatusListener(sensorKits, notifications),
+                new OrientationStatusListener(sensorKits, notifications));
+        listeners.forEach(listener -> listener.setIngestExecutors(executors));
+
+        LoopbackMqttTransport transport = new LoopbackMqttTransport();
+        transport.subscribe(new DeviceTopicDispatcher(listeners, registry));
+
+        SimulatorProperties simulatorProperties = new SimulatorProperties();
+        simulatorProperties.setDevices(devices);
+        simulatorProperties.setPublisherThreads(publisherThreads);
+        for (long deviceId = 1; deviceId <= devices; deviceId++) {
+            recorder.start(deviceId, deviceId);
+            liveMetrics.startSession(deviceId, deviceId, "load-test");
+            streams.beginSession(deviceId);
+        }
+
+        SensorKitSimulator simulator = new SensorKitSimulator(transport, simulatorProperties);
+        simulator.setObserver((deviceId, timestamp, nanos) -> inFlight.put(key(deviceId, timestamp), nanos));
+
+        System.out.printf("Simulating %d kits at %d Hz for %d s (%d publisher thread(s))...%n",
+                devices, simulatorProperties.getSampleRateHz(), seconds, publisherThreads);
+        long start = System.nanoTime();
+        simulator.start();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        simulator.stop();
+        for (long deviceId = 1; deviceId <= devices; deviceId++) {
+            streams.endSession(deviceId);
+        }
+        Thread.sleep(500);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long published = simulator.getFramesPublished();
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        System.out.printf("published   %,d frames (%,.0f frames/s offered)%n", published, published / elapsed);
+        System.out.printf("delivered   %,d frames (%,.0f frames/s sustained)%n", delivered.get(), delivered.get() / elapsed);
+        System.out.printf("lost        %,d frames (overflow drops: %.0f)%n", published - delivered.get(),
+                registry.find("mqtt.ingest.dropped").counters().stream().mapToDouble(c -> c.count()).sum());
+        for (ValueAtPercentile p : snapshot.percentileValues()) {
+            System.out.printf("latency p%-5s %8.3f ms%n", p.percentile() * 100, p.value(TimeUnit.MILLISECONDS));
+        }
+        System.out.printf("latency max    %8.3f ms%n", snapshot.max(TimeUnit.MILLISECONDS));
+
+        for (long deviceId = 1; deviceId <= devices; deviceId++) {
+            recorder.stop(deviceId, deviceId);
+        }
+        batcher.stop();
+        liveMetrics.shutdown();
+        executors.shutdown();
+        try (Stream<Path> files = Files.walk(recordings)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static long key(long deviceId, long timestamp) {
+        return deviceId << 42 | timestamp;
+    }
+}
@@ -0,0 +1,64 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT work done by {@code AuthTokenFilter} and the WebSocket CONNECT interceptor:
+ * {@link JwtUtils#validateJwtToken} followed by {@link JwtUtils#getUsernameFromToken}.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar JwtBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        set(jwtUtils, "jwtSecret", Base64.getEncoder().encodeToString(new byte[64]));
+        set(jwtUtils, "jwtExpirationMs", 432_000_000);
+
+        token = jwtUtils.generateTokenFromUsername(User.withUsername("doctor@clinic.lk")
+                .password("unused")
+                .roles("DOCTOR")
+                .build());
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String username() {
+        return jwtUtils.getUsernameFromToken(token);
+    }
+
+    /** What an authenticated request pays today: validate, then parse again for the username. */
+    @Benchmark
+    public String validateThenUsername() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUsernameFromToken(token) : null;
+    }
+
+    private static void set(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,82 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.mqtt.frame.SensorFrameParser;
+import com._yp.gaitMate.mqtt.listeners.ListenerUtil;
+import com._yp.gaitMate.websocket.message.SensorDataWebSocketMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the tree-based {@link ListenerUtil#extractSensorData(String, String)} path
+ * with the streaming {@link SensorFrameParser} for a single {@code sensor_data} frame.
+ *
+ * <p>Run with the GC profiler to see bytes allocated per frame:</p>
+ * <pre>
+ * java -jar target/benchmarks.jar SensorDataParsingBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SensorDataParsingBenchmark {
+
+    static final String TOPIC = "device/34/sensor_data";
+
+    static final String PAYLOAD = "{ \"type\": \"sensor_data\", \"device_id\": \"34\", \"timestamp\": 1718000000123"
+            + ", \"FSR_1\": 812, \"FSR_2\": 1650, \"FSR_3\": 1702, \"FSR_4\": 1533, \"FSR_5\": 402"
+            + ", \"FSR_6\": 95, \"FSR_7\": 130, \"FSR_8\": 88, \"FSR_9\": 101, \"FSR_10\": 1490"
+            + ", \"FSR_11\": 377, \"FSR_12\": 265, \"FSR_13\": 310, \"FSR_14\": 288, \"FSR_15\": 199, \"FSR_16\": 64"
+            + ", \"yaw\": 12.54, \"pitch\": -3.12, \"roll\": 0.87"
+            + ", \"q0\": 0.99, \"q1\": 0.02, \"q2\": -0.03, \"q3\": 0.11"
+            + ", \"ax\": 0.12, \"ay\": -0.45, \"az\": 9.78"
+            + ", \"gx\": 0.01, \"gy\": -0.02, \"gz\": 0.35"
+            + ", \"sys_cal\": 3, \"gyro_cal\": 3, \"accel_cal\": 3, \"mag_cal\": 2 }";
+
+    private byte[] payloadBytes;
+    private SensorFrame frame;
+
+    @Setup
+    public void setUp() {
+        payloadBytes = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        frame = new SensorFrame();
+    }
+
+    /** Current path: String payload → JsonNode tree → 36 lookups → Lombok builder. */
+    @Benchmark
+    public SensorDataWebSocketMessage treeBased() {
+        return ListenerUtil.extractSensorData(TOPIC, PAYLOAD);
+    }
+
+    /** Streaming path: message bytes → reusable primitive frame. */
+    @Benchmark
+    public SensorFrame streaming() {
+        SensorFrameParser.parse(TOPIC, payloadBytes, frame);
+        return frame;
+    }
+
+    /** Streaming path plus the DTO that is still built for the JSON WebSocket push. */
+    @Benchmark
+    public SensorDataWebSocketMessage streamingToMessage() {
+        SensorFrameParser.parse(TOPIC, payloadBytes, frame);
+        return frame.toWebSocketMessage();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SensorDataParsingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
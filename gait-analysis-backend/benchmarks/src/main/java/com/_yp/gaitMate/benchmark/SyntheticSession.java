@@ -0,0 +1,29 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.mqtt.simulator.VirtualSensorKit;
+
+/**
+ * Deterministic generator of plausible {@code sensor_data} frames for benchmarks.
+ * <p>
+ * A fixed-seed {@link VirtualSensorKit} at 100 Hz, starting from a fixed timestamp, so every
+ * benchmark run sees the same session.
+ * </p>
+ */
+public final class SyntheticSession {
+
+    public static final int SAMPLE_PERIOD_MS = 10;
+
+    private final VirtualSensorKit kit;
+
+    public SyntheticSession(long deviceId, long seed) {
+        this.kit = new VirtualSensorKit(deviceId, SAMPLE_PERIOD_MS, 1_718_000_000_000L, seed);
+    }
+
+    /**
+     * Overwrites {@code frame} with the next sample.
+     */
+    public void next(SensorFrame frame) {
+        kit.next(frame);
+    }
+}
@@ -0,0 +1,86 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.dto.testSession.TestSessionDetailsResponse;
+import com._yp.gaitMate.mapper.TestSessionMapper;
+import com._yp.gaitMate.model.Feedback;
+import com._yp.gaitMate.model.Patient;
+import com._yp.gaitMate.model.ProcessedTestResults;
+import com._yp.gaitMate.model.RawSensorData;
+import com._yp.gaitMate.model.TestSession;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TestSessionMapper#toDetailsResponse} for a completed session with results, feedback
+ * and a raw data file, alone and followed by the JSON serialization the controller does.
+ * Session lists map one of these per row.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar TestSessionMapperBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestSessionMapperBenchmark {
+
+    private TestSessionMapper mapper;
+    private ObjectMapper objectMapper;
+    private TestSession session;
+
+    @Setup
+    public void setUp() {
+        mapper = new TestSessionMapper();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        double[] strideTimes = new double[500];
+        for (int i = 0; i < strideTimes.length; i++) {
+            strideTimes[i] = 1.1 + (i % 7) * 0.01;
+        }
+
+        LocalDateTime start = LocalDateTime.of(2025, 6, 1, 10, 0);
+        session = TestSession.builder()
+                .id(42L)
+                .patient(Patient.builder().id(7L).name("Patient").build())
+                .startTime(start)
+                .endTime(start.plusMinutes(10))
+                .status(TestSession.Status.COMPLETED)
+                .feedback(Feedback.builder().id(1L).notes("Good symmetry, work on cadence.").createdAt(start.plusHours(1)).build())
+                .rawSensorData(RawSensorData.builder().id(1L).path("recordings/session-42.seg").build())
+                .build();
+        session.setResults(ProcessedTestResults.builder()
+                .id(1L)
+                .session(session)
+                .steps(1040)
+                .cadence(104.0)
+                .avgHeelForce(1810.5)
+                .avgToeForce(1420.2)
+                .avgMidfootForce(630.9)
+                .balanceScore(0.93)
+                .peakImpact(3920)
+                .durationSeconds(600.0)
+                .avgSwingTime(0.44)
+                .avgStanceTime(0.66)
+                .strideTimes(strideTimes)
+                .pressureResultsPath("results/session-42.png")
+                .build());
+    }
+
+    @Benchmark
+    public TestSessionDetailsResponse toDetailsResponse() {
+        return mapper.toDetailsResponse(session);
+    }
+
+    @Benchmark
+    public byte[] toDetailsResponseJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapper.toDetailsResponse(session));
+    }
+}
@@ -0,0 +1,77 @@
+package com._yp.gaitMate.benchmark;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.BinarySensorCodec;
+import com._yp.gaitMate.websocket.message.SensorDataWebSocketMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of pushing one {@code SENSOR_DATA} frame through {@link SimpMessagingTemplate#convertAndSendToUser},
+ * i.e. building the DTO, Jackson serialization and STOMP header setup, with the broker channel
+ * replaced by a blackhole.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar WebSocketSerializationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketSerializationBenchmark {
+
+    private MappingJackson2MessageConverter converter;
+    private SimpMessagingTemplate template;
+    private SensorFrame frame;
+    private SensorDataWebSocketMessage message;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        converter = new MappingJackson2MessageConverter();
+        template = new SimpMessagingTemplate((msg, timeout) -> {
+            blackhole.consume(msg);
+            return true;
+        });
+        // Spring's default converter chain: byte[] payloads pass through, everything else becomes JSON
+        template.setMessageConverter(new CompositeMessageConverter(List.of(new ByteArrayMessageConverter(), converter)));
+
+        frame = new SensorFrame();
+        new SyntheticSession(34, 1).next(frame);
+        message = frame.toWebSocketMessage();
+    }
+
+    /** Jackson only: DTO → JSON bytes. */
+    @Benchmark
+    public Message<?> serialize() {
+        return converter.toMessage(message, null);
+    }
+
+    /** What {@code NotificationService.sendSensorDataToUser} does per frame. */
+    @Benchmark
+    public void convertAndSendToUser() {
+        template.convertAndSendToUser("patient@example.com", "/topic/data/sensor", message);
+    }
+
+    /** The listener path: reusable frame → DTO → STOMP message. */
+    @Benchmark
+    public void frameToStomp() {
+        template.convertAndSendToUser("patient@example.com", "/topic/data/sensor", frame.toWebSocketMessage());
+    }
+
+    /** The same frame for a subscriber that negotiated binary. */
+    @Benchmark
+    public void binaryFrameToStomp() {
+        template.convertAndSendToUser("patient@example.com", "/topic/data/sensor/bin", BinarySensorCodec.encode(frame));
+    }
+}
@@ -0,0 +1,51 @@
+package com._yp.gaitMate.SQS;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link SqsGateway} backed by {@code SendMessageBatch} on the shared {@link SqsAsyncClient}.
+ * Queue URLs are resolved once per queue name.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sqs.gateway", havingValue = "aws", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AwsSqsGateway implements SqsGateway {
+
+    private final SqsAsyncClient sqsAsyncClient;
+
+    private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, String> sendBatch(String queueName, List<Entry> entries) {
+        if (entries.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " entries per batch");
+        }
+        String queueUrl = queueUrls.computeIfAbsent(queueName,
+                name -> sqsAsyncClient.getQueueUrl(request -> request.queueName(name)).join().queueUrl());
+
+        SendMessageBatchResponse response = sqsAsyncClient.sendMessageBatch(request -> request
+                .queueUrl(queueUrl)
+                .entries(entries.stream()
+                        .map(entry -> SendMessageBatchRequestEntry.builder()
+                                .id(entry.id())
+                                .messageBody(entry.body())
+                                .build())
+                        .toList()))
+                .join();
+
+        return response.failed().stream()
+                .collect(Collectors.toMap(BatchResultErrorEntry::id,
+                        error -> error.code() + ": " + error.message()));
+    }
+}
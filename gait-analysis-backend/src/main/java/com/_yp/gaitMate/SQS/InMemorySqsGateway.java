@@ -0,0 +1,57 @@
+package com._yp.gaitMate.SQS;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process {@link SqsGateway}: accepted messages are kept in memory per queue, nothing leaves the JVM.
+ * <p>
+ * Used to run the backend without AWS and to test the outbox. {@link #setFailing(boolean)} rejects
+ * every call, the way an SQS outage or missing permission would.
+ * </p>
+ *
+ * <p>Enable with:</p>
+ * <pre>
+ * app:
+ *   sqs:
+ *     gateway: in-memory
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "app.sqs.gateway", havingValue = "in-memory")
+@Slf4j
+public class InMemorySqsGateway implements SqsGateway {
+
+    private final Map<String, List<String>> queues = new ConcurrentHashMap<>();
+
+    @Setter
+    private volatile boolean failing;
+
+    @Override
+    public Map<String, String> sendBatch(String queueName, List<Entry> entries) {
+        if (entries.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " entries per batch");
+        }
+        if (failing) {
+            throw new IllegalStateException("SQS unavailable (in-memory gateway set to fail)");
+        }
+        List<String> queue = queues.computeIfAbsent(queueName, name -> new CopyOnWriteArrayList<>());
+        entries.forEach(entry -> queue.add(entry.body()));
+        log.debug("📥 In-memory SQS [{}] accepted {} messages", queueName, entries.size());
+        return Map.of();
+    }
+
+    /**
+     * Messages accepted so far on {@code queueName}, in send order.
+     */
+    public List<String> messages(String queueName) {
+        return List.copyOf(queues.getOrDefault(queueName, List.of()));
+    }
+}
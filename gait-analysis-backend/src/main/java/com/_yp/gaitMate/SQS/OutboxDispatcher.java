@@ -0,0 +1,292 @@
+package com._yp.gaitMate.SQS;
+
+import com._yp.gaitMate.model.OutboxMessage;
+import com._yp.gaitMate.repository.OutboxMessageRepository;
+import com._yp.gaitMate.service.testSessionService.DataProcessingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends {@link OutboxMessage} rows to SQS.
+ * <p>
+ * Rows are written in the same transaction as the state change that needs them (see
+ * {@link DataProcessingService#enqueueProcessingRequest}), so a committed PROCESSING session always has its
+ * message, and a rolled back one never does. The dispatcher runs on one daemon thread: every
+ * {@code poll-interval-ms}, and right after a transaction that enqueued a message commits, it locks up to
+ * {@code claim-size} due rows ({@code FOR UPDATE SKIP LOCKED}, so several nodes can drain the same table),
+ * sends them with {@code SendMessageBatch} in groups of {@link SqsGateway#MAX_BATCH_SIZE} and records the
+ * outcome in the same transaction.
+ * </p>
+ *
+ * <p>
+ * Failed entries are retried with exponential backoff. After {@code max-attempts} the row becomes FAILED and
+ * its test session is marked FAILED. Pending rows survive a restart and are picked up by the first poll.
+ * Delivery is at-least-once: a node dying between the send and the commit resends the batch.
+ * </p>
+ *
+ * <p>Metrics: {@code sqs.outbox.pending}, {@code sqs.outbox.lag.seconds} (age of the oldest pending row),
+ * {@code sqs.outbox.dispatched} (tagged {@code result=sent|retried|failed}) and {@code sqs.outbox.delivery}
+ * (enqueue → sent).</p>
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxProperties properties;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final SqsGateway sqsGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final DataProcessingService dataProcessingService;
+    private final Clock clock;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer delivery;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public OutboxDispatcher(OutboxProperties properties, OutboxMessageRepository outboxMessageRepository,
+                            SqsGateway sqsGateway, PlatformTransactionManager transactionManager,
+                            DataProcessingService dataProcessingService, MeterRegistry meterRegistry) {
+        this(properties, outboxMessageRepository, sqsGateway, new TransactionTemplate(transactionManager),
+                dataProcessingService, meterRegistry, Clock.systemUTC());
+    }
+
+    OutboxDispatcher(OutboxProperties properties, OutboxMessageRepository outboxMessageRepository,
+                     SqsGateway sqsGateway, TransactionTemplate transactionTemplate,
+                     DataProcessingService dataProcessingService, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.sqsGateway = sqsGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.dataProcessingService = dataProcessingService;
+        this.clock = clock;
+
+        this.sent = dispatched(meterRegistry, "sent");
+        this.retried = dispatched(meterRegistry, "retried");
+        this.failed = dispatched(meterRegistry, "failed");
+        this.delivery = Timer.builder("sqs.outbox.delivery").register(meterRegistry);
+        Gauge.builder("sqs.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("sqs.outbox.lag.seconds", this, OutboxDispatcher::lagSeconds).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, properties.getPollIntervalMs());
+        executor.scheduleWithFixedDelay(this::drainSafely, 0, interval, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::purgeSafely, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wakes the dispatcher once the transaction that enqueued a message has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMessageEnqueued(OutboxMessageEnqueuedEvent event) {
+        if (executor != null && !executor.isShutdown()) {
+            executor.execute(this::drainSafely);
+        }
+    }
+
+    /**
+     * Sends due messages until none are left or {@code max-claims-per-poll} transactions have run.
+     *
+     * @return the number of rows handled (sent, rescheduled or failed)
+     */
+    int drain() {
+        int handled = 0;
+        int claimSize = Math.max(1, properties.getClaimSize());
+        for (int i = 0; i < properties.getMaxClaimsPerPoll(); i++) {
+            Integer claimed = transactionTemplate.execute(status -> dispatchClaim(claimSize));
+            int count = claimed != null ? claimed : 0;
+            handled += count;
+            if (count < claimSize) {
+                break;
+            }
+        }
+        refreshBacklog();
+        return handled;
+    }
+
+    /**
+     * Age of the oldest pending message, 0 when the outbox is empty.
+     */
+    double lagSeconds() {
+        Instant oldest = oldestPending.get();
+        if (oldest == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(oldest, clock.instant()).toMillis() / 1000.0);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void drainSafely() {
+        try {
+            int handled = drain();
+            if (handled > 0) {
+                log.debug("📤 Outbox handled {} messages", handled);
+            }
+        } catch (Exception e) {
+            log.error("❌ Outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            Instant before = clock.instant().minus(properties.getRetentionHours(), ChronoUnit.HOURS);
+            int deleted = outboxMessageRepository.deleteSentBefore(before);
+            if (deleted > 0) {
+                log.info("🧹 Outbox purged {} sent messages", deleted);
+            }
+        } catch (Exception e) {
+            log.error("❌ Outbox purge failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int dispatchClaim(int claimSize) {
+        Instant now = clock.instant();
+        List<OutboxMessage> claimed = outboxMessageRepository.claimDue(now, PageRequest.of(0, claimSize));
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxMessage>> byQueue = new LinkedHashMap<>();
+        for (OutboxMessage message : claimed) {
+            byQueue.computeIfAbsent(message.getQueueName(), q -> new ArrayList<>()).add(message);
+        }
+
+        for (Map.Entry<String, List<OutboxMessage>> queue : byQueue.entrySet()) {
+            List<OutboxMessage> messages = queue.getValue();
+            for (int from = 0; from < messages.size(); from += SqsGateway.MAX_BATCH_SIZE) {
+                List<OutboxMessage> batch = messages.subList(from, Math.min(from + SqsGateway.MAX_BATCH_SIZE, messages.size()));
+                sendBatch(queue.getKey(), batch, now);
+            }
+        }
+
+        outboxMessageRepository.saveAll(claimed);
+        return claimed.size();
+    }
+
+    private void sendBatch(String queueName, List<OutboxMessage> batch, Instant now) {
+        List<SqsGateway.Entry> entries = batch.stream()
+                .map(message -> new SqsGateway.Entry(String.valueOf(message.getId()), message.getPayload()))
+                .toList();
+
+        Map<String, String> failures;
+        try {
+            failures = sqsGateway.sendBatch(queueName, entries);
+        } catch (Exception e) {
+            log.warn("⚠️ SendMessageBatch to [{}] failed for {} messages: {}", queueName, batch.size(), e.getMessage());
+            failures = new HashMap<>();
+            for (SqsGateway.Entry entry : entries) {
+                failures.put(entry.id(), String.valueOf(e.getMessage()));
+            }
+        }
+
+        for (OutboxMessage message : batch) {
+            String error = failures.get(String.valueOf(message.getId()));
+            if (error == null) {
+                markSent(message, now);
+            } else {
+                markAttemptFailed(message, error, now);
+            }
+        }
+    }
+
+    private void markSent(OutboxMessage message, Instant now) {
+        message.setAttempts(message.getAttempts() + 1);
+        message.setStatus(OutboxMessage.Status.SENT);
+        message.setSentAt(now);
+        message.setLastError(null);
+        sent.increment();
+        delivery.record(Duration.between(message.getCreatedAt(), now));
+        log.info("✅ Outbox message {} sent to SQS for session {}", message.getId(), message.getSessionId());
+    }
+
+    private void markAttemptFailed(OutboxMessage message, String error, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+
+        if (attempts >= properties.getMaxAttempts()) {
+            message.setStatus(OutboxMessage.Status.FAILED);
+            failed.increment();
+            log.error("❌ Outbox message {} for session {} failed after {} attempts: {}",
+                    message.getId(), message.getSessionId(), attempts, error);
+            dataProcessingService.markSessionAsFailed(message.getSessionId());
+            return;
+        }
+
+        long delay = backoffMs(attempts);
+        message.setNextAttemptAt(now.plusMillis(delay));
+        retried.increment();
+        log.warn("⚠️ Outbox message {} attempt {} failed, retrying in {} ms: {}",
+                message.getId(), attempts, delay, error);
+    }
+
+    /**
+     * {@code initial-backoff-ms * 2^(attempts - 1)}, capped at {@code max-backoff-ms}.
+     */
+    private long backoffMs(int attempts) {
+        long delay = properties.getInitialBackoffMs();
+        for (int i = 1; i < attempts && delay < properties.getMaxBackoffMs(); i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, properties.getMaxBackoffMs());
+    }
+
+    private void refreshBacklog() {
+        pending.set(outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING));
+        oldestPending.set(outboxMessageRepository.findOldestPendingCreatedAt().orElse(null));
+    }
+
+    private static Counter dispatched(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("sqs.outbox.dispatched").tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+package com._yp.gaitMate.SQS;
+
+/**
+ * Published when an {@code OutboxMessage} is written. {@link OutboxDispatcher} drains the outbox once the
+ * surrounding transaction commits, instead of waiting for its next poll.
+ *
+ * @param messageId the new outbox row
+ */
+public record OutboxMessageEnqueuedEvent(Long messageId) {
+}
@@ -0,0 +1,62 @@
+package com._yp.gaitMate.SQS;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transactional outbox for SQS messages (see {@link OutboxDispatcher}).
+ *
+ * <pre>
+ * app:
+ *   sqs:
+ *     outbox:
+ *       poll-interval-ms: 1000
+ *       claim-size: 50
+ *       max-claims-per-poll: 20
+ *       max-attempts: 8
+ *       initial-backoff-ms: 1000
+ *       max-backoff-ms: 300000
+ *       retention-hours: 72
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.sqs.outbox")
+public class OutboxProperties {
+
+    /**
+     * How often pending messages are picked up. Commits that enqueue a message also wake the dispatcher,
+     * so this mainly bounds the delay of retries and of rows left behind by another node.
+     */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * Rows locked per transaction; they are sent in {@code SendMessageBatch} calls of up to ten.
+     */
+    private int claimSize = 50;
+
+    /**
+     * Transactions per poll, so one poll cannot hold the dispatcher thread forever during a backlog.
+     */
+    private int maxClaimsPerPoll = 20;
+
+    /**
+     * Sends tried before a message is given up and its session marked FAILED.
+     */
+    private int maxAttempts = 8;
+
+    /**
+     * Delay before the first retry; doubles on every further attempt up to {@code max-backoff-ms}.
+     */
+    private long initialBackoffMs = 1000;
+
+    private long maxBackoffMs = 300_000;
+
+    /**
+     * SENT rows are deleted after this long. FAILED rows are kept.
+     */
+    private long retentionHours = 72;
+}
@@ -0,0 +1,31 @@
+package com._yp.gaitMate.SQS;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal SQS send API used by the {@link OutboxDispatcher}, so the dispatcher can run against a local
+ * stand-in ({@link InMemorySqsGateway}) as well as AWS ({@link AwsSqsGateway}).
+ */
+public interface SqsGateway {
+
+    /**
+     * SQS accepts at most ten entries per {@code SendMessageBatch} call.
+     */
+    int MAX_BATCH_SIZE = 10;
+
+    /**
+     * Sends up to {@link #MAX_BATCH_SIZE} messages in one call.
+     *
+     * @return entry id → failure reason for every entry that was not accepted; empty if all were
+     * @throws RuntimeException if the call as a whole failed (no entry was accepted)
+     */
+    Map<String, String> sendBatch(String queueName, List<Entry> entries);
+
+    /**
+     * @param id   unique within the batch
+     * @param body message body
+     */
+    record Entry(String id, String body) {
+    }
+}
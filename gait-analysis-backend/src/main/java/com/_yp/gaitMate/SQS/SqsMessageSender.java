@@ -35,6 +35,7 @@ public class SqsMessageSender {
 
         } catch (Exception e) {
             log.error("❌ Failed to send SQS message for sessionId={}", request.getSessionId(), e);
+            throw new IllegalStateException("Failed to send SQS message for session " + request.getSessionId(), e);
         }
     }
 
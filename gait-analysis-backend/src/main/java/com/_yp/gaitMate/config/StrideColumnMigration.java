@@ -0,0 +1,135 @@
+package com._yp.gaitMate.config;
+
+import com._yp.gaitMate.util.DoubleListToStringConverter;
+import com._yp.gaitMate.util.PackedDoubleArrayConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves stride times and lengths written as comma-joined text ({@code stride_times}, {@code stride_lengths})
+ * into the packed binary columns ({@code stride_times_packed}, {@code stride_lengths_packed}) on startup.
+ * <p>
+ * {@code ddl-auto: update} adds the new columns but leaves the old ones in place. Rows are converted in
+ * batches of {@value #BATCH_SIZE}, each in its own transaction, and their text columns are cleared once
+ * packed, so an interrupted run simply resumes on the next start and several instances can share the work
+ * ({@code SKIP LOCKED}). Databases created after the switch have no text columns and are left alone.
+ * </p>
+ *
+ * <p>
+ * Report pages only read the packed columns, so the migration must be done before requests are served. It
+ * runs as a {@link SmartLifecycle} in phase {@value #PHASE}, which starts before the embedded web server
+ * (phase {@code Integer.MAX_VALUE - 2048}); an {@code ApplicationRunner} or a {@code ContextRefreshedEvent}
+ * listener would only run once the server is already accepting requests.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StrideColumnMigration implements SmartLifecycle {
+
+    static final int BATCH_SIZE = 500;
+    static final int PHASE = 0;
+
+    private static final String LEGACY_COLUMN_EXISTS = """
+            SELECT COUNT(*) FROM information_schema.columns
+            WHERE table_schema = CURRENT_SCHEMA
+              AND LOWER(table_name) = 'processed_test_results'
+              AND LOWER(column_name) = 'stride_times'
+            """;
+
+    private static final String CLAIM_BATCH = """
+            SELECT id, stride_times, stride_lengths FROM processed_test_results
+            WHERE stride_times IS NOT NULL OR stride_lengths IS NOT NULL
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String PACK_ROW = """
+            UPDATE processed_test_results
+            SET stride_times_packed = ?, stride_lengths_packed = ?, stride_times = NULL, stride_lengths = NULL
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        migrate();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void migrate() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMN_EXISTS, Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        long migrated = 0;
+        int batch;
+        while ((batch = migrateBatch()) > 0) {
+            migrated += batch;
+            log.info("🔄 Packed stride columns of {} results so far", migrated);
+        }
+        log.info("✅ Stride column migration finished, {} results packed", migrated);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    int migrateBatch() {
+        DoubleListToStringConverter legacy = new DoubleListToStringConverter();
+        Integer packed = transactionTemplate.execute(status -> {
+            List<Object[]> rows = jdbcTemplate.query(CLAIM_BATCH, (rs, rowNum) -> {
+                long id = rs.getLong("id");
+                return new Object[]{
+                        pack(legacy, rs.getString("stride_times"), id),
+                        pack(legacy, rs.getString("stride_lengths"), id),
+                        id
+                };
+            }, BATCH_SIZE);
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(PACK_ROW, rows);
+            }
+            return rows.size();
+        });
+        return packed == null ? 0 : packed;
+    }
+
+    private static byte[] pack(DoubleListToStringConverter legacy, String joined, long id) {
+        try {
+            return PackedDoubleArrayConverter.pack(legacy.convertToEntityAttribute(joined).stream()
+                    .mapToDouble(Double::doubleValue)
+                    .toArray());
+        } catch (NumberFormatException e) {
+            // The text converter could not read this row either; drop it rather than retry it forever
+            log.warn("⚠️ Unreadable stride list on result {} discarded: {}", id, e.getMessage());
+            return null;
+        }
+    }
+}
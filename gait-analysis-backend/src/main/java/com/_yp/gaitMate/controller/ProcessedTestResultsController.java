@@ -1,6 +1,8 @@
 package com._yp.gaitMate.controller;
 
 import com._yp.gaitMate.dto.ApiResponse;
+import com._yp.gaitMate.dto.results.ProcessedTestResultsBatchRequestDto;
+import com._yp.gaitMate.dto.results.ProcessedTestResultsBatchResponseDto;
 import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
 import com._yp.gaitMate.service.processedTestResultsService.ProcessedTestResultsService;
 import jakarta.validation.Valid;
@@ -25,4 +27,12 @@ public class ProcessedTestResultsController {
         processedTestResultsService.saveResults(request);
         return ResponseEntity.ok(new ApiResponse("Results saved successfully", true));
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ProcessedTestResultsBatchResponseDto> receiveProcessedResultsBatch(
+            @RequestBody @Valid ProcessedTestResultsBatchRequestDto request) {
+
+        log.info("📥 Received processed results for {} sessions", request.getResults().size());
+        return ResponseEntity.ok(processedTestResultsService.saveResultsBatch(request.getResults()));
+    }
 }
@@ -0,0 +1,64 @@
+package com._yp.gaitMate.controller;
+
+import com._yp.gaitMate.dto.ApiResponse;
+import com._yp.gaitMate.dto.replay.ReplayControlDto;
+import com._yp.gaitMate.dto.replay.ReplayResponseDto;
+import com._yp.gaitMate.dto.replay.StartReplayRequestDto;
+import com._yp.gaitMate.service.replayService.ReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReplayController {
+
+    private final ReplayService replayService;
+
+    /**
+     * Starts streaming the recorded frames of a session to the caller's STOMP sessions
+     * ({@code /user/topic/replay}). Subscribe before calling this to receive the first frames.
+     *
+     * @param sessionId ID of the test session
+     * @param request   optional playback speed and start position
+     * @return the replay ID used to control playback
+     */
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR')")
+    @PostMapping("/test-sessions/{sessionId}/replays")
+    @Operation(
+            summary = "Replay a recorded session over WebSocket",
+            description = "Streams the session's raw frames at 0.5x to 8x speed. Control playback with PATCH /api/replays/{replayId}."
+    )
+    public ResponseEntity<ReplayResponseDto> startReplay(
+            @PathVariable Long sessionId,
+            @RequestBody(required = false) StartReplayRequestDto request) {
+        ReplayResponseDto response = replayService.startReplay(sessionId,
+                request != null ? request : new StartReplayRequestDto());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR')")
+    @PatchMapping("/replays/{replayId}")
+    @Operation(
+            summary = "Pause, resume, seek or change the speed of a replay"
+    )
+    public ResponseEntity<ReplayResponseDto> controlReplay(
+            @PathVariable String replayId,
+            @RequestBody @Valid ReplayControlDto request) {
+        return ResponseEntity.ok(replayService.controlReplay(replayId, request));
+    }
+
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR')")
+    @DeleteMapping("/replays/{replayId}")
+    @Operation(
+            summary = "Stop a replay"
+    )
+    public ResponseEntity<ApiResponse> stopReplay(@PathVariable String replayId) {
+        return ResponseEntity.ok(replayService.stopReplay(replayId));
+    }
+}
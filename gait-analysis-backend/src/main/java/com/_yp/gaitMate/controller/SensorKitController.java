@@ -3,6 +3,7 @@ package com._yp.gaitMate.controller;
 import com._yp.gaitMate.dto.ApiResponse;
 import com._yp.gaitMate.dto.sensorKit.AssignSensorKitsRequest;
 import com._yp.gaitMate.dto.sensorKit.CreateSensorKitRequest;
+import com._yp.gaitMate.dto.sensorKit.SensorKitLivenessResponse;
 import com._yp.gaitMate.dto.sensorKit.SensorKitResponse;
 import com._yp.gaitMate.model.SensorKit;
 import com._yp.gaitMate.service.sensorKitService.SensorKitService;
@@ -57,6 +58,16 @@ public class SensorKitController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @GetMapping("/sensor-kits/{id}/liveness")
+    @Operation(
+            summary = "Get sensor kit online status",
+            description = "Whether the kit has sent an alive heartbeat recently, and when it was last seen. Served from memory."
+    )
+    public ResponseEntity<SensorKitLivenessResponse> getSensorKitLiveness(@PathVariable Long id) {
+        SensorKitLivenessResponse response = sensorKitService.getSensorKitLiveness(id);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping("/sensor-kits")
     @Operation(
             summary = "Get all sensor kits by status",
@@ -0,0 +1,73 @@
+package com._yp.gaitMate.controller;
+
+import com._yp.gaitMate.dto.stride.SessionStrideStatisticsDto;
+import com._yp.gaitMate.dto.stride.StrideHistogramDto;
+import com._yp.gaitMate.dto.stride.StrideStatisticsDto;
+import com._yp.gaitMate.model.Stride;
+import com._yp.gaitMate.service.strideService.StrideService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stride-level statistics of a patient over a range of session start times, for the patient and their doctor.
+ * {@code from} and {@code to} are ISO date-times and default to the last three months.
+ */
+@RestController
+@RequestMapping("/api/patients/{patient-id}/strides")
+@RequiredArgsConstructor
+public class StrideController {
+
+    private final StrideService strideService;
+
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR')")
+    @GetMapping("/statistics")
+    @Operation(
+            summary = "Get the mean, variability and percentiles of a stride metric of the patient"
+    )
+    public ResponseEntity<StrideStatisticsDto> getStatistics(
+            @PathVariable("patient-id") Long patientId,
+            @RequestParam(defaultValue = "STRIDE_TIME") Stride.Metric metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok(strideService.getStatistics(patientId, metric, from, to));
+    }
+
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR')")
+    @GetMapping("/sessions")
+    @Operation(
+            summary = "Get the statistics of a stride metric per session of the patient"
+    )
+    public ResponseEntity<List<SessionStrideStatisticsDto>> getSessionStatistics(
+            @PathVariable("patient-id") Long patientId,
+            @RequestParam(defaultValue = "STRIDE_TIME") Stride.Metric metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok(strideService.getSessionStatistics(patientId, metric, from, to));
+    }
+
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR')")
+    @GetMapping("/histogram")
+    @Operation(
+            summary = "Get a histogram of a stride metric of the patient"
+    )
+    public ResponseEntity<StrideHistogramDto> getHistogram(
+            @PathVariable("patient-id") Long patientId,
+            @RequestParam(defaultValue = "STRIDE_TIME") Stride.Metric metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "20") int bins,
+            @RequestParam(required = false) Double lower,
+            @RequestParam(required = false) Double upper
+    ) {
+        return ResponseEntity.ok(strideService.getHistogram(patientId, metric, from, to, bins, lower, upper));
+    }
+}
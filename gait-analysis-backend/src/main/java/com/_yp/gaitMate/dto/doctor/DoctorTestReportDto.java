@@ -8,7 +8,6 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Getter
 @Setter
@@ -37,7 +36,7 @@ public class DoctorTestReportDto {
         private Double durationSeconds;
         private Double avgSwingTime;
         private Double avgStanceTime;
-        private List<Double> strideTimes;
+        private double[] strideTimes;
         private String reportURL;   //report URL
     }
 
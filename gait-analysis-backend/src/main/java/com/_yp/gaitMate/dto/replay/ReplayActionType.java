@@ -0,0 +1,8 @@
+package com._yp.gaitMate.dto.replay;
+
+public enum ReplayActionType {
+    PAUSE,
+    RESUME,
+    SEEK,
+    SPEED
+}
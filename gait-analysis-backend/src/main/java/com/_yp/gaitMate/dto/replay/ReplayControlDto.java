@@ -0,0 +1,26 @@
+package com._yp.gaitMate.dto.replay;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Controls a running replay. {@code positionMs} is required for SEEK, {@code speed} for SPEED.
+ *
+ * Example payload:
+ * {
+ *   "action": "SEEK",
+ *   "positionMs": 42000
+ * }
+ */
+@Getter
+@Setter
+public class ReplayControlDto {
+
+    @NotNull
+    private ReplayActionType action;
+
+    private Long positionMs;
+
+    private Double speed;
+}
@@ -0,0 +1,20 @@
+package com._yp.gaitMate.dto.replay;
+
+import com._yp.gaitMate.websocket.message.ReplayWebSocketMessage;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplayResponseDto {
+    private String replayId;
+    private Long sessionId;
+    private ReplayWebSocketMessage.State state;
+    private double speed;
+    private long positionMs;
+    private long durationMs;
+    private long frameCount;
+    private String destination;     // STOMP destination the frames are sent to
+}
@@ -0,0 +1,22 @@
+package com._yp.gaitMate.dto.replay;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Starts a replay of a recorded test session. Both fields are optional.
+ *
+ * Example payload:
+ * {
+ *   "speed": 2.0,
+ *   "positionMs": 15000
+ * }
+ */
+@Getter
+@Setter
+public class StartReplayRequestDto {
+
+    private Double speed = 1.0;        // 0.5 .. 8
+
+    private Long positionMs = 0L;      // start offset from the first recorded frame
+}
@@ -0,0 +1,21 @@
+package com._yp.gaitMate.dto.results;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO for receiving the results of many test sessions in one request from the data processing microservice.
+ */
+@Getter
+@Setter
+public class ProcessedTestResultsBatchRequestDto {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid ProcessedTestResultsRequestDto> results;
+}
@@ -0,0 +1,29 @@
+package com._yp.gaitMate.dto.results;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a results batch: how many entries were stored and which ones were rejected.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedTestResultsBatchResponseDto {
+
+    private int accepted;
+
+    private List<RejectedResult> rejected;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedResult {
+        private Long sessionId;
+        private String reason;
+    }
+}
@@ -4,7 +4,6 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.List;
 
 /**
  * DTO for receiving processed test results from the data processing microservice.
@@ -41,9 +40,16 @@ public class ProcessedTestResultsRequestDto {
 
     private String pressureResultsPath;
 
-    private List<Double> strideTimes;
+    private double[] strideTimes;
 
-    private List<Double> strideLengths;
+    private double[] strideLengths;
+
+    /**
+     * Optional per-stride stance and swing times, aligned with {@code strideTimes}.
+     */
+    private double[] stanceTimes;
+
+    private double[] swingTimes;
 
     private Double strideLength;
 
@@ -0,0 +1,16 @@
+package com._yp.gaitMate.dto.sensorKit;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SensorKitLivenessResponse {
+    private Long sensorKitId;
+    private boolean online;
+    private Instant lastSeen;       // null if no heartbeat since the backend started
+}
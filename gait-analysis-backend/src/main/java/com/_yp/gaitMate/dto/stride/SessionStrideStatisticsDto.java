@@ -0,0 +1,23 @@
+package com._yp.gaitMate.dto.stride;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stride metric summary of one session, a point of the variability trend.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionStrideStatisticsDto {
+    private Long sessionId;
+    private LocalDateTime sessionStart;
+    private long strides;
+    private Double mean;
+    private Double stdDev;
+    private Double cv;
+    private Double median;
+}
@@ -0,0 +1,38 @@
+package com._yp.gaitMate.dto.stride;
+
+import com._yp.gaitMate.model.Stride;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Equal-width histogram of one stride metric over a patient's sessions started in {@code [from, to)}.
+ * Every bin is listed, empty ones included; the last bin also holds values equal to {@code upper}.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StrideHistogramDto {
+    private Long patientId;
+    private Stride.Metric metric;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    private Double lower;
+    private Double upper;
+    private Double binWidth;
+    private List<Bin> bins;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Bin {
+        private double lower;
+        private double upper;
+        private long count;
+    }
+}
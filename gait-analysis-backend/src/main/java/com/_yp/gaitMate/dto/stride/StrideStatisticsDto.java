@@ -0,0 +1,37 @@
+package com._yp.gaitMate.dto.stride;
+
+import com._yp.gaitMate.model.Stride;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Distribution of one stride metric over a patient's sessions started in {@code [from, to)}.
+ * The aggregates are {@code null} when no stride in the range has a value for the metric.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StrideStatisticsDto {
+    private Long patientId;
+    private Stride.Metric metric;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    private long strides;
+    private long sessions;
+
+    private Double mean;
+    private Double stdDev;
+    private Double cv;          // coefficient of variation, stdDev / mean
+    private Double min;
+    private Double max;
+
+    private Double p05;
+    private Double p25;
+    private Double p50;
+    private Double p75;
+    private Double p95;
+}
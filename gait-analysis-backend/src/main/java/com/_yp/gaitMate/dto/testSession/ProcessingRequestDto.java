@@ -26,5 +26,10 @@ public class ProcessingRequestDto {
     private Long sessionId;
 
     private PatientInfoResponse patientInfo;
+
+    /**
+     * Local segment file with the session's raw frames, or null if the session was not recorded.
+     */
+    private String rawDataPath;
 }
 
@@ -1,12 +1,12 @@
 package com._yp.gaitMate.dto.testSession;
 
+import com._yp.gaitMate.model.StreamCompleteness;
 import com._yp.gaitMate.model.TestSession.Status;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Getter
 @Setter
@@ -20,8 +20,10 @@ public class TestSessionDetailsResponse {
     private Status status;
 
     private ProcessedResults results;
+    private ProcessedResults provisionalResults;  // live in-JVM metrics, present until results arrive
     private FeedbackDetails feedback;
     private RawDataFile rawSensorData;
+    private StreamCompleteness streamCompleteness;
 
     @Getter
     @Setter
@@ -35,7 +37,7 @@ public class TestSessionDetailsResponse {
         private Double durationSeconds;
         private Double avgSwingTime;
         private Double avgStanceTime;
-        private List<Double> strideTimes;
+        private double[] strideTimes;
         private String pressureResultsPath;  //s3 bucket pdf report url
     }
 
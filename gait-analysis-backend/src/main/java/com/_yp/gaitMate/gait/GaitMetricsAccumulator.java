@@ -0,0 +1,280 @@
+package com._yp.gaitMate.gait;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental gait metrics for one insole, updated frame by frame.
+ * <p>
+ * This is a streaming port of the gait-processing-service pipeline (preprocessing, IC/TO detection,
+ * hybrid step counting and force metrics). Each {@link #accept(SensorFrame)} is O(1): region pressures,
+ * force sums and peaks are running aggregates, and derivatives are taken over a short ring buffer
+ * instead of the whole recording. Only gait events (about two per second) are kept in lists.
+ * </p>
+ *
+ * <ul>
+ *   <li><b>Regions</b> – forefoot FSR 5,6,7,8,9,12,15,16; midfoot 1,2,10,11,13,14; rearfoot 3,4
+ *       (means of clipped 0-4095 readings, FSR_14 mirrored from FSR_11 as in the hardware wiring)</li>
+ *   <li><b>Initial contact</b> – rearfoot pressure rising faster than {@value #IC_SLOPE} units/ms after
+ *       the heel has unloaded</li>
+ *   <li><b>Toe-off</b> – steepest forefoot unloading between a forefoot load above {@value #FOREFOOT_LOADED}
+ *       and its drop below {@value #UNLOADED}</li>
+ * </ul>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public class GaitMetricsAccumulator {
+
+    static final double IC_SLOPE = 10.0;
+    static final double FOREFOOT_LOADED = 500.0;
+    static final double UNLOADED = 100.0;
+
+    private static final int FSR_MAX = 4095;
+    private static final int WINDOW = 5;
+    private static final long IC_REFRACTORY_MS = 250;
+    private static final long MAX_STEP_GAP_MS = 2000;
+    private static final double STRIDE_OUTLIER_MULTIPLIER = 1.75;
+
+    // 0-based FSR indexes
+    private static final int[] FOREFOOT = {4, 5, 6, 7, 8, 11, 14, 15};
+    private static final int[] MIDFOOT = {0, 1, 9, 10, 12, 13};
+    private static final int[] REARFOOT = {2, 3};
+    private static final int[] LEFT = {0, 1, 2, 4, 5, 8, 9, 12, 13};
+    private static final int[] RIGHT = {3, 6, 7, 10, 11, 14, 15};
+
+    private final int[] fsr = new int[SensorFrame.FSR_CHANNELS];
+
+    // Rolling derivative window
+    private final long[] windowTimes = new long[WINDOW];
+    private final double[] windowRearfoot = new double[WINDOW];
+    private final double[] windowForefoot = new double[WINDOW];
+    private int windowHead;
+
+    // Running force aggregates
+    private long frames;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private double rearfootSum;
+    private double midfootSum;
+    private double forefootSum;
+    private double leftSum;
+    private double rightSum;
+    private int peakImpact;
+
+    // Initial-contact detector
+    private boolean heelArmed = true;
+    private long lastInitialContact;
+
+    // Toe-off detector
+    private boolean forefootLoaded;
+    private double steepestUnloading;
+    private long steepestUnloadingAt;
+
+    // Events
+    private final List<Long> initialContacts = new ArrayList<>();
+    private int toeOffs;
+    private boolean pendingEvent;
+    private boolean pendingIsContact;
+    private long pendingEventAt;
+    private int steps;
+    private long firstStepStart = -1;
+    private long lastStepEnd = -1;
+
+    /**
+     * Folds one frame into the metrics. Frames are expected in timestamp order.
+     */
+    public void accept(SensorFrame frame) {
+        long timestamp = frame.getTimestamp();
+        if (frames > 0 && timestamp <= lastTimestamp) {
+            return;
+        }
+
+        int[] raw = frame.getFsr();
+        for (int i = 0; i < SensorFrame.FSR_CHANNELS; i++) {
+            fsr[i] = Math.min(FSR_MAX, Math.max(0, raw[i]));
+        }
+        fsr[13] = fsr[10];
+
+        double rearfoot = mean(REARFOOT);
+        double midfoot = mean(MIDFOOT);
+        double forefoot = mean(FOREFOOT);
+
+        if (frames == 0) {
+            firstTimestamp = timestamp;
+        }
+        frames++;
+        lastTimestamp = timestamp;
+        rearfootSum += rearfoot;
+        midfootSum += midfoot;
+        forefootSum += forefoot;
+        leftSum += mean(LEFT);
+        rightSum += mean(RIGHT);
+        for (int value : fsr) {
+            peakImpact = Math.max(peakImpact, value);
+        }
+
+        // Derivatives over the rolling window (oldest → newest sample)
+        int slot = windowHead;
+        windowTimes[slot] = timestamp;
+        windowRearfoot[slot] = rearfoot;
+        windowForefoot[slot] = forefoot;
+        windowHead = (windowHead + 1) % WINDOW;
+        if (frames < WINDOW) {
+            return;
+        }
+        int oldest = windowHead;
+        double elapsed = timestamp - windowTimes[oldest];
+        double rearfootSlope = (rearfoot - windowRearfoot[oldest]) / elapsed;
+        double forefootSlope = (forefoot - windowForefoot[oldest]) / elapsed;
+
+        detectInitialContact(timestamp, rearfoot, rearfootSlope);
+        detectToeOff(timestamp, forefoot, forefootSlope);
+    }
+
+    /**
+     * Computes the current metrics. Cost grows with the number of strides, not samples.
+     */
+    public GaitMetricsSnapshot snapshot() {
+        List<Double> strideTimes = validStrideTimes();
+        double avgStride = strideTimes.isEmpty()
+                ? 1.0
+                : strideTimes.stream().mapToDouble(Double::doubleValue).average().orElse(1.0);
+
+        double cadence = 0;
+        if (steps >= 2 && lastStepEnd > firstStepStart) {
+            cadence = steps / ((lastStepEnd - firstStepStart) / 60_000.0);
+        }
+
+        double balance = 0;
+        if (leftSum + rightSum > 0) {
+            balance = Math.min(leftSum, rightSum) / Math.max(leftSum, rightSum);
+        }
+
+        return GaitMetricsSnapshot.builder()
+                .steps(steps)
+                .cadence(round(cadence, 1))
+                .avgHeelForce(round(average(rearfootSum), 1))
+                .avgToeForce(round(average(forefootSum), 1))
+                .avgMidfootForce(round(average(midfootSum), 1))
+                .balanceScore(round(balance, 2))
+                .peakImpact(peakImpact)
+                .durationSeconds(round(frames > 0 ? (lastTimestamp - firstTimestamp) / 1000.0 : 0, 1))
+                .avgStanceTime(round(avgStride * 0.6, 2))
+                .avgSwingTime(round(avgStride * 0.4, 2))
+                .strideTimes(strideTimes)
+                .initialContacts(initialContacts.size())
+                .toeOffs(toeOffs)
+                .frames(frames)
+                .build();
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void detectInitialContact(long timestamp, double rearfoot, double slope) {
+        if (!heelArmed) {
+            // Re-arm once the heel is unloading or unloaded again
+            if (rearfoot < UNLOADED || slope <= -IC_SLOPE) {
+                heelArmed = true;
+            }
+            return;
+        }
+        boolean refractory = !initialContacts.isEmpty() && timestamp - lastInitialContact < IC_REFRACTORY_MS;
+        if (slope >= IC_SLOPE && !refractory) {
+            heelArmed = false;
+            lastInitialContact = timestamp;
+            initialContacts.add(timestamp);
+            onEvent(true, timestamp);
+        }
+    }
+
+    private void detectToeOff(long timestamp, double forefoot, double slope) {
+        if (!forefootLoaded) {
+            if (forefoot >= FOREFOOT_LOADED) {
+                forefootLoaded = true;
+                steepestUnloading = 0;
+                steepestUnloadingAt = timestamp;
+            }
+            return;
+        }
+        if (slope < steepestUnloading) {
+            steepestUnloading = slope;
+            steepestUnloadingAt = timestamp;
+        }
+        if (forefoot < UNLOADED) {
+            forefootLoaded = false;
+            toeOffs++;
+            onEvent(false, steepestUnloadingAt);
+        }
+    }
+
+    /**
+     * Streaming form of {@code count_steps_from_events}: an IC followed by a TO is always a step,
+     * two events of the same kind are a step if they are at most two seconds apart. Events that
+     * complete a step are consumed.
+     */
+    private void onEvent(boolean contact, long at) {
+        if (pendingEvent) {
+            boolean step = (pendingIsContact && !contact)
+                    || (pendingIsContact == contact && at - pendingEventAt <= MAX_STEP_GAP_MS);
+            if (step) {
+                steps++;
+                if (firstStepStart < 0) {
+                    firstStepStart = pendingEventAt;
+                }
+                lastStepEnd = at;
+                pendingEvent = false;
+                return;
+            }
+        }
+        pendingEvent = true;
+        pendingIsContact = contact;
+        pendingEventAt = at;
+    }
+
+    /**
+     * IC-to-IC intervals in seconds, dropping those longer than 1.75 × the median (pauses, missed steps).
+     */
+    private List<Double> validStrideTimes() {
+        int n = initialContacts.size() - 1;
+        if (n < 1) {
+            return new ArrayList<>();
+        }
+        double[] intervals = new double[n];
+        for (int i = 0; i < n; i++) {
+            intervals[i] = (initialContacts.get(i + 1) - initialContacts.get(i)) / 1000.0;
+        }
+        double[] sorted = intervals.clone();
+        Arrays.sort(sorted);
+        double median = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+
+        List<Double> valid = new ArrayList<>(n);
+        for (double interval : intervals) {
+            if (interval <= STRIDE_OUTLIER_MULTIPLIER * median) {
+                valid.add(round(interval, 3));
+            }
+        }
+        return valid;
+    }
+
+    private double mean(int[] channels) {
+        int sum = 0;
+        for (int channel : channels) {
+            sum += fsr[channel];
+        }
+        return (double) sum / channels.length;
+    }
+
+    private double average(double sum) {
+        return frames > 0 ? sum / frames : 0;
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+}
@@ -0,0 +1,34 @@
+package com._yp.gaitMate.gait;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Point-in-time view of the metrics maintained by {@link GaitMetricsAccumulator}.
+ * Field names and rounding follow {@code ProcessedTestResults} so both can be shown side by side.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class GaitMetricsSnapshot {
+
+    private Integer steps;
+    private Double cadence;
+    private Double avgHeelForce;
+    private Double avgToeForce;
+    private Double avgMidfootForce;
+    private Double balanceScore;
+    private Integer peakImpact;
+    private Double durationSeconds;
+    private Double avgSwingTime;
+    private Double avgStanceTime;
+    private List<Double> strideTimes;
+
+    private Integer initialContacts;
+    private Integer toeOffs;
+    private Long frames;
+}
@@ -0,0 +1,166 @@
+package com._yp.gaitMate.gait;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.NotificationService;
+import com._yp.gaitMate.websocket.message.LiveMetricsWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a {@link GaitMetricsAccumulator} per ACTIVE test session and publishes its metrics.
+ * <p>
+ * Frames are fed from the {@code sensor_data} listener, running metrics are pushed to the patient
+ * every {@code gait.live-metrics.push-interval-ms}, and on stop the final snapshot is kept as the
+ * session's provisional result until the processing service reports back.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveGaitMetricsService {
+
+    private final LiveMetricsProperties properties;
+    private final NotificationService notificationService;
+
+    private final Map<Long, LiveSession> sessionsByDevice = new ConcurrentHashMap<>();
+    private final Map<Long, ProvisionalResult> provisionalBySession = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService publisher;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long interval = Math.max(100, properties.getPushIntervalMs());
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gait-live-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleAtFixedRate(this::publishSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (publisher != null) {
+            publisher.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts computing metrics for a new session.
+     *
+     * @param sessionId the ACTIVE test session
+     * @param deviceId  the session's sensor kit
+     * @param username  the patient to push metrics to
+     */
+    public void startSession(Long sessionId, Long deviceId, String username) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sessionsByDevice.put(deviceId, new LiveSession(sessionId, deviceId, username, new GaitMetricsAccumulator()));
+        log.info("📈 Live gait metrics started for session {} (device {})", sessionId, deviceId);
+    }
+
+    /**
+     * Folds a frame into the metrics of its device's ACTIVE session, if any.
+     */
+    public void accept(SensorFrame frame) {
+        LiveSession session = sessionsByDevice.get(frame.getDeviceId());
+        if (session == null) {
+            return;
+        }
+        synchronized (session.accumulator()) {
+            session.accumulator().accept(frame);
+        }
+    }
+
+    /**
+     * Stops the session's accumulator and keeps its final snapshot as the provisional result.
+     *
+     * @return the provisional result, or empty if the session had no live metrics
+     */
+    public Optional<GaitMetricsSnapshot> stopSession(Long sessionId, Long deviceId) {
+        LiveSession session = sessionsByDevice.get(deviceId);
+        if (session == null || !session.sessionId().equals(sessionId)) {
+            return Optional.empty();
+        }
+        sessionsByDevice.remove(deviceId, session);
+
+        GaitMetricsSnapshot snapshot = snapshotOf(session);
+        provisionalBySession.put(sessionId, new ProvisionalResult(snapshot, System.currentTimeMillis()));
+        notificationService.sendLiveMetricsToUser(session.username(), toMessage(session, snapshot, true));
+
+        log.info("📈 Provisional results for session {}: {} steps, cadence {}",
+                sessionId, snapshot.getSteps(), snapshot.getCadence());
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Returns the provisional result of a stopped session that has no processed results yet.
+     */
+    public Optional<GaitMetricsSnapshot> getProvisionalResult(Long sessionId) {
+        return Optional.ofNullable(provisionalBySession.get(sessionId)).map(ProvisionalResult::snapshot);
+    }
+
+    /**
+     * Drops the provisional result once the final results are stored.
+     */
+    public void discardProvisionalResult(Long sessionId) {
+        provisionalBySession.remove(sessionId);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void publishSafely() {
+        try {
+            for (LiveSession session : sessionsByDevice.values()) {
+                notificationService.sendLiveMetricsToUser(session.username(),
+                        toMessage(session, snapshotOf(session), false));
+            }
+
+            long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(properties.getProvisionalRetentionMinutes());
+            provisionalBySession.values().removeIf(result -> result.createdAt() < cutoff);
+        } catch (Exception e) {
+            log.error("❌ Failed to publish live gait metrics: {}", e.getMessage(), e);
+        }
+    }
+
+    private static GaitMetricsSnapshot snapshotOf(LiveSession session) {
+        synchronized (session.accumulator()) {
+            return session.accumulator().snapshot();
+        }
+    }
+
+    private static LiveMetricsWebSocketMessage toMessage(LiveSession session, GaitMetricsSnapshot snapshot,
+                                                         boolean provisional) {
+        return LiveMetricsWebSocketMessage.builder()
+                .type(WebSocketMessageType.LIVE_METRICS)
+                .sessionId(session.sessionId())
+                .deviceId(session.deviceId())
+                .timestamp(System.currentTimeMillis())
+                .provisional(provisional)
+                .metrics(snapshot)
+                .build();
+    }
+
+    private record LiveSession(Long sessionId, Long deviceId, String username, GaitMetricsAccumulator accumulator) {
+    }
+
+    private record ProvisionalResult(GaitMetricsSnapshot snapshot, long createdAt) {
+    }
+}
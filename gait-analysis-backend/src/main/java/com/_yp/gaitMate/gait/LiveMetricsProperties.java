@@ -0,0 +1,36 @@
+package com._yp.gaitMate.gait;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM gait metrics computed while a test session is running.
+ *
+ * <pre>
+ * gait:
+ *   live-metrics:
+ *     enabled: true
+ *     push-interval-ms: 1000
+ *     provisional-retention-minutes: 60
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gait.live-metrics")
+public class LiveMetricsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How often running metrics are pushed to the patient over WebSocket.
+     */
+    private long pushIntervalMs = 1000;
+
+    /**
+     * How long a stopped session's provisional result is kept if the processed results never arrive.
+     */
+    private long provisionalRetentionMinutes = 60;
+}
@@ -3,6 +3,7 @@ package com._yp.gaitMate.mapper;
 import com._yp.gaitMate.dto.doctor.DoctorTestReportDto;
 import com._yp.gaitMate.dto.feedback.FeedbackResponseDto;
 import com._yp.gaitMate.dto.testSession.TestSessionDetailsResponse;
+import com._yp.gaitMate.gait.GaitMetricsSnapshot;
 import com._yp.gaitMate.model.Feedback;
 import com._yp.gaitMate.model.ProcessedTestResults;
 import com._yp.gaitMate.model.RawSensorData;
@@ -37,7 +38,7 @@ public class TestSessionMapper {
                         .durationSeconds(r.getDurationSeconds())
                         .avgSwingTime(r.getAvgSwingTime())
                         .avgStanceTime(r.getAvgStanceTime())
-                        .strideTimes(r.getStrideTimes()) // ✅ Decoded from JSON string
+                        .strideTimes(r.getStrideTimes()) // ✅ Unpacked straight into a double[]
                         .pressureResultsPath(r.getPressureResultsPath())
                         .build() : null)
 
@@ -50,6 +51,26 @@ public class TestSessionMapper {
                         .path(d.getPath())
                         .build() : null)
 
+                .streamCompleteness(session.getStreamCompleteness())
+
+                .build();
+    }
+
+    public TestSessionDetailsResponse.ProcessedResults toProvisionalResults(GaitMetricsSnapshot m) {
+        return TestSessionDetailsResponse.ProcessedResults.builder()
+                .steps(m.getSteps())
+                .cadence(m.getCadence())
+                .avgForce(TestSessionDetailsResponse.AvgForce.builder()
+                        .heel(m.getAvgHeelForce())
+                        .toe(m.getAvgToeForce())
+                        .midfoot(m.getAvgMidfootForce())
+                        .build())
+                .balanceScore(m.getBalanceScore())
+                .peakImpact(m.getPeakImpact())
+                .durationSeconds(m.getDurationSeconds())
+                .avgSwingTime(m.getAvgSwingTime())
+                .avgStanceTime(m.getAvgStanceTime())
+                .strideTimes(m.getStrideTimes().stream().mapToDouble(Double::doubleValue).toArray())
                 .build();
     }
 
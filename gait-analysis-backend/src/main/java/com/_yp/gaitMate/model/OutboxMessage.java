@@ -0,0 +1,67 @@
+package com._yp.gaitMate.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A message waiting to be sent to SQS, written in the same transaction as the state change that caused it.
+ * {@code OutboxDispatcher} sends pending rows in batches and keeps them as SENT (or FAILED) for auditing.
+ */
+@Entity
+@Table(name = "outbox_message",
+        indexes = @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Logical SQS queue name, e.g. {@code app.sqs.queue-name}.
+     */
+    @Column(nullable = false)
+    private String queueName;
+
+    /**
+     * The test session the message is about.
+     */
+    @Column(nullable = false)
+    private Long sessionId;
+
+    /**
+     * Message body, already serialized as JSON.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -3,8 +3,6 @@ package com._yp.gaitMate.model;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.List;
-
 @Entity
 @Table(name = "processed_test_results")
 @Getter
@@ -63,14 +61,14 @@ public class ProcessedTestResults {
     /**
      * Stores individual stride times if available.
      */
-    @Convert(converter = com._yp.gaitMate.util.DoubleListToStringConverter.class)
-    @Column(name = "stride_times", columnDefinition = "TEXT")
-    private List<Double> strideTimes;
+    @Convert(converter = com._yp.gaitMate.util.PackedDoubleArrayConverter.class)
+    @Column(name = "stride_times_packed")
+    private double[] strideTimes;
 
 
-    @Convert(converter = com._yp.gaitMate.util.DoubleListToStringConverter.class)
-    @Column(name = "stride_lengths", columnDefinition = "TEXT")
-    private List<Double> strideLengths;
+    @Convert(converter = com._yp.gaitMate.util.PackedDoubleArrayConverter.class)
+    @Column(name = "stride_lengths_packed")
+    private double[] strideLengths;
 
     @Column(nullable = true)
     private Double strideLength;
@@ -0,0 +1,73 @@
+package com._yp.gaitMate.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Tracks the processing of one test session from the moment it enters PROCESSING until results arrive,
+ * so sessions whose processing got lost can be re-dispatched or failed (see {@code ProcessingJobTracker}).
+ */
+@Entity
+@Table(name = "processing_job",
+        indexes = @Index(name = "idx_processing_job_status_deadline", columnList = "status, deadline"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long sessionId;
+
+    /**
+     * The processing request as JSON, kept to re-dispatch it unchanged.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String request;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    /**
+     * Dispatches so far, including the first one.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * When the session first entered PROCESSING.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * When the current attempt was dispatched.
+     */
+    private Instant dispatchedAt;
+
+    /**
+     * RUNNING: when the current attempt times out. RETRY_PENDING: when the next attempt is dispatched.
+     */
+    @Column(nullable = false)
+    private Instant deadline;
+
+    private Instant completedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Status {
+        RUNNING,
+        RETRY_PENDING,
+        COMPLETED,
+        FAILED
+    }
+}
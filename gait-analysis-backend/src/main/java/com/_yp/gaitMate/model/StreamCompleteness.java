@@ -0,0 +1,67 @@
+package com._yp.gaitMate.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * Quality of the sensor stream received during a test session, captured when the session stops.
+ * Lets a broken recording (lost frames, wrong sample rate) be spotted before it is processed.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class StreamCompleteness {
+
+    /**
+     * Frames delivered by MQTT, including duplicates and late arrivals.
+     */
+    @Column(name = "stream_frames_received")
+    private Long framesReceived;
+
+    /**
+     * Distinct, in-order frames passed on to recording and metrics.
+     */
+    @Column(name = "stream_frames_accepted")
+    private Long framesAccepted;
+
+    /**
+     * QoS1 redeliveries with an already seen timestamp.
+     */
+    @Column(name = "stream_duplicate_frames")
+    private Long duplicateFrames;
+
+    /**
+     * Frames that arrived after a later frame had already been passed on.
+     */
+    @Column(name = "stream_late_frames")
+    private Long lateFrames;
+
+    /**
+     * Number of holes in the timeline longer than 1.5 sample periods.
+     */
+    @Column(name = "stream_gap_count")
+    private Long gapCount;
+
+    /**
+     * Estimated number of samples missing from those holes.
+     */
+    @Column(name = "stream_missing_frames")
+    private Long missingFrames;
+
+    @Column(name = "stream_largest_gap_ms")
+    private Long largestGapMs;
+
+    @Column(name = "stream_effective_rate_hz")
+    private Double effectiveSampleRateHz;
+
+    /**
+     * Accepted frames / (accepted + missing), between 0 and 1.
+     */
+    @Column(name = "stream_completeness")
+    private Double completeness;
+}
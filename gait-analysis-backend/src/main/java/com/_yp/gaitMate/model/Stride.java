@@ -0,0 +1,64 @@
+package com._yp.gaitMate.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stride of a processed test session, kept next to the packed arrays on {@link ProcessedTestResults}
+ * so statistics over many sessions can be computed in the database.
+ * <p>
+ * The patient and session start are copied onto every row, so a patient's strides over a date range are
+ * read from the {@code (patient_id, session_start)} index without joining the sessions.
+ * </p>
+ */
+@Entity
+@Table(name = "stride",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stride_session_index", columnNames = {"session_id", "stride_index"}),
+        indexes = @Index(name = "idx_stride_patient_session_start", columnList = "patient_id, session_start"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Stride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @Column(name = "session_start", nullable = false)
+    private LocalDateTime sessionStart;
+
+    /**
+     * Position of the stride within its session, from 0.
+     */
+    @Column(name = "stride_index", nullable = false)
+    private int strideIndex;
+
+    @Column(nullable = false)
+    private double strideTime;
+
+    private Double strideLength;
+
+    private Double stanceTime;
+
+    private Double swingTime;
+
+    /**
+     * The per-stride values the statistics endpoints can aggregate.
+     */
+    public enum Metric {
+        STRIDE_TIME,
+        STRIDE_LENGTH,
+        STANCE_TIME,
+        SWING_TIME
+    }
+}
@@ -69,6 +69,12 @@ public class TestSession {
     @JoinColumn(name = "raw_data_id")
     private RawSensorData rawSensorData;
 
+    /**
+     * How complete the received sensor stream was; filled in when the session stops.
+     */
+    @Embedded
+    private StreamCompleteness streamCompleteness;
+
     /**
      * Enum representing the state of the test session.
      */
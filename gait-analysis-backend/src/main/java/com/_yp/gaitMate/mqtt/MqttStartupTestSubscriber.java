@@ -1,10 +1,9 @@
 package com._yp.gaitMate.mqtt;
 
-import com._yp.gaitMate.mqtt.core.MqttClientProvider;
+import com._yp.gaitMate.mqtt.transport.MqttTransport;
 import com.amazonaws.services.iot.client.AWSIotMessage;
 import com.amazonaws.services.iot.client.AWSIotQos;
 import com.amazonaws.services.iot.client.AWSIotTopic;
-import com.amazonaws.services.iot.client.AWSIotMqttClient;
 import com.amazonaws.services.iot.client.AWSIotException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +17,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class MqttStartupTestSubscriber {
 
-    private final MqttClientProvider mqttClientProvider;
+    private final MqttTransport mqttTransport;
 
     /**
      * This class runs automatically after the app starts
@@ -26,8 +25,6 @@ public class MqttStartupTestSubscriber {
      */
     @PostConstruct
     public void subscribeToTestTopic() throws AWSIotException {
-        AWSIotMqttClient client = mqttClientProvider.getClient();
-
         String topic = "test/topic"; // change this to a topic you're testing with
         AWSIotQos qos = AWSIotQos.QOS1;
 
@@ -39,7 +36,7 @@ public class MqttStartupTestSubscriber {
             }
         };
 
-        client.subscribe(listener, true);
+        mqttTransport.subscribe(listener);
         log.info("✅ Subscribed to test topic: {}", topic);
     }
 }
@@ -4,6 +4,9 @@ import com.amazonaws.services.iot.client.AWSIotMessage;
 import com.amazonaws.services.iot.client.AWSIotQos;
 import com.amazonaws.services.iot.client.AWSIotTopic;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * An abstract base class for handling incoming MQTT messages on specific topics.
@@ -13,6 +16,18 @@ import lombok.extern.slf4j.Slf4j;
  * method to define custom behavior for specific topic payloads.
  * </p>
  *
+ * <p>
+ * Listeners for {@code device/+/...} topics are normally not subscribed one by one: the
+ * {@link DeviceTopicDispatcher} subscribes once to {@code device/+/#}, parses the device ID and
+ * calls {@link #deliver(long, String, byte[])} on the listener whose filter matches.
+ * </p>
+ *
+ * <p>
+ * Messages are not handled on the AWS IoT SDK callback thread. They are handed to a
+ * {@link ShardedIngestExecutor} keyed by the device ID in the topic, so a slow handler
+ * only delays its own device and topic, and per-device ordering is kept.
+ * </p>
+ *
  * <p>Example usage:</p>
  * <pre>
  * {@code
@@ -32,6 +47,10 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public abstract class AbstractTopicListener extends AWSIotTopic {
 
+    private static final String DEVICE_PREFIX = "device/+/";
+
+    private ShardedIngestExecutor executor;
+
     /**
      * Constructs a topic listener for the given topic and QoS level.
      *
@@ -42,19 +61,89 @@ public abstract class AbstractTopicListener extends AWSIotTopic {
         super(topic, qos);
     }
 
+    /**
+     * Attaches the shared ingest executors. Without them (e.g. in plain unit tests)
+     * messages are handled inline on the delivering thread.
+     */
+    @Autowired(required = false)
+    public void setIngestExecutors(IngestExecutors ingestExecutors) {
+        this.executor = ingestExecutors.executorFor(topicKey(), defaultOverflowPolicy());
+    }
+
     /**
      * This method is automatically called by the AWS IoT client
      * when a message is received for this topic.
-     * It delegates to {@link #handleMessage(String, String)} after logging and error checking.
+     * It queues the message on the device's ingest shard, which then delegates to
+     * {@link #handleMessage(String, byte[])} after logging and error checking.
      *
      * @param message the received AWS IoT message
      */
     @Override
     public void onMessage(AWSIotMessage message) {
+        String topic = message.getTopic();
+        byte[] payload = message.getPayload();
+
+        if (executor == null) {
+            dispatch(topic, payload);
+            return;
+        }
+
+        executor.execute(deviceKey(topic), () -> dispatch(topic, payload));
+    }
+
+    /**
+     * Entry point used by the {@link DeviceTopicDispatcher}: queues the message on the device's
+     * ingest shard, which then calls {@link #handleMessage(long, String, byte[])}.
+     *
+     * @param deviceId the device ID already parsed from the topic
+     * @param topic    the topic the message was received on
+     * @param payload  the raw payload bytes
+     */
+    public void deliver(long deviceId, String topic, byte[] payload) {
+        if (executor == null) {
+            dispatch(deviceId, topic, payload);
+            return;
+        }
+
+        executor.execute(deviceId, () -> dispatch(deviceId, topic, payload));
+    }
+
+    /**
+     * The part of this listener's topic filter after {@code device/+/}, used to route dispatched messages.
+     *
+     * @throws IllegalStateException if the filter is not a per-device topic
+     */
+    public String deviceTopicFilter() {
+        String filter = getTopic();
+        if (!filter.startsWith(DEVICE_PREFIX)) {
+            throw new IllegalStateException("Not a device/+/ topic filter: " + filter);
+        }
+        return filter.substring(DEVICE_PREFIX.length());
+    }
+
+    /**
+     * The overflow policy used when {@code mqtt.ingest.overflow-policies} has no entry for this topic.
+     * Control topics block by default; high-rate streams should override this.
+     */
+    protected OverflowPolicy defaultOverflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    /**
+     * Short name of this listener's topic used for metrics and configuration,
+     * e.g. {@code device/+/status/alive} → {@code status.alive}.
+     */
+    public String topicKey() {
+        String filter = getTopic();
+        if (filter.startsWith(DEVICE_PREFIX)) {
+            filter = filter.substring(DEVICE_PREFIX.length());
+        }
+        return filter.replace('/', '.');
+    }
+
+    private void dispatch(String topic, byte[] payload) {
         try {
-            String topic = message.getTopic();
-            String payload = message.getStringPayload();
-            log.info("📩 Received [{}]: {}", topic, payload);
+            log.debug("📩 Received [{}]: {} bytes", topic, payload != null ? payload.length : 0);
 
             handleMessage(topic, payload);
         } catch (Exception e) {
@@ -62,6 +151,67 @@ public abstract class AbstractTopicListener extends AWSIotTopic {
         }
     }
 
+    private void dispatch(long deviceId, String topic, byte[] payload) {
+        try {
+            log.debug("📩 Received [{}]: {} bytes", topic, payload != null ? payload.length : 0);
+
+            handleMessage(deviceId, topic, payload);
+        } catch (Exception e) {
+            log.error("❌ Error while handling MQTT message: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hashes the {@code {DEVICE_ID}} segment of {@code device/{DEVICE_ID}/...} without splitting the topic.
+     */
+    static long deviceKey(String topic) {
+        int start = topic.indexOf('/') + 1;
+        int end = topic.indexOf('/', start);
+        if (end < 0) {
+            end = topic.length();
+        }
+        long hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = hash * 31 + topic.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Entry point for dispatched messages whose device ID is already known.
+     * <p>
+     * By default this ignores the device ID and calls {@link #handleMessage(String, byte[])};
+     * listeners override it to skip parsing the topic again.
+     * </p>
+     *
+     * @param deviceId the device ID parsed from the topic
+     * @param topic    the topic the message was received on
+     * @param payload  the raw payload bytes
+     * @throws Exception if any error occurs while processing the message
+     */
+    public void handleMessage(long deviceId, String topic, byte[] payload) throws Exception {
+        handleMessage(topic, payload);
+    }
+
+    /**
+     * Entry point for the raw message bytes.
+     * <p>
+     * By default, the payload is decoded as UTF-8 and passed to {@link #handleMessage(String, String)}.
+     * High-rate listeners can override this to decode the bytes directly and skip the
+     * intermediate {@code String}.
+     * </p>
+     *
+     * @param topic   the topic the message was received on
+     * @param payload the raw payload bytes
+     * @throws Exception if any error occurs while processing the message
+     */
+    public void handleMessage(String topic, byte[] payload) throws Exception {
+        String text = payload != null ? new String(payload, StandardCharsets.UTF_8) : null;
+        log.info("📩 Received [{}]: {}", topic, text);
+
+        handleMessage(topic, text);
+    }
+
     /**
      * Implement this method to define how to process the received MQTT message.
      *
@@ -0,0 +1,95 @@
+package com._yp.gaitMate.mqtt.core;
+
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Single MQTT subscription for every per-device topic.
+ * <p>
+ * Subscribes to {@code device/+/#} and routes each message to the {@link AbstractTopicListener}
+ * whose filter matches the rest of the topic, using a {@link TopicTrie} built from all listener
+ * beans at startup. The device ID is parsed from the topic exactly once and handed to the listener.
+ * A new device message type only needs a new listener bean, not a new broker subscription.
+ * </p>
+ *
+ * <p>Metrics: {@code mqtt.dispatch.unrouted} counts messages with a malformed device ID or no matching listener.</p>
+ */
+@Component
+@Slf4j
+public class DeviceTopicDispatcher extends AWSIotTopic {
+
+    public static final String TOPIC_FILTER = "device/+/#";
+
+    private static final String DEVICE_PREFIX = "device/";
+
+    private final TopicTrie<AbstractTopicListener> routes = new TopicTrie<>();
+    private final Counter unrouted;
+
+    public DeviceTopicDispatcher(List<AbstractTopicListener> listeners, MeterRegistry meterRegistry) {
+        super(TOPIC_FILTER, AWSIotQos.QOS1);
+        for (AbstractTopicListener listener : listeners) {
+            routes.add(listener.deviceTopicFilter(), listener);
+            log.info("🔀 Routing device/+/{} → {}", listener.deviceTopicFilter(), listener.getClass().getSimpleName());
+        }
+        this.unrouted = Counter.builder("mqtt.dispatch.unrouted").register(meterRegistry);
+    }
+
+    @Override
+    public void onMessage(AWSIotMessage message) {
+        dispatch(message.getTopic(), message.getPayload());
+    }
+
+    /**
+     * Routes one message to its listener.
+     *
+     * @return true if a listener accepted the message
+     */
+    public boolean dispatch(String topic, byte[] payload) {
+        int idEnd = topic.indexOf('/', DEVICE_PREFIX.length());
+        long deviceId = topic.startsWith(DEVICE_PREFIX) && idEnd > 0
+                ? parseDeviceId(topic, DEVICE_PREFIX.length(), idEnd)
+                : -1;
+        if (deviceId < 0) {
+            unrouted.increment();
+            log.warn("⚠️ Ignoring message on topic with invalid device ID: {}", topic);
+            return false;
+        }
+
+        AbstractTopicListener listener = routes.match(topic, idEnd + 1);
+        if (listener == null) {
+            unrouted.increment();
+            log.debug("No listener for topic {}", topic);
+            return false;
+        }
+
+        listener.deliver(deviceId, topic, payload);
+        return true;
+    }
+
+    /**
+     * Parses a non-negative decimal ID from {@code topic[start, end)}.
+     *
+     * @return the ID, or -1 if the segment is empty, not numeric or too long
+     */
+    static long parseDeviceId(String topic, int start, int end) {
+        if (end <= start || end - start > 18) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            char c = topic.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
@@ -0,0 +1,49 @@
+package com._yp.gaitMate.mqtt.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates and owns one {@link ShardedIngestExecutor} per MQTT topic key.
+ * <p>
+ * Listeners ask for their executor once, passing their default overflow policy;
+ * {@code mqtt.ingest.overflow-policies} can override it per topic.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IngestExecutors {
+
+    private final IngestProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ShardedIngestExecutor> executors = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the executor for {@code topicKey}, creating it on first use.
+     *
+     * @param topicKey      short topic name used for metrics and configuration (e.g. {@code sensor_data})
+     * @param defaultPolicy the policy to use when none is configured for this topic
+     */
+    public ShardedIngestExecutor executorFor(String topicKey, OverflowPolicy defaultPolicy) {
+        return executors.computeIfAbsent(topicKey, key -> {
+            OverflowPolicy policy = properties.getOverflowPolicies().getOrDefault(key, defaultPolicy);
+            log.info("Starting ingest executor [{}]: {} shards × {} slots, overflow={}",
+                    key, properties.getShards(), properties.getQueueCapacity(), policy);
+            return new ShardedIngestExecutor(key, properties.getShards(), properties.getQueueCapacity(),
+                    policy, meterRegistry);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ShardedIngestExecutor::shutdown);
+    }
+}
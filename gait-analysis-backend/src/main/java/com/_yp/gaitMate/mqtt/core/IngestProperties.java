@@ -0,0 +1,48 @@
+package com._yp.gaitMate.mqtt.core;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tuning for the per-topic {@link ShardedIngestExecutor}s.
+ *
+ * <pre>
+ * mqtt:
+ *   ingest:
+ *     shards: 4
+ *     queue-capacity: 1024
+ *     overflow-policies:
+ *       sensor_data: DROP_OLDEST
+ *       status:
+ *         calibration: BLOCK
+ * </pre>
+ *
+ * Topic keys are the part of the topic filter after {@code device/+/}, with {@code /} written as
+ * {@code .} (nested YAML keys bind the same way).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "mqtt.ingest")
+public class IngestProperties {
+
+    /**
+     * Number of worker threads (and queues) per topic. A device always maps to the same shard.
+     */
+    private int shards = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Maximum number of queued messages per shard.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * Overrides of the listener's default overflow policy, keyed by topic key.
+     */
+    private Map<String, OverflowPolicy> overflowPolicies = new HashMap<>();
+}
@@ -1,13 +1,16 @@
 package com._yp.gaitMate.mqtt.core;
 
+import com._yp.gaitMate.mqtt.transport.MqttTransport;
 import com.amazonaws.services.iot.client.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 /**
- * Publishes messages to AWS IoT Core using either blocking or non-blocking (async) mode.
+ * Publishes messages to the configured {@link MqttTransport} using either blocking or non-blocking (async) mode.
  */
 
 @Component
@@ -15,7 +18,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class MqttPublisher {
 
-    private final MqttClientProvider mqttClientProvider;
+    private final MqttTransport mqttTransport;
 
     /**
      * Publishes a message asynchronously using the given topic and QoS.
@@ -27,12 +30,10 @@ public class MqttPublisher {
      */
     public void publishAsync(String topic, String payload, AWSIotQos qos) {
         try {
-            AWSIotMqttClient client = mqttClientProvider.getClient();
-
             log.info("📤 [ASYNC] Publishing to [{}] payload: {}", topic, payload);
 
             IoTMessage message = new IoTMessage(topic, qos, payload);
-            client.publish(message, 3000); // timeout in ms
+            mqttTransport.publishAsync(message, 3000); // timeout in ms
         } catch (AWSIotException e) {
             log.error("❌ [ASYNC] Failed to publish message: {}", e.getMessage(), e);
         }
@@ -47,11 +48,9 @@ public class MqttPublisher {
      * @throws AWSIotException if publishing fails
      */
     public void publishBlocking(String topic, String payload, AWSIotQos qos) throws AWSIotException {
-        AWSIotMqttClient client = mqttClientProvider.getClient();
-
         log.info("📤 [BLOCKING] Publishing to [{}] payload: {}", topic, payload);
 
-        client.publish(topic, qos, payload); // blocking call
+        mqttTransport.publish(topic, qos, payload.getBytes(StandardCharsets.UTF_8)); // blocking call
         log.info("✅ Published to [{}] successfully", topic);
     }
 }
@@ -0,0 +1,18 @@
+package com._yp.gaitMate.mqtt.core;
+
+/**
+ * What an ingest shard does when its bounded queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Evict the oldest queued message to make room for the new one.
+     * Suited to high-rate streams where only fresh samples matter (e.g. {@code sensor_data}).
+     */
+    DROP_OLDEST,
+
+    /**
+     * Block the delivering MQTT thread until the shard has room.
+     * Suited to low-rate control topics where every message must be handled.
+     */
+    BLOCK
+}
@@ -0,0 +1,174 @@
+package com._yp.gaitMate.mqtt.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed set of single-threaded workers, each draining its own bounded queue.
+ * <p>
+ * Work is routed by a key (the device ID), so all messages from one device are handled by the
+ * same worker and keep their arrival order, while different devices are processed in parallel.
+ * When a shard's queue is full the configured {@link OverflowPolicy} decides whether the oldest
+ * message is dropped or the submitting thread waits.
+ * </p>
+ *
+ * <p>Metrics (tagged with {@code topic}):</p>
+ * <ul>
+ *   <li>{@code mqtt.ingest.queue.depth} – messages waiting across all shards</li>
+ *   <li>{@code mqtt.ingest.dropped} – messages evicted by {@link OverflowPolicy#DROP_OLDEST}</li>
+ *   <li>{@code mqtt.ingest.queue.wait} – time between submit and handler start</li>
+ *   <li>{@code mqtt.ingest.handler.latency} – time spent in the handler</li>
+ * </ul>
+ */
+@Slf4j
+public class ShardedIngestExecutor {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    private final List<ArrayBlockingQueue<Task>> queues;
+    private final List<Thread> workers;
+
+    private final Counter dropped;
+    private final Timer queueWait;
+    private final Timer handlerLatency;
+
+    private volatile boolean running = true;
+
+    public ShardedIngestExecutor(String name, int shards, int queueCapacity,
+                                 OverflowPolicy overflowPolicy, MeterRegistry meterRegistry) {
+        if (shards < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("shards and queueCapacity must be positive");
+        }
+        this.name = name;
+        this.overflowPolicy = overflowPolicy;
+        this.queues = new ArrayList<>(shards);
+        this.workers = new ArrayList<>(shards);
+
+        this.dropped = Counter.builder("mqtt.ingest.dropped")
+                .tag("topic", name)
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("mqtt.ingest.queue.wait")
+                .tag("topic", name)
+                .register(meterRegistry);
+        this.handlerLatency = Timer.builder("mqtt.ingest.handler.latency")
+                .tag("topic", name)
+                .register(meterRegistry);
+        Gauge.builder("mqtt.ingest.queue.depth", this, ShardedIngestExecutor::queueDepth)
+                .tag("topic", name)
+                .register(meterRegistry);
+
+        for (int i = 0; i < shards; i++) {
+            ArrayBlockingQueue<Task> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread worker = new Thread(() -> drain(queue), "mqtt-ingest-" + name + "-" + i);
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues {@code task} on the shard owning {@code key}.
+     *
+     * @param key  routing key; equal keys always land on the same worker
+     * @param task the work to run
+     */
+    public void execute(long key, Runnable task) {
+        if (!running) {
+            log.warn("Ingest executor [{}] is shut down, rejecting message", name);
+            return;
+        }
+
+        ArrayBlockingQueue<Task> queue = queues.get(shardOf(key));
+        Task queued = new Task(task, System.nanoTime());
+
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(queued);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for ingest queue [{}]", name);
+            }
+            return;
+        }
+
+        while (!queue.offer(queued)) {
+            if (queue.poll() != null) {
+                dropped.increment();
+            }
+        }
+    }
+
+    /**
+     * Total number of messages waiting across all shards.
+     */
+    public int queueDepth() {
+        int depth = 0;
+        for (ArrayBlockingQueue<Task> queue : queues) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    public long droppedCount() {
+        return (long) dropped.count();
+    }
+
+    public int shardCount() {
+        return queues.size();
+    }
+
+    int shardOf(long key) {
+        // spread sequential device IDs before reducing to a shard index
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(mixed ^ (mixed >>> 32), (long) queues.size());
+    }
+
+    /**
+     * Stops accepting work and interrupts the workers. Queued messages are discarded.
+     */
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void drain(ArrayBlockingQueue<Task> queue) {
+        while (running) {
+            Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+
+            long start = System.nanoTime();
+            queueWait.record(start - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+            try {
+                task.work().run();
+            } catch (Exception e) {
+                log.error("❌ Ingest worker [{}] failed: {}", name, e.getMessage(), e);
+            } finally {
+                handlerLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private record Task(Runnable work, long enqueuedAt) {
+    }
+}
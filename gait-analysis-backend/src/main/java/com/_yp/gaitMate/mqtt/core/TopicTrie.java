@@ -0,0 +1,132 @@
+package com._yp.gaitMate.mqtt.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled MQTT topic-filter matcher.
+ * <p>
+ * Filters are split into levels once, when they are added. Matching walks the topic level by level
+ * using index arithmetic and {@link String#regionMatches}, so routing a message allocates nothing.
+ * Supports the MQTT wildcards {@code +} (exactly one level) and {@code #} (any remaining levels,
+ * last level only). Exact levels take precedence over {@code +}, which takes precedence over {@code #}.
+ * </p>
+ *
+ * <p>Build the trie up front; lookups are safe from any thread once it is no longer modified.</p>
+ *
+ * @param <H> the handler type stored at each filter
+ */
+public class TopicTrie<H> {
+
+    private final Node<H> root = new Node<>();
+
+    /**
+     * Registers {@code handler} for {@code filter}.
+     *
+     * @throws IllegalArgumentException if the filter is malformed or already registered
+     */
+    public void add(String filter, H handler) {
+        Node<H> node = root;
+        String[] levels = filter.split("/", -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (level.equals("#")) {
+                if (i != levels.length - 1) {
+                    throw new IllegalArgumentException("'#' must be the last level: " + filter);
+                }
+                if (node.multiLevel != null) {
+                    throw new IllegalArgumentException("Duplicate topic filter: " + filter);
+                }
+                node.multiLevel = handler;
+                return;
+            }
+            if (level.equals("+")) {
+                if (node.singleLevel == null) {
+                    node.singleLevel = new Node<>();
+                }
+                node = node.singleLevel;
+            } else {
+                if (level.contains("+") || level.contains("#")) {
+                    throw new IllegalArgumentException("Wildcards must occupy a whole level: " + filter);
+                }
+                node = node.child(level);
+            }
+        }
+        if (node.handler != null) {
+            throw new IllegalArgumentException("Duplicate topic filter: " + filter);
+        }
+        node.handler = handler;
+    }
+
+    /**
+     * Finds the handler for the part of {@code topic} starting at {@code offset}.
+     *
+     * @return the most specific matching handler, or {@code null}
+     */
+    public H match(String topic, int offset) {
+        return match(root, topic, offset);
+    }
+
+    public H match(String topic) {
+        return match(topic, 0);
+    }
+
+    private static <H> H match(Node<H> node, String topic, int start) {
+        int end = topic.indexOf('/', start);
+        boolean last = end < 0;
+        if (last) {
+            end = topic.length();
+        }
+        int length = end - start;
+
+        Node<H> exact = node.find(topic, start, length);
+        if (exact != null) {
+            H found = last ? exact.handler : match(exact, topic, end + 1);
+            if (found == null && last) {
+                found = exact.multiLevel; // "a/#" also matches "a"
+            }
+            if (found != null) {
+                return found;
+            }
+        }
+        if (node.singleLevel != null) {
+            H found = last ? node.singleLevel.handler : match(node.singleLevel, topic, end + 1);
+            if (found == null && last) {
+                found = node.singleLevel.multiLevel;
+            }
+            if (found != null) {
+                return found;
+            }
+        }
+        return node.multiLevel;
+    }
+
+    private static final class Node<H> {
+        private final List<String> levels = new ArrayList<>(2);
+        private final List<Node<H>> children = new ArrayList<>(2);
+        private Node<H> singleLevel;
+        private H multiLevel;
+        private H handler;
+
+        private Node<H> child(String level) {
+            int index = levels.indexOf(level);
+            if (index >= 0) {
+                return children.get(index);
+            }
+            Node<H> child = new Node<>();
+            levels.add(level);
+            children.add(child);
+            return child;
+        }
+
+        private Node<H> find(String topic, int start, int length) {
+            for (int i = 0; i < levels.size(); i++) {
+                String level = levels.get(i);
+                if (level.length() == length && topic.regionMatches(start, level, 0, length)) {
+                    return children.get(i);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import com._yp.gaitMate.model.StreamCompleteness;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Holds one {@link ReorderBuffer} per device.
+ * <p>
+ * Frames of a device are delivered by a single ingest shard, but sessions are started and
+ * stopped from request threads, so each device's buffer is guarded by its own monitor.
+ * </p>
+ *
+ * <p>
+ * A device outside a session that sent nothing for {@code mqtt.stream.idle-eviction-ms} is forgotten;
+ * its buffered frames are flushed first.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeviceStreams {
+
+    private static final Consumer<SensorFrame> DISCARD = frame -> { };
+
+    private final StreamProperties properties;
+    private final Map<Long, DeviceStream> streams = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService evictor;
+
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(1, properties.getIdleEvictionMs());
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "device-stream-evict");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdleSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+    }
+
+    /**
+     * Offers a decoded frame; in-order, de-duplicated frames are passed to {@code sink}.
+     * The sink is remembered so frames still buffered at {@link #endSession(Long)} reach it too.
+     */
+    public void accept(SensorFrame frame, Consumer<SensorFrame> sink) {
+        while (true) {
+            DeviceStream stream = stream(frame.getDeviceId());
+            synchronized (stream) {
+                if (stream.retired) {
+                    continue;
+                }
+                stream.sink = sink;
+                stream.lastFrameAt = System.currentTimeMillis();
+                long restarts = stream.buffer.getQuality().getRestarts();
+                stream.buffer.push(frame, sink);
+                if (stream.buffer.getQuality().getRestarts() != restarts) {
+                    log.warn("⚠️ Device {} clock went back to {}, stream ordering restarted",
+                            frame.getDeviceId(), frame.getTimestamp());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Starts a fresh quality report and ordering state for the device's new session.
+     */
+    public void beginSession(Long deviceId) {
+        while (true) {
+            DeviceStream stream = stream(deviceId);
+            synchronized (stream) {
+                if (stream.retired) {
+                    continue;
+                }
+                stream.buffer.restart(stream.sink != null ? stream.sink : DISCARD);
+                stream.buffer.resetQuality();
+                stream.inSession = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Flushes the device's buffered frames and returns the quality report of the session.
+     *
+     * @return the report, or {@code null} if no frame was received from the device
+     */
+    public StreamCompleteness endSession(Long deviceId) {
+        DeviceStream stream = streams.get(deviceId);
+        if (stream == null) {
+            return null;
+        }
+        synchronized (stream) {
+            if (stream.retired) {
+                return null;
+            }
+            stream.inSession = false;
+            if (stream.sink == null) {
+                return null;
+            }
+            stream.buffer.flush(stream.sink);
+            StreamCompleteness report = stream.buffer.getQuality().toReport();
+            log.info("📶 Stream report for device {}: {}", deviceId, report);
+            return report;
+        }
+    }
+
+    /**
+     * Forgets devices that are not in a session and sent nothing for {@code idle-eviction-ms}.
+     *
+     * @param now the current time in milliseconds
+     */
+    void evictIdle(long now) {
+        for (DeviceStream stream : streams.values()) {
+            synchronized (stream) {
+                if (!stream.inSession && now - stream.lastFrameAt > properties.getIdleEvictionMs()) {
+                    stream.buffer.flush(stream.sink != null ? stream.sink : DISCARD);
+                    stream.retired = true;
+                    streams.remove(stream.deviceId, stream);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return streams.size();
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private DeviceStream stream(long deviceId) {
+        return streams.computeIfAbsent(deviceId, id -> new DeviceStream(id, new ReorderBuffer(
+                properties.getReorderWindowFrames(), properties.getSamplePeriodMs(), properties.getRestartThresholdMs())));
+    }
+
+    private void evictIdleSafely() {
+        try {
+            evictIdle(System.currentTimeMillis());
+        } catch (Exception e) {
+            log.error("❌ Device stream eviction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static final class DeviceStream {
+        private final long deviceId;
+        private final ReorderBuffer buffer;
+        private Consumer<SensorFrame> sink;
+        private long lastFrameAt = System.currentTimeMillis();
+        private boolean inSession;
+        private boolean retired;
+
+        private DeviceStream(long deviceId, ReorderBuffer buffer) {
+            this.deviceId = deviceId;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import lombok.Getter;
+
+import java.util.function.Consumer;
+
+/**
+ * Small per-device window that restores timestamp order and drops QoS1 duplicates.
+ * <p>
+ * Incoming frames are copied into a pool of {@code window + 1} slots kept sorted by timestamp.
+ * When the window overflows, the oldest frame is emitted. A frame whose timestamp is buffered or
+ * among the recently emitted ones is a duplicate; any other frame older than the last emitted frame
+ * arrived too late and is dropped.
+ * A frame more than {@code restartThresholdMs} older than the newest one seen means the device clock went back
+ * (a reboot before time sync, an NTP step): the buffered frames are flushed and ordering starts over from it.
+ * Emitted frames are passed to {@link StreamQuality} to track gaps and the effective sample rate.
+ * </p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public class ReorderBuffer {
+
+    private final SensorFrame[] slots;
+    private final int window;
+    private final long restartThresholdMs;
+    private int size;
+
+    private boolean emittedAny;
+    private long lastEmitted;
+
+    /** Ring of recently emitted timestamps, to tell redeliveries from late frames. */
+    private final long[] recent;
+    private int recentHead;
+    private int recentSize;
+
+    @Getter
+    private final StreamQuality quality;
+
+    public ReorderBuffer(int window, long samplePeriodMs, long restartThresholdMs) {
+        if (window < 0) {
+            throw new IllegalArgumentException("window must not be negative");
+        }
+        if (restartThresholdMs < 1) {
+            throw new IllegalArgumentException("restartThresholdMs must be positive");
+        }
+        this.window = window;
+        this.restartThresholdMs = restartThresholdMs;
+        this.slots = new SensorFrame[window + 1];
+        this.recent = new long[Math.max(8, window * 2)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new SensorFrame();
+        }
+        this.quality = new StreamQuality(samplePeriodMs);
+    }
+
+    /**
+     * Offers a frame. The frame is copied, so the caller may reuse it.
+     *
+     * @param sink receives frames leaving the window, oldest first (the instance is reused)
+     */
+    public void push(SensorFrame frame, Consumer<SensorFrame> sink) {
+        long timestamp = frame.getTimestamp();
+        quality.onReceived();
+
+        if (clockWentBack(timestamp)) {
+            restart(sink);
+            quality.onRestart();
+        }
+
+        if (emittedAny && timestamp <= lastEmitted) {
+            if (recentlyEmitted(timestamp)) {
+                quality.onDuplicate();
+            } else {
+                quality.onLate();
+            }
+            return;
+        }
+
+        // Insertion sort into the pool; the free slot at the end is recycled
+        int position = size;
+        while (position > 0 && slots[position - 1].getTimestamp() > timestamp) {
+            position--;
+        }
+        if (position > 0 && slots[position - 1].getTimestamp() == timestamp) {
+            quality.onDuplicate();
+            return;
+        }
+        SensorFrame slot = slots[size];
+        System.arraycopy(slots, position, slots, position + 1, size - position);
+        slots[position] = slot;
+        slot.copyFrom(frame);
+        size++;
+
+        if (size > window) {
+            emitOldest(sink);
+        }
+    }
+
+    /**
+     * Emits every buffered frame, e.g. when the session stops.
+     */
+    public void flush(Consumer<SensorFrame> sink) {
+        while (size > 0) {
+            emitOldest(sink);
+        }
+    }
+
+    /**
+     * Emits the buffered frames and forgets the ordering state, so the next frame is accepted whatever its
+     * timestamp. Used when a new session starts, since the kit may have rebooted in between.
+     */
+    public void restart(Consumer<SensorFrame> sink) {
+        flush(sink);
+        emittedAny = false;
+        recentHead = 0;
+        recentSize = 0;
+    }
+
+    /**
+     * Starts a new quality report, keeping the duplicate/ordering state.
+     */
+    public void resetQuality() {
+        quality.reset();
+    }
+
+    private boolean clockWentBack(long timestamp) {
+        long newest;
+        if (size > 0) {
+            newest = slots[size - 1].getTimestamp();
+        } else if (emittedAny) {
+            newest = lastEmitted;
+        } else {
+            return false;
+        }
+        return newest - timestamp > restartThresholdMs;
+    }
+
+    private boolean recentlyEmitted(long timestamp) {
+        for (int i = 0; i < recentSize; i++) {
+            if (recent[i] == timestamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void emitOldest(Consumer<SensorFrame> sink) {
+        SensorFrame oldest = slots[0];
+        System.arraycopy(slots, 1, slots, 0, size - 1);
+        slots[size - 1] = oldest;
+        size--;
+
+        emittedAny = true;
+        lastEmitted = oldest.getTimestamp();
+        recent[recentHead] = lastEmitted;
+        recentHead = (recentHead + 1) % recent.length;
+        recentSize = Math.min(recentSize + 1, recent.length);
+        quality.onAccepted(lastEmitted);
+        sink.accept(oldest);
+    }
+}
@@ -0,0 +1,125 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import com._yp.gaitMate.websocket.message.SensorDataWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A reusable, primitive-backed representation of a single {@code device/+/sensor_data} frame.
+ * <p>
+ * Instances are meant to be owned by one thread and overwritten for every incoming frame,
+ * so the hot ingest path does not allocate a JSON tree or a builder per sample.
+ * Call {@link #copyFrom(SensorFrame)} when a frame has to outlive the current message.
+ * </p>
+ *
+ * <p>Channel layout:</p>
+ * <ul>
+ *   <li>{@code fsr[0..15]} → {@code FSR_1} .. {@code FSR_16}</li>
+ *   <li>{@code imu[0..12]} → yaw, pitch, roll, q0..q3, ax, ay, az, gx, gy, gz (see the index constants)</li>
+ *   <li>{@code cal[0..3]} → sys, gyro, accel, mag calibration levels (0-3)</li>
+ * </ul>
+ */
+@Getter
+@Setter
+public class SensorFrame {
+
+    public static final int FSR_CHANNELS = 16;
+    public static final int IMU_CHANNELS = 13;
+    public static final int CAL_CHANNELS = 4;
+
+    // IMU channel indexes
+    public static final int YAW = 0;
+    public static final int PITCH = 1;
+    public static final int ROLL = 2;
+    public static final int Q0 = 3;
+    public static final int Q1 = 4;
+    public static final int Q2 = 5;
+    public static final int Q3 = 6;
+    public static final int AX = 7;
+    public static final int AY = 8;
+    public static final int AZ = 9;
+    public static final int GX = 10;
+    public static final int GY = 11;
+    public static final int GZ = 12;
+
+    // Calibration channel indexes
+    public static final int SYS_CAL = 0;
+    public static final int GYRO_CAL = 1;
+    public static final int ACCEL_CAL = 2;
+    public static final int MAG_CAL = 3;
+
+    private long deviceId;
+    private long timestamp;
+
+    private final int[] fsr = new int[FSR_CHANNELS];
+    private final float[] imu = new float[IMU_CHANNELS];
+    private final byte[] cal = new byte[CAL_CHANNELS];
+
+    /**
+     * Overwrites this frame with the contents of another frame.
+     *
+     * @param other the frame to copy from
+     */
+    public void copyFrom(SensorFrame other) {
+        this.deviceId = other.deviceId;
+        this.timestamp = other.timestamp;
+        System.arraycopy(other.fsr, 0, this.fsr, 0, FSR_CHANNELS);
+        System.arraycopy(other.imu, 0, this.imu, 0, IMU_CHANNELS);
+        System.arraycopy(other.cal, 0, this.cal, 0, CAL_CHANNELS);
+    }
+
+    /**
+     * Returns a detached copy of this frame.
+     */
+    public SensorFrame copy() {
+        SensorFrame copy = new SensorFrame();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Builds the WebSocket DTO for this frame.
+     * This is the only place the frame is turned back into the verbose, field-per-channel form.
+     */
+    public SensorDataWebSocketMessage toWebSocketMessage() {
+        return SensorDataWebSocketMessage.builder()
+                .type(WebSocketMessageType.SENSOR_DATA)
+                .deviceId(deviceId)
+                .timestamp(timestamp)
+                .FSR_1(fsr[0])
+                .FSR_2(fsr[1])
+                .FSR_3(fsr[2])
+                .FSR_4(fsr[3])
+                .FSR_5(fsr[4])
+                .FSR_6(fsr[5])
+                .FSR_7(fsr[6])
+                .FSR_8(fsr[7])
+                .FSR_9(fsr[8])
+                .FSR_10(fsr[9])
+                .FSR_11(fsr[10])
+                .FSR_12(fsr[11])
+                .FSR_13(fsr[12])
+                .FSR_14(fsr[13])
+                .FSR_15(fsr[14])
+                .FSR_16(fsr[15])
+                .yaw(imu[YAW])
+                .pitch(imu[PITCH])
+                .roll(imu[ROLL])
+                .q0(imu[Q0])
+                .q1(imu[Q1])
+                .q2(imu[Q2])
+                .q3(imu[Q3])
+                .ax(imu[AX])
+                .ay(imu[AY])
+                .az(imu[AZ])
+                .gx(imu[GX])
+                .gy(imu[GY])
+                .gz(imu[GZ])
+                .sysCal(cal[SYS_CAL])
+                .gyroCal(cal[GYRO_CAL])
+                .accelCal(cal[ACCEL_CAL])
+                .magCal(cal[MAG_CAL])
+                .build();
+    }
+}
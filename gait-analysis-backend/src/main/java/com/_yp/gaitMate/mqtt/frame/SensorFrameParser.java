@@ -0,0 +1,263 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import com._yp.gaitMate.mqtt.listeners.ListenerUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token-level decoder for {@code device/+/sensor_data} payloads.
+ * <p>
+ * Reads the message bytes with a streaming {@link JsonParser} and writes every value straight
+ * into a caller-owned {@link SensorFrame}. Unlike {@link ListenerUtil#extractSensorData(String, String)}
+ * it never builds a {@code JsonNode} tree, never does per-field hash lookups on a tree and never
+ * boxes numbers. Decimal values are parsed from the parser's character buffer, so the common
+ * case does not allocate an intermediate {@code String} either.
+ * </p>
+ *
+ * <p>Expected JSON payload format (key order is irrelevant, unknown keys are skipped):</p>
+ * <pre>
+ * {
+ *   "type": "sensor_data",
+ *   "device_id": "34",
+ *   "timestamp": 1321044433,
+ *   "FSR_1": 120, ... "FSR_16": 0,
+ *   "yaw": 1.25, "pitch": -0.5, "roll": 0.0,
+ *   "q0": 1.0, "q1": 0.0, "q2": 0.0, "q3": 0.0,
+ *   "ax": 0.01, "ay": 0.02, "az": 9.81,
+ *   "gx": 0.0, "gy": 0.0, "gz": 0.0,
+ *   "sys_cal": 3, "gyro_cal": 3, "accel_cal": 3, "mag_cal": 3
+ * }
+ * </pre>
+ *
+ * <p>This class is stateless and thread-safe; the frame passed in is not.</p>
+ */
+public final class SensorFrameParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final char[] EXPECTED_TYPE = "sensor_data".toCharArray();
+
+    // Bit positions in the "seen fields" mask
+    private static final int F_TYPE = 0;
+    private static final int F_TIMESTAMP = 1;
+    private static final int F_FSR = 2;
+    private static final int F_IMU = F_FSR + SensorFrame.FSR_CHANNELS;
+    private static final int F_CAL = F_IMU + SensorFrame.IMU_CHANNELS;
+    private static final int FIELD_COUNT = F_CAL + SensorFrame.CAL_CHANNELS;
+    private static final long ALL_FIELDS = (1L << FIELD_COUNT) - 1;
+
+    private static final String[] FIELD_NAMES = new String[FIELD_COUNT];
+    private static final Map<String, Integer> FIELD_INDEX = new HashMap<>();
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    static {
+        FIELD_NAMES[F_TYPE] = "type";
+        FIELD_NAMES[F_TIMESTAMP] = "timestamp";
+        for (int i = 0; i < SensorFrame.FSR_CHANNELS; i++) {
+            FIELD_NAMES[F_FSR + i] = "FSR_" + (i + 1);
+        }
+        String[] imu = {"yaw", "pitch", "roll", "q0", "q1", "q2", "q3", "ax", "ay", "az", "gx", "gy", "gz"};
+        System.arraycopy(imu, 0, FIELD_NAMES, F_IMU, imu.length);
+        String[] cal = {"sys_cal", "gyro_cal", "accel_cal", "mag_cal"};
+        System.arraycopy(cal, 0, FIELD_NAMES, F_CAL, cal.length);
+
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            FIELD_INDEX.put(FIELD_NAMES[i], i);
+        }
+    }
+
+    private SensorFrameParser() {
+    }
+
+    /**
+     * Decodes a sensor frame, taking the device ID from the MQTT topic.
+     *
+     * @param topic   the topic the frame was received on ({@code device/{id}/sensor_data})
+     * @param payload the raw message bytes
+     * @param frame   the frame to overwrite
+     * @throws IllegalArgumentException if the topic or payload is malformed
+     */
+    public static void parse(String topic, byte[] payload, SensorFrame frame) {
+        frame.setDeviceId(ListenerUtil.parseDeviceIdFromTopic(topic));
+        parsePayload(payload, frame);
+    }
+
+    /**
+     * Decodes the payload of a sensor frame into {@code frame}. The device ID is left untouched.
+     *
+     * @throws IllegalArgumentException if the payload is not a complete {@code sensor_data} object
+     */
+    public static void parsePayload(byte[] payload, SensorFrame frame) {
+        long seen = 0;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Invalid JSON payload: expected an object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Integer field = FIELD_INDEX.get(parser.currentName());
+                JsonToken value = parser.nextToken();
+
+                if (field == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                int f = field;
+                if (f == F_TYPE) {
+                    checkType(parser, value);
+                } else if (f == F_TIMESTAMP) {
+                    frame.setTimestamp(parser.getValueAsLong());
+                } else if (f < F_IMU) {
+                    frame.getFsr()[f - F_FSR] = readInt(parser, value);
+                } else if (f < F_CAL) {
+                    frame.getImu()[f - F_IMU] = (float) readDouble(parser, value);
+                } else {
+                    frame.getCal()[f - F_CAL] = (byte) readInt(parser, value);
+                }
+                seen |= 1L << f;
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON payload: " + e.getMessage());
+        }
+
+        if (seen != ALL_FIELDS) {
+            throw new IllegalArgumentException("Missing fields in sensor_data payload: " + describeMissing(seen));
+        }
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static void checkType(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_STRING || !equalsIgnoreCase(parser, EXPECTED_TYPE)) {
+            throw new IllegalArgumentException("Unexpected or missing type in payload: " + parser.getText());
+        }
+    }
+
+    private static boolean equalsIgnoreCase(JsonParser parser, char[] expected) throws IOException {
+        if (parser.getTextLength() != expected.length) {
+            return false;
+        }
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < expected.length; i++) {
+            if (Character.toLowerCase(text[offset + i]) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readInt(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        return (int) readDouble(parser, value);
+    }
+
+    private static double readDouble(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (value != JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getValueAsDouble();
+        }
+        return parseDecimal(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    /**
+     * Parses a plain decimal ({@code -12.345}, {@code 1.5e-3}) from a character window.
+     * Values whose mantissa or exponent cannot be represented exactly fall back to
+     * {@link Double#parseDouble(String)}, so the result always matches the JDK.
+     */
+    static double parseDecimal(char[] chars, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                if (mantissa >= MAX_EXACT_MANTISSA / 10) {
+                    return Double.parseDouble(new String(chars, offset, length));
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fraction) {
+                    scale++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+
+        if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            i++;
+            boolean negativeExp = false;
+            if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+                negativeExp = chars[i] == '-';
+                i++;
+            }
+            int exp = 0;
+            for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+                exp = exp * 10 + (chars[i] - '0');
+                if (exp > POW10.length * 2) {
+                    return Double.parseDouble(new String(chars, offset, length));
+                }
+            }
+            scale += negativeExp ? exp : -exp;
+        }
+
+        if (i != end || digits == 0) {
+            return Double.parseDouble(new String(chars, offset, length));
+        }
+
+        double result;
+        if (scale == 0) {
+            result = mantissa;
+        } else if (scale > 0 && scale < POW10.length) {
+            result = mantissa / POW10[scale];
+        } else if (scale < 0 && -scale < POW10.length) {
+            result = mantissa * POW10[-scale];
+        } else {
+            return Double.parseDouble(new String(chars, offset, length));
+        }
+        return negative ? -result : result;
+    }
+
+    private static String describeMissing(long seen) {
+        StringBuilder missing = new StringBuilder();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if ((seen & (1L << i)) == 0) {
+                if (!missing.isEmpty()) {
+                    missing.append(", ");
+                }
+                missing.append(FIELD_NAMES[i]);
+            }
+        }
+        return missing.toString();
+    }
+}
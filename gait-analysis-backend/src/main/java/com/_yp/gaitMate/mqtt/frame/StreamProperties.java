@@ -0,0 +1,54 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reordering and quality tracking of {@code sensor_data} streams.
+ *
+ * <pre>
+ * mqtt:
+ *   stream:
+ *     reorder-window-frames: 5
+ *     sample-period-ms: 10
+ *     min-completeness: 0.0
+ *     restart-threshold-ms: 2000
+ *     idle-eviction-ms: 300000
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "mqtt.stream")
+public class StreamProperties {
+
+    /**
+     * Frames held back per device to put out-of-order deliveries back in sequence.
+     * Adds roughly {@code window × sample period} of latency to the live view.
+     */
+    private int reorderWindowFrames = 5;
+
+    /**
+     * Nominal device sample period, used to detect gaps.
+     */
+    private long samplePeriodMs = 10;
+
+    /**
+     * Sessions whose stream completeness falls below this are marked FAILED instead of processed.
+     * 0 disables the check.
+     */
+    private double minCompleteness = 0.0;
+
+    /**
+     * A frame this much older than the newest one seen restarts the device's stream instead of being dropped
+     * as late. Must stay well above {@code window × sample period}.
+     */
+    private long restartThresholdMs = 2_000;
+
+    /**
+     * Devices outside a session are forgotten after this long without frames.
+     */
+    private long idleEvictionMs = 300_000;
+}
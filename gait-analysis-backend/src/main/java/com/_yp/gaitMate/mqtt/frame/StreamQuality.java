@@ -0,0 +1,115 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import com._yp.gaitMate.model.StreamCompleteness;
+import lombok.Getter;
+
+/**
+ * Running counters describing how complete a device's frame stream is.
+ * <p>
+ * A hole between two accepted frames longer than 1.5 sample periods counts as a gap, and
+ * {@code round(hole / period) - 1} samples are counted as missing. After a restart of the device clock
+ * (see {@link ReorderBuffer}) the next frame starts a new run, so the jump counts neither as a gap nor
+ * towards the sample rate.
+ * </p>
+ */
+@Getter
+public class StreamQuality {
+
+    private final long samplePeriodMs;
+
+    private long received;
+    private long accepted;
+    private long duplicates;
+    private long late;
+    private long gaps;
+    private long missing;
+    private long largestGapMs;
+    private long restarts;
+    private long lastTimestamp;
+    /** Intervals between consecutive accepted frames of one run, and their total length. */
+    private long intervals;
+    private long spanMs;
+    private boolean newRun = true;
+
+    public StreamQuality(long samplePeriodMs) {
+        if (samplePeriodMs < 1) {
+            throw new IllegalArgumentException("samplePeriodMs must be positive");
+        }
+        this.samplePeriodMs = samplePeriodMs;
+    }
+
+    void onReceived() {
+        received++;
+    }
+
+    void onDuplicate() {
+        duplicates++;
+    }
+
+    void onLate() {
+        late++;
+    }
+
+    void onRestart() {
+        restarts++;
+        newRun = true;
+    }
+
+    void onAccepted(long timestamp) {
+        if (!newRun) {
+            long interval = timestamp - lastTimestamp;
+            if (interval * 2 > samplePeriodMs * 3) {
+                gaps++;
+                missing += Math.round((double) interval / samplePeriodMs) - 1;
+                largestGapMs = Math.max(largestGapMs, interval);
+            }
+            intervals++;
+            spanMs += interval;
+        }
+        newRun = false;
+        accepted++;
+        lastTimestamp = timestamp;
+    }
+
+    void reset() {
+        received = 0;
+        accepted = 0;
+        duplicates = 0;
+        late = 0;
+        gaps = 0;
+        missing = 0;
+        largestGapMs = 0;
+        restarts = 0;
+        intervals = 0;
+        spanMs = 0;
+        newRun = true;
+    }
+
+    /**
+     * Samples per second over the time covered by accepted frames.
+     */
+    public double effectiveSampleRateHz() {
+        return intervals > 0 && spanMs > 0 ? intervals * 1000.0 / spanMs : 0;
+    }
+
+    /**
+     * Accepted frames as a fraction of accepted plus missing frames.
+     */
+    public double completeness() {
+        return accepted + missing > 0 ? (double) accepted / (accepted + missing) : 0;
+    }
+
+    public StreamCompleteness toReport() {
+        return StreamCompleteness.builder()
+                .framesReceived(received)
+                .framesAccepted(accepted)
+                .duplicateFrames(duplicates)
+                .lateFrames(late)
+                .gapCount(gaps)
+                .missingFrames(missing)
+                .largestGapMs(largestGapMs)
+                .effectiveSampleRateHz(Math.round(effectiveSampleRateHz() * 100) / 100.0)
+                .completeness(Math.round(completeness() * 10_000) / 10_000.0)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com._yp.gaitMate.mqtt.listeners;
 
 import com._yp.gaitMate.mqtt.core.AbstractTopicListener;
+import com._yp.gaitMate.service.sensorKitService.DeviceLivenessTracker;
 import com._yp.gaitMate.service.sensorKitService.SensorKitService;
 import com._yp.gaitMate.websocket.message.DeviceAliveWebSocketMessage;
 import com._yp.gaitMate.websocket.NotificationService;
@@ -9,6 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Listener for alive signal messages published by ESP32 devices.
  *
@@ -31,6 +34,7 @@ import org.springframework.stereotype.Component;
  * <ul>
  *   <li>Parse the device ID from the MQTT topic</li>
  *   <li>Validate and process the incoming JSON payload</li>
+ *   <li>Update the kit's entry in the {@link DeviceLivenessTracker}</li>
  *   <li>Notify the frontend user via WebSocket with the alive status</li>
  * </ul>
  */
@@ -47,29 +51,48 @@ public class AliveSignalListener extends AbstractTopicListener {
 
     private final SensorKitService sensorKitService;
     private final NotificationService notificationService;
+    private final DeviceLivenessTracker deviceLivenessTracker;
 
-    public AliveSignalListener(SensorKitService sensorKitService, NotificationService notificationService) {
+    public AliveSignalListener(SensorKitService sensorKitService, NotificationService notificationService,
+                               DeviceLivenessTracker deviceLivenessTracker) {
         super("device/+/status/alive", AWSIotQos.QOS1);
         this.sensorKitService = sensorKitService;
         this.notificationService = notificationService;
+        this.deviceLivenessTracker = deviceLivenessTracker;
     }
 
     @Override
-    public void handleMessage(String topic, String payload) {
+    public void handleMessage(long deviceId, String topic, byte[] payload) {
         try {
-            DeviceAliveWebSocketMessage message = ListenerUtil.extractAliveStatus(topic, payload);
-
-            String username = sensorKitService.getUsernameBySensorKitId(message.getDeviceId());
-            if (username == null) {
-                log.warn("No user associated with device {}", message.getDeviceId());
-                return;
-            }
-
-            notificationService.sendDeviceAliveToUser(username, message);
-            log.info("Alive signal forwarded to user [{}] for device [{}]", username, message.getDeviceId());
+            forward(ListenerUtil.extractAliveStatus(deviceId, new String(payload, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to handle alive signal: {}", e.getMessage());
+        }
+    }
 
+    @Override
+    public void handleMessage(String topic, String payload) {
+        try {
+            forward(ListenerUtil.extractAliveStatus(topic, payload));
         } catch (IllegalArgumentException e) {
             log.warn("Failed to handle alive signal: {}", e.getMessage());
         }
     }
+
+    private void forward(DeviceAliveWebSocketMessage message) {
+        if (message.isStatus()) {
+            deviceLivenessTracker.heartbeat(message.getDeviceId(), System.currentTimeMillis());
+        } else {
+            deviceLivenessTracker.markOffline(message.getDeviceId(), System.currentTimeMillis());
+        }
+
+        String username = sensorKitService.getUsernameBySensorKitId(message.getDeviceId());
+        if (username == null) {
+            log.warn("No user associated with device {}", message.getDeviceId());
+            return;
+        }
+
+        notificationService.sendDeviceAliveToUser(username, message);
+        log.info("Alive signal forwarded to user [{}] for device [{}]", username, message.getDeviceId());
+    }
 }
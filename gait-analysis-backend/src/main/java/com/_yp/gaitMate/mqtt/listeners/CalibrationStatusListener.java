@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Listener for calibration status updates published by ESP32 devices.
  *
@@ -35,7 +37,7 @@ import org.springframework.stereotype.Component;
  * <ul>
  *   <li>Parse device ID from the topic</li>
  *   <li>Validate and process the JSON payload</li>
- *   <li>Update SensorKit calibration status in the database</li>
+ *   <li>Record the SensorKit calibration status (written to the database in batches)</li>
  *   <li>Send WebSocket message to the linked frontend user</li>
  * </ul>
  */
@@ -59,31 +61,40 @@ public class CalibrationStatusListener extends AbstractTopicListener {
         this.notificationService = notificationService;
     }
 
+    @Override
+    public void handleMessage(long deviceId, String topic, byte[] payload) {
+        try {
+            forward(ListenerUtil.extractCalibrationStatus(deviceId, new String(payload, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ Failed to parse calibration status message: {}", e.getMessage());
+        }
+    }
+
     @Override
     public void handleMessage(String topic, String payload) {
         try {
             // Parse MQTT payload into DTO
-            CalibrationStatusWebSocketMessage calMsg = ListenerUtil.extractCalibrationStatus(topic, payload);
-
-            // Only update DB if calibrated
-            if (calMsg.isStatus()) {
-                sensorKitService.setCalibrationStatus(calMsg.getDeviceId(), true);
-            }
-
-            // Get username linked to the device
-            String username = sensorKitService.getUsernameBySensorKitId(calMsg.getDeviceId());
-            if (username == null) {
-                log.warn("No user associated with device {}", calMsg.getDeviceId());
-                return;
-            }
-
-
-            // Broadcast to WebSocket subscribers
-            notificationService.sendCalibrationStatusToUser(username,calMsg);
-            log.info("📡 Sent calibration update to /topic/status/calibration for device [{}]", calMsg.getDeviceId());
-
+            forward(ListenerUtil.extractCalibrationStatus(topic, payload));
         } catch (IllegalArgumentException e) {
             log.warn("❌ Failed to parse calibration status message: {}", e.getMessage());
         }
     }
+
+    private void forward(CalibrationStatusWebSocketMessage calMsg) {
+        // Only update DB if calibrated
+        if (calMsg.isStatus()) {
+            sensorKitService.setCalibrationStatus(calMsg.getDeviceId(), true);
+        }
+
+        // Get username linked to the device
+        String username = sensorKitService.getUsernameBySensorKitId(calMsg.getDeviceId());
+        if (username == null) {
+            log.warn("No user associated with device {}", calMsg.getDeviceId());
+            return;
+        }
+
+        // Broadcast to WebSocket subscribers
+        notificationService.sendCalibrationStatusToUser(username,calMsg);
+        log.info("📡 Sent calibration update to /topic/status/calibration for device [{}]", calMsg.getDeviceId());
+    }
 }
@@ -35,7 +35,10 @@ public class ListenerUtil {
     }
 
     public static CalibrationStatusWebSocketMessage extractCalibrationStatus(String topic, String payload) {
-        Long deviceId = parseDeviceIdFromTopic(topic);
+        return extractCalibrationStatus(parseDeviceIdFromTopic(topic), payload);
+    }
+
+    public static CalibrationStatusWebSocketMessage extractCalibrationStatus(Long deviceId, String payload) {
         JsonNode json = parseJson(payload, WebSocketMessageType.CAL_STATUS);
 
         return CalibrationStatusWebSocketMessage.builder()
@@ -51,7 +54,10 @@ public class ListenerUtil {
     }
 
     public static DeviceAliveWebSocketMessage extractAliveStatus(String topic, String payload) {
-        Long deviceId = parseDeviceIdFromTopic(topic);
+        return extractAliveStatus(parseDeviceIdFromTopic(topic), payload);
+    }
+
+    public static DeviceAliveWebSocketMessage extractAliveStatus(Long deviceId, String payload) {
         JsonNode json = parseJson(payload, WebSocketMessageType.DEVICE_ALIVE);
 
         return DeviceAliveWebSocketMessage.builder()
@@ -63,7 +69,10 @@ public class ListenerUtil {
     }
 
     public static OrientationWebSocketMessage extractOrientationStatus(String topic, String payload) {
-        Long deviceId = parseDeviceIdFromTopic(topic);
+        return extractOrientationStatus(parseDeviceIdFromTopic(topic), payload);
+    }
+
+    public static OrientationWebSocketMessage extractOrientationStatus(Long deviceId, String payload) {
         JsonNode json = parseJson(payload, WebSocketMessageType.ORIENTATION_CAPTURED);
 
         return OrientationWebSocketMessage.builder()
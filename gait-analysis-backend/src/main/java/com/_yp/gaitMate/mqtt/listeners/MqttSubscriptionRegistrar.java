@@ -1,7 +1,7 @@
 package com._yp.gaitMate.mqtt.listeners;
 
-import com._yp.gaitMate.mqtt.core.MqttClientProvider;
-import com.amazonaws.services.iot.client.AWSIotMqttClient;
+import com._yp.gaitMate.mqtt.core.DeviceTopicDispatcher;
+import com._yp.gaitMate.mqtt.transport.MqttTransport;
 import com.amazonaws.services.iot.client.AWSIotException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -12,8 +12,8 @@ import org.springframework.stereotype.Component;
 /**
  * Registers MQTT topic listeners at application startup.
  * <p>
- * This class ensures that all defined MQTT topic listeners are subscribed
- * to AWS IoT Core once the client is connected.
+ * All per-device listeners are reached through one {@code device/+/#} subscription owned by the
+ * {@link DeviceTopicDispatcher}, which routes each message to the matching listener.
  * </p>
  */
 
@@ -22,11 +22,9 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class MqttSubscriptionRegistrar {
 
-    private final MqttClientProvider mqttClientProvider;
-    private final CalibrationStatusListener calibrationStatusListener;
-    private final OrientationStatusListener orientationStatusListener;
-    private final AliveSignalListener aliveSignalListener;
-    private final SensorDataListener sensorDataListener;
+    private final MqttTransport mqttTransport;
+    private final DeviceTopicDispatcher deviceTopicDispatcher;
+
     /**
      * Called automatically after Spring context is initialized.
      * Subscribes the application to all required MQTT topics.
@@ -34,17 +32,9 @@ public class MqttSubscriptionRegistrar {
     @PostConstruct
     public void subscribeToTopics() {
         try {
-            AWSIotMqttClient client = mqttClientProvider.getClient();
-
-            // Subscribe to calibration status topic
-            client.subscribe(calibrationStatusListener, true);
-            client.subscribe(orientationStatusListener, true);
-            client.subscribe(aliveSignalListener, true);
-            client.subscribe(sensorDataListener, true);
-            log.info("✅ Subscribed to topic: {}", calibrationStatusListener.getTopic());
-            log.info("✅ Subscribed to topic: {}", orientationStatusListener.getTopic());
-            log.info("✅ Subscribed to topic: {}", aliveSignalListener.getTopic());
-            log.info("✅ Subscribed to topic: {}", sensorDataListener.getTopic());
+            // One wildcard subscription for every device topic; listeners are selected per message
+            mqttTransport.subscribe(deviceTopicDispatcher);
+            log.info("✅ Subscribed to topic: {}", deviceTopicDispatcher.getTopic());
 
         } catch (AWSIotException e) {
             log.error("❌ Failed to subscribe to MQTT topics: {}", e.getMessage(), e);
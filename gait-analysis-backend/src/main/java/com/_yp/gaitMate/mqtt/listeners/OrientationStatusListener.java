@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Listener for orientation capture status updates published by ESP32 devices.
  *
@@ -54,21 +56,31 @@ public class OrientationStatusListener extends AbstractTopicListener {
     }
 
     @Override
-    public void handleMessage(String topic, String payload) throws Exception {
+    public void handleMessage(long deviceId, String topic, byte[] payload) {
         try {
-            OrientationWebSocketMessage message = ListenerUtil.extractOrientationStatus(topic, payload);
-
-            String username = sensorKitService.getUsernameBySensorKitId(message.getDeviceId());
-            if (username == null) {
-                log.warn("No user associated with device {}", message.getDeviceId());
-                return;
-            }
-
-            notificationService.sendOrientationStatusToUser(username, message);
-            log.info("Orientation update sent to user [{}] for device [{}]", username, message.getDeviceId());
+            forward(ListenerUtil.extractOrientationStatus(deviceId, new String(payload, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to handle orientation status message: {}", e.getMessage());
+        }
+    }
 
+    @Override
+    public void handleMessage(String topic, String payload) throws Exception {
+        try {
+            forward(ListenerUtil.extractOrientationStatus(topic, payload));
         } catch (IllegalArgumentException e) {
             log.warn("Failed to handle orientation status message: {}", e.getMessage());
         }
     }
+
+    private void forward(OrientationWebSocketMessage message) {
+        String username = sensorKitService.getUsernameBySensorKitId(message.getDeviceId());
+        if (username == null) {
+            log.warn("No user associated with device {}", message.getDeviceId());
+            return;
+        }
+
+        notificationService.sendOrientationStatusToUser(username, message);
+        log.info("Orientation update sent to user [{}] for device [{}]", username, message.getDeviceId());
+    }
 }
@@ -1,75 +1,120 @@
 package com._yp.gaitMate.mqtt.listeners;
 
+import com._yp.gaitMate.gait.LiveGaitMetricsService;
 import com._yp.gaitMate.mqtt.core.AbstractTopicListener;
+import com._yp.gaitMate.mqtt.core.OverflowPolicy;
+import com._yp.gaitMate.mqtt.frame.DeviceStreams;
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.mqtt.frame.SensorFrameParser;
+import com._yp.gaitMate.recording.SessionRecorder;
 import com._yp.gaitMate.service.sensorKitService.SensorKitService;
-import com._yp.gaitMate.websocket.message.DeviceAliveWebSocketMessage;
-import com._yp.gaitMate.websocket.NotificationService;
-import com._yp.gaitMate.websocket.message.SensorDataWebSocketMessage;
+import com._yp.gaitMate.websocket.SensorDataBatcher;
 import com.amazonaws.services.iot.client.AWSIotQos;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 /**
- * Listener for alive signal messages published by ESP32 devices.
+ * Listener for raw sensor frames published by ESP32 devices.
  *
  * <p>This listens to the MQTT topic pattern:</p>
  * <pre>
- * device/{DEVICE_ID}/status/alive
+ * device/{DEVICE_ID}/sensor_data
  * </pre>
  *
- * <p>Expected JSON payload format:</p>
- * <pre>
- * {
- *   "type": "device_alive",
- *   "device_id": 34,
- *   "status": true
- * }
- * </pre>
+ * <p>Frames arrive at ~100 Hz per kit, so the payload is decoded from the message bytes
+ * by {@link SensorFrameParser} into a per-thread {@link SensorFrame} instead of going
+ * through a {@code JsonNode} tree.</p>
  *
  * <p>Responsibilities:</p>
  * <ul>
  *   <li>Parse the device ID from the MQTT topic</li>
- *   <li>Validate and process the incoming JSON payload</li>
- *   <li>Notify the frontend user via WebSocket with the alive status</li>
+ *   <li>Decode the incoming JSON payload into a reusable frame</li>
+ *   <li>Put frames back in timestamp order and drop QoS1 duplicates ({@link DeviceStreams})</li>
+ *   <li>Append the frame to the session recording if the device has an ACTIVE session</li>
+ *   <li>Feed the frame to the live gait metrics of that session</li>
+ *   <li>Forward the frame to the frontend user via WebSocket, micro-batched by {@link SensorDataBatcher}</li>
  * </ul>
  */
 
-//{
-//    "type": "device_alive",
-//    "device_id": 34,
-//    "status": true
-//}
-
 @Component
 @Slf4j
 public class SensorDataListener extends AbstractTopicListener {
 
+    /** One reusable frame per delivering thread. */
+    private static final ThreadLocal<SensorFrame> FRAME = ThreadLocal.withInitial(SensorFrame::new);
+
     private final SensorKitService sensorKitService;
-    private final NotificationService notificationService;
+    private final SensorDataBatcher sensorDataBatcher;
+    private final SessionRecorder sessionRecorder;
+    private final LiveGaitMetricsService liveGaitMetricsService;
+    private final DeviceStreams deviceStreams;
 
-    public SensorDataListener(SensorKitService sensorKitService, NotificationService notificationService) {
+    public SensorDataListener(SensorKitService sensorKitService, SensorDataBatcher sensorDataBatcher,
+                              SessionRecorder sessionRecorder, LiveGaitMetricsService liveGaitMetricsService,
+                              DeviceStreams deviceStreams) {
         super("device/+/sensor_data", AWSIotQos.QOS1);
         this.sensorKitService = sensorKitService;
-        this.notificationService = notificationService;
+        this.sensorDataBatcher = sensorDataBatcher;
+        this.sessionRecorder = sessionRecorder;
+        this.liveGaitMetricsService = liveGaitMetricsService;
+        this.deviceStreams = deviceStreams;
     }
 
+    /**
+     * Stale frames are worthless for a live view, so a backed-up shard drops the oldest ones.
+     */
     @Override
-    public void handleMessage(String topic, String payload) {
+    protected OverflowPolicy defaultOverflowPolicy() {
+        return OverflowPolicy.DROP_OLDEST;
+    }
+
+    @Override
+    public void handleMessage(String topic, byte[] payload) {
         try {
-            SensorDataWebSocketMessage message = ListenerUtil.extractSensorData(topic, payload);
+            SensorFrame frame = FRAME.get();
+            SensorFrameParser.parse(topic, payload, frame);
+            deviceStreams.accept(frame, this::forward);
 
-            String username = sensorKitService.getUsernameBySensorKitId(message.getDeviceId());
-            if (username == null) {
-                log.warn("No user associated with device {}", message.getDeviceId());
-                return;
-            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to handle sensor data: {}", e.getMessage());
+        }
+    }
 
-            notificationService.sendSensorDataToUser(username, message);
-            log.info("sensor data forwarded to user [{}] for device [{}]", username, message.getDeviceId());
+    @Override
+    public void handleMessage(long deviceId, String topic, byte[] payload) {
+        try {
+            SensorFrame frame = FRAME.get();
+            SensorFrameParser.parsePayload(payload, frame);
+            frame.setDeviceId(deviceId);
+            deviceStreams.accept(frame, this::forward);
 
         } catch (IllegalArgumentException e) {
             log.warn("Failed to handle sensor data: {}", e.getMessage());
         }
     }
+
+    /**
+     * Handles one in-order, de-duplicated frame.
+     */
+    private void forward(SensorFrame frame) {
+        sessionRecorder.record(frame);
+        liveGaitMetricsService.accept(frame);
+
+        String username = sensorKitService.getUsernameBySensorKitId(frame.getDeviceId());
+        if (username == null) {
+            log.warn("No user associated with device {}", frame.getDeviceId());
+            return;
+        }
+
+        sensorDataBatcher.submit(username, frame);
+        log.debug("sensor data forwarded to user [{}] for device [{}]", username, frame.getDeviceId());
+    }
+
+    @Override
+    public void handleMessage(String topic, String payload) {
+        handleMessage(topic, payload.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,165 @@
+package com._yp.gaitMate.mqtt.simulator;
+
+import com._yp.gaitMate.mqtt.transport.MqttTransport;
+import com.amazonaws.services.iot.client.AWSIotException;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a fleet of {@link VirtualSensorKit}s against the configured {@link MqttTransport}.
+ * <p>
+ * Each kit publishes {@code device/{id}/sensor_data} at {@code sample-rate-hz}, plus periodic
+ * {@code status/alive} and {@code status/calibration} messages, exactly as the firmware does.
+ * Publishing catches up after a late tick, so the configured rate is sustained as long as the
+ * publisher threads keep up; frames of one kit are always published in order from one thread.
+ * </p>
+ *
+ * <p>
+ * Started automatically when {@code mqtt.simulator.enabled=true}; the load harness in the test
+ * sources creates one directly and observes publish times through {@link #setObserver}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "mqtt.simulator.enabled", havingValue = "true")
+@Slf4j
+public class SensorKitSimulator {
+
+    /**
+     * Called right before a {@code sensor_data} frame is handed to the transport.
+     */
+    @FunctionalInterface
+    public interface PublishObserver {
+        void onPublish(long deviceId, long timestamp, long publishNanos);
+    }
+
+    private final MqttTransport transport;
+    private final SimulatorProperties properties;
+
+    private final AtomicLong framesPublished = new AtomicLong();
+    private final AtomicLong publishFailures = new AtomicLong();
+
+    @Setter
+    private volatile PublishObserver observer;
+
+    private ScheduledExecutorService publishers;
+
+    public SensorKitSimulator(MqttTransport transport, SimulatorProperties properties) {
+        this.transport = transport;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        int threads = Math.max(1, Math.min(properties.getPublisherThreads(), properties.getDevices()));
+        int samplePeriodMs = Math.max(1, 1000 / properties.getSampleRateHz());
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+
+        List<List<KitState>> partitions = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < properties.getDevices(); i++) {
+            long deviceId = properties.getFirstDeviceId() + i;
+            VirtualSensorKit kit = new VirtualSensorKit(deviceId, samplePeriodMs, startMillis, deviceId);
+            partitions.get(i % threads).add(new KitState(kit, "device/" + deviceId + "/"));
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        publishers = Executors.newScheduledThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "mqtt-sim-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (List<KitState> partition : partitions) {
+            publishers.scheduleAtFixedRate(() -> publishDue(partition, startNanos),
+                    0, samplePeriodMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("🤖 Simulating {} sensor kit(s) at {} Hz on {} thread(s)",
+                properties.getDevices(), properties.getSampleRateHz(), threads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (publishers != null) {
+            publishers.shutdownNow();
+            log.info("🤖 Simulator stopped after {} frames ({} failed publishes)", framesPublished.get(), publishFailures.get());
+        }
+    }
+
+    public long getFramesPublished() {
+        return framesPublished.get();
+    }
+
+    public long getPublishFailures() {
+        return publishFailures.get();
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void publishDue(List<KitState> partition, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long elapsedMs = elapsedNanos / 1_000_000;
+        long dueFrames = elapsedNanos * properties.getSampleRateHz() / 1_000_000_000L;
+
+        for (KitState state : partition) {
+            try {
+                publishStatus(state, elapsedMs);
+                while (state.kit.getSamples() < dueFrames) {
+                    byte[] payload = state.kit.nextSensorDataPayload();
+                    PublishObserver current = observer;
+                    if (current != null) {
+                        current.onPublish(state.kit.getDeviceId(), state.kit.lastFrameTimestamp(), System.nanoTime());
+                    }
+                    transport.publish(state.topicPrefix + "sensor_data", AWSIotQos.QOS1, payload);
+                    framesPublished.incrementAndGet();
+                }
+            } catch (AWSIotException | RuntimeException e) {
+                publishFailures.incrementAndGet();
+                log.warn("⚠️ Simulated kit {} failed to publish: {}", state.kit.getDeviceId(), e.getMessage());
+            }
+        }
+    }
+
+    private void publishStatus(KitState state, long elapsedMs) throws AWSIotException {
+        long aliveInterval = properties.getAliveIntervalMs();
+        if (aliveInterval > 0 && elapsedMs >= state.nextAliveMs) {
+            transport.publish(state.topicPrefix + "status/alive", AWSIotQos.QOS1, state.kit.alivePayload());
+            state.nextAliveMs = elapsedMs + aliveInterval;
+        }
+
+        long calibrationInterval = properties.getCalibrationIntervalMs();
+        if (calibrationInterval > 0 && elapsedMs >= state.nextCalibrationMs) {
+            boolean calibrated = state.nextCalibrationMs > 0;
+            transport.publish(state.topicPrefix + "status/calibration", AWSIotQos.QOS1, state.kit.calibrationPayload(calibrated));
+            state.nextCalibrationMs = elapsedMs + calibrationInterval;
+        }
+    }
+
+    private static final class KitState {
+        private final VirtualSensorKit kit;
+        private final String topicPrefix;
+        private long nextAliveMs;
+        private long nextCalibrationMs;
+
+        private KitState(VirtualSensorKit kit, String topicPrefix) {
+            this.kit = kit;
+            this.topicPrefix = topicPrefix;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com._yp.gaitMate.mqtt.simulator;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Virtual sensor kits published by the {@link SensorKitSimulator}.
+ *
+ * <pre>
+ * mqtt:
+ *   simulator:
+ *     enabled: true
+ *     devices: 50
+ *     first-device-id: 1
+ *     sample-rate-hz: 100
+ *     alive-interval-ms: 5000
+ *     calibration-interval-ms: 10000
+ *     publisher-threads: 1
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "mqtt.simulator")
+public class SimulatorProperties {
+
+    /**
+     * Start publishing on application startup. Usually combined with {@code mqtt.transport: loopback}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of virtual kits. Kit IDs are {@code firstDeviceId .. firstDeviceId + devices - 1}.
+     */
+    private int devices = 1;
+
+    private long firstDeviceId = 1;
+
+    /**
+     * {@code sensor_data} frames per second per kit.
+     */
+    private int sampleRateHz = 100;
+
+    /**
+     * Period of {@code status/alive} messages per kit. 0 disables them.
+     */
+    private long aliveIntervalMs = 5000;
+
+    /**
+     * Period of {@code status/calibration} messages per kit. The first one reports "not calibrated". 0 disables them.
+     */
+    private long calibrationIntervalMs = 10_000;
+
+    /**
+     * Threads publishing frames; kits are split evenly between them.
+     */
+    private int publisherThreads = 1;
+}
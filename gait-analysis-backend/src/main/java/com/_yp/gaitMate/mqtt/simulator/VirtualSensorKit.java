@@ -0,0 +1,166 @@
+package com._yp.gaitMate.mqtt.simulator;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * One simulated sensor kit: generates plausible gait frames and the JSON payloads the ESP32 firmware publishes.
+ * <p>
+ * Models one insole walking with a ~1.1 s stride: heel, midfoot and toe sensors load in sequence
+ * during the 60 % stance phase, with ADC noise on top. IMU values follow the gait cycle and are
+ * rounded the way the firmware prints them (2 decimals, 4 for quaternions). The device clock
+ * occasionally jitters by a millisecond. Output is deterministic for a given seed.
+ * </p>
+ *
+ * <p>Not thread-safe; each kit is driven by one thread.</p>
+ */
+public class VirtualSensorKit {
+
+    private static final int[] HEEL = {1, 2, 3, 9};      // FSR_2, 3, 4, 10
+    private static final int[] TOE = {5, 6, 7, 8, 15};   // FSR_6, 7, 8, 9, 16
+
+    private static final String[] IMU_KEYS = {"yaw", "pitch", "roll", "q0", "q1", "q2", "q3", "ax", "ay", "az", "gx", "gy", "gz"};
+    private static final String[] CAL_KEYS = {"sys_cal", "gyro_cal", "accel_cal", "mag_cal"};
+
+    @Getter
+    private final long deviceId;
+    private final int samplePeriodMs;
+    private final Random random;
+    private final SensorFrame frame = new SensorFrame();
+    private final StringBuilder json = new StringBuilder(640);
+
+    @Getter
+    private long timestamp;
+    @Getter
+    private long samples;
+
+    public VirtualSensorKit(long deviceId, int samplePeriodMs, long startTimestamp, long seed) {
+        this.deviceId = deviceId;
+        this.samplePeriodMs = samplePeriodMs;
+        this.timestamp = startTimestamp;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Overwrites {@code frame} with the next sample and advances the device clock.
+     */
+    public void next(SensorFrame frame) {
+        double t = samples * samplePeriodMs / 1000.0;
+        double phase = (t % 1.1) / 1.1;
+
+        frame.setDeviceId(deviceId);
+        frame.setTimestamp(timestamp);
+
+        int[] fsr = frame.getFsr();
+        for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+            double load;
+            if (contains(HEEL, c)) {
+                load = bump(phase, 0.00, 0.30);
+            } else if (contains(TOE, c)) {
+                load = bump(phase, 0.30, 0.60);
+            } else {
+                load = bump(phase, 0.10, 0.50) * 0.6;
+            }
+            fsr[c] = Math.max(0, (int) (load * 3000 + random.nextGaussian() * 6));
+        }
+
+        double swing = Math.sin(2 * Math.PI * phase);
+        float[] imu = frame.getImu();
+        imu[SensorFrame.YAW] = round(90 + swing * 2 + random.nextGaussian() * 0.05, 100);
+        imu[SensorFrame.PITCH] = round(swing * 25 + random.nextGaussian() * 0.1, 100);
+        imu[SensorFrame.ROLL] = round(swing * 4 + random.nextGaussian() * 0.05, 100);
+        double half = Math.toRadians(swing * 25) / 2;
+        imu[SensorFrame.Q0] = round(Math.cos(half), 10_000);
+        imu[SensorFrame.Q1] = round(Math.sin(half), 10_000);
+        imu[SensorFrame.Q2] = round(0.01 * swing, 10_000);
+        imu[SensorFrame.Q3] = round(0.7071, 10_000);
+        imu[SensorFrame.AX] = round(swing * 3 + random.nextGaussian() * 0.05, 100);
+        imu[SensorFrame.AY] = round(Math.cos(2 * Math.PI * phase) + random.nextGaussian() * 0.05, 100);
+        imu[SensorFrame.AZ] = round(9.81 + swing * 2 + random.nextGaussian() * 0.05, 100);
+        imu[SensorFrame.GX] = round(swing * 150 + random.nextGaussian() * 0.5, 100);
+        imu[SensorFrame.GY] = round(random.nextGaussian() * 0.5, 100);
+        imu[SensorFrame.GZ] = round(random.nextGaussian() * 0.5, 100);
+
+        byte[] cal = frame.getCal();
+        cal[SensorFrame.SYS_CAL] = 3;
+        cal[SensorFrame.GYRO_CAL] = 3;
+        cal[SensorFrame.ACCEL_CAL] = 3;
+        cal[SensorFrame.MAG_CAL] = (byte) (samples < 500 ? 2 : 3);
+
+        timestamp += samplePeriodMs + (random.nextInt(20) == 0 ? 1 : 0);
+        samples++;
+    }
+
+    /**
+     * Generates the next sample as a {@code device/{id}/sensor_data} payload.
+     */
+    public byte[] nextSensorDataPayload() {
+        next(frame);
+
+        json.setLength(0);
+        json.append("{\"type\":\"sensor_data\",\"device_id\":\"").append(deviceId)
+                .append("\",\"timestamp\":").append(frame.getTimestamp());
+        for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+            json.append(",\"FSR_").append(c + 1).append("\":").append(frame.getFsr()[c]);
+        }
+        for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+            json.append(",\"").append(IMU_KEYS[c]).append("\":").append(frame.getImu()[c]);
+        }
+        for (int c = 0; c < SensorFrame.CAL_CHANNELS; c++) {
+            json.append(",\"").append(CAL_KEYS[c]).append("\":").append(frame.getCal()[c]);
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Device timestamp of the frame returned by the last {@link #nextSensorDataPayload()} call.
+     */
+    public long lastFrameTimestamp() {
+        return frame.getTimestamp();
+    }
+
+    /**
+     * A {@code device/{id}/status/alive} payload stamped with the current device clock.
+     */
+    public byte[] alivePayload() {
+        return ("{\"type\":\"device_alive\",\"device_id\":" + deviceId
+                + ",\"status\":true,\"timestamp\":" + timestamp + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A {@code device/{id}/status/calibration} payload stamped with the current device clock.
+     */
+    public byte[] calibrationPayload(boolean calibrated) {
+        int mag = calibrated ? 3 : 2;
+        return ("{\"type\":\"cal_status\",\"device_id\":" + deviceId
+                + ",\"status\":" + calibrated + ",\"timestamp\":" + timestamp
+                + ",\"sys\":3,\"gyro\":3,\"accel\":3,\"mag\":" + mag + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static double bump(double phase, double from, double to) {
+        if (phase < from || phase > to) {
+            return 0;
+        }
+        return Math.sin(Math.PI * (phase - from) / (to - from));
+    }
+
+    private static float round(double value, int scale) {
+        return (float) (Math.round(value * scale) / (double) scale);
+    }
+
+    private static boolean contains(int[] channels, int channel) {
+        for (int c : channels) {
+            if (c == channel) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
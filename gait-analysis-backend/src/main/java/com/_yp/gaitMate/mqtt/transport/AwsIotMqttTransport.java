@@ -0,0 +1,36 @@
+package com._yp.gaitMate.mqtt.transport;
+
+import com._yp.gaitMate.mqtt.core.MqttClientProvider;
+import com.amazonaws.services.iot.client.AWSIotException;
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link MqttTransport} backed by the AWS IoT Core client from {@link MqttClientProvider}.
+ */
+@Component
+@ConditionalOnProperty(name = "mqtt.transport", havingValue = "aws", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AwsIotMqttTransport implements MqttTransport {
+
+    private final MqttClientProvider mqttClientProvider;
+
+    @Override
+    public void subscribe(AWSIotTopic subscription) throws AWSIotException {
+        mqttClientProvider.getClient().subscribe(subscription, true);
+    }
+
+    @Override
+    public void publish(String topic, AWSIotQos qos, byte[] payload) throws AWSIotException {
+        mqttClientProvider.getClient().publish(topic, qos, payload);
+    }
+
+    @Override
+    public void publishAsync(AWSIotMessage message, long timeoutMs) throws AWSIotException {
+        mqttClientProvider.getClient().publish(message, timeoutMs);
+    }
+}
@@ -0,0 +1,66 @@
+package com._yp.gaitMate.mqtt.transport;
+
+import com._yp.gaitMate.mqtt.core.TopicTrie;
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process {@link MqttTransport}: every published message is handed straight to the matching
+ * subscriptions on the publishing thread, the way the AWS SDK hands messages to listeners on its
+ * callback thread.
+ * <p>
+ * Used to run the backend and the {@code SensorKitSimulator} without AWS, and to measure the
+ * ingest pipeline without a network in the way. Nothing is retained: a message with no matching
+ * subscription is dropped.
+ * </p>
+ *
+ * <p>Enable with:</p>
+ * <pre>
+ * mqtt:
+ *   transport: loopback
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "mqtt.transport", havingValue = "loopback")
+@Slf4j
+public class LoopbackMqttTransport implements MqttTransport {
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void subscribe(AWSIotTopic subscription) {
+        TopicTrie<AWSIotTopic> filter = new TopicTrie<>();
+        filter.add(subscription.getTopic(), subscription);
+        subscriptions.add(new Subscription(filter, subscription));
+        log.info("🔁 Loopback subscription: {}", subscription.getTopic());
+    }
+
+    @Override
+    public void publish(String topic, AWSIotQos qos, byte[] payload) {
+        AWSIotMessage message = null;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.filter().match(topic) != null) {
+                if (message == null) {
+                    message = new AWSIotMessage(topic, qos, payload);
+                }
+                subscription.listener().onMessage(message);
+            }
+        }
+    }
+
+    @Override
+    public void publishAsync(AWSIotMessage message, long timeoutMs) {
+        publish(message.getTopic(), message.getQos(), message.getPayload());
+        message.onSuccess();
+    }
+
+    private record Subscription(TopicTrie<AWSIotTopic> filter, AWSIotTopic listener) {
+    }
+}
@@ -0,0 +1,43 @@
+package com._yp.gaitMate.mqtt.transport;
+
+import com.amazonaws.services.iot.client.AWSIotException;
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+
+/**
+ * The broker connection used by the MQTT layer.
+ * <p>
+ * Listeners, publishers and the subscription registrar talk to this interface instead of
+ * {@code AWSIotMqttClient}, so the ingest pipeline can run against AWS IoT Core
+ * ({@link AwsIotMqttTransport}) or entirely in-process ({@link LoopbackMqttTransport}).
+ * Subscriptions and messages keep the AWS SDK types, which the listeners already extend.
+ * </p>
+ *
+ * <p>Selected with {@code mqtt.transport} ({@code aws} by default, or {@code loopback}).</p>
+ */
+public interface MqttTransport {
+
+    /**
+     * Subscribes a listener to its topic filter. Messages are delivered to {@link AWSIotTopic#onMessage}.
+     *
+     * @throws AWSIotException if the broker rejects the subscription
+     */
+    void subscribe(AWSIotTopic subscription) throws AWSIotException;
+
+    /**
+     * Publishes a message and waits until the broker has accepted it.
+     *
+     * @throws AWSIotException if publishing fails
+     */
+    void publish(String topic, AWSIotQos qos, byte[] payload) throws AWSIotException;
+
+    /**
+     * Publishes a message without waiting. The outcome is reported through the message's
+     * {@code onSuccess}/{@code onFailure}/{@code onTimeout} callbacks.
+     *
+     * @param timeoutMs how long to wait for the broker before {@code onTimeout} is called
+     * @throws AWSIotException if the message could not be queued
+     */
+    void publishAsync(AWSIotMessage message, long timeoutMs) throws AWSIotException;
+}
@@ -0,0 +1,193 @@
+package com._yp.gaitMate.processing;
+
+import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
+import com._yp.gaitMate.dto.testSession.ProcessingRequestDto;
+import com._yp.gaitMate.gait.GaitMetricsAccumulator;
+import com._yp.gaitMate.gait.GaitMetricsSnapshot;
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.recording.SegmentReader;
+import com._yp.gaitMate.service.processedTestResultsService.ProcessedTestResultsService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes sessions in this JVM, without the SQS round trip and the processing service's cold start.
+ * <p>
+ * Once the stopping transaction commits, the session's sealed segment is streamed through a
+ * {@link GaitMetricsAccumulator} (the Java port of the processing service pipeline) on a work-stealing pool
+ * of {@code processing.parallelism} threads, and the snapshot is stored with
+ * {@link ProcessedTestResultsService#saveResults}. A few seconds of recording take a few milliseconds, so
+ * RESULTS_READY follows the stop request almost immediately.
+ * </p>
+ *
+ * <p>
+ * At most {@code processing.max-queued} sessions are accepted at once; beyond that, and for sessions without
+ * a recording, the session is reported as failed. Stride lengths and the pressure heat map are only produced
+ * by the external service and are left empty.
+ * </p>
+ *
+ * <p>Metrics: {@code processing.local.duration} and {@code processing.local.queued}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "processing.engine", havingValue = "local")
+@Slf4j
+public class LocalProcessingEngine implements ProcessingEngine {
+
+    private final ProcessedTestResultsService processedTestResultsService;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final Timer duration;
+
+    @Autowired
+    public LocalProcessingEngine(ProcessingProperties properties,
+                                 ProcessedTestResultsService processedTestResultsService,
+                                 MeterRegistry meterRegistry) {
+        this(properties, processedTestResultsService, newPool(properties.getParallelism()), meterRegistry);
+    }
+
+    LocalProcessingEngine(ProcessingProperties properties, ProcessedTestResultsService processedTestResultsService,
+                          ExecutorService executor, MeterRegistry meterRegistry) {
+        this.processedTestResultsService = processedTestResultsService;
+        this.executor = executor;
+        this.maxQueued = Math.max(1, properties.getMaxQueued());
+        this.permits = new Semaphore(maxQueued);
+        this.duration = Timer.builder("processing.local.duration").register(meterRegistry);
+        Gauge.builder("processing.local.queued", permits, p -> maxQueued - p.availablePermits())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void submit(ProcessingRequestDto request) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(request);
+                }
+            });
+        } else {
+            dispatch(request);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void dispatch(ProcessingRequestDto request) {
+        if (!permits.tryAcquire()) {
+            log.warn("⚠️ Local processing queue is full ({}), failing session {}", maxQueued, request.getSessionId());
+            saveSafely(failed(request.getSessionId()));
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    saveSafely(duration.record(() -> analyse(request)));
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            log.error("❌ Local processing rejected session {}: {}", request.getSessionId(), e.getMessage());
+            saveSafely(failed(request.getSessionId()));
+        }
+    }
+
+    ProcessedTestResultsRequestDto analyse(ProcessingRequestDto request) {
+        Long sessionId = request.getSessionId();
+        if (request.getRawDataPath() == null) {
+            log.error("❌ Session {} has no recording, it cannot be processed locally", sessionId);
+            return failed(sessionId);
+        }
+
+        try {
+            SegmentReader segment = new SegmentReader(Path.of(request.getRawDataPath()));
+            GaitMetricsAccumulator accumulator = new GaitMetricsAccumulator();
+            SensorFrame frame = new SensorFrame();
+            for (long i = 0; i < segment.getFrameCount(); i++) {
+                segment.read(i, frame);
+                accumulator.accept(frame);
+            }
+            GaitMetricsSnapshot snapshot = accumulator.snapshot();
+            log.info("✅ Session {} processed locally: {} frames, {} steps",
+                    sessionId, snapshot.getFrames(), snapshot.getSteps());
+            return toResults(sessionId, snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Local processing of session {} failed: {}", sessionId, e.getMessage(), e);
+            return failed(sessionId);
+        }
+    }
+
+    private void saveSafely(ProcessedTestResultsRequestDto results) {
+        try {
+            processedTestResultsService.saveResults(results);
+        } catch (Exception e) {
+            log.error("❌ Failed to save results of session {}: {}", results.getSessionId(), e.getMessage(), e);
+        }
+    }
+
+    private static ProcessedTestResultsRequestDto toResults(Long sessionId, GaitMetricsSnapshot snapshot) {
+        ProcessedTestResultsRequestDto results = new ProcessedTestResultsRequestDto();
+        results.setStatus(true);
+        results.setSessionId(sessionId);
+        results.setSteps(snapshot.getSteps());
+        results.setCadence(snapshot.getCadence());
+        results.setAvgHeelForce(snapshot.getAvgHeelForce());
+        results.setAvgToeForce(snapshot.getAvgToeForce());
+        results.setAvgMidfootForce(snapshot.getAvgMidfootForce());
+        results.setBalanceScore(snapshot.getBalanceScore());
+        results.setPeakImpact(snapshot.getPeakImpact());
+        results.setDurationSeconds(snapshot.getDurationSeconds());
+        results.setAvgSwingTime(snapshot.getAvgSwingTime());
+        results.setAvgStanceTime(snapshot.getAvgStanceTime());
+        results.setStrideTimes(snapshot.getStrideTimes().stream().mapToDouble(Double::doubleValue).toArray());
+        // No heat map is rendered locally; the column is NOT NULL, so store an empty path
+        results.setPressureResultsPath("");
+        return results;
+    }
+
+    private static ProcessedTestResultsRequestDto failed(Long sessionId) {
+        ProcessedTestResultsRequestDto results = new ProcessedTestResultsRequestDto();
+        results.setStatus(false);
+        results.setSessionId(sessionId);
+        return results;
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("processing-local-" + counter.incrementAndGet());
+            return thread;
+        }, null, true);
+    }
+}
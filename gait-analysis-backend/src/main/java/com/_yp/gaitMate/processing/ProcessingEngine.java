@@ -0,0 +1,23 @@
+package com._yp.gaitMate.processing;
+
+import com._yp.gaitMate.dto.testSession.ProcessingRequestDto;
+
+/**
+ * Turns a stopped test session into processed results.
+ * <p>
+ * Exactly one engine is active per deployment, selected with {@code processing.engine}:
+ * {@link SqsProcessingEngine} hands the session to the external processing service, {@link LocalProcessingEngine}
+ * analyses the recorded frames in this JVM. Either way the results end up in
+ * {@code ProcessedTestResultsService.saveResults}, which completes the session and sends RESULTS_READY.
+ * </p>
+ */
+public interface ProcessingEngine {
+
+    /**
+     * Schedules processing of a session that has just been moved to PROCESSING.
+     * Called inside the transaction that changed the status; nothing may run before it commits.
+     *
+     * @param request the metadata needed for processing the test session
+     */
+    void submit(ProcessingRequestDto request);
+}
@@ -0,0 +1,16 @@
+package com._yp.gaitMate.processing;
+
+import java.util.Map;
+
+/**
+ * Published by {@code ProcessedTestResultsService} when processing outcomes have been stored, whichever engine
+ * produced them. {@link ProcessingJobTracker} closes the sessions' jobs in the same transaction.
+ *
+ * @param outcomes session ID → whether results were attached (false: the session was marked FAILED)
+ */
+public record ProcessingFinishedEvent(Map<Long, Boolean> outcomes) {
+
+    public static ProcessingFinishedEvent of(Long sessionId, boolean successful) {
+        return new ProcessingFinishedEvent(Map.of(sessionId, successful));
+    }
+}
@@ -0,0 +1,54 @@
+package com._yp.gaitMate.processing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timeouts and retries of processing jobs (see {@link ProcessingJobTracker}).
+ *
+ * <pre>
+ * processing:
+ *   jobs:
+ *     timeout-ms: 600000
+ *     max-attempts: 3
+ *     initial-backoff-ms: 30000
+ *     max-backoff-ms: 600000
+ *     check-interval-ms: 15000
+ *     claim-size: 50
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "processing.jobs")
+public class ProcessingJobProperties {
+
+    /**
+     * How long one attempt may take before it is considered lost.
+     */
+    private long timeoutMs = 600_000;
+
+    /**
+     * Dispatches (first one included) before the session is marked FAILED.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Wait between a timed-out attempt and the next dispatch; doubles per attempt up to {@code max-backoff-ms}.
+     */
+    private long initialBackoffMs = 30_000;
+
+    private long maxBackoffMs = 600_000;
+
+    /**
+     * How often deadlines are checked.
+     */
+    private long checkIntervalMs = 15_000;
+
+    /**
+     * Jobs locked and handled per transaction.
+     */
+    private int claimSize = 50;
+}
@@ -0,0 +1,324 @@
+package com._yp.gaitMate.processing;
+
+import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
+import com._yp.gaitMate.dto.testSession.ProcessingRequestDto;
+import com._yp.gaitMate.exception.ApiException;
+import com._yp.gaitMate.model.ProcessingJob;
+import com._yp.gaitMate.model.TestSession;
+import com._yp.gaitMate.repository.ProcessingJobRepository;
+import com._yp.gaitMate.repository.TestSessionRepository;
+import com._yp.gaitMate.service.processedTestResultsService.ProcessedTestResultsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches sessions from PROCESSING until their results arrive.
+ * <p>
+ * {@link #dispatch(ProcessingRequestDto)} records a {@link ProcessingJob} next to the status change and hands the
+ * request to the active {@link ProcessingEngine}. Every {@code check-interval-ms} a daemon thread locks the jobs
+ * whose deadline has passed ({@code SKIP LOCKED}, so several nodes can share the table): a timed-out attempt
+ * waits {@code initial-backoff-ms * 2^(attempts - 1)} (capped) and is then dispatched again, and after
+ * {@code max-attempts} the session is reported as failed through
+ * {@link ProcessedTestResultsService#saveResults}, which marks it FAILED and sends RESULTS_READY. Jobs are closed
+ * by the {@link ProcessingFinishedEvent} that {@code saveResults} publishes, whichever engine produced the result.
+ * </p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code processing.job.latency} – PROCESSING → outcome, tagged {@code outcome=completed|failed},
+ *       with p50/p90/p99</li>
+ *   <li>{@code processing.job.queue.age} – age in seconds of the open jobs at the last check, tagged
+ *       {@code quantile=0.5|0.9|0.99|1.0}</li>
+ *   <li>{@code processing.job.open} and {@code processing.job.retries}</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class ProcessingJobTracker {
+
+    static final double[] QUANTILES = {0.5, 0.9, 0.99, 1.0};
+
+    private final ProcessingJobProperties properties;
+    private final ProcessingJobRepository processingJobRepository;
+    private final TestSessionRepository testSessionRepository;
+    private final ProcessingEngine processingEngine;
+    private final ProcessedTestResultsService processedTestResultsService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final Timer completed;
+    private final Timer failed;
+    private final Counter retries;
+
+    private volatile long[] openAgesMs = new long[0];
+
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public ProcessingJobTracker(ProcessingJobProperties properties, ProcessingJobRepository processingJobRepository,
+                                TestSessionRepository testSessionRepository, ProcessingEngine processingEngine,
+                                ProcessedTestResultsService processedTestResultsService, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this(properties, processingJobRepository, testSessionRepository, processingEngine, processedTestResultsService,
+                objectMapper, new TransactionTemplate(transactionManager), meterRegistry, Clock.systemUTC());
+    }
+
+    ProcessingJobTracker(ProcessingJobProperties properties, ProcessingJobRepository processingJobRepository,
+                         TestSessionRepository testSessionRepository, ProcessingEngine processingEngine,
+                         ProcessedTestResultsService processedTestResultsService, ObjectMapper objectMapper,
+                         TransactionTemplate transactionTemplate, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.processingJobRepository = processingJobRepository;
+        this.testSessionRepository = testSessionRepository;
+        this.processingEngine = processingEngine;
+        this.processedTestResultsService = processedTestResultsService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+
+        this.completed = latency(meterRegistry, "completed");
+        this.failed = latency(meterRegistry, "failed");
+        this.retries = Counter.builder("processing.job.retries").register(meterRegistry);
+        Gauge.builder("processing.job.open", this, tracker -> tracker.openAgesMs.length).register(meterRegistry);
+        for (double quantile : QUANTILES) {
+            Gauge.builder("processing.job.queue.age", this, tracker -> tracker.queueAgeSeconds(quantile))
+                    .tag("quantile", String.valueOf(quantile))
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "processing-jobs");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, properties.getCheckIntervalMs());
+        executor.scheduleWithFixedDelay(this::checkSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Records the job and submits its first attempt. Must run in the transaction that moved the session
+     * to PROCESSING.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dispatch(ProcessingRequestDto request) {
+        Instant now = clock.instant();
+        processingJobRepository.save(ProcessingJob.builder()
+                .sessionId(request.getSessionId())
+                .request(toJson(request))
+                .status(ProcessingJob.Status.RUNNING)
+                .attempts(1)
+                .createdAt(now)
+                .dispatchedAt(now)
+                .deadline(now.plusMillis(properties.getTimeoutMs()))
+                .build());
+        processingEngine.submit(request);
+    }
+
+    /**
+     * Closes the sessions' jobs; runs inside the transaction that stored the outcomes.
+     */
+    @EventListener
+    public void onProcessingFinished(ProcessingFinishedEvent event) {
+        Map<Long, Boolean> outcomes = event.outcomes();
+        Instant now = clock.instant();
+        for (ProcessingJob job : processingJobRepository.findBySessionIdIn(outcomes.keySet())) {
+            if (!isOpen(job)) {
+                log.warn("⚠️ Late processing result for session {} (job already {})", job.getSessionId(), job.getStatus());
+                continue;
+            }
+            close(job, outcomes.get(job.getSessionId()), now);
+            log.info("✅ Processing job of session {} closed after {} attempt(s)", job.getSessionId(), job.getAttempts());
+        }
+    }
+
+    /**
+     * Handles every job whose deadline has passed, one transaction per {@code claim-size} jobs.
+     *
+     * @return the number of jobs handled
+     */
+    int check() {
+        int handled = 0;
+        int claimSize = Math.max(1, properties.getClaimSize());
+        while (true) {
+            Integer claimed = transactionTemplate.execute(status -> handleDue(claimSize));
+            int count = claimed != null ? claimed : 0;
+            handled += count;
+            if (count < claimSize) {
+                break;
+            }
+        }
+        refreshQueueAges();
+        return handled;
+    }
+
+    /**
+     * Age of the open jobs at the given quantile (nearest rank), 0 when nothing is open.
+     */
+    double queueAgeSeconds(double quantile) {
+        long[] ages = openAgesMs;
+        if (ages.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * ages.length) - 1;
+        return ages[Math.min(ages.length - 1, Math.max(0, rank))] / 1000.0;
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (Exception e) {
+            log.error("❌ Processing job check failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int handleDue(int claimSize) {
+        Instant now = clock.instant();
+        List<ProcessingJob> due = processingJobRepository.claimDue(now, PageRequest.of(0, claimSize));
+        for (ProcessingJob job : due) {
+            if (job.getStatus() == ProcessingJob.Status.RETRY_PENDING) {
+                redispatch(job, now);
+            } else {
+                timedOut(job, now);
+            }
+        }
+        processingJobRepository.saveAll(due);
+        return due.size();
+    }
+
+    private void timedOut(ProcessingJob job, Instant now) {
+        Optional<TestSession> session = testSessionRepository.findById(job.getSessionId());
+        if (session.isEmpty() || session.get().getStatus() != TestSession.Status.PROCESSING) {
+            // The session left PROCESSING without telling us (deleted, or failed by the SQS outbox)
+            boolean successful = session.isPresent() && session.get().getStatus() == TestSession.Status.COMPLETED;
+            close(job, successful, now);
+            return;
+        }
+
+        job.setLastError("Attempt " + job.getAttempts() + " timed out after " + properties.getTimeoutMs() + " ms");
+        if (job.getAttempts() >= properties.getMaxAttempts()) {
+            log.error("❌ Processing of session {} timed out {} times, marking it FAILED",
+                    job.getSessionId(), job.getAttempts());
+            ProcessedTestResultsRequestDto results = new ProcessedTestResultsRequestDto();
+            results.setStatus(false);
+            results.setSessionId(job.getSessionId());
+            processedTestResultsService.saveResults(results);
+            if (isOpen(job)) {
+                close(job, false, now);
+            }
+            return;
+        }
+
+        long backoff = backoffMs(job.getAttempts());
+        job.setStatus(ProcessingJob.Status.RETRY_PENDING);
+        job.setDeadline(now.plusMillis(backoff));
+        log.warn("⚠️ Processing of session {} timed out (attempt {}), retrying in {} ms",
+                job.getSessionId(), job.getAttempts(), backoff);
+    }
+
+    private void redispatch(ProcessingJob job, Instant now) {
+        ProcessingRequestDto request;
+        try {
+            request = objectMapper.readValue(job.getRequest(), ProcessingRequestDto.class);
+        } catch (JsonProcessingException e) {
+            log.error("❌ Unreadable processing request for session {}: {}", job.getSessionId(), e.getMessage());
+            job.setLastError("Unreadable request: " + e.getMessage());
+            close(job, false, now);
+            return;
+        }
+
+        job.setAttempts(job.getAttempts() + 1);
+        job.setStatus(ProcessingJob.Status.RUNNING);
+        job.setDispatchedAt(now);
+        job.setDeadline(now.plusMillis(properties.getTimeoutMs()));
+        retries.increment();
+        processingEngine.submit(request);
+        log.info("🔁 Processing of session {} re-dispatched (attempt {})", job.getSessionId(), job.getAttempts());
+    }
+
+    private void close(ProcessingJob job, boolean successful, Instant now) {
+        job.setStatus(successful ? ProcessingJob.Status.COMPLETED : ProcessingJob.Status.FAILED);
+        job.setCompletedAt(now);
+        (successful ? completed : failed).record(Duration.between(job.getCreatedAt(), now));
+    }
+
+    /**
+     * {@code initial-backoff-ms * 2^(attempts - 1)}, capped at {@code max-backoff-ms}.
+     */
+    private long backoffMs(int attempts) {
+        long delay = properties.getInitialBackoffMs();
+        for (int i = 1; i < attempts && delay < properties.getMaxBackoffMs(); i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, properties.getMaxBackoffMs());
+    }
+
+    private void refreshQueueAges() {
+        Instant now = clock.instant();
+        List<Instant> open = processingJobRepository.findOpenCreatedAt();
+        long[] ages = new long[open.size()];
+        // Oldest first → ascending ages when reversed
+        for (int i = 0; i < ages.length; i++) {
+            ages[ages.length - 1 - i] = Math.max(0, Duration.between(open.get(i), now).toMillis());
+        }
+        openAgesMs = ages;
+    }
+
+    private String toJson(ProcessingRequestDto request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new ApiException("Failed to serialize processing request for session " + request.getSessionId());
+        }
+    }
+
+    private static boolean isOpen(ProcessingJob job) {
+        return job.getStatus() == ProcessingJob.Status.RUNNING || job.getStatus() == ProcessingJob.Status.RETRY_PENDING;
+    }
+
+    private static Timer latency(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("processing.job.latency")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+}
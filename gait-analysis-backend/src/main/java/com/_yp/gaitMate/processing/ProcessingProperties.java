@@ -0,0 +1,39 @@
+package com._yp.gaitMate.processing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Selects where stopped sessions are processed (see {@link ProcessingEngine}).
+ *
+ * <pre>
+ * processing:
+ *   engine: sqs          # sqs | local
+ *   parallelism: 0       # local engine threads, 0 = available processors
+ *   max-queued: 64
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "processing")
+public class ProcessingProperties {
+
+    /**
+     * {@code sqs} sends sessions to the external processing service, {@code local} analyses them in-process.
+     */
+    private String engine = "sqs";
+
+    /**
+     * Worker threads of the local engine; 0 uses one per available processor.
+     */
+    private int parallelism = 0;
+
+    /**
+     * Sessions the local engine accepts at once (running plus waiting). Further sessions are marked FAILED
+     * instead of piling up in memory.
+     */
+    private int maxQueued = 64;
+}
@@ -0,0 +1,24 @@
+package com._yp.gaitMate.processing;
+
+import com._yp.gaitMate.dto.testSession.ProcessingRequestDto;
+import com._yp.gaitMate.service.testSessionService.DataProcessingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends sessions to the external processing service through the SQS outbox; results come back
+ * via {@code POST /api/results}.
+ */
+@Component
+@ConditionalOnProperty(name = "processing.engine", havingValue = "sqs", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SqsProcessingEngine implements ProcessingEngine {
+
+    private final DataProcessingService dataProcessingService;
+
+    @Override
+    public void submit(ProcessingRequestDto request) {
+        dataProcessingService.enqueueProcessingRequest(request);
+    }
+}
@@ -0,0 +1,62 @@
+package com._yp.gaitMate.recording;
+
+/**
+ * MSB-first bit source matching {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final byte[] buffer;
+    private final int end;
+    private int position;
+    private long accumulator;
+    private int availableBits;
+
+    BitReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * Reads {@code bits} bits (0..32) as an unsigned value.
+     */
+    long readBits(int bits) {
+        if (bits == 0) {
+            return 0;
+        }
+        while (availableBits < bits) {
+            if (position == end) {
+                throw new IllegalArgumentException("Unexpected end of columnar block");
+            }
+            accumulator = (accumulator << 8) | (buffer[position++] & 0xFF);
+            availableBits += 8;
+        }
+        availableBits -= bits;
+        return (accumulator >>> availableBits) & ((1L << bits) - 1);
+    }
+
+    boolean readBit() {
+        return readBits(1) != 0;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            long b = readBits(8);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in columnar block");
+    }
+
+    long readZigZag() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    void alignToByte() {
+        availableBits -= availableBits % 8;
+    }
+}
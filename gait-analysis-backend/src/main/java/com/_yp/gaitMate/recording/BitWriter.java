@@ -0,0 +1,88 @@
+package com._yp.gaitMate.recording;
+
+import java.util.Arrays;
+
+/**
+ * Growable MSB-first bit sink used by the columnar block encoder.
+ */
+final class BitWriter {
+
+    private byte[] buffer;
+    private long accumulator;
+    private int pendingBits;
+    private int length;
+
+    BitWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void reset() {
+        accumulator = 0;
+        pendingBits = 0;
+        length = 0;
+    }
+
+    /**
+     * Writes the low {@code bits} bits of {@code value} (0..32 bits).
+     */
+    void writeBits(long value, int bits) {
+        if (bits == 0) {
+            return;
+        }
+        accumulator = (accumulator << bits) | (value & ((1L << bits) - 1));
+        pendingBits += bits;
+        while (pendingBits >= 8) {
+            pendingBits -= 8;
+            put((byte) (accumulator >>> pendingBits));
+        }
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint.
+     */
+    void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeBits((value & 0x7F) | 0x80, 8);
+            value >>>= 7;
+        }
+        writeBits(value, 8);
+    }
+
+    /**
+     * Writes a signed value as a zigzag-encoded varint, so small negative deltas stay small.
+     */
+    void writeZigZag(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Pads the current byte with zero bits.
+     */
+    void alignToByte() {
+        if (pendingBits > 0) {
+            writeBits(0, 8 - pendingBits);
+        }
+    }
+
+    /**
+     * Number of whole bytes written so far (call {@link #alignToByte()} first to include a partial byte).
+     */
+    int length() {
+        return length;
+    }
+
+    byte[] array() {
+        return buffer;
+    }
+
+    private void put(byte b) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = b;
+    }
+}
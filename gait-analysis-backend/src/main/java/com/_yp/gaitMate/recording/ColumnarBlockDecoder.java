@@ -0,0 +1,167 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static com._yp.gaitMate.recording.ColumnarBlockFormat.*;
+
+/**
+ * Decodes blocks written by {@link ColumnarBlockEncoder}.
+ * <p>
+ * Columns are decoded into reusable arrays and then emitted row by row through a single,
+ * reused {@link SensorFrame}; sinks that keep frames must copy them.
+ * </p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public class ColumnarBlockDecoder {
+
+    private final SensorFrame frame = new SensorFrame();
+    private final CRC32 crc = new CRC32();
+
+    private long[] timestamps = new long[0];
+    private int[][] fsr = new int[SensorFrame.FSR_CHANNELS][0];
+    private float[][] imu = new float[SensorFrame.IMU_CHANNELS][0];
+    private byte[][] cal = new byte[SensorFrame.CAL_CHANNELS][0];
+    private byte[] payload = new byte[0];
+
+    /**
+     * Decodes the block at the buffer's position and advances the position past it.
+     *
+     * @param in   buffer positioned at a block header
+     * @param sink receives each frame of the block, in order
+     * @return the number of frames decoded
+     * @throws IllegalArgumentException if the block is malformed or corrupted
+     */
+    public int decode(ByteBuffer in, Consumer<SensorFrame> sink) {
+        if (in.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Truncated columnar block header");
+        }
+        ByteBuffer header = in.slice(in.position(), HEADER_BYTES).order(BYTE_ORDER);
+        if (header.getInt(H_MAGIC) != MAGIC || header.getShort(H_VERSION) != VERSION) {
+            throw new IllegalArgumentException("Not a columnar block (bad magic or version)");
+        }
+        if (header.get(H_FSR_CHANNELS) != SensorFrame.FSR_CHANNELS
+                || header.get(H_IMU_CHANNELS) != SensorFrame.IMU_CHANNELS
+                || header.get(H_CAL_CHANNELS) != SensorFrame.CAL_CHANNELS) {
+            throw new IllegalArgumentException("Unsupported channel layout in columnar block");
+        }
+
+        int count = header.getInt(H_FRAME_COUNT);
+        int payloadBytes = header.getInt(H_PAYLOAD_BYTES);
+        if (count < 0 || payloadBytes < 0 || in.remaining() < HEADER_BYTES + payloadBytes) {
+            throw new IllegalArgumentException("Truncated columnar block");
+        }
+        long deviceId = header.getLong(H_DEVICE_ID);
+        int expectedCrc = header.getInt(H_CRC);
+
+        ensureCapacity(count, payloadBytes);
+        in.get(in.position() + HEADER_BYTES, payload, 0, payloadBytes);
+        in.position(in.position() + HEADER_BYTES + payloadBytes);
+
+        crc.reset();
+        crc.update(payload, 0, payloadBytes);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IllegalArgumentException("Columnar block checksum mismatch");
+        }
+
+        BitReader bits = new BitReader(payload, 0, payloadBytes);
+        readTimestamps(bits, count);
+        for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+            readDeltas(bits, fsr[c], count);
+        }
+        for (int c = 0; c < SensorFrame.CAL_CHANNELS; c++) {
+            readDeltas(bits, cal[c], count);
+        }
+        bits.alignToByte();
+        for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+            readXor(bits, imu[c], count);
+        }
+
+        frame.setDeviceId(deviceId);
+        for (int i = 0; i < count; i++) {
+            frame.setTimestamp(timestamps[i]);
+            for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+                frame.getFsr()[c] = fsr[c][i];
+            }
+            for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+                frame.getImu()[c] = imu[c][i];
+            }
+            for (int c = 0; c < SensorFrame.CAL_CHANNELS; c++) {
+                frame.getCal()[c] = cal[c][i];
+            }
+            sink.accept(frame);
+        }
+        return count;
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void ensureCapacity(int count, int payloadBytes) {
+        if (timestamps.length < count) {
+            timestamps = new long[count];
+            fsr = new int[SensorFrame.FSR_CHANNELS][count];
+            imu = new float[SensorFrame.IMU_CHANNELS][count];
+            cal = new byte[SensorFrame.CAL_CHANNELS][count];
+        }
+        if (payload.length < payloadBytes) {
+            payload = new byte[payloadBytes];
+        }
+    }
+
+    private void readTimestamps(BitReader bits, int count) {
+        long previous = 0;
+        long previousDelta = 0;
+        for (int i = 0; i < count; i++) {
+            long value = bits.readZigZag();
+            long delta = i < 2 ? value : previousDelta + value;
+            previous += delta;
+            timestamps[i] = previous;
+            previousDelta = delta;
+        }
+    }
+
+    private static void readDeltas(BitReader bits, int[] column, int count) {
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += bits.readZigZag();
+            column[i] = (int) previous;
+        }
+    }
+
+    private static void readDeltas(BitReader bits, byte[] column, int count) {
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += bits.readZigZag();
+            column[i] = (byte) previous;
+        }
+    }
+
+    private static void readXor(BitReader bits, float[] column, int count) {
+        if (count == 0) {
+            return;
+        }
+        int previous = (int) bits.readBits(32);
+        column[0] = Float.intBitsToFloat(previous);
+
+        int windowLeading = 0;
+        int windowTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            if (bits.readBit()) {
+                if (bits.readBit()) {
+                    windowLeading = (int) bits.readBits(5);
+                    int meaningful = (int) bits.readBits(5) + 1;
+                    windowTrailing = 32 - windowLeading - meaningful;
+                }
+                int meaningful = 32 - windowLeading - windowTrailing;
+                previous ^= (int) (bits.readBits(meaningful) << windowTrailing);
+            }
+            column[i] = Float.intBitsToFloat(previous);
+        }
+    }
+}
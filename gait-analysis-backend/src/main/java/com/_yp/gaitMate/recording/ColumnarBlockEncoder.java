@@ -0,0 +1,195 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import static com._yp.gaitMate.recording.ColumnarBlockFormat.*;
+
+/**
+ * Buffers frames column by column and encodes them as a {@link ColumnarBlockFormat} block.
+ * <p>
+ * Integer channels (timestamps, FSR, calibration) are delta + zigzag varint encoded, IMU floats use
+ * Gorilla-style XOR compression. The encoder is reusable: {@link #encode()} emits the buffered frames
+ * and clears them. Frames must all come from the same device.
+ * </p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public class ColumnarBlockEncoder {
+
+    @Getter
+    private final int capacity;
+
+    private final long[] timestamps;
+    private final int[][] fsr;
+    private final float[][] imu;
+    private final byte[][] cal;
+
+    private final BitWriter bits;
+    private final CRC32 crc = new CRC32();
+
+    @Getter
+    private int size;
+    private long deviceId;
+
+    public ColumnarBlockEncoder() {
+        this(DEFAULT_BLOCK_FRAMES);
+    }
+
+    public ColumnarBlockEncoder(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.fsr = new int[SensorFrame.FSR_CHANNELS][capacity];
+        this.imu = new float[SensorFrame.IMU_CHANNELS][capacity];
+        this.cal = new byte[SensorFrame.CAL_CHANNELS][capacity];
+        this.bits = new BitWriter(capacity * 16);
+    }
+
+    /**
+     * Buffers one frame.
+     *
+     * @return true if the block is now full and should be encoded
+     * @throws IllegalStateException if the block is already full
+     */
+    public boolean add(SensorFrame frame) {
+        if (size == capacity) {
+            throw new IllegalStateException("Columnar block is full");
+        }
+        if (size == 0) {
+            deviceId = frame.getDeviceId();
+        }
+        timestamps[size] = frame.getTimestamp();
+        for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+            fsr[c][size] = frame.getFsr()[c];
+        }
+        for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+            imu[c][size] = frame.getImu()[c];
+        }
+        for (int c = 0; c < SensorFrame.CAL_CHANNELS; c++) {
+            cal[c][size] = frame.getCal()[c];
+        }
+        size++;
+        return size == capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Encodes the buffered frames into a self-contained block and clears the buffer.
+     *
+     * @return the block bytes, header included
+     */
+    public byte[] encode() {
+        bits.reset();
+
+        writeTimestamps();
+        for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+            writeDeltas(fsr[c]);
+        }
+        for (int c = 0; c < SensorFrame.CAL_CHANNELS; c++) {
+            writeDeltas(cal[c]);
+        }
+        bits.alignToByte();
+        for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+            writeXor(imu[c]);
+        }
+        bits.alignToByte();
+
+        int payloadBytes = bits.length();
+        crc.reset();
+        crc.update(bits.array(), 0, payloadBytes);
+
+        byte[] block = new byte[HEADER_BYTES + payloadBytes];
+        ByteBuffer header = ByteBuffer.wrap(block).order(BYTE_ORDER);
+        header.putInt(H_MAGIC, MAGIC);
+        header.putShort(H_VERSION, VERSION);
+        header.put(H_FSR_CHANNELS, (byte) SensorFrame.FSR_CHANNELS);
+        header.put(H_IMU_CHANNELS, (byte) SensorFrame.IMU_CHANNELS);
+        header.putInt(H_FRAME_COUNT, size);
+        header.putInt(H_PAYLOAD_BYTES, payloadBytes);
+        header.putLong(H_DEVICE_ID, deviceId);
+        header.putInt(H_CRC, (int) crc.getValue());
+        header.put(H_CAL_CHANNELS, (byte) SensorFrame.CAL_CHANNELS);
+        System.arraycopy(bits.array(), 0, block, HEADER_BYTES, payloadBytes);
+
+        size = 0;
+        return block;
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void writeTimestamps() {
+        long previous = 0;
+        long previousDelta = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = timestamps[i] - previous;
+            // First value is stored as-is, the second as a delta, the rest as delta-of-delta
+            bits.writeZigZag(i < 2 ? delta : delta - previousDelta);
+            previous = timestamps[i];
+            previousDelta = delta;
+        }
+    }
+
+    private void writeDeltas(int[] column) {
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            bits.writeZigZag(column[i] - previous);
+            previous = column[i];
+        }
+    }
+
+    private void writeDeltas(byte[] column) {
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            bits.writeZigZag(column[i] - previous);
+            previous = column[i];
+        }
+    }
+
+    private void writeXor(float[] column) {
+        if (size == 0) {
+            return;
+        }
+        int previous = Float.floatToRawIntBits(column[0]);
+        bits.writeBits(previous, 32);
+
+        int windowLeading = Integer.MAX_VALUE;
+        int windowTrailing = 0;
+        for (int i = 1; i < size; i++) {
+            int current = Float.floatToRawIntBits(column[i]);
+            int xor = current ^ previous;
+            previous = current;
+
+            if (xor == 0) {
+                bits.writeBit(false);
+                continue;
+            }
+            bits.writeBit(true);
+
+            int leading = Math.min(Integer.numberOfLeadingZeros(xor), 31);
+            int trailing = Integer.numberOfTrailingZeros(xor);
+            if (leading >= windowLeading && trailing >= windowTrailing) {
+                bits.writeBit(false);
+                bits.writeBits(xor >>> windowTrailing, 32 - windowLeading - windowTrailing);
+            } else {
+                int meaningful = 32 - leading - trailing;
+                bits.writeBit(true);
+                bits.writeBits(leading, 5);
+                bits.writeBits(meaningful - 1, 5);
+                bits.writeBits(xor >>> trailing, meaningful);
+                windowLeading = leading;
+                windowTrailing = trailing;
+            }
+        }
+    }
+}
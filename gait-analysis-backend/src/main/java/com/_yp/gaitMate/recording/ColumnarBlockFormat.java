@@ -0,0 +1,56 @@
+package com._yp.gaitMate.recording;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of a compressed columnar block of sensor frames.
+ * <p>
+ * A block holds up to a few thousand consecutive frames from one device and can be decoded on its own.
+ * It starts with a 32-byte little-endian header followed by the column payload:
+ * </p>
+ * <pre>
+ * Header
+ *  0  int    magic ("GCB1")
+ *  4  short  version
+ *  6  byte   FSR channel count
+ *  7  byte   IMU channel count
+ *  8  int    frame count
+ * 12  int    payload length in bytes
+ * 16  long   device ID
+ * 24  int    CRC32 of the payload
+ * 28  byte   calibration channel count
+ *
+ * Payload (MSB-first bit stream)
+ *   timestamps          zigzag varint: first value, first delta, then delta-of-delta
+ *   FSR_1 .. FSR_16     per channel, zigzag varint: first value, then deltas
+ *   calibration × 4     per channel, zigzag varint: first value, then deltas
+ *   (byte align)
+ *   IMU × 13            per channel, Gorilla XOR: first value as 32 raw bits, then
+ *                         '0'                           same value as previous
+ *                         '10' + bits                   XOR fits the previous leading/trailing window
+ *                         '11' + 5b lead + 5b len-1 + bits
+ *   (byte align)
+ * </pre>
+ */
+public final class ColumnarBlockFormat {
+
+    public static final int MAGIC = 0x31424347; // "GCB1" read as a little-endian int
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int DEFAULT_BLOCK_FRAMES = 1024;
+
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_FSR_CHANNELS = 6;
+    static final int H_IMU_CHANNELS = 7;
+    static final int H_FRAME_COUNT = 8;
+    static final int H_PAYLOAD_BYTES = 12;
+    static final int H_DEVICE_ID = 16;
+    static final int H_CRC = 24;
+    static final int H_CAL_CHANNELS = 28;
+
+    private ColumnarBlockFormat() {
+    }
+}
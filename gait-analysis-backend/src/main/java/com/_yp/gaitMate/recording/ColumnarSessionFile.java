@@ -0,0 +1,80 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Compact, archival form of a recorded session: a plain sequence of {@link ColumnarBlockFormat} blocks.
+ * <p>
+ * Sealed segments are fixed-width and cheap to seek, which suits live recording and replay;
+ * the columnar file trades random access for size and is meant for long-term storage or upload.
+ * Every block is self-contained, so a damaged block does not affect the others.
+ * </p>
+ */
+public final class ColumnarSessionFile {
+
+    private ColumnarSessionFile() {
+    }
+
+    /**
+     * Re-encodes a sealed segment as a columnar file.
+     *
+     * @param segment     the sealed segment to read
+     * @param target      the file to create
+     * @param blockFrames frames per block
+     * @return the size of the written file in bytes
+     */
+    public static long write(SegmentReader segment, Path target, int blockFrames) throws IOException {
+        ColumnarBlockEncoder encoder = new ColumnarBlockEncoder(blockFrames);
+        SensorFrame frame = new SensorFrame();
+        long written = 0;
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))) {
+            for (long i = 0; i < segment.getFrameCount(); i++) {
+                segment.read(i, frame);
+                if (encoder.add(frame)) {
+                    written += writeBlock(encoder, out);
+                }
+            }
+            if (!encoder.isEmpty()) {
+                written += writeBlock(encoder, out);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Streams every frame of a columnar file to {@code sink}, reusing a single frame instance.
+     *
+     * @return the number of frames read
+     */
+    public static long read(Path source, Consumer<SensorFrame> sink) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ColumnarBlockDecoder decoder = new ColumnarBlockDecoder();
+        long frames = 0;
+        while (buffer.hasRemaining()) {
+            frames += decoder.decode(buffer, sink);
+        }
+        return frames;
+    }
+
+    private static int writeBlock(ColumnarBlockEncoder encoder, OutputStream out) throws IOException {
+        byte[] block = encoder.encode();
+        out.write(block);
+        return block.length;
+    }
+}
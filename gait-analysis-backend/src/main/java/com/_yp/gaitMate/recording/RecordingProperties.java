@@ -0,0 +1,36 @@
+package com._yp.gaitMate.recording;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local storage of raw session frames.
+ *
+ * <pre>
+ * recording:
+ *   enabled: true
+ *   directory: ./recordings
+ *   map-chunk-frames: 32768
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "recording")
+public class RecordingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Directory that holds one segment file per test session.
+     */
+    private String directory = "recordings";
+
+    /**
+     * Number of records mapped at a time; the file grows by this much whenever the mapped window fills up.
+     * The default (32768 × 128 B = 4 MiB) covers about five minutes at 100 Hz.
+     */
+    private int mapChunkFrames = 32_768;
+}
@@ -0,0 +1,80 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.message.ReplayWebSocketMessage;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Playback state of one running replay. Driven by {@link ReplayScheduler}; all mutable state is
+ * guarded by the instance monitor.
+ */
+@Getter
+public class Replay {
+
+    private final String id;
+    private final String username;
+    private final long sessionId;
+    private final long deviceId;
+    private final long frameCount;
+    private final long durationMs;
+
+    final Path segmentPath;
+    final SegmentReader reader;
+    final long firstTimestamp;
+    final SensorFrame scratch = new SensorFrame();
+
+    ReplayWebSocketMessage.State state = ReplayWebSocketMessage.State.PLAYING;
+    double speed;
+    double positionMs;
+    long nextIndex;
+    long lastTickNanos;
+    long pausedAtNanos;
+    ScheduledFuture<?> future;
+
+    Replay(String id, String username, long sessionId, Path segmentPath, SegmentReader reader, double speed) {
+        this.id = id;
+        this.username = username;
+        this.sessionId = sessionId;
+        this.deviceId = reader.getDeviceId();
+        this.frameCount = reader.getFrameCount();
+        this.segmentPath = segmentPath;
+        this.reader = reader;
+        this.firstTimestamp = frameCount > 0 ? reader.timestamp(0) : 0;
+        this.durationMs = frameCount > 0 ? reader.timestamp(frameCount - 1) - firstTimestamp : 0;
+        this.speed = speed;
+    }
+
+    public synchronized ReplayWebSocketMessage.State getState() {
+        return state;
+    }
+
+    public synchronized double getSpeed() {
+        return speed;
+    }
+
+    public synchronized long getPositionMs() {
+        return (long) positionMs;
+    }
+
+    /**
+     * Index of the first record at or after {@code positionMs}. Records are in arrival order, which the
+     * ingest reorder window keeps sorted by device timestamp.
+     */
+    long indexAt(long positionMs) {
+        long target = firstTimestamp + positionMs;
+        long low = 0;
+        long high = frameCount;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (reader.timestamp(mid) < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,54 @@
+package com._yp.gaitMate.recording;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Server-side replay of recorded sessions (see {@link ReplayScheduler}).
+ *
+ * <pre>
+ * recording:
+ *   replay:
+ *     scheduler-threads: 2
+ *     tick-ms: 20
+ *     max-frames-per-tick: 64
+ *     max-replays: 100
+ *     max-replays-per-user: 3
+ *     idle-timeout-ms: 600000
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "recording.replay")
+public class ReplayProperties {
+
+    /**
+     * Threads shared by all running replays.
+     */
+    private int schedulerThreads = 2;
+
+    /**
+     * How often each replay emits the frames that have become due. One WebSocket message per tick.
+     */
+    private long tickMs = 20;
+
+    /**
+     * Upper bound on frames per message; at 8x and 100 Hz a 20 ms tick carries 16 frames.
+     */
+    private int maxFramesPerTick = 64;
+
+    /**
+     * Replays running on this node at once.
+     */
+    private int maxReplays = 100;
+
+    private int maxReplaysPerUser = 3;
+
+    /**
+     * Paused replays are stopped after this long.
+     */
+    private long idleTimeoutMs = 600_000;
+}
@@ -0,0 +1,355 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.exception.ApiException;
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.NotificationService;
+import com._yp.gaitMate.websocket.message.ReplayWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Plays recorded segments back to users over STOMP ({@code /user/topic/replay}).
+ * <p>
+ * All replays share a small pool of {@code recording.replay.scheduler-threads} threads: each replay is a
+ * fixed-rate task that, every {@code tick-ms}, advances its playback clock by the elapsed time times its
+ * speed and sends every recorded frame that became due as one {@link ReplayWebSocketMessage}. Replays of
+ * the same session share one memory-mapped {@link SegmentReader}, which is released when the last of them
+ * ends; readers only use absolute reads, so concurrent replays never copy or lock the segment.
+ * </p>
+ *
+ * <p>Pause keeps the task but stops the clock; paused replays end after {@code idle-timeout-ms}.</p>
+ *
+ * <p>Metrics: {@code recording.replay.active} and {@code recording.replay.segments}.</p>
+ */
+@Component
+@Slf4j
+public class ReplayScheduler {
+
+    public static final double MIN_SPEED = 0.5;
+    public static final double MAX_SPEED = 8.0;
+
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    private final ReplayProperties properties;
+    private final NotificationService notificationService;
+    private final ScheduledExecutorService executor;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Replay> replays = new ConcurrentHashMap<>();
+    private final Map<Path, SharedSegment> segments = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReplayScheduler(ReplayProperties properties, NotificationService notificationService,
+                           MeterRegistry meterRegistry) {
+        this(properties, notificationService, newExecutor(properties.getSchedulerThreads()), System::nanoTime);
+        Gauge.builder("recording.replay.active", replays, Map::size).register(meterRegistry);
+        Gauge.builder("recording.replay.segments", segments, Map::size).register(meterRegistry);
+    }
+
+    ReplayScheduler(ReplayProperties properties, NotificationService notificationService,
+                    ScheduledExecutorService executor, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.notificationService = notificationService;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Starts playing {@code segment} to {@code username}.
+     *
+     * @throws ApiException if the replay limits are reached or the speed is out of range
+     * @throws IOException  if the segment cannot be opened
+     */
+    public Replay start(String username, long sessionId, Path segment, double speed, long positionMs) throws IOException {
+        checkSpeed(speed);
+        if (replays.size() >= properties.getMaxReplays()) {
+            throw new ApiException("Too many replays are running, try again later");
+        }
+        long running = replays.values().stream().filter(r -> r.getUsername().equals(username)).count();
+        if (running >= properties.getMaxReplaysPerUser()) {
+            throw new ApiException("You already have " + running + " replays running");
+        }
+
+        SegmentReader reader = acquire(segment);
+        Replay replay = new Replay(UUID.randomUUID().toString(), username, sessionId, segment, reader, speed);
+        synchronized (replay) {
+            replay.lastTickNanos = nanoClock.getAsLong();
+            seekTo(replay, positionMs);
+            replays.put(replay.getId(), replay);
+            long tick = Math.max(1, properties.getTickMs());
+            replay.future = executor.scheduleAtFixedRate(() -> tickSafely(replay), tick, tick, TimeUnit.MILLISECONDS);
+            sendState(replay);
+        }
+        log.info("▶️ Replay {} of session {} for [{}] at {}x ({} frames)",
+                replay.getId(), sessionId, username, speed, replay.getFrameCount());
+        return replay;
+    }
+
+    public Optional<Replay> find(String replayId) {
+        return Optional.ofNullable(replays.get(replayId));
+    }
+
+    public void pause(Replay replay) {
+        synchronized (replay) {
+            if (replay.state != ReplayWebSocketMessage.State.PLAYING) {
+                return;
+            }
+            long now = nanoClock.getAsLong();
+            advanceClock(replay, now);
+            replay.state = ReplayWebSocketMessage.State.PAUSED;
+            replay.pausedAtNanos = now;
+            sendState(replay);
+        }
+    }
+
+    public void resume(Replay replay) {
+        synchronized (replay) {
+            if (replay.state != ReplayWebSocketMessage.State.PAUSED) {
+                return;
+            }
+            replay.state = ReplayWebSocketMessage.State.PLAYING;
+            replay.lastTickNanos = nanoClock.getAsLong();
+            sendState(replay);
+        }
+    }
+
+    public void seek(Replay replay, long positionMs) {
+        synchronized (replay) {
+            if (replay.state == ReplayWebSocketMessage.State.ENDED) {
+                return;
+            }
+            replay.lastTickNanos = nanoClock.getAsLong();
+            seekTo(replay, positionMs);
+            sendState(replay);
+        }
+    }
+
+    /**
+     * @throws ApiException if the speed is out of range
+     */
+    public void setSpeed(Replay replay, double speed) {
+        checkSpeed(speed);
+        synchronized (replay) {
+            if (replay.state == ReplayWebSocketMessage.State.ENDED) {
+                return;
+            }
+            if (replay.state == ReplayWebSocketMessage.State.PLAYING) {
+                advanceClock(replay, nanoClock.getAsLong());
+            }
+            replay.speed = speed;
+            sendState(replay);
+        }
+    }
+
+    public void stop(Replay replay) {
+        synchronized (replay) {
+            if (replay.state != ReplayWebSocketMessage.State.ENDED) {
+                finish(replay);
+            }
+        }
+    }
+
+    /**
+     * Sends the frames that became due since the last tick.
+     */
+    void tick(Replay replay, long now) {
+        synchronized (replay) {
+            switch (replay.state) {
+                case ENDED -> {
+                }
+                case PAUSED -> {
+                    if (now - replay.pausedAtNanos > properties.getIdleTimeoutMs() * NANOS_PER_MS) {
+                        log.info("⏹️ Replay {} stopped after being paused too long", replay.getId());
+                        finish(replay);
+                    }
+                }
+                case PLAYING -> {
+                    advanceClock(replay, now);
+                    ReplayWebSocketMessage message = drainDue(replay);
+                    if (replay.nextIndex >= replay.getFrameCount()) {
+                        replay.positionMs = replay.getDurationMs();
+                        replay.state = ReplayWebSocketMessage.State.ENDED;
+                        message.setState(ReplayWebSocketMessage.State.ENDED);
+                        message.setPositionMs(replay.getDurationMs());
+                        notificationService.sendReplayToUser(replay.getUsername(), message);
+                        release(replay);
+                    } else if (message.getTimestamps().length > 0) {
+                        notificationService.sendReplayToUser(replay.getUsername(), message);
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        replays.values().forEach(this::stop);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static ScheduledExecutorService newExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newScheduledThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "session-replay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void tickSafely(Replay replay) {
+        try {
+            tick(replay, nanoClock.getAsLong());
+        } catch (Exception e) {
+            log.error("❌ Replay {} failed: {}", replay.getId(), e.getMessage(), e);
+            stop(replay);
+        }
+    }
+
+    private static void checkSpeed(double speed) {
+        if (!(speed >= MIN_SPEED && speed <= MAX_SPEED)) {
+            throw new ApiException("Playback speed must be between " + MIN_SPEED + "x and " + MAX_SPEED + "x");
+        }
+    }
+
+    private static void advanceClock(Replay replay, long now) {
+        replay.positionMs += (double) (now - replay.lastTickNanos) / NANOS_PER_MS * replay.speed;
+        replay.lastTickNanos = now;
+    }
+
+    private static void seekTo(Replay replay, long positionMs) {
+        long clamped = Math.max(0, Math.min(replay.getDurationMs(), positionMs));
+        replay.positionMs = clamped;
+        replay.nextIndex = replay.indexAt(clamped);
+    }
+
+    /**
+     * Collects the due frames, at most {@code max-frames-per-tick}. When capped, the clock is pulled back to
+     * the last frame sent, so a slow consumer sees slower playback rather than skipped frames.
+     */
+    private ReplayWebSocketMessage drainDue(Replay replay) {
+        long dueUntil = replay.firstTimestamp + (long) replay.positionMs;
+        int max = Math.max(1, properties.getMaxFramesPerTick());
+        long end = replay.nextIndex;
+        while (end < replay.getFrameCount() && end - replay.nextIndex < max && replay.reader.timestamp(end) <= dueUntil) {
+            end++;
+        }
+
+        int count = (int) (end - replay.nextIndex);
+        long[] timestamps = new long[count];
+        int[][] fsr = new int[count][];
+        float[][] quaternion = new float[count][];
+        SensorFrame frame = replay.scratch;
+        for (int i = 0; i < count; i++) {
+            replay.reader.read(replay.nextIndex + i, frame);
+            timestamps[i] = frame.getTimestamp();
+            fsr[i] = frame.getFsr().clone();
+            quaternion[i] = Arrays.copyOfRange(frame.getImu(), SensorFrame.Q0, SensorFrame.Q3 + 1);
+        }
+        replay.nextIndex = end;
+
+        if (count == max && end < replay.getFrameCount() && replay.reader.timestamp(end) <= dueUntil) {
+            replay.positionMs = timestamps[count - 1] - replay.firstTimestamp;
+        }
+        return message(replay, timestamps, fsr, quaternion);
+    }
+
+    private void sendState(Replay replay) {
+        notificationService.sendReplayToUser(replay.getUsername(),
+                message(replay, new long[0], new int[0][], new float[0][]));
+    }
+
+    private static ReplayWebSocketMessage message(Replay replay, long[] timestamps, int[][] fsr, float[][] quaternion) {
+        return ReplayWebSocketMessage.builder()
+                .type(WebSocketMessageType.REPLAY_DATA)
+                .replayId(replay.getId())
+                .sessionId(replay.getSessionId())
+                .deviceId(replay.getDeviceId())
+                .state(replay.state)
+                .speed(replay.speed)
+                .positionMs((long) replay.positionMs)
+                .durationMs(replay.getDurationMs())
+                .timestamps(timestamps)
+                .fsr(fsr)
+                .quaternion(quaternion)
+                .build();
+    }
+
+    private void finish(Replay replay) {
+        replay.state = ReplayWebSocketMessage.State.ENDED;
+        sendState(replay);
+        release(replay);
+    }
+
+    private void release(Replay replay) {
+        if (replay.future != null) {
+            replay.future.cancel(false);
+        }
+        if (replays.remove(replay.getId(), replay)) {
+            segments.computeIfPresent(replay.segmentPath, (path, shared) -> --shared.references == 0 ? null : shared);
+            log.info("⏹️ Replay {} of session {} ended", replay.getId(), replay.getSessionId());
+        }
+    }
+
+    private SegmentReader acquire(Path path) throws IOException {
+        try {
+            return segments.compute(path, (p, shared) -> {
+                if (shared == null) {
+                    try {
+                        shared = new SharedSegment(new SegmentReader(p));
+                    } catch (IOException e) {
+                        throw new SegmentOpenException(e);
+                    }
+                }
+                shared.references++;
+                return shared;
+            }).reader;
+        } catch (SegmentOpenException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A mapped segment and the number of replays reading it. Only modified inside {@code segments.compute*}.
+     */
+    private static final class SharedSegment {
+        private final SegmentReader reader;
+        private int references;
+
+        private SharedSegment(SegmentReader reader) {
+            this.reader = reader;
+        }
+    }
+
+    private static final class SegmentOpenException extends RuntimeException {
+        private SegmentOpenException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
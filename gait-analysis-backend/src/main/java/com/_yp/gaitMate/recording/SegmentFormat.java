@@ -0,0 +1,123 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * On-disk layout of a session segment file.
+ * <p>
+ * A segment is a 128-byte header followed by fixed-width 128-byte records, one per
+ * {@code sensor_data} frame, in arrival order. All values are little-endian. Because every record
+ * has the same width, record {@code i} starts at {@code HEADER_BYTES + i * RECORD_BYTES} and can be
+ * read without scanning.
+ * </p>
+ *
+ * <p>Header:</p>
+ * <pre>
+ *  0  long   magic ("GAITSEG1")
+ *  8  int    version
+ * 12  int    record size
+ * 16  long   session ID
+ * 24  long   device ID
+ * 32  long   created at (epoch ms)
+ * 40  long   frame count (written when the segment is sealed)
+ * 48  byte   sealed flag
+ * </pre>
+ *
+ * <p>Record:</p>
+ * <pre>
+ *   0  long      device timestamp
+ *   8  int[16]   FSR_1 .. FSR_16
+ *  72  float[13] yaw, pitch, roll, q0..q3, ax, ay, az, gx, gy, gz
+ * 124  byte[4]   sys, gyro, accel, mag calibration
+ * </pre>
+ */
+public final class SegmentFormat {
+
+    public static final long MAGIC = 0x3147455354494147L; // "GAITSEG1" read as a little-endian long
+    public static final int VERSION = 1;
+
+    public static final int HEADER_BYTES = 128;
+    public static final int RECORD_BYTES = 128;
+
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // Header offsets
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 8;
+    static final int H_RECORD_SIZE = 12;
+    static final int H_SESSION_ID = 16;
+    static final int H_DEVICE_ID = 24;
+    static final int H_CREATED_AT = 32;
+    static final int H_FRAME_COUNT = 40;
+    static final int H_SEALED = 48;
+
+    // Record offsets
+    private static final int R_TIMESTAMP = 0;
+    private static final int R_FSR = 8;
+    private static final int R_IMU = R_FSR + SensorFrame.FSR_CHANNELS * Integer.BYTES;
+    private static final int R_CAL = R_IMU + SensorFrame.IMU_CHANNELS * Float.BYTES;
+
+    static {
+        if (R_CAL + SensorFrame.CAL_CHANNELS != RECORD_BYTES) {
+            throw new IllegalStateException("Segment record layout does not add up to " + RECORD_BYTES + " bytes");
+        }
+    }
+
+    private SegmentFormat() {
+    }
+
+    /**
+     * Writes {@code frame} as one record at absolute position {@code offset}. The device ID is not
+     * stored per record; it lives in the header.
+     */
+    public static void writeRecord(ByteBuffer buffer, int offset, SensorFrame frame) {
+        buffer.putLong(offset + R_TIMESTAMP, frame.getTimestamp());
+
+        int[] fsr = frame.getFsr();
+        for (int i = 0; i < SensorFrame.FSR_CHANNELS; i++) {
+            buffer.putInt(offset + R_FSR + i * Integer.BYTES, fsr[i]);
+        }
+
+        float[] imu = frame.getImu();
+        for (int i = 0; i < SensorFrame.IMU_CHANNELS; i++) {
+            buffer.putFloat(offset + R_IMU + i * Float.BYTES, imu[i]);
+        }
+
+        byte[] cal = frame.getCal();
+        for (int i = 0; i < SensorFrame.CAL_CHANNELS; i++) {
+            buffer.put(offset + R_CAL + i, cal[i]);
+        }
+    }
+
+    /**
+     * Reads only the device timestamp of the record at absolute position {@code offset}.
+     */
+    public static long readTimestamp(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + R_TIMESTAMP);
+    }
+
+    /**
+     * Reads the record at absolute position {@code offset} into {@code frame}. The device ID is left untouched.
+     */
+    public static void readRecord(ByteBuffer buffer, int offset, SensorFrame frame) {
+        frame.setTimestamp(buffer.getLong(offset + R_TIMESTAMP));
+
+        int[] fsr = frame.getFsr();
+        for (int i = 0; i < SensorFrame.FSR_CHANNELS; i++) {
+            fsr[i] = buffer.getInt(offset + R_FSR + i * Integer.BYTES);
+        }
+
+        float[] imu = frame.getImu();
+        for (int i = 0; i < SensorFrame.IMU_CHANNELS; i++) {
+            imu[i] = buffer.getFloat(offset + R_IMU + i * Float.BYTES);
+        }
+
+        byte[] cal = frame.getCal();
+        for (int i = 0; i < SensorFrame.CAL_CHANNELS; i++) {
+            cal[i] = buffer.get(offset + R_CAL + i);
+        }
+    }
+}
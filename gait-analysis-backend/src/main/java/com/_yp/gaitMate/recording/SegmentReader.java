@@ -0,0 +1,90 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com._yp.gaitMate.recording.SegmentFormat.*;
+
+/**
+ * Read-only, random-access view of a sealed segment file.
+ * <p>
+ * The whole file is mapped once; {@link #read(long, SensorFrame)} decodes a record into a
+ * caller-owned frame. Instances are safe to share between threads as long as each thread
+ * uses its own frame.
+ * </p>
+ */
+public class SegmentReader {
+
+    @Getter
+    private final Path path;
+
+    @Getter
+    private final long sessionId;
+
+    @Getter
+    private final long deviceId;
+
+    @Getter
+    private final long createdAt;
+
+    @Getter
+    private final long frameCount;
+
+    private final MappedByteBuffer buffer;
+
+    public SegmentReader(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a readable segment file: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(BYTE_ORDER);
+        }
+
+        if (buffer.getLong(H_MAGIC) != MAGIC || buffer.getInt(H_VERSION) != VERSION
+                || buffer.getInt(H_RECORD_SIZE) != RECORD_BYTES) {
+            throw new IOException("Unsupported segment format: " + path);
+        }
+        if (buffer.get(H_SEALED) != 1) {
+            throw new IOException("Segment has not been sealed: " + path);
+        }
+
+        this.sessionId = buffer.getLong(H_SESSION_ID);
+        this.deviceId = buffer.getLong(H_DEVICE_ID);
+        this.createdAt = buffer.getLong(H_CREATED_AT);
+        this.frameCount = buffer.getLong(H_FRAME_COUNT);
+
+        if (HEADER_BYTES + frameCount * RECORD_BYTES > buffer.capacity()) {
+            throw new IOException("Segment is truncated: " + path);
+        }
+    }
+
+    /**
+     * Decodes record {@code index} into {@code frame}, including the segment's device ID.
+     */
+    public void read(long index, SensorFrame frame) {
+        if (index < 0 || index >= frameCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + frameCount);
+        }
+        readRecord(buffer, (int) (HEADER_BYTES + index * RECORD_BYTES), frame);
+        frame.setDeviceId(deviceId);
+    }
+
+    /**
+     * Device timestamp of record {@code index}, without decoding the rest of the record.
+     */
+    public long timestamp(long index) {
+        if (index < 0 || index >= frameCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + frameCount);
+        }
+        return readTimestamp(buffer, (int) (HEADER_BYTES + index * RECORD_BYTES));
+    }
+}
@@ -0,0 +1,131 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com._yp.gaitMate.recording.SegmentFormat.*;
+
+/**
+ * Appends fixed-width frame records to a single memory-mapped segment file.
+ * <p>
+ * The file is mapped in windows of {@code chunkFrames} records. Appending a frame is a handful of
+ * absolute puts into the current window; a new window is mapped only when the current one is full.
+ * {@link #seal()} writes the final frame count, flushes the mapping and truncates the file to the
+ * bytes actually written.
+ * </p>
+ *
+ * <p>Not thread-safe; callers must serialise {@link #append(SensorFrame)} and {@link #seal()}.</p>
+ */
+public class SegmentWriter {
+
+    @Getter
+    private final Path path;
+
+    private final FileChannel channel;
+    private final int chunkBytes;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowPosition;
+
+    @Getter
+    private long frameCount;
+
+    @Getter
+    private boolean sealed;
+
+    /**
+     * Creates a new segment file and writes its header.
+     *
+     * @throws IOException if the file already exists or cannot be mapped
+     */
+    public SegmentWriter(Path path, long sessionId, long deviceId, int chunkFrames) throws IOException {
+        if (chunkFrames < 1) {
+            throw new IllegalArgumentException("chunkFrames must be positive");
+        }
+        this.path = path;
+        this.chunkBytes = chunkFrames * RECORD_BYTES;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(BYTE_ORDER);
+        header.putLong(H_MAGIC, MAGIC);
+        header.putInt(H_VERSION, VERSION);
+        header.putInt(H_RECORD_SIZE, RECORD_BYTES);
+        header.putLong(H_SESSION_ID, sessionId);
+        header.putLong(H_DEVICE_ID, deviceId);
+        header.putLong(H_CREATED_AT, System.currentTimeMillis());
+        header.putLong(H_FRAME_COUNT, 0);
+        header.put(H_SEALED, (byte) 0);
+
+        mapWindow(HEADER_BYTES);
+    }
+
+    /**
+     * Appends one frame.
+     *
+     * @throws IOException          if the next window cannot be mapped
+     * @throws IllegalStateException if the segment has already been sealed
+     */
+    public void append(SensorFrame frame) throws IOException {
+        if (sealed) {
+            throw new IllegalStateException("Segment already sealed: " + path);
+        }
+        if (windowPosition == chunkBytes) {
+            mapWindow(windowStart + chunkBytes);
+        }
+        writeRecord(window, windowPosition, frame);
+        windowPosition += RECORD_BYTES;
+        frameCount++;
+    }
+
+    /**
+     * Finalises the segment: records the frame count, flushes to disk and trims unused space.
+     * Calling it again has no effect.
+     *
+     * @return the segment path
+     */
+    public Path seal() throws IOException {
+        if (sealed) {
+            return path;
+        }
+        sealed = true;
+        try {
+            window.force();
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(BYTE_ORDER);
+            header.putLong(H_FRAME_COUNT, frameCount);
+            header.put(H_SEALED, (byte) 1);
+            header.force();
+
+            window = null;
+            channel.truncate(HEADER_BYTES + frameCount * RECORD_BYTES);
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+        return path;
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void mapWindow(long start) throws IOException {
+        if (window != null) {
+            window.force();
+        }
+        window = channel.map(FileChannel.MapMode.READ_WRITE, start, chunkBytes);
+        window.order(BYTE_ORDER);
+        windowStart = start;
+        windowPosition = 0;
+    }
+}
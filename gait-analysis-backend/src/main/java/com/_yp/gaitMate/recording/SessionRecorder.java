@@ -0,0 +1,144 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records raw {@code sensor_data} frames of ACTIVE test sessions to local segment files.
+ * <p>
+ * {@link #start(Long, Long)} is called when a session starts and arms a {@link SegmentWriter} for the
+ * session's sensor kit; {@link #record(SensorFrame)} is called for every decoded frame and is a single
+ * map lookup for devices that are not recording; {@link #stop(Long, Long)} seals the segment and
+ * returns its path so it can be stored on the session's {@code RawSensorData}.
+ * </p>
+ *
+ * <p>Segment files are named {@code session-{sessionId}-{startMillis}.seg} inside {@code recording.directory}.
+ * Open segments are sealed on a graceful shutdown; after a crash the file keeps whatever reached the
+ * page cache but stays unsealed, and recording is not resumed for sessions that are still ACTIVE.</p>
+ */
+@Component
+@Slf4j
+public class SessionRecorder {
+
+    private final RecordingProperties properties;
+    private final Map<Long, SegmentWriter> writersByDevice = new ConcurrentHashMap<>();
+
+    private final Counter recordedFrames;
+    private final Counter failedFrames;
+
+    public SessionRecorder(RecordingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.recordedFrames = Counter.builder("recording.frames").tag("result", "written").register(meterRegistry);
+        this.failedFrames = Counter.builder("recording.frames").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("recording.active", writersByDevice, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Starts recording frames from {@code deviceId} into a new segment for {@code sessionId}.
+     * Failures are logged and leave the session without a recording rather than failing the start.
+     */
+    public void start(Long sessionId, Long deviceId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Path directory = Paths.get(properties.getDirectory());
+            Files.createDirectories(directory);
+            Path path = directory.resolve("session-" + sessionId + "-" + System.currentTimeMillis() + ".seg");
+
+            SegmentWriter writer = new SegmentWriter(path, sessionId, deviceId, properties.getMapChunkFrames());
+            SegmentWriter previous = writersByDevice.put(deviceId, writer);
+            if (previous != null) {
+                log.warn("⚠️ Device {} was still recording to {}; sealing it", deviceId, previous.getPath());
+                sealQuietly(previous);
+            }
+            log.info("🎙️ Recording device {} for session {} to {}", deviceId, sessionId, path);
+        } catch (IOException e) {
+            log.error("❌ Failed to start recording for session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a frame if its device is currently recording.
+     */
+    public void record(SensorFrame frame) {
+        SegmentWriter writer = writersByDevice.get(frame.getDeviceId());
+        if (writer == null) {
+            return;
+        }
+        synchronized (writer) {
+            if (writer.isSealed()) {
+                return;
+            }
+            try {
+                writer.append(frame);
+                recordedFrames.increment();
+            } catch (IOException e) {
+                failedFrames.increment();
+                log.error("❌ Failed to record frame for device {}: {}", frame.getDeviceId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops recording for {@code deviceId} and seals the segment.
+     *
+     * @return the sealed segment path, or {@code null} if the session had no recording
+     */
+    public Path stop(Long sessionId, Long deviceId) {
+        SegmentWriter writer = writersByDevice.remove(deviceId);
+        if (writer == null) {
+            log.warn("⚠️ No recording in progress for session {} (device {})", sessionId, deviceId);
+            return null;
+        }
+        synchronized (writer) {
+            try {
+                Path path = writer.seal();
+                log.info("✅ Sealed recording for session {}: {} frames in {}", sessionId, writer.getFrameCount(), path);
+                return path;
+            } catch (IOException e) {
+                log.error("❌ Failed to seal recording for session {}: {}", sessionId, e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Whether frames from {@code deviceId} are currently being recorded.
+     */
+    public boolean isRecording(Long deviceId) {
+        return writersByDevice.containsKey(deviceId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writersByDevice.values().forEach(this::sealQuietly);
+        writersByDevice.clear();
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void sealQuietly(SegmentWriter writer) {
+        synchronized (writer) {
+            try {
+                writer.seal();
+            } catch (IOException e) {
+                log.error("❌ Failed to seal {}: {}", writer.getPath(), e.getMessage());
+            }
+        }
+    }
+}
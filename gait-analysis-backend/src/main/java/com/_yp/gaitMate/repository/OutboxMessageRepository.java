@@ -0,0 +1,35 @@
+package com._yp.gaitMate.repository;
+
+import com._yp.gaitMate.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Pending rows that are due, locked for the caller's transaction; rows locked by another node are skipped
+    // (lock timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<OutboxMessage> claimDue(@Param("now") Instant now, Pageable pageable);
+
+    @Query("SELECT MIN(m.createdAt) FROM OutboxMessage m WHERE m.status = 'PENDING'")
+    Optional<Instant> findOldestPendingCreatedAt();
+
+    long countByStatus(OutboxMessage.Status status);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
@@ -7,6 +7,8 @@ import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -30,4 +32,19 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     Optional<Patient> findByInvitationToken(String token);
 
     boolean existsByEmail(String email);
+
+    @Query("select u.username from Patient p join p.user u where p.sensorKit.id = :sensorKitId")
+    Optional<String> findUsernameBySensorKitId(@Param("sensorKitId") Long sensorKitId);
+
+    @Query("select p.sensorKit.id as sensorKitId, u.username as username from Patient p join p.user u")
+    List<SensorKitRoute> findAllSensorKitRoutes();
+
+    /**
+     * Projection of a sensorKitId → username pair.
+     */
+    interface SensorKitRoute {
+        Long getSensorKitId();
+
+        String getUsername();
+    }
 }
\ No newline at end of file
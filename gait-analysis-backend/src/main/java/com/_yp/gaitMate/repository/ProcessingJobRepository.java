@@ -0,0 +1,32 @@
+package com._yp.gaitMate.repository;
+
+import com._yp.gaitMate.model.ProcessingJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProcessingJobRepository extends JpaRepository<ProcessingJob, Long> {
+
+    List<ProcessingJob> findBySessionIdIn(Collection<Long> sessionIds);
+
+    // Open jobs whose deadline has passed, locked for the caller's transaction (lock timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM ProcessingJob j WHERE j.status IN ('RUNNING', 'RETRY_PENDING') AND j.deadline <= :now ORDER BY j.deadline")
+    List<ProcessingJob> claimDue(@Param("now") Instant now, Pageable pageable);
+
+    // Creation times of all open jobs, for the queue age distribution
+    @Query("SELECT j.createdAt FROM ProcessingJob j WHERE j.status IN ('RUNNING', 'RETRY_PENDING') ORDER BY j.createdAt")
+    List<Instant> findOpenCreatedAt();
+}
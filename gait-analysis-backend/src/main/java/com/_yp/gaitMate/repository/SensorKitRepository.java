@@ -3,7 +3,11 @@ package com._yp.gaitMate.repository;
 import com._yp.gaitMate.model.Clinic;
 import com._yp.gaitMate.model.SensorKit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
@@ -19,4 +23,20 @@ public interface SensorKitRepository extends JpaRepository<SensorKit, Long> {
     List<SensorKit> findAllByIdIn(Collection<Long> ids);
 
     List<SensorKit> findByClinicAndStatus(Clinic clinic, SensorKit.Status status);
-}
\ No newline at end of file
+
+    // Bulk calibration update; rows that already hold the value are left alone
+    @Modifying
+    @Transactional
+    @Query("UPDATE SensorKit sk SET sk.isCalibrated = :calibrated " +
+            "WHERE sk.id IN :ids AND (sk.isCalibrated IS NULL OR sk.isCalibrated <> :calibrated)")
+    int updateCalibrationStatus(@Param("ids") Collection<Long> ids, @Param("calibrated") Boolean calibrated);
+
+    // Live spectators: the patient wearing the kit, that patient's doctor or the clinic owning the kit
+    @Query("SELECT CASE WHEN COUNT(sk) > 0 THEN true ELSE false END FROM SensorKit sk " +
+            "LEFT JOIN sk.patient p LEFT JOIN p.user pu " +
+            "LEFT JOIN p.doctor d LEFT JOIN d.user du " +
+            "LEFT JOIN sk.clinic c LEFT JOIN c.user cu " +
+            "WHERE sk.id = :sensorKitId " +
+            "AND (pu.username = :username OR du.username = :username OR cu.username = :username)")
+    boolean hasLiveAccess(@Param("sensorKitId") Long sensorKitId, @Param("username") String username);
+}
@@ -0,0 +1,118 @@
+package com._yp.gaitMate.repository;
+
+import com._yp.gaitMate.model.Stride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stride rows and the aggregates over them. The statistics queries scan one patient's strides in a
+ * {@code [from, to)} range of session starts through {@code idx_stride_patient_session_start} and pick
+ * the aggregated column with {@code :metric} (a {@link Stride.Metric} name); strides without a value
+ * for that metric are ignored.
+ * <p>
+ * Result aliases are quoted: PostgreSQL folds unquoted names to lower case, and the projections below are
+ * matched case-sensitively, so {@code AS stdDev} would leave {@code getStdDev()} null.
+ * </p>
+ */
+@Repository
+public interface StrideRepository extends JpaRepository<Stride, Long> {
+
+    String METRIC_IN_RANGE = """
+            (SELECT session_id, session_start,
+                    CASE :metric
+                        WHEN 'STRIDE_TIME' THEN stride_time
+                        WHEN 'STRIDE_LENGTH' THEN stride_length
+                        WHEN 'STANCE_TIME' THEN stance_time
+                        WHEN 'SWING_TIME' THEN swing_time
+                    END AS v
+             FROM stride
+             WHERE patient_id = :patientId AND session_start >= :from AND session_start < :to) s
+            """;
+
+    @Query(nativeQuery = true, value = """
+            SELECT COUNT(v) AS "count",
+                   COUNT(DISTINCT session_id) AS "sessions",
+                   AVG(v) AS "mean",
+                   STDDEV_SAMP(v) AS "stdDev",
+                   STDDEV_SAMP(v) / NULLIF(AVG(v), 0) AS "cv",
+                   MIN(v) AS "min",
+                   MAX(v) AS "max",
+                   PERCENTILE_CONT(0.05) WITHIN GROUP (ORDER BY v) AS "p05",
+                   PERCENTILE_CONT(0.25) WITHIN GROUP (ORDER BY v) AS "p25",
+                   PERCENTILE_CONT(0.50) WITHIN GROUP (ORDER BY v) AS "p50",
+                   PERCENTILE_CONT(0.75) WITHIN GROUP (ORDER BY v) AS "p75",
+                   PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY v) AS "p95"
+            FROM """ + METRIC_IN_RANGE + """
+            WHERE v IS NOT NULL
+            """)
+    Statistics computeStatistics(@Param("patientId") Long patientId, @Param("metric") String metric,
+                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(nativeQuery = true, value = """
+            SELECT session_id AS "sessionId",
+                   MIN(session_start) AS "sessionStart",
+                   COUNT(v) AS "count",
+                   AVG(v) AS "mean",
+                   STDDEV_SAMP(v) AS "stdDev",
+                   STDDEV_SAMP(v) / NULLIF(AVG(v), 0) AS "cv",
+                   PERCENTILE_CONT(0.50) WITHIN GROUP (ORDER BY v) AS "median"
+            FROM """ + METRIC_IN_RANGE + """
+            WHERE v IS NOT NULL
+            GROUP BY session_id
+            ORDER BY MIN(session_start), session_id
+            """)
+    List<SessionStatistics> computeSessionStatistics(@Param("patientId") Long patientId, @Param("metric") String metric,
+                                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Counts per bucket of {@code bins} equal-width buckets over {@code [lower, upper]}, numbered from 1.
+     * Values equal to {@code upper} fall in the last bucket; empty buckets are not returned.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT LEAST(WIDTH_BUCKET(v, :lower, :upper, :bins), :bins) AS "bucket",
+                   COUNT(*) AS "count"
+            FROM """ + METRIC_IN_RANGE + """
+            WHERE v >= :lower AND v <= :upper
+            GROUP BY 1
+            ORDER BY 1
+            """)
+    List<Bucket> computeHistogram(@Param("patientId") Long patientId, @Param("metric") String metric,
+                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                  @Param("lower") double lower, @Param("upper") double upper,
+                                  @Param("bins") int bins);
+
+    interface Statistics {
+        long getCount();
+        long getSessions();
+        Double getMean();
+        Double getStdDev();
+        Double getCv();
+        Double getMin();
+        Double getMax();
+        Double getP05();
+        Double getP25();
+        Double getP50();
+        Double getP75();
+        Double getP95();
+    }
+
+    interface SessionStatistics {
+        Long getSessionId();
+        LocalDateTime getSessionStart();
+        long getCount();
+        Double getMean();
+        Double getStdDev();
+        Double getCv();
+        Double getMedian();
+    }
+
+    interface Bucket {
+        int getBucket();
+        long getCount();
+    }
+}
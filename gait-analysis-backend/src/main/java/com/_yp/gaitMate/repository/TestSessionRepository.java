@@ -5,8 +5,11 @@ import com._yp.gaitMate.model.TestSession;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +31,8 @@ public interface TestSessionRepository extends JpaRepository<TestSession, Long>
 
     Optional<TestSession> findTop1ByPatientAndStatusOrderByStartTimeDesc(Patient patient, TestSession.Status status);
 
+    // Sessions with everything needed to attach results and notify the patient, in one query
+    @Query("SELECT s FROM TestSession s JOIN FETCH s.patient p LEFT JOIN FETCH p.user LEFT JOIN FETCH s.results WHERE s.id IN :ids")
+    List<TestSession> findAllForResultsByIdIn(@Param("ids") Collection<Long> ids);
+
 }
\ No newline at end of file
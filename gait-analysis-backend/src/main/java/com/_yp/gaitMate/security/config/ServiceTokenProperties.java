@@ -0,0 +1,35 @@
+package com._yp.gaitMate.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared secret that internal services (the data processing service) send to reach service-only endpoints
+ * such as {@code POST /api/results/batch} (see {@link com._yp.gaitMate.security.jwt.ServiceTokenFilter}).
+ *
+ * <pre>
+ * app:
+ *   service-auth:
+ *     header: X-Service-Token
+ *     token: ${SERVICE_AUTH_TOKEN:}
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.service-auth")
+public class ServiceTokenProperties {
+
+    /**
+     * Request header carrying the token.
+     */
+    private String header = "X-Service-Token";
+
+    /**
+     * The expected token. When blank no request is authenticated as a service, so the service-only
+     * endpoints are closed.
+     */
+    private String token = "";
+}
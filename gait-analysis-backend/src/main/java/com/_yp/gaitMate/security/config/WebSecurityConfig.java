@@ -1,6 +1,7 @@
 package com._yp.gaitMate.security.config;
 
 import com._yp.gaitMate.security.jwt.AuthTokenFilter;
+import com._yp.gaitMate.security.jwt.ServiceTokenFilter;
 import com._yp.gaitMate.security.model.AppRole;
 import com._yp.gaitMate.security.model.Role;
 import com._yp.gaitMate.security.model.User;
@@ -44,6 +45,7 @@ public class WebSecurityConfig {
     private final UserDetailsService userDetailsService;
     private final AuthenticationEntryPoint unauthorizedHandler;
     private final AuthTokenFilter authTokenFilter;
+    private final ServiceTokenFilter serviceTokenFilter;
 
 //    @Value("${client.domains.list[0]}")
     private final List<String> clientDomains = List.of("http://localhost:42000");
@@ -95,9 +97,12 @@ public class WebSecurityConfig {
                                 .requestMatchers("/swagger-ui.html").permitAll()
 
                                 .requestMatchers("/api/results").permitAll() // TODO: remove later
+                                .requestMatchers("/api/results/batch").hasRole(ServiceTokenFilter.ROLE) // X-Service-Token
 
                                 .requestMatchers("/api/public/**").permitAll()
                                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .requestMatchers("/api/clinic/**").hasRole("CLINIC")
                                 .requestMatchers("/api/patient/**").hasRole("PATIENT")
                                 .requestMatchers("/api/doctor/**").hasRole("DOCTOR")
@@ -115,7 +120,8 @@ public class WebSecurityConfig {
                 //http.formLogin(withDefaults()); - ➜ Adds UsernamePasswordAuthenticationFilter to the SecurityFilterChain
                 //.httpBasic(withDefaults());  // ➜ Adds BasicAuthenticationFilter to the SecurityFilterChain
 
-                .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(serviceTokenFilter, AuthTokenFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,68 @@
+package com._yp.gaitMate.security.jwt;
+
+import com._yp.gaitMate.security.config.ServiceTokenProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates internal service calls that carry the shared token from {@link ServiceTokenProperties}
+ * as {@value #PRINCIPAL} with {@code ROLE_PROCESSING_SERVICE}. Requests without the header pass through
+ * untouched for {@link AuthTokenFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceTokenFilter extends OncePerRequestFilter {
+
+    public static final String ROLE = "PROCESSING_SERVICE";
+    static final String PRINCIPAL = "processing-service";
+
+    private final ServiceTokenProperties properties;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String presented = request.getHeader(properties.getHeader());
+        if (presented != null) {
+            if (matches(presented)) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        PRINCIPAL, null, List.of(new SimpleGrantedAuthority("ROLE_" + ROLE))));
+            } else {
+                log.warn("⚠️ Rejected service token on {}", request.getRequestURI());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private boolean matches(String presented) {
+        String expected = properties.getToken();
+        if (expected == null || expected.isBlank()) {
+            return false;
+        }
+        // constant time, so the token cannot be guessed byte by byte from response times
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -15,9 +15,11 @@ import com._yp.gaitMate.security.model.AccountType;
 import com._yp.gaitMate.security.model.AppRole;
 import com._yp.gaitMate.security.model.User;
 import com._yp.gaitMate.security.service.AuthenticationService;
+import com._yp.gaitMate.service.sensorKitService.SensorKitRoutingChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
@@ -31,6 +33,7 @@ public class InvitationServiceImpl implements InvitationService {
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final AuthenticationService authenticationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -131,6 +134,10 @@ public class InvitationServiceImpl implements InvitationService {
             patient.setUser(user);
             patient.setAccountStatus(AccountStatus.ACCOUNT_CREATED);
             patientRepository.save(patient);
+            if (patient.getSensorKit() != null) {
+                // the kit now has a username to route live data to
+                eventPublisher.publishEvent(new SensorKitRoutingChangedEvent(patient.getSensorKit().getId()));
+            }
         } else if (entity instanceof Doctor doctor) {
             doctor.setUser(user);
             doctor.setAccountStatus(AccountStatus.ACCOUNT_CREATED);
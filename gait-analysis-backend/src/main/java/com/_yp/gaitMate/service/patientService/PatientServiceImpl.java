@@ -23,8 +23,10 @@ import com._yp.gaitMate.security.model.AppRole;
 import com._yp.gaitMate.security.model.User;
 import com._yp.gaitMate.security.service.AuthenticationService;
 import com._yp.gaitMate.security.utils.AuthUtil;
+import com._yp.gaitMate.service.sensorKitService.SensorKitRoutingChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +50,7 @@ public class PatientServiceImpl implements PatientService{
     private final PatientMapper patientMapper;
     private final PageMapper pageMapper;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
@@ -129,6 +132,7 @@ public class PatientServiceImpl implements PatientService{
 
         sensorKit.setStatus(SensorKit.Status.IN_USE);
         sensorKitRepository.save(sensorKit);
+        eventPublisher.publishEvent(new SensorKitRoutingChangedEvent(sensorKit.getId()));
         //TODO:
         // consider the bidirectional nature as well
         // 6. Update sensor kit with patient reference (optional, bidirectional safety)
@@ -1,9 +1,20 @@
 package com._yp.gaitMate.service.processedTestResultsService;
 
+import com._yp.gaitMate.dto.results.ProcessedTestResultsBatchResponseDto;
 import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
 import jakarta.transaction.Transactional;
 
+import java.util.List;
+
 public interface ProcessedTestResultsService {
     @Transactional
     void saveResults(ProcessedTestResultsRequestDto dto);
+
+    /**
+     * Stores the results of many sessions in one transaction: sessions are loaded with a single query and
+     * written as JDBC batches. Entries for unknown sessions, sessions that already have results and repeated
+     * sessions are rejected without affecting the rest.
+     */
+    @Transactional
+    ProcessedTestResultsBatchResponseDto saveResultsBatch(List<ProcessedTestResultsRequestDto> batch);
 }
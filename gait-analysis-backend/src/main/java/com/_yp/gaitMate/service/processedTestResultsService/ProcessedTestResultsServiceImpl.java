@@ -1,20 +1,33 @@
 package com._yp.gaitMate.service.processedTestResultsService;
 
+import com._yp.gaitMate.dto.results.ProcessedTestResultsBatchResponseDto;
 import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
+import com._yp.gaitMate.gait.LiveGaitMetricsService;
 import com._yp.gaitMate.model.ProcessedTestResults;
+import com._yp.gaitMate.model.Stride;
 import com._yp.gaitMate.model.TestSession;
+import com._yp.gaitMate.processing.ProcessingFinishedEvent;
 import com._yp.gaitMate.repository.ProcessedTestResultsRepository;
+import com._yp.gaitMate.repository.StrideRepository;
 import com._yp.gaitMate.repository.TestSessionRepository;
 import com._yp.gaitMate.websocket.message.ResultsNotificationMessage;
-import com._yp.gaitMate.websocket.NotificationService;
 import com._yp.gaitMate.websocket.message.WebSocketMessageType;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,7 +36,9 @@ public class ProcessedTestResultsServiceImpl implements ProcessedTestResultsServ
 
     private final TestSessionRepository testSessionRepository;
     private final ProcessedTestResultsRepository processedTestResultsRepository;
-    private final NotificationService notificationService;
+    private final StrideRepository strideRepository;
+    private final LiveGaitMetricsService liveGaitMetricsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
@@ -37,62 +52,177 @@ public class ProcessedTestResultsServiceImpl implements ProcessedTestResultsServ
             return;
         }
 
+        // 2. Ignore late or repeated results, e.g. from a redispatched job whose first attempt also finished
+        if (session.getResults() != null) {
+            log.warn("⚠️ Test session {}: Session already has processed results attached, result ignored", session.getId());
+            return;
+        }
+        if (!TestSession.Status.PROCESSING.equals(session.getStatus())) {
+            log.warn("⚠️ Test session {}: Session is {}, not PROCESSING, result ignored", session.getId(), session.getStatus());
+            return;
+        }
+
         if (!isSuccessful) {
+            // 3. Mark session as FAILED if status is false
             log.error("⚠️ Test session {} marked as FAILED due to processing error", session.getId());
-
-            // 2. Mark session as FAILED if status is false
-            if (!TestSession.Status.PROCESSING.equals(session.getStatus())) {
-                log.error("⚠️ Test session {}: Cannot attach results to session that is not in PROCESSING state", session.getId());
-            }
-
-            if (session.getResults() != null) {
-                log.error("⚠️ Test session {}: Session already has processed results attached", session.getId());
-            }
-
             session.setStatus(TestSession.Status.FAILED);
             testSessionRepository.save(session);
         } else {
-            // 3. Build and save results
-            ProcessedTestResults results = ProcessedTestResults.builder()
-                    .steps(dto.getSteps())
-                    .cadence(dto.getCadence())
-                    .avgHeelForce(dto.getAvgHeelForce())
-                    .avgToeForce(dto.getAvgToeForce())
-                    .avgMidfootForce(dto.getAvgMidfootForce())
-                    .balanceScore(dto.getBalanceScore())
-                    .peakImpact(dto.getPeakImpact())
-                    .durationSeconds(dto.getDurationSeconds())
-                    .avgSwingTime(dto.getAvgSwingTime())
-                    .avgStanceTime(dto.getAvgStanceTime())
-                    .pressureResultsPath(dto.getPressureResultsPath())
-                    .strideTimes(dto.getStrideTimes()) // ✅ saving the list
-                    .session(session) // ✅ set owning side of relationship
-                    .strideTimes(dto.getStrideTimes())
-                    .strideLength(dto.getStrideLength())
-                    .strideLengths(dto.getStrideLengths())
-                    .build();
-
+            // 4. Build and save results
+            ProcessedTestResults results = buildResults(dto, session);
             processedTestResultsRepository.save(results);
+            strideRepository.saveAll(buildStrides(dto, session));
 
-            // 4. Attach results to session and update status
+            // 5. Attach results to session and update status
             session.setResults(results);
             session.setStatus(TestSession.Status.COMPLETED);
             testSessionRepository.save(session);
 
             log.info("✅ Processed results saved and session {} marked as COMPLETED", session.getId());
+            liveGaitMetricsService.discardProvisionalResult(session.getId());
         }
 
-        // 5. Notify frontend via WebSocket
+        // 6. Close the processing job
+        eventPublisher.publishEvent(ProcessingFinishedEvent.of(session.getId(), isSuccessful));
+
+        // 7. Notify frontend via WebSocket once committed
         String username = session.getPatient().getUser().getUsername();
+        eventPublisher.publishEvent(ResultsReadyEvent.of(username, notification(session.getId(), isSuccessful)));
+    }
+
+    @Transactional
+    @Override
+    public ProcessedTestResultsBatchResponseDto saveResultsBatch(List<ProcessedTestResultsRequestDto> batch) {
+        List<ProcessedTestResultsBatchResponseDto.RejectedResult> rejected = new ArrayList<>();
+
+        // 1. Keep the first entry per session
+        Map<Long, ProcessedTestResultsRequestDto> bySession = new LinkedHashMap<>();
+        for (ProcessedTestResultsRequestDto dto : batch) {
+            if (bySession.putIfAbsent(dto.getSessionId(), dto) != null) {
+                rejected.add(reject(dto.getSessionId(), "Duplicate session in batch"));
+            }
+        }
+
+        // 2. Load every session with its patient, user and results in one query
+        Map<Long, TestSession> sessions = testSessionRepository.findAllForResultsByIdIn(bySession.keySet()).stream()
+                .collect(Collectors.toMap(TestSession::getId, Function.identity()));
+
+        // 3. Apply the outcomes in memory; Hibernate flushes them as JDBC batches on commit
+        List<ProcessedTestResults> newResults = new ArrayList<>();
+        List<Stride> newStrides = new ArrayList<>();
+        Map<Long, Boolean> outcomes = new LinkedHashMap<>();
+        List<ResultsReadyEvent.Notification> notifications = new ArrayList<>();
+        Set<Long> completed = new HashSet<>();
+
+        for (ProcessedTestResultsRequestDto dto : bySession.values()) {
+            TestSession session = sessions.get(dto.getSessionId());
+            if (session == null) {
+                rejected.add(reject(dto.getSessionId(), "Session not found"));
+                continue;
+            }
+            if (session.getResults() != null) {
+                rejected.add(reject(session.getId(), "Session already has processed results attached"));
+                continue;
+            }
+            if (!TestSession.Status.PROCESSING.equals(session.getStatus())) {
+                rejected.add(reject(session.getId(), "Session is not in PROCESSING state"));
+                continue;
+            }
+            boolean isSuccessful = Boolean.TRUE.equals(dto.getStatus());
+
+            if (isSuccessful) {
+                ProcessedTestResults results = buildResults(dto, session);
+                newResults.add(results);
+                newStrides.addAll(buildStrides(dto, session));
+                session.setResults(results);
+                session.setStatus(TestSession.Status.COMPLETED);
+                completed.add(session.getId());
+            } else {
+                session.setStatus(TestSession.Status.FAILED);
+            }
+
+            outcomes.put(session.getId(), isSuccessful);
+            notifications.add(new ResultsReadyEvent.Notification(
+                    session.getPatient().getUser().getUsername(), notification(session.getId(), isSuccessful)));
+        }
+
+        processedTestResultsRepository.saveAll(newResults);
+        strideRepository.saveAll(newStrides);
+        completed.forEach(liveGaitMetricsService::discardProvisionalResult);
+
+        // 4. Close the processing jobs, then notify once committed
+        if (!outcomes.isEmpty()) {
+            eventPublisher.publishEvent(new ProcessingFinishedEvent(outcomes));
+            eventPublisher.publishEvent(new ResultsReadyEvent(notifications));
+        }
+
+        log.info("✅ Results batch stored: {} sessions ({} completed), {} rejected",
+                outcomes.size(), completed.size(), rejected.size());
+        return ProcessedTestResultsBatchResponseDto.builder()
+                .accepted(outcomes.size())
+                .rejected(rejected)
+                .build();
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static ProcessedTestResults buildResults(ProcessedTestResultsRequestDto dto, TestSession session) {
+        return ProcessedTestResults.builder()
+                .steps(dto.getSteps())
+                .cadence(dto.getCadence())
+                .avgHeelForce(dto.getAvgHeelForce())
+                .avgToeForce(dto.getAvgToeForce())
+                .avgMidfootForce(dto.getAvgMidfootForce())
+                .balanceScore(dto.getBalanceScore())
+                .peakImpact(dto.getPeakImpact())
+                .durationSeconds(dto.getDurationSeconds())
+                .avgSwingTime(dto.getAvgSwingTime())
+                .avgStanceTime(dto.getAvgStanceTime())
+                .pressureResultsPath(dto.getPressureResultsPath())
+                .session(session) // ✅ set owning side of relationship
+                .strideTimes(dto.getStrideTimes())
+                .strideLength(dto.getStrideLength())
+                .strideLengths(dto.getStrideLengths())
+                .build();
+    }
 
-        ResultsNotificationMessage message = ResultsNotificationMessage.builder()
-                .sessionId(dto.getSessionId())
+    private static List<Stride> buildStrides(ProcessedTestResultsRequestDto dto, TestSession session) {
+        double[] strideTimes = dto.getStrideTimes();
+        if (strideTimes == null) return List.of();
+
+        List<Stride> strides = new ArrayList<>(strideTimes.length);
+        for (int i = 0; i < strideTimes.length; i++) {
+            strides.add(Stride.builder()
+                    .sessionId(session.getId())
+                    .patientId(session.getPatient().getId())
+                    .sessionStart(session.getStartTime())
+                    .strideIndex(i)
+                    .strideTime(strideTimes[i])
+                    .strideLength(valueAt(dto.getStrideLengths(), i))
+                    .stanceTime(valueAt(dto.getStanceTimes(), i))
+                    .swingTime(valueAt(dto.getSwingTimes(), i))
+                    .build());
+        }
+        return strides;
+    }
+
+    private static Double valueAt(double[] values, int index) {
+        return values != null && index < values.length ? values[index] : null;
+    }
+
+    private static ResultsNotificationMessage notification(Long sessionId, boolean isSuccessful) {
+        return ResultsNotificationMessage.builder()
+                .sessionId(sessionId)
                 .type(WebSocketMessageType.RESULTS_READY)
                 .status(isSuccessful)
                 .timestamp(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
                 .build();
+    }
 
-        notificationService.sendNotificationToUser(username, message);
-        log.info("✅ WebSocket notification [results_ready] sent to user [{}] for session [{}]", username, session.getId());
+    private static ProcessedTestResultsBatchResponseDto.RejectedResult reject(Long sessionId, String reason) {
+        log.warn("⚠️ Results for session {} rejected: {}", sessionId, reason);
+        return new ProcessedTestResultsBatchResponseDto.RejectedResult(sessionId, reason);
     }
 }
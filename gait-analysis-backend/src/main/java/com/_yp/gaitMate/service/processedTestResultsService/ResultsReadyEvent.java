@@ -0,0 +1,22 @@
+package com._yp.gaitMate.service.processedTestResultsService;
+
+import com._yp.gaitMate.websocket.message.ResultsNotificationMessage;
+
+import java.util.List;
+
+/**
+ * RESULTS_READY notifications for sessions whose outcome was just stored.
+ * {@link ResultsReadyNotifier} sends them once the storing transaction has committed, so a client that
+ * reacts by fetching the session always sees the new state.
+ *
+ * @param notifications one entry per session
+ */
+public record ResultsReadyEvent(List<Notification> notifications) {
+
+    public static ResultsReadyEvent of(String username, ResultsNotificationMessage message) {
+        return new ResultsReadyEvent(List.of(new Notification(username, message)));
+    }
+
+    public record Notification(String username, ResultsNotificationMessage message) {
+    }
+}
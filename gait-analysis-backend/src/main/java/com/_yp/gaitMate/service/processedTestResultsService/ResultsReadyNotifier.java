@@ -0,0 +1,33 @@
+package com._yp.gaitMate.service.processedTestResultsService;
+
+import com._yp.gaitMate.websocket.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends RESULTS_READY over WebSocket after the results transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResultsReadyNotifier {
+
+    private final NotificationService notificationService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResultsReady(ResultsReadyEvent event) {
+        for (ResultsReadyEvent.Notification notification : event.notifications()) {
+            try {
+                notificationService.sendNotificationToUser(notification.username(), notification.message());
+                log.info("✅ WebSocket notification [results_ready] sent to user [{}] for session [{}]",
+                        notification.username(), notification.message().getSessionId());
+            } catch (Exception e) {
+                log.error("❌ Failed to send results_ready for session {}: {}",
+                        notification.message().getSessionId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com._yp.gaitMate.service.replayService;
+
+import com._yp.gaitMate.dto.ApiResponse;
+import com._yp.gaitMate.dto.replay.ReplayControlDto;
+import com._yp.gaitMate.dto.replay.ReplayResponseDto;
+import com._yp.gaitMate.dto.replay.StartReplayRequestDto;
+
+public interface ReplayService {
+    ReplayResponseDto startReplay(Long sessionId, StartReplayRequestDto request);
+
+    ReplayResponseDto controlReplay(String replayId, ReplayControlDto request);
+
+    ApiResponse stopReplay(String replayId);
+}
@@ -0,0 +1,125 @@
+package com._yp.gaitMate.service.replayService;
+
+import com._yp.gaitMate.dto.ApiResponse;
+import com._yp.gaitMate.dto.replay.ReplayControlDto;
+import com._yp.gaitMate.dto.replay.ReplayResponseDto;
+import com._yp.gaitMate.dto.replay.StartReplayRequestDto;
+import com._yp.gaitMate.exception.ApiException;
+import com._yp.gaitMate.exception.ResourceNotFoundException;
+import com._yp.gaitMate.model.Doctor;
+import com._yp.gaitMate.model.TestSession;
+import com._yp.gaitMate.recording.Replay;
+import com._yp.gaitMate.recording.ReplayScheduler;
+import com._yp.gaitMate.repository.TestSessionRepository;
+import com._yp.gaitMate.security.utils.AuthUtil;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Service
+@RequiredArgsConstructor
+public class ReplayServiceImpl implements ReplayService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayServiceImpl.class);
+    private static final String REPLAY_DESTINATION = "/user/topic/replay";
+
+    private final TestSessionRepository testSessionRepository;
+    private final ReplayScheduler replayScheduler;
+    private final AuthUtil authUtil;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReplayResponseDto startReplay(Long sessionId, StartReplayRequestDto request) {
+        // 1. Find the session and check that the user is its patient or the patient's doctor
+        TestSession session = testSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("TestSession", "id", sessionId));
+        Long userId = authUtil.loggedInUserId();
+        Doctor doctor = session.getPatient().getDoctor();
+        if (!session.getPatient().getUser().getUserId().equals(userId)
+                && (doctor == null || !doctor.getUser().getUserId().equals(userId))) {
+            throw new ApiException("Unauthorized access to this test session");
+        }
+
+        // 2. The session must have a sealed recording on this node
+        if (session.getRawSensorData() == null) {
+            throw new ApiException("No recording available for this session");
+        }
+        Path segment = Paths.get(session.getRawSensorData().getPath());
+        if (!Files.isReadable(segment)) {
+            throw new ApiException("Recording of this session is not available on this server");
+        }
+
+        // 3. Start streaming to the caller
+        double speed = request.getSpeed() != null ? request.getSpeed() : 1.0;
+        long positionMs = request.getPositionMs() != null ? request.getPositionMs() : 0;
+        try {
+            Replay replay = replayScheduler.start(authUtil.loggedInUsername(), sessionId, segment, speed, positionMs);
+            return toResponse(replay);
+        } catch (IOException e) {
+            log.error("❌ Failed to open recording {} of session {}: {}", segment, sessionId, e.getMessage());
+            throw new ApiException("Recording of this session could not be opened");
+        }
+    }
+
+    @Override
+    public ReplayResponseDto controlReplay(String replayId, ReplayControlDto request) {
+        Replay replay = getOwnReplay(replayId);
+
+        switch (request.getAction()) {
+            case PAUSE -> replayScheduler.pause(replay);
+            case RESUME -> replayScheduler.resume(replay);
+            case SEEK -> {
+                if (request.getPositionMs() == null) {
+                    throw new ApiException("positionMs is required to seek");
+                }
+                replayScheduler.seek(replay, request.getPositionMs());
+            }
+            case SPEED -> {
+                if (request.getSpeed() == null) {
+                    throw new ApiException("speed is required to change the playback speed");
+                }
+                replayScheduler.setSpeed(replay, request.getSpeed());
+            }
+        }
+        return toResponse(replay);
+    }
+
+    @Override
+    public ApiResponse stopReplay(String replayId) {
+        replayScheduler.stop(getOwnReplay(replayId));
+        return new ApiResponse("Replay stopped", true);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private Replay getOwnReplay(String replayId) {
+        Replay replay = replayScheduler.find(replayId)
+                .orElseThrow(() -> new ResourceNotFoundException("Replay", "id", replayId));
+        if (!replay.getUsername().equals(authUtil.loggedInUsername())) {
+            throw new ApiException("Unauthorized: You did not start this replay");
+        }
+        return replay;
+    }
+
+    private static ReplayResponseDto toResponse(Replay replay) {
+        return ReplayResponseDto.builder()
+                .replayId(replay.getId())
+                .sessionId(replay.getSessionId())
+                .state(replay.getState())
+                .speed(replay.getSpeed())
+                .positionMs(replay.getPositionMs())
+                .durationMs(replay.getDurationMs())
+                .frameCount(replay.getFrameCount())
+                .destination(REPLAY_DESTINATION)
+                .build();
+    }
+}
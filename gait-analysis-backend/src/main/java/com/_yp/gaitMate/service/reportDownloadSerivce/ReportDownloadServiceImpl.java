@@ -1,6 +1,7 @@
 package com._yp.gaitMate.service.reportDownloadSerivce;
 
 
+import com._yp.gaitMate.exception.ApiException;
 import com._yp.gaitMate.exception.ResourceNotFoundException;
 import com._yp.gaitMate.model.ProcessedTestResults;
 import com._yp.gaitMate.repository.ProcessedTestResultsRepository;
@@ -26,6 +27,9 @@ public class ReportDownloadServiceImpl implements ReportDownloadService {
                 .orElseThrow(() -> new ResourceNotFoundException("ProcessedTestResults", "sessionId", sessionId));
 
         String originalUrl = result.getPressureResultsPath();
+        if (originalUrl == null || originalUrl.isBlank()) {
+            throw new ApiException("No report is available for session " + sessionId);
+        }
 
         try {
             // Attempt download with existing URL
@@ -0,0 +1,33 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind persistence of the {@code device/+/status/calibration} state.
+ *
+ * <pre>
+ * device:
+ *   calibration:
+ *     flush-interval-ms: 2000
+ *     flush-on-transition: true
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "device.calibration")
+public class CalibrationProperties {
+
+    /**
+     * How often pending calibration changes are written to the database.
+     */
+    private long flushIntervalMs = 2_000;
+
+    /**
+     * Flush right away when a kit's calibration state changes instead of waiting for the next interval.
+     */
+    private boolean flushOnTransition = true;
+}
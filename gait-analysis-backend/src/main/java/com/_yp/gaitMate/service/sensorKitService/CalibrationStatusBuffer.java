@@ -0,0 +1,173 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+import com._yp.gaitMate.repository.SensorKitRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for sensor kit calibration state.
+ * <p>
+ * Kits publish {@code device/+/status/calibration} over and over while they calibrate. Instead of a
+ * {@code findById} plus {@code save} per message, the latest state of every kit is kept in memory and
+ * only changes are marked dirty. Dirty kits are written with one bulk {@code UPDATE ... WHERE id IN (...)}
+ * per target value, either right after a state transition or on the next flush interval. Repeats of the
+ * current state never reach the database.
+ * </p>
+ *
+ * <p>
+ * Reads go through {@link #getCalibrationStatus(Long)}, which reflects a change before it is flushed.
+ * A failed flush leaves the kits dirty so the next interval retries them.
+ * </p>
+ *
+ * <p>
+ * The kit id comes from the MQTT topic, so a kit is only buffered once the {@link DeviceRoutingTable} or the
+ * database knows it; anything else is dropped with a warning and never reaches {@code latest}.
+ * </p>
+ *
+ * <p>Metrics: {@code sensorkit.calibration.updates} (tag {@code result=coalesced|flushed}).</p>
+ */
+@Component
+@Slf4j
+public class CalibrationStatusBuffer {
+
+    private final CalibrationProperties properties;
+    private final SensorKitRepository sensorKitRepository;
+    private final DeviceRoutingTable deviceRoutingTable;
+
+    private final Map<Long, Boolean> latest = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> dirty = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private final Counter coalesced;
+    private final Counter flushed;
+
+    private ScheduledExecutorService flusher;
+
+    public CalibrationStatusBuffer(CalibrationProperties properties, SensorKitRepository sensorKitRepository,
+                                   DeviceRoutingTable deviceRoutingTable, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sensorKitRepository = sensorKitRepository;
+        this.deviceRoutingTable = deviceRoutingTable;
+        this.coalesced = Counter.builder("sensorkit.calibration.updates").tag("result", "coalesced").register(meterRegistry);
+        this.flushed = Counter.builder("sensorkit.calibration.updates").tag("result", "flushed").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "calibration-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely,
+                properties.getFlushIntervalMs(), properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushSafely();
+    }
+
+    /**
+     * Records the latest calibration state of a kit. Only a change of state is queued for writing.
+     * Kits that do not exist are dropped.
+     */
+    public void record(Long sensorKitId, boolean calibrated) {
+        if (!latest.containsKey(sensorKitId) && !isKnownKit(sensorKitId)) {
+            log.warn("⚠️ Calibration status for unknown SensorKit [{}] ignored", sensorKitId);
+            return;
+        }
+
+        Boolean previous = latest.put(sensorKitId, calibrated);
+        if (previous != null && previous == calibrated) {
+            coalesced.increment();
+            return;
+        }
+
+        dirty.put(sensorKitId, calibrated);
+        log.info("🎯 SensorKit [{}] calibration changed to {}", sensorKitId, calibrated);
+        if (properties.isFlushOnTransition() && flusher != null) {
+            flusher.execute(this::flushSafely);
+        }
+    }
+
+    /**
+     * Latest calibration state seen since startup, or {@code null} if the kit has not reported one.
+     * Callers fall back to the persisted value in that case.
+     */
+    public Boolean getCalibrationStatus(Long sensorKitId) {
+        return latest.get(sensorKitId);
+    }
+
+    /**
+     * Writes all pending changes. Called by the flush thread; public for shutdown and tests.
+     *
+     * @return number of rows updated
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            if (dirty.isEmpty()) {
+                return 0;
+            }
+
+            List<Long> toCalibrated = new ArrayList<>();
+            List<Long> toUncalibrated = new ArrayList<>();
+            for (Map.Entry<Long, Boolean> entry : dirty.entrySet()) {
+                // Only take the entry if it has not changed under us; a newer value stays dirty
+                if (dirty.remove(entry.getKey(), entry.getValue())) {
+                    (entry.getValue() ? toCalibrated : toUncalibrated).add(entry.getKey());
+                }
+            }
+
+            int updated = 0;
+            try {
+                updated += update(toCalibrated, true);
+                updated += update(toUncalibrated, false);
+            } catch (RuntimeException e) {
+                toCalibrated.forEach(id -> dirty.putIfAbsent(id, true));
+                toUncalibrated.forEach(id -> dirty.putIfAbsent(id, false));
+                throw e;
+            }
+
+            flushed.increment(toCalibrated.size() + toUncalibrated.size());
+            log.debug("Flushed calibration state of {} sensor kits ({} rows changed)",
+                    toCalibrated.size() + toUncalibrated.size(), updated);
+            return updated;
+        }
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private boolean isKnownKit(Long sensorKitId) {
+        return deviceRoutingTable.hasUser(sensorKitId) || sensorKitRepository.existsById(sensorKitId);
+    }
+
+    private int update(List<Long> sensorKitIds, boolean calibrated) {
+        return sensorKitIds.isEmpty() ? 0 : sensorKitRepository.updateCalibrationStatus(sensorKitIds, calibrated);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("❌ Failed to flush calibration state, will retry: {}", e.getMessage(), e);
+        }
+    }
+}
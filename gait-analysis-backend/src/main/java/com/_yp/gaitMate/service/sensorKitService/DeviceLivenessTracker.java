@@ -0,0 +1,210 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+import com._yp.gaitMate.util.HashedTimingWheel;
+import com._yp.gaitMate.websocket.NotificationService;
+import com._yp.gaitMate.websocket.message.DeviceAliveWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory table of which sensor kits are online, fed by {@code device/+/status/alive} heartbeats.
+ * <p>
+ * A heartbeat only stamps the kit's last-seen time; the expiry timer lives in a
+ * {@link HashedTimingWheel} and is not touched while the kit keeps beating. When a kit's timer fires,
+ * the tracker compares the last-seen time with the timeout: if a heartbeat arrived in the meantime the
+ * timer is re-armed for the remaining time, otherwise the kit goes offline and its user gets one
+ * {@code DEVICE_OFFLINE} message on {@code /topic/status/alive}.
+ * </p>
+ *
+ * <p>
+ * {@link #isOnline(Long)} is a single map lookup. The table starts empty, so right after a restart
+ * every kit reads as not online until its next heartbeat; {@link #isKnownOffline(Long)} tells those
+ * unknown kits apart from kits that actually went silent.
+ * </p>
+ *
+ * <p>Metrics: {@code device.liveness.online} and {@code device.liveness.offline.events}.</p>
+ */
+@Component
+@Slf4j
+public class DeviceLivenessTracker {
+
+    private final LivenessProperties properties;
+    private final DeviceRoutingTable deviceRoutingTable;
+    private final NotificationService notificationService;
+
+    private final Map<Long, Liveness> devices = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<Liveness> wheel;
+    private final Counter offlineEvents;
+
+    private ScheduledExecutorService ticker;
+
+    public DeviceLivenessTracker(LivenessProperties properties, DeviceRoutingTable deviceRoutingTable,
+                                 NotificationService notificationService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.deviceRoutingTable = deviceRoutingTable;
+        this.notificationService = notificationService;
+        this.wheel = new HashedTimingWheel<>(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+        this.offlineEvents = Counter.builder("device.liveness.offline.events").register(meterRegistry);
+        Gauge.builder("device.liveness.online", devices, map -> map.values().stream().filter(l -> l.online).count())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "device-liveness");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tickSafely, properties.getTickMs(), properties.getTickMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Records a heartbeat. A kit that was offline (or never seen) comes online and its expiry timer is armed.
+     */
+    public void heartbeat(Long deviceId, long nowMs) {
+        Liveness liveness = devices.computeIfAbsent(deviceId, Liveness::new);
+        liveness.lastSeenMs = nowMs;
+        if (!liveness.online) {
+            synchronized (liveness) {
+                if (!liveness.online) {
+                    liveness.online = true;
+                    if (!liveness.scheduled) {
+                        liveness.scheduled = true;
+                        wheel.schedule(liveness, properties.getHeartbeatTimeoutMs());
+                    }
+                    log.info("🟢 SensorKit [{}] is online", deviceId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks a kit offline right away, e.g. when it reports {@code status: false} itself.
+     */
+    public void markOffline(Long deviceId, long nowMs) {
+        Liveness liveness = devices.get(deviceId);
+        if (liveness == null) {
+            return;
+        }
+        synchronized (liveness) {
+            if (!liveness.online) {
+                return;
+            }
+            liveness.online = false;
+        }
+        announceOffline(liveness, nowMs);
+    }
+
+    /**
+     * Whether a heartbeat from the kit arrived within the heartbeat timeout.
+     */
+    public boolean isOnline(Long deviceId) {
+        Liveness liveness = devices.get(deviceId);
+        return liveness != null && liveness.online;
+    }
+
+    /**
+     * Whether the kit was seen since startup and has gone offline since. Kits never heard from are unknown,
+     * not offline.
+     */
+    public boolean isKnownOffline(Long deviceId) {
+        Liveness liveness = devices.get(deviceId);
+        return liveness != null && !liveness.online;
+    }
+
+    /**
+     * Epoch millis of the kit's last heartbeat, or {@code null} if none was received since startup.
+     */
+    public Long getLastSeen(Long deviceId) {
+        Liveness liveness = devices.get(deviceId);
+        return liveness != null ? liveness.lastSeenMs : null;
+    }
+
+    /**
+     * Moves the timer to {@code nowMs} and expires kits whose heartbeat is overdue.
+     * Called by the ticker thread; package-private for tests.
+     */
+    void tick(long nowMs) {
+        wheel.advance(nowMs, liveness -> expire(liveness, nowMs));
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void tickSafely() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (Exception e) {
+            log.error("❌ Device liveness tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Timer callback: re-arms the timer if a heartbeat arrived since it was set, otherwise takes the kit offline.
+     */
+    private void expire(Liveness liveness, long nowMs) {
+        long timeout = properties.getHeartbeatTimeoutMs();
+        synchronized (liveness) {
+            liveness.scheduled = false;
+            if (!liveness.online) {
+                return;
+            }
+            long silentFor = nowMs - liveness.lastSeenMs;
+            if (silentFor < timeout) {
+                liveness.scheduled = true;
+                wheel.schedule(liveness, timeout - silentFor);
+                return;
+            }
+            liveness.online = false;
+        }
+        announceOffline(liveness, nowMs);
+    }
+
+    private void announceOffline(Liveness liveness, long nowMs) {
+        offlineEvents.increment();
+        log.info("🔴 SensorKit [{}] is offline (last heartbeat {} ms ago)", liveness.deviceId, nowMs - liveness.lastSeenMs);
+
+        String username = deviceRoutingTable.getUsername(liveness.deviceId);
+        if (username == null) {
+            return;
+        }
+        notificationService.sendDeviceOfflineToUser(username, DeviceAliveWebSocketMessage.builder()
+                .type(WebSocketMessageType.DEVICE_OFFLINE)
+                .deviceId(liveness.deviceId)
+                .timestamp(liveness.lastSeenMs)
+                .status(false)
+                .build());
+    }
+
+    private static final class Liveness {
+        private final Long deviceId;
+        private volatile long lastSeenMs;
+        private volatile boolean online;
+        private boolean scheduled;      // guarded by this
+
+        private Liveness(Long deviceId) {
+            this.deviceId = deviceId;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+import com._yp.gaitMate.repository.PatientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory routing table of sensorKitId → username used by the MQTT listeners.
+ * <p>
+ * Every live message (sensor frames, alive signals, calibration and orientation updates)
+ * needs the username of the patient wearing the kit. Instead of a {@code findById} plus two lazy
+ * hops per message, the table is warmed with a single join query at startup and kept current by
+ * {@link SensorKitRoutingChangedEvent}s that fire after the changing transaction commits.
+ * </p>
+ *
+ * <p>Kits without a linked user are cached as well, so an unassigned kit that keeps streaming
+ * does not hit the database on every frame.</p>
+ *
+ * <p>Metrics: {@code device.routing.lookups} (tag {@code result=hit|miss}) and {@code device.routing.size}.</p>
+ */
+@Component
+@Slf4j
+public class DeviceRoutingTable {
+
+    /** Marker for "kit known, but no user linked". ConcurrentHashMap cannot hold nulls. */
+    private static final String NO_USER = "";
+
+    private final PatientRepository patientRepository;
+    private final Map<Long, String> routes = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public DeviceRoutingTable(PatientRepository patientRepository, MeterRegistry meterRegistry) {
+        this.patientRepository = patientRepository;
+        this.hits = Counter.builder("device.routing.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("device.routing.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("device.routing.size", routes, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Loads all kit → username routes in one query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        patientRepository.findAllSensorKitRoutes()
+                .forEach(route -> routes.put(route.getSensorKitId(), route.getUsername()));
+        log.info("✅ Device routing table warmed with {} routes", routes.size());
+    }
+
+    /**
+     * Returns the username of the patient using the kit, or {@code null} if no user is linked.
+     * Unknown kits are loaded from the database once and then served from memory.
+     */
+    public String getUsername(Long sensorKitId) {
+        String username = routes.get(sensorKitId);
+        if (username != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            username = routes.computeIfAbsent(sensorKitId, this::load);
+        }
+        return NO_USER.equals(username) ? null : username;
+    }
+
+    /**
+     * Whether the table currently holds a user for the kit. Unlike {@link #getUsername(Long)} this never loads
+     * or caches anything, so it is safe to call with ids taken from untrusted topics.
+     */
+    public boolean hasUser(Long sensorKitId) {
+        String username = routes.get(sensorKitId);
+        return username != null && !NO_USER.equals(username);
+    }
+
+    /**
+     * Drops the cached route of a kit after the transaction that changed it has committed.
+     * The next lookup reloads it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoutingChanged(SensorKitRoutingChangedEvent event) {
+        routes.remove(event.sensorKitId());
+        log.debug("Routing entry for sensor kit {} invalidated", event.sensorKitId());
+    }
+
+    public long hitCount() {
+        return (long) hits.count();
+    }
+
+    public long missCount() {
+        return (long) misses.count();
+    }
+
+    private String load(Long sensorKitId) {
+        return patientRepository.findUsernameBySensorKitId(sensorKitId).orElse(NO_USER);
+    }
+}
@@ -0,0 +1,48 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Device liveness derived from {@code device/+/status/alive} heartbeats.
+ *
+ * <pre>
+ * device:
+ *   liveness:
+ *     heartbeat-timeout-ms: 75000
+ *     tick-ms: 250
+ *     wheel-size: 512
+ *     require-online-to-start: true
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "device.liveness")
+public class LivenessProperties {
+
+    /**
+     * A kit is offline once no heartbeat arrived for this long. The firmware beats every 30 s
+     * ({@code DEVICE_ALIVE_INTERVAL_MS}), so this allows one late and one lost heartbeat.
+     */
+    private long heartbeatTimeoutMs = 75_000;
+
+    /**
+     * Resolution of the expiry timer. Offline detection is late by at most one tick.
+     */
+    private long tickMs = 250;
+
+    /**
+     * Timer slots. {@code tick-ms × wheel-size} should cover the heartbeat timeout so a timeout
+     * expires within one rotation.
+     */
+    private int wheelSize = 512;
+
+    /**
+     * Refuse to start a test session on a kit that has gone offline. Kits not heard from since startup
+     * are let through, as their state is unknown until the first heartbeat.
+     */
+    private boolean requireOnlineToStart = true;
+}
@@ -0,0 +1,11 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+/**
+ * Published whenever the sensorKit → patient → user chain of a kit may have changed
+ * (patient created, patient account linked, kit created or deleted).
+ * {@link DeviceRoutingTable} refreshes the kit's entry once the surrounding transaction commits.
+ *
+ * @param sensorKitId the affected sensor kit (same as the MQTT device ID)
+ */
+public record SensorKitRoutingChangedEvent(Long sensorKitId) {
+}
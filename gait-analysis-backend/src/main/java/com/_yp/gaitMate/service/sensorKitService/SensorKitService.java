@@ -2,6 +2,7 @@ package com._yp.gaitMate.service.sensorKitService;
 
 import com._yp.gaitMate.dto.sensorKit.AssignSensorKitsRequest;
 import com._yp.gaitMate.dto.sensorKit.CreateSensorKitRequest;
+import com._yp.gaitMate.dto.sensorKit.SensorKitLivenessResponse;
 import com._yp.gaitMate.dto.sensorKit.SensorKitResponse;
 import com._yp.gaitMate.model.SensorKit;
 
@@ -21,6 +22,8 @@ public interface SensorKitService {
 
     String getUsernameBySensorKitId(Long sensorKitId);
 
+    SensorKitLivenessResponse getSensorKitLiveness(Long sensorKitId);
+
 //    List<SensorKitResponse> getAllSensorKitsOfLoggedInClinic();
 
 
@@ -2,6 +2,7 @@ package com._yp.gaitMate.service.sensorKitService;
 
 import com._yp.gaitMate.dto.sensorKit.AssignSensorKitsRequest;
 import com._yp.gaitMate.dto.sensorKit.CreateSensorKitRequest;
+import com._yp.gaitMate.dto.sensorKit.SensorKitLivenessResponse;
 import com._yp.gaitMate.dto.sensorKit.SensorKitResponse;
 import com._yp.gaitMate.exception.ApiException;
 import com._yp.gaitMate.exception.ResourceNotFoundException;
@@ -14,8 +15,10 @@ import com._yp.gaitMate.security.utils.AuthUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 
 @Service
@@ -27,6 +30,10 @@ public class SensorKitServiceImpl implements SensorKitService {
     private final SensorKitMapper sensorKitMapper;
     private final AuthUtil authUtil;
     private final ClinicRepository clinicRepository;
+    private final DeviceRoutingTable deviceRoutingTable;
+    private final DeviceLivenessTracker deviceLivenessTracker;
+    private final CalibrationStatusBuffer calibrationStatusBuffer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public SensorKitResponse createSensorKit(CreateSensorKitRequest request) {
@@ -38,6 +45,7 @@ public class SensorKitServiceImpl implements SensorKitService {
         SensorKit sensorKit = sensorKitMapper.toSensorKit(request);
         sensorKit.setStatus(SensorKit.Status.IN_STOCK);
         SensorKit savedKit = sensorKitRepository.save(sensorKit);
+        eventPublisher.publishEvent(new SensorKitRoutingChangedEvent(savedKit.getId()));
         return sensorKitMapper.toSensorKitResponse(savedKit);
     }
 
@@ -67,32 +75,46 @@ public class SensorKitServiceImpl implements SensorKitService {
         SensorKit sensorKit = sensorKitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SensorKit", "id", id));
         sensorKitRepository.delete(sensorKit);
+        eventPublisher.publishEvent(new SensorKitRoutingChangedEvent(id));
     }
 
+    /**
+     * Buffered in the {@link CalibrationStatusBuffer}; only state changes of known kits are written, in batches.
+     */
     @Override
     public void setCalibrationStatus(Long sensorKitId, Boolean isCalibrated) {
-        SensorKit sensorKit = sensorKitRepository.findById(sensorKitId)
-                .orElseThrow(() -> new ResourceNotFoundException("SensorKit", "id", sensorKitId));
-
-        if (!sensorKit.getStatus().equals(SensorKit.Status.IN_USE)){
-            log.warn("⚠️ Attempted to calibrate SensorKit [{}] with invalid status: {}", sensorKitId, sensorKit.getStatus());
-        }
-
-        sensorKit.setIsCalibrated(isCalibrated);
-        sensorKitRepository.save(sensorKit);
+        calibrationStatusBuffer.record(sensorKitId, Boolean.TRUE.equals(isCalibrated));
     }
 
+    /**
+     * Served from the in-memory {@link DeviceRoutingTable}; the database is only hit for kits
+     * that have not been seen since startup or since their routing changed.
+     *
+     * @return the username, or {@code null} if no patient user is linked to the kit
+     */
     @Override
     public String getUsernameBySensorKitId(Long sensorKitId) {
-        SensorKit sensorKit = sensorKitRepository.findById(sensorKitId)
-                .orElseThrow(() -> new ResourceNotFoundException("SensorKit", "id", sensorKitId));
+        String username = deviceRoutingTable.getUsername(sensorKitId);
 
-        if (sensorKit.getPatient() == null || sensorKit.getPatient().getUser() == null) {
-            log.error("No patient or user is linked to SensorKit {}", sensorKitId);
-            return null;
+        if (username == null) {
+            log.debug("No patient or user is linked to SensorKit {}", sensorKitId);
         }
 
-        return sensorKit.getPatient().getUser().getUsername();
+        return username;
+    }
+
+    /**
+     * Served from the in-memory {@link DeviceLivenessTracker}; kits that never sent a heartbeat are offline.
+     */
+    @Override
+    public SensorKitLivenessResponse getSensorKitLiveness(Long sensorKitId) {
+        Long lastSeen = deviceLivenessTracker.getLastSeen(sensorKitId);
+
+        return SensorKitLivenessResponse.builder()
+                .sensorKitId(sensorKitId)
+                .online(deviceLivenessTracker.isOnline(sensorKitId))
+                .lastSeen(lastSeen != null ? Instant.ofEpochMilli(lastSeen) : null)
+                .build();
     }
 
 
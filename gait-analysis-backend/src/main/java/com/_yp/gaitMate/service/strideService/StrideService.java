@@ -0,0 +1,31 @@
+package com._yp.gaitMate.service.strideService;
+
+import com._yp.gaitMate.dto.stride.SessionStrideStatisticsDto;
+import com._yp.gaitMate.dto.stride.StrideHistogramDto;
+import com._yp.gaitMate.dto.stride.StrideStatisticsDto;
+import com._yp.gaitMate.model.Stride;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stride statistics of one patient, computed in the database. Only the patient and their doctor have
+ * access. A missing {@code to} means now and a missing {@code from} three months before {@code to}.
+ */
+public interface StrideService {
+
+    StrideStatisticsDto getStatistics(Long patientId, Stride.Metric metric, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Per-session statistics in session start order, e.g. to follow stride time variability.
+     */
+    List<SessionStrideStatisticsDto> getSessionStatistics(Long patientId, Stride.Metric metric,
+                                                          LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Histogram of {@code bins} equal-width bins over {@code [lower, upper]}, which default to the smallest
+     * and largest value in the range.
+     */
+    StrideHistogramDto getHistogram(Long patientId, Stride.Metric metric, LocalDateTime from, LocalDateTime to,
+                                    int bins, Double lower, Double upper);
+}
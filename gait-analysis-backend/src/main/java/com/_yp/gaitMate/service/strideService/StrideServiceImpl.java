@@ -0,0 +1,163 @@
+package com._yp.gaitMate.service.strideService;
+
+import com._yp.gaitMate.dto.stride.SessionStrideStatisticsDto;
+import com._yp.gaitMate.dto.stride.StrideHistogramDto;
+import com._yp.gaitMate.dto.stride.StrideStatisticsDto;
+import com._yp.gaitMate.exception.ApiException;
+import com._yp.gaitMate.model.Patient;
+import com._yp.gaitMate.model.Stride;
+import com._yp.gaitMate.repository.PatientRepository;
+import com._yp.gaitMate.repository.StrideRepository;
+import com._yp.gaitMate.security.utils.AuthUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class StrideServiceImpl implements StrideService {
+
+    static final int MAX_BINS = 200;
+
+    private final StrideRepository strideRepository;
+    private final PatientRepository patientRepository;
+    private final AuthUtil authUtil;
+
+    @Override
+    public StrideStatisticsDto getStatistics(Long patientId, Stride.Metric metric, LocalDateTime from, LocalDateTime to) {
+        checkAccess(patientId);
+        LocalDateTime end = endOf(to);
+        LocalDateTime start = startOf(from, end);
+
+        StrideRepository.Statistics stats = strideRepository.computeStatistics(patientId, metric.name(), start, end);
+
+        return StrideStatisticsDto.builder()
+                .patientId(patientId)
+                .metric(metric)
+                .from(start)
+                .to(end)
+                .strides(stats.getCount())
+                .sessions(stats.getSessions())
+                .mean(stats.getMean())
+                .stdDev(stats.getStdDev())
+                .cv(stats.getCv())
+                .min(stats.getMin())
+                .max(stats.getMax())
+                .p05(stats.getP05())
+                .p25(stats.getP25())
+                .p50(stats.getP50())
+                .p75(stats.getP75())
+                .p95(stats.getP95())
+                .build();
+    }
+
+    @Override
+    public List<SessionStrideStatisticsDto> getSessionStatistics(Long patientId, Stride.Metric metric,
+                                                                 LocalDateTime from, LocalDateTime to) {
+        checkAccess(patientId);
+        LocalDateTime end = endOf(to);
+        LocalDateTime start = startOf(from, end);
+
+        return strideRepository.computeSessionStatistics(patientId, metric.name(), start, end).stream()
+                .map(s -> SessionStrideStatisticsDto.builder()
+                        .sessionId(s.getSessionId())
+                        .sessionStart(s.getSessionStart())
+                        .strides(s.getCount())
+                        .mean(s.getMean())
+                        .stdDev(s.getStdDev())
+                        .cv(s.getCv())
+                        .median(s.getMedian())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public StrideHistogramDto getHistogram(Long patientId, Stride.Metric metric, LocalDateTime from, LocalDateTime to,
+                                           int bins, Double lower, Double upper) {
+        if (bins < 1 || bins > MAX_BINS) {
+            throw new ApiException("Number of bins must be between 1 and " + MAX_BINS);
+        }
+        checkAccess(patientId);
+        LocalDateTime end = endOf(to);
+        LocalDateTime start = startOf(from, end);
+
+        // 1. Default the bounds to the values present in the range
+        if (lower == null || upper == null) {
+            StrideRepository.Statistics stats = strideRepository.computeStatistics(patientId, metric.name(), start, end);
+            if (stats.getCount() == 0) {
+                return histogram(patientId, metric, start, end, null, null, List.of());
+            }
+            lower = lower != null ? lower : stats.getMin();
+            upper = upper != null ? upper : stats.getMax();
+        }
+        if (lower > upper) {
+            throw new ApiException("Histogram lower bound must not be greater than the upper bound");
+        }
+
+        // 2. A single value cannot be split into buckets
+        if (lower.equals(upper)) {
+            bins = 1;
+            upper = Math.nextUp(upper);
+        }
+
+        // 3. Count per bucket in the database, then fill in the empty ones
+        long[] counts = new long[bins];
+        strideRepository.computeHistogram(patientId, metric.name(), start, end, lower, upper, bins)
+                .forEach(b -> counts[b.getBucket() - 1] = b.getCount());
+
+        double width = (upper - lower) / bins;
+        List<StrideHistogramDto.Bin> result = new ArrayList<>(bins);
+        for (int i = 0; i < bins; i++) {
+            double binUpper = i == bins - 1 ? upper : lower + (i + 1) * width;
+            result.add(new StrideHistogramDto.Bin(lower + i * width, binUpper, counts[i]));
+        }
+        return histogram(patientId, metric, start, end, lower, upper, result);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void checkAccess(Long patientId) {
+        Long userId = authUtil.loggedInUserId();
+
+        Patient patient = patientRepository.findById(patientId)
+                .orElseThrow(() -> new ApiException("Patient not found for ID: " + patientId));
+
+        boolean isPatient = patient.getUser().getUserId().equals(userId);
+        boolean isDoctor = patient.getDoctor() != null && patient.getDoctor().getUser().getUserId().equals(userId);
+        if (!isPatient && !isDoctor) {
+            throw new ApiException("Unauthorized access to the strides of this patient");
+        }
+    }
+
+    private static LocalDateTime endOf(LocalDateTime to) {
+        return to != null ? to : LocalDateTime.now();
+    }
+
+    private static LocalDateTime startOf(LocalDateTime from, LocalDateTime end) {
+        LocalDateTime start = from != null ? from : end.minusMonths(3);
+        if (!start.isBefore(end)) {
+            throw new ApiException("'from' must be before 'to'");
+        }
+        return start;
+    }
+
+    private static StrideHistogramDto histogram(Long patientId, Stride.Metric metric, LocalDateTime from,
+                                                LocalDateTime to, Double lower, Double upper,
+                                                List<StrideHistogramDto.Bin> bins) {
+        return StrideHistogramDto.builder()
+                .patientId(patientId)
+                .metric(metric)
+                .from(from)
+                .to(to)
+                .lower(lower)
+                .upper(upper)
+                .binWidth(bins.isEmpty() ? null : (upper - lower) / bins.size())
+                .bins(bins)
+                .build();
+    }
+}
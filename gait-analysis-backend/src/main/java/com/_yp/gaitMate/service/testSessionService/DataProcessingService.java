@@ -1,17 +1,23 @@
 package com._yp.gaitMate.service.testSessionService;
 
-import com._yp.gaitMate.SQS.SqsMessageSender;
+import com._yp.gaitMate.SQS.OutboxMessageEnqueuedEvent;
 import com._yp.gaitMate.dto.testSession.ProcessingRequestDto;
+import com._yp.gaitMate.exception.ApiException;
+import com._yp.gaitMate.model.OutboxMessage;
 import com._yp.gaitMate.model.TestSession;
+import com._yp.gaitMate.repository.OutboxMessageRepository;
 import com._yp.gaitMate.repository.TestSessionRepository;
-import com._yp.gaitMate.security.utils.AuthUtil;
-import com._yp.gaitMate.websocket.NotificationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.Optional;
 
 @Slf4j
@@ -20,29 +26,44 @@ import java.util.Optional;
 public class DataProcessingService {
 
     private final TestSessionRepository testSessionRepository;
-    private final NotificationService notificationService;
-    private final AuthUtil authUtil;
-    private final SqsMessageSender sqsMessageSender; // ✅ NEW: Inject SQS sender
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.sqs.queue-name}")
+    private String queueName;
 
     /**
-     * Sends a processing request to the SQS queue asynchronously.
-     * If it fails, marks the session as FAILED.
+     * Writes the processing request to the SQS outbox, in the caller's transaction.
+     * The {@code OutboxDispatcher} sends it once that transaction commits and marks the session as FAILED
+     * if SQS keeps rejecting it.
      *
      * @param request the metadata needed for processing the test session
      */
-    @Async
-    public void sendProcessingRequest(ProcessingRequestDto request, String username) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueProcessingRequest(ProcessingRequestDto request) {
+        String payload;
         try {
-            log.info("📤 Sending processing request to SQS for session {}", request.getSessionId());
-            sqsMessageSender.sendProcessingRequest(request);
-            log.info("✅ Processing request enqueued successfully");
-        } catch (Exception e) {
-            log.error("❌ Failed to send message to SQS: {}", e.getMessage(), e);
-            markSessionAsFailed(request.getSessionId());
+            payload = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new ApiException("Failed to serialize processing request for session " + request.getSessionId());
         }
+
+        Instant now = Instant.now();
+        OutboxMessage message = outboxMessageRepository.save(OutboxMessage.builder()
+                .queueName(queueName)
+                .sessionId(request.getSessionId())
+                .payload(payload)
+                .status(OutboxMessage.Status.PENDING)
+                .attempts(0)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+        eventPublisher.publishEvent(new OutboxMessageEnqueuedEvent(message.getId()));
+        log.info("📤 Processing request for session {} added to the outbox", request.getSessionId());
     }
 
-    private void markSessionAsFailed(Long sessionId) {
+    public void markSessionAsFailed(Long sessionId) {
         Optional<TestSession> optional = testSessionRepository.findById(sessionId);
         if (optional.isPresent()) {
             TestSession session = optional.get();
@@ -8,14 +8,22 @@ import com._yp.gaitMate.dto.patient.PatientInfoResponse;
 import com._yp.gaitMate.dto.testSession.*;
 import com._yp.gaitMate.exception.ApiException;
 import com._yp.gaitMate.exception.ResourceNotFoundException;
+import com._yp.gaitMate.gait.LiveGaitMetricsService;
 import com._yp.gaitMate.mapper.PageMapper;
 import com._yp.gaitMate.mapper.TestSessionMapper;
 import com._yp.gaitMate.model.*;
+import com._yp.gaitMate.processing.ProcessingJobTracker;
 import com._yp.gaitMate.mqtt.core.MqttPublisher;
+import com._yp.gaitMate.mqtt.frame.DeviceStreams;
+import com._yp.gaitMate.mqtt.frame.StreamProperties;
+import com._yp.gaitMate.recording.SessionRecorder;
 import com._yp.gaitMate.repository.FeedbackRepository;
 import com._yp.gaitMate.repository.PatientRepository;
 import com._yp.gaitMate.repository.TestSessionRepository;
 import com._yp.gaitMate.security.utils.AuthUtil;
+import com._yp.gaitMate.service.sensorKitService.CalibrationStatusBuffer;
+import com._yp.gaitMate.service.sensorKitService.DeviceLivenessTracker;
+import com._yp.gaitMate.service.sensorKitService.LivenessProperties;
 import com.amazonaws.services.iot.client.AWSIotQos;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -23,7 +31,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,9 +50,16 @@ public class TestSessionServiceImpl implements TestSessionService {
     private final TestSessionRepository testSessionRepository;
     private final AuthUtil authUtil;
     private final MqttPublisher mqttPublisher;
-    private final DataProcessingService dataProcessingService;
+    private final ProcessingJobTracker processingJobTracker;
     private final TestSessionMapper testSessionMapper;
     private final PageMapper pageMapper;
+    private final SessionRecorder sessionRecorder;
+    private final LiveGaitMetricsService liveGaitMetricsService;
+    private final DeviceStreams deviceStreams;
+    private final StreamProperties streamProperties;
+    private final DeviceLivenessTracker deviceLivenessTracker;
+    private final LivenessProperties livenessProperties;
+    private final CalibrationStatusBuffer calibrationStatusBuffer;
 
 
 
@@ -72,14 +91,20 @@ public class TestSessionServiceImpl implements TestSessionService {
 
         session = testSessionRepository.save(session);
 
+        // 7. Start recording raw frames and computing live metrics
+        deviceStreams.beginSession(sensorKit.getId());
+        sessionRecorder.start(session.getId(), sensorKit.getId());
+        liveGaitMetricsService.startSession(session.getId(), sensorKit.getId(), patient.getUser().getUsername());
+
         log.info("✅ New test session {} started", session.getId());
-        // 7. Return response
+        // 8. Return response
         return StartTestSessionResponse.builder()
                 .sessionId(session.getId())
                 .build();
     }
 
     @Override
+    @Transactional
     public ApiResponse stopSession(Long sessionId, TestSessionActionDto request) {
         // 1. Validate action
         validateAction(request.getAction(), TestSessionActionType.STOP);
@@ -108,18 +133,36 @@ public class TestSessionServiceImpl implements TestSessionService {
             throw new ApiException("Stop time must be after the session start time");
         }
 
-        // 7. Update and save session
+        // 7. Flush the reorder window, then seal the raw frame recording and publish the provisional results
+        SensorKit sensorKit = patient.getSensorKit();
+        StreamCompleteness completeness = deviceStreams.endSession(sensorKit.getId());
+        session.setStreamCompleteness(completeness);
+        Path rawDataPath = sessionRecorder.stop(session.getId(), sensorKit.getId());
+        liveGaitMetricsService.stopSession(session.getId(), sensorKit.getId());
+        if (rawDataPath != null) {
+            session.setRawSensorData(RawSensorData.builder()
+                    .path(rawDataPath.toString())
+                    .build());
+        }
+
+        // 8. Update and save session
         session.setEndTime(stopTime);
-        session.setStatus(TestSession.Status.PROCESSING);
+        boolean incomplete = isBelowMinCompleteness(completeness);
+        session.setStatus(incomplete ? TestSession.Status.FAILED : TestSession.Status.PROCESSING);
         testSessionRepository.save(session);
 
         log.info("✅ Session stopped successfully in the database.");
 
-        // 8. publish MQTT STOP command
-        SensorKit sensorKit = patient.getSensorKit();
-        sendStopCommandToSensor(sensorKit);
+        // 9. publish MQTT STOP command once the stop is committed
+        sendStopCommandAfterCommit(sensorKit);
 
-        // 9. Create patient info response
+        if (incomplete) {
+            log.warn("⚠️ Session {} not processed: stream completeness {} is below {}",
+                    session.getId(), completeness.getCompleteness(), streamProperties.getMinCompleteness());
+            return new ApiResponse("Session stopped, but too much sensor data was lost to process it", false);
+        }
+
+        // 10. Create patient info response
         PatientInfoResponse patientInfo = PatientInfoResponse.builder()
                 .id(patient.getId())
                 .name(patient.getName())
@@ -136,19 +179,19 @@ public class TestSessionServiceImpl implements TestSessionService {
                 .nic(patient.getNic())
                 .build();
 
-// 10. Trigger asynchronous processing request
+        // 11. Record the processing job and submit it; the engine only starts once this transaction commits
         ProcessingRequestDto processingRequest = ProcessingRequestDto.builder()
                 .sensorId(sensorKit.getId())
                 .startTime(session.getStartTime().toString())
                 .endTime(session.getEndTime().toString())
                 .sessionId(session.getId())
                 .patientInfo(patientInfo)  // <- ADD THIS LINE
+                .rawDataPath(rawDataPath != null ? rawDataPath.toString() : null)
                 .build();
 
 
-        String username = patient.getUser().getUsername();
-        dataProcessingService.sendProcessingRequest(processingRequest, username);
-        log.info("🚀 Processing request dispatched asynchronously for session {}", session.getId());
+        processingJobTracker.dispatch(processingRequest);
+        log.info("🚀 Processing request submitted for session {}", session.getId());
 
         return new ApiResponse("Processing started", true);
     }
@@ -164,7 +207,13 @@ public class TestSessionServiceImpl implements TestSessionService {
         // Verify the user owns this session or user is the doctor of the session owned patient
         if (session.getPatient().getUser().getUserId().equals(userId)
         || session.getPatient().getDoctor().getUser().getUserId().equals(userId)) {
-            return testSessionMapper.toDetailsResponse(session);
+            TestSessionDetailsResponse response = testSessionMapper.toDetailsResponse(session);
+            if (response.getResults() == null) {
+                liveGaitMetricsService.getProvisionalResult(sessionId)
+                        .map(testSessionMapper::toProvisionalResults)
+                        .ifPresent(response::setProvisionalResults);
+            }
+            return response;
         }
 
         throw new ApiException("Unauthorized access to this test session");
@@ -262,12 +311,28 @@ public class TestSessionServiceImpl implements TestSessionService {
 
 
     /**
-     * Publishes a STOP command to the sensor's MQTT topic.
-     * Does not throw if publishing fails — returns fallback response instead.
+     * Publishes a STOP command to the sensor's MQTT topic after the surrounding transaction commits.
+     * <p>
+     * A failed publish is only logged: by then the recording is sealed and the stream torn down, and rolling
+     * the stop back would leave the session ACTIVE without its recording. Frames the kit keeps sending are no
+     * longer recorded, since the recorder is already detached.
+     * </p>
      *
      * @param sensorKit the sensor assigned to the patient
-     * @return null if successful, or an ApiResponse indicating failure
      */
+    private void sendStopCommandAfterCommit(SensorKit sensorKit) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendStopCommandToSensor(sensorKit);
+                }
+            });
+        } else {
+            sendStopCommandToSensor(sensorKit);
+        }
+    }
+
     private void sendStopCommandToSensor(SensorKit sensorKit) {
         try {
             Long sensorId = sensorKit.getId();
@@ -277,11 +342,20 @@ public class TestSessionServiceImpl implements TestSessionService {
             mqttPublisher.publishBlocking(topic, payload, AWSIotQos.QOS1);
 
         } catch (Exception e) {
-            log.error("❌ Failed to send STOP command via MQTT: {}", e.getMessage());
-            throw new ApiException("Session stopped, but failed to notify SensorKit via MQTT: " + e.getMessage());
+            log.error("❌ Session stopped, but failed to send STOP command via MQTT to SensorKit {}: {}",
+                    sensorKit.getId(), e.getMessage());
         }
     }
 
+    /**
+     * Whether a stopped session's stream is too incomplete to be worth processing.
+     */
+    private boolean isBelowMinCompleteness(StreamCompleteness completeness) {
+        return streamProperties.getMinCompleteness() > 0
+                && completeness != null
+                && completeness.getCompleteness() < streamProperties.getMinCompleteness();
+    }
+
     /**
      * Validates that the action matches the expected keyword.
      */
@@ -315,10 +389,16 @@ public class TestSessionServiceImpl implements TestSessionService {
             throw new ApiException("Invalid sensor-kit status: " + sensorKit.getStatus().name());
         }
 
-        if (!sensorKit.getIsCalibrated()) {
+        // The buffer may hold a calibration change that is not flushed yet
+        Boolean calibrated = calibrationStatusBuffer.getCalibrationStatus(sensorKit.getId());
+        if (!Boolean.TRUE.equals(calibrated != null ? calibrated : sensorKit.getIsCalibrated())) {
             throw new ApiException("SensorKit is not calibrated");
         }
 
+        if (livenessProperties.isRequireOnlineToStart() && deviceLivenessTracker.isKnownOffline(sensorKit.getId())) {
+            throw new ApiException("SensorKit is offline");
+        }
+
         return sensorKit;
     }
 
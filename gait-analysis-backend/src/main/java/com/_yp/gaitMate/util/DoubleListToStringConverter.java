@@ -6,6 +6,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * The original comma-joined text encoding of the stride columns. Results are now stored with
+ * {@link PackedDoubleArrayConverter}; this is only kept to read rows written before the switch,
+ * see {@link com._yp.gaitMate.config.StrideColumnMigration}.
+ */
 @Converter
 public class DoubleListToStringConverter implements AttributeConverter<List<Double>, String> {
 
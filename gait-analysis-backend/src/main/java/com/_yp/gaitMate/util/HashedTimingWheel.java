@@ -0,0 +1,125 @@
+package com._yp.gaitMate.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of coarse timeouts.
+ * <p>
+ * Time is split into ticks of {@code tickMs}; a timeout lands in slot {@code deadlineTick % wheelSize}
+ * together with the number of full wheel rotations still to wait. Scheduling is O(1) and each
+ * {@link #advance} only touches the slots of the ticks that passed, no matter how many timeouts are
+ * pending. Expiry is accurate to one tick.
+ * </p>
+ *
+ * <p>
+ * Timeouts cannot be cancelled. Callers that need to extend a deadline (e.g. on a heartbeat) keep
+ * the real deadline themselves and reschedule from the expiry callback if it has moved.
+ * </p>
+ *
+ * <p>All methods are thread-safe. Expiry callbacks run on the thread calling {@link #advance},
+ * outside the wheel's lock, so they may schedule again.</p>
+ *
+ * @param <T> the item attached to each timeout
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMs;
+    private final long startMs;
+    private final int mask;
+    private final Entry<T>[] slots;
+
+    private final List<T> expired = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMs    duration of one tick
+     * @param wheelSize number of slots, rounded up to a power of two
+     * @param startMs   the clock value of tick 0
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMs and wheelSize must be positive");
+        }
+        int slotsCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMs = tickMs;
+        this.startMs = startMs;
+        this.mask = slotsCount - 1;
+        this.slots = (Entry<T>[]) new Entry[slotsCount];
+    }
+
+    /**
+     * Schedules {@code item} to expire {@code delayMs} after the current tick (at least one tick).
+     */
+    public synchronized void schedule(T item, long delayMs) {
+        long ticks = Math.max(1, (delayMs + tickMs - 1) / tickMs);
+        int slot = (int) ((currentTick + ticks) & mask);
+        slots[slot] = new Entry<>(item, (ticks - 1) / slots.length, slots[slot]);
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs} and hands every expired item to {@code onExpired}.
+     */
+    public void advance(long nowMs, Consumer<T> onExpired) {
+        List<T> due;
+        synchronized (this) {
+            long targetTick = (nowMs - startMs) / tickMs;
+            while (currentTick < targetTick) {
+                currentTick++;
+                expireSlot((int) (currentTick & mask));
+            }
+            if (expired.isEmpty()) {
+                return;
+            }
+            due = new ArrayList<>(expired);
+            expired.clear();
+        }
+        due.forEach(onExpired);
+    }
+
+    /**
+     * Number of pending timeouts.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void expireSlot(int slot) {
+        Entry<T> entry = slots[slot];
+        Entry<T> kept = null;
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            if (entry.rounds > 0) {
+                entry.rounds--;
+                entry.next = kept;
+                kept = entry;
+            } else {
+                expired.add(entry.item);
+                size--;
+            }
+            entry = next;
+        }
+        slots[slot] = kept;
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private long rounds;
+        private Entry<T> next;
+
+        private Entry(T item, long rounds, Entry<T> next) {
+            this.item = item;
+            this.rounds = rounds;
+            this.next = next;
+        }
+    }
+}
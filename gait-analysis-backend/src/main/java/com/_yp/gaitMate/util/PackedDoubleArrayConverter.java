@@ -0,0 +1,59 @@
+package com._yp.gaitMate.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Stores a {@code double[]} as a compact binary column instead of comma-joined text.
+ * <p>
+ * Layout: one version byte followed by the values. Version {@value #VERSION_FLOAT64} packs them as
+ * little-endian IEEE 754 doubles, so a value reads back bit for bit and 500 strides take 4 KB. An unknown
+ * version is rejected rather than misread, which leaves room for a narrower encoding later.
+ * </p>
+ *
+ * <p>
+ * {@code null} and empty arrays are stored as {@code NULL} and read back as an empty array, like the
+ * text columns did.
+ * </p>
+ */
+@Converter
+public class PackedDoubleArrayConverter implements AttributeConverter<double[], byte[]> {
+
+    public static final byte VERSION_FLOAT64 = 1;
+
+    private static final double[] EMPTY = new double[0];
+
+    @Override
+    public byte[] convertToDatabaseColumn(double[] values) {
+        return pack(values);
+    }
+
+    @Override
+    public double[] convertToEntityAttribute(byte[] column) {
+        return unpack(column);
+    }
+
+    public static byte[] pack(double[] values) {
+        if (values == null || values.length == 0) return null;
+        ByteBuffer buffer = ByteBuffer.allocate(1 + values.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(VERSION_FLOAT64);
+        buffer.asDoubleBuffer().put(values);
+        return buffer.array();
+    }
+
+    public static double[] unpack(byte[] column) {
+        if (column == null || column.length == 0) return EMPTY;
+        if (column[0] != VERSION_FLOAT64) {
+            throw new IllegalArgumentException("Unsupported packed double array version " + column[0]);
+        }
+        if ((column.length - 1) % Double.BYTES != 0) {
+            throw new IllegalArgumentException("Packed double array has a truncated value (" + column.length + " bytes)");
+        }
+        double[] values = new double[(column.length - 1) / Double.BYTES];
+        ByteBuffer.wrap(column, 1, column.length - 1).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values);
+        return values;
+    }
+}
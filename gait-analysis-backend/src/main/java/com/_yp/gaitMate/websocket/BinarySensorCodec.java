@@ -0,0 +1,223 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.message.SensorDataBatchWebSocketMessage;
+import com._yp.gaitMate.websocket.message.SensorDataDeltaWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Fixed little-endian layout for live sensor data sent to {@code /topic/data/sensor} subscribers that
+ * negotiated binary (see {@link SensorEncodingRegistry}). Sent as {@code application/octet-stream}
+ * STOMP frames, i.e. binary WebSocket messages.
+ *
+ * <pre>
+ * header (12 bytes)
+ * 0   u8        format version (1)
+ * 1   u8        kind: 1 = full frames, 2 = batch (FSR + quaternion)
+ * 2   u16       frame count N
+ * 4   i64       device id
+ *
+ * kind 1 record (96 bytes) × N
+ * 0   i64       timestamp
+ * 8   u16 × 16  FSR_1 .. FSR_16
+ * 40  f32 × 13  yaw, pitch, roll, q0..q3, ax, ay, az, gx, gy, gz
+ * 92  u8 × 4    sys, gyro, accel, mag calibration
+ *
+ * kind 2 record (56 bytes) × N
+ * 0   i64       timestamp
+ * 8   u16 × 16  FSR_1 .. FSR_16
+ * 40  f32 × 4   q0..q3
+ *
+ * kind 3 (delta stream, see SensorDataDeltaWebSocketMessage), after the header
+ * 12  u32       seq (low 32 bits)
+ * 16  u8        flags: bit 0 = keyframe
+ * 17  rows × N, each:
+ *       zigzag varint       timestamp (delta, or absolute in a keyframe's first row)
+ *       zigzag varint × 16  FSR_1 .. FSR_16 (same rule)
+ *       f32 × 4             q0..q3
+ * </pre>
+ *
+ * <p>FSR readings are 12-bit ADC values; anything outside 0..65535 is clamped.
+ * A full frame is 108 bytes on the wire against roughly 650 bytes of JSON.</p>
+ *
+ * <p>Kinds 1 and 2 can be decoded again; the cluster relay uses them to move live data between nodes.</p>
+ */
+public final class BinarySensorCodec {
+
+    public static final byte VERSION = 1;
+    public static final byte KIND_FRAMES = 1;
+    public static final byte KIND_BATCH = 2;
+    public static final byte KIND_DELTA = 3;
+
+    public static final int HEADER_BYTES = 12;
+    public static final int FRAME_RECORD_BYTES = 8 + SensorFrame.FSR_CHANNELS * 2 + SensorFrame.IMU_CHANNELS * 4
+            + SensorFrame.CAL_CHANNELS;
+    public static final int BATCH_RECORD_BYTES = 8 + SensorFrame.FSR_CHANNELS * 2 + 4 * 4;
+
+    private BinarySensorCodec() {
+    }
+
+    /**
+     * Encodes a single frame (kind 1).
+     */
+    public static byte[] encode(SensorFrame frame) {
+        ByteBuffer buffer = allocate(HEADER_BYTES + FRAME_RECORD_BYTES);
+        writeHeader(buffer, KIND_FRAMES, 1, frame.getDeviceId());
+
+        buffer.putLong(frame.getTimestamp());
+        writeFsr(buffer, frame.getFsr());
+        for (float value : frame.getImu()) {
+            buffer.putFloat(value);
+        }
+        buffer.put(frame.getCal());
+        return buffer.array();
+    }
+
+    /**
+     * Encodes a {@code SENSOR_DATA_BATCH} window (kind 2).
+     */
+    public static byte[] encode(SensorDataBatchWebSocketMessage batch) {
+        long[] timestamps = batch.getTimestamps();
+        ByteBuffer buffer = allocate(HEADER_BYTES + timestamps.length * BATCH_RECORD_BYTES);
+        writeHeader(buffer, KIND_BATCH, timestamps.length, batch.getDeviceId());
+
+        for (int i = 0; i < timestamps.length; i++) {
+            buffer.putLong(timestamps[i]);
+            writeFsr(buffer, batch.getFsr()[i]);
+            for (float value : batch.getQuaternion()[i]) {
+                buffer.putFloat(value);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Encodes a delta stream message (kind 3). Small deltas take one byte per FSR channel.
+     */
+    public static byte[] encode(SensorDataDeltaWebSocketMessage delta) {
+        long[] timestamps = delta.getTimestamps();
+        int maxRow = 10 + SensorFrame.FSR_CHANNELS * 5 + 4 * 4;
+        ByteBuffer buffer = allocate(HEADER_BYTES + 5 + timestamps.length * maxRow);
+        writeHeader(buffer, KIND_DELTA, timestamps.length, delta.getDeviceId());
+        buffer.putInt((int) delta.getSeq());
+        buffer.put((byte) (delta.isKeyframe() ? 1 : 0));
+
+        for (int i = 0; i < timestamps.length; i++) {
+            writeZigZag(buffer, timestamps[i]);
+            for (int value : delta.getFsr()[i]) {
+                writeZigZag(buffer, value);
+            }
+            for (float value : delta.getQuaternion()[i]) {
+                buffer.putFloat(value);
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Reads a kind 1 message back into {@code frame}.
+     *
+     * @throws IllegalArgumentException if the payload is not a single-frame message
+     */
+    public static void decodeFrame(byte[] payload, SensorFrame frame) {
+        ByteBuffer buffer = wrap(payload, KIND_FRAMES);
+        int count = Short.toUnsignedInt(buffer.getShort());
+        if (count != 1 || payload.length != HEADER_BYTES + FRAME_RECORD_BYTES) {
+            throw new IllegalArgumentException("Expected one frame, got " + count);
+        }
+        frame.setDeviceId(buffer.getLong());
+        frame.setTimestamp(buffer.getLong());
+        readFsr(buffer, frame.getFsr());
+        float[] imu = frame.getImu();
+        for (int i = 0; i < imu.length; i++) {
+            imu[i] = buffer.getFloat();
+        }
+        buffer.get(frame.getCal());
+    }
+
+    /**
+     * Reads a kind 2 message back into a {@code SENSOR_DATA_BATCH} window.
+     *
+     * @throws IllegalArgumentException if the payload is not a batch message
+     */
+    public static SensorDataBatchWebSocketMessage decodeBatch(byte[] payload) {
+        ByteBuffer buffer = wrap(payload, KIND_BATCH);
+        int count = Short.toUnsignedInt(buffer.getShort());
+        if (payload.length != HEADER_BYTES + count * BATCH_RECORD_BYTES) {
+            throw new IllegalArgumentException("Batch length does not match " + count + " frames");
+        }
+        long deviceId = buffer.getLong();
+
+        long[] timestamps = new long[count];
+        int[][] fsr = new int[count][SensorFrame.FSR_CHANNELS];
+        float[][] quaternion = new float[count][4];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = buffer.getLong();
+            readFsr(buffer, fsr[i]);
+            for (int q = 0; q < 4; q++) {
+                quaternion[i][q] = buffer.getFloat();
+            }
+        }
+
+        return SensorDataBatchWebSocketMessage.builder()
+                .type(WebSocketMessageType.SENSOR_DATA_BATCH)
+                .deviceId(deviceId)
+                .timestamps(timestamps)
+                .fsr(fsr)
+                .quaternion(quaternion)
+                .build();
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer wrap(byte[] payload, byte expectedKind) {
+        if (payload.length < HEADER_BYTES) {
+            throw new IllegalArgumentException("Payload shorter than the header: " + payload.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+        byte version = buffer.get();
+        byte kind = buffer.get();
+        if (version != VERSION || kind != expectedKind) {
+            throw new IllegalArgumentException("Unexpected version/kind: " + version + "/" + kind);
+        }
+        return buffer;
+    }
+
+    private static void writeHeader(ByteBuffer buffer, byte kind, int count, long deviceId) {
+        buffer.put(VERSION);
+        buffer.put(kind);
+        buffer.putShort((short) count);
+        buffer.putLong(deviceId);
+    }
+
+    private static void writeZigZag(ByteBuffer buffer, long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        buffer.put((byte) zigZag);
+    }
+
+    private static void readFsr(ByteBuffer buffer, int[] fsr) {
+        for (int i = 0; i < fsr.length; i++) {
+            fsr[i] = Short.toUnsignedInt(buffer.getShort());
+        }
+    }
+
+    private static void writeFsr(ByteBuffer buffer, int[] fsr) {
+        for (int value : fsr) {
+            buffer.putShort((short) Math.max(0, Math.min(0xFFFF, value)));
+        }
+    }
+}
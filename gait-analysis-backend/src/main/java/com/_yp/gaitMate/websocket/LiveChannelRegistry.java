@@ -0,0 +1,173 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.repository.SensorKitRepository;
+import com._yp.gaitMate.websocket.relay.ClusterRelay;
+import com._yp.gaitMate.websocket.relay.PresenceRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Guards and counts the per-device spectator channels {@code /topic/live/{deviceId}}.
+ * <p>
+ * The patient wearing the kit, their doctor and the clinic owning the kit may subscribe. Access is checked
+ * once, on SUBSCRIBE; frames are then serialized once per device and fanned out by the broker to every viewer
+ * (see {@link NotificationService#publishLiveFrame}). A refused SUBSCRIBE ends in a STOMP ERROR frame.
+ * </p>
+ *
+ * <p>
+ * Because the simple broker matches subscription patterns, pattern subscriptions under {@code /topic}
+ * ({@code /topic/live/*}, {@code /topic/**}) are refused, and so are client SENDs to a live channel.
+ * </p>
+ *
+ * <p>
+ * Devices with viewers on this node are registered in the {@link PresenceRegistry} under
+ * {@link #presenceKey(long)}, so nothing is serialized for devices nobody watches and other nodes only relay
+ * frames here when needed.
+ * </p>
+ */
+@Component
+@Slf4j
+public class LiveChannelRegistry implements ChannelInterceptor {
+
+    public static final String LIVE_PREFIX = "/topic/live/";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final SensorKitRepository sensorKitRepository;
+    private final PresenceRegistry presenceRegistry;
+    private final ClusterRelay clusterRelay;
+
+    /** sessionId → subscriptionId → deviceId */
+    private final Map<String, Map<String, Long>> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> viewers = new ConcurrentHashMap<>();
+
+    public LiveChannelRegistry(SensorKitRepository sensorKitRepository, PresenceRegistry presenceRegistry,
+                               ClusterRelay clusterRelay) {
+        this.sensorKitRepository = sensorKitRepository;
+        this.presenceRegistry = presenceRegistry;
+        this.clusterRelay = clusterRelay;
+    }
+
+    public static String destination(long deviceId) {
+        return LIVE_PREFIX + deviceId;
+    }
+
+    public static String presenceKey(long deviceId) {
+        return "#live/" + deviceId;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null || accessor.getSessionId() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case SUBSCRIBE -> subscribed(accessor);
+            case SEND -> {
+                String destination = accessor.getDestination();
+                if (destination != null && destination.startsWith(LIVE_PREFIX)) {
+                    throw new AccessDeniedException("Live channels are read-only");
+                }
+            }
+            case UNSUBSCRIBE -> unsubscribed(accessor.getSessionId(), accessor.getSubscriptionId());
+            case DISCONNECT -> disconnected(accessor.getSessionId());
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Number of live subscriptions for the device on this node.
+     */
+    public int viewerCount(long deviceId) {
+        return viewers.getOrDefault(deviceId, 0);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void subscribed(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith("/topic")) {
+            return;
+        }
+        if (PATH_MATCHER.isPattern(destination)) {
+            throw new AccessDeniedException("Pattern subscriptions are not allowed: " + destination);
+        }
+        if (!destination.startsWith(LIVE_PREFIX)) {
+            return;
+        }
+
+        long deviceId = parseDeviceId(destination);
+        Principal user = accessor.getUser();
+        if (user == null || !sensorKitRepository.hasLiveAccess(deviceId, user.getName())) {
+            log.warn("⛔ [{}] may not watch device [{}]", user != null ? user.getName() : null, deviceId);
+            throw new AccessDeniedException("Not allowed to watch device " + deviceId);
+        }
+
+        Long previous = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), deviceId);
+        if (previous != null) {
+            release(previous);
+        }
+        viewers.compute(deviceId, (id, count) -> {
+            if (count == null) {
+                presenceRegistry.sessionOpened(presenceKey(id), clusterRelay.nodeId());
+                return 1;
+            }
+            return count + 1;
+        });
+        log.info("👀 [{}] is watching device [{}] live", user.getName(), deviceId);
+    }
+
+    private void unsubscribed(String sessionId, String subscriptionId) {
+        Map<String, Long> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null || subscriptionId == null) {
+            return;
+        }
+        Long deviceId = subscriptions.remove(subscriptionId);
+        if (deviceId != null) {
+            release(deviceId);
+        }
+    }
+
+    private void disconnected(String sessionId) {
+        Map<String, Long> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void release(long deviceId) {
+        viewers.computeIfPresent(deviceId, (id, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            presenceRegistry.sessionClosed(presenceKey(id), clusterRelay.nodeId());
+            return null;
+        });
+    }
+
+    private static long parseDeviceId(String destination) {
+        try {
+            return Long.parseLong(destination.substring(LIVE_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new AccessDeniedException("Unknown live channel: " + destination);
+        }
+    }
+}
@@ -1,37 +1,88 @@
 package com._yp.gaitMate.websocket;
 
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
 import com._yp.gaitMate.websocket.message.*;
+import com._yp.gaitMate.websocket.relay.ClusterRelay;
+import com._yp.gaitMate.websocket.relay.PresenceRegistry;
+import com._yp.gaitMate.websocket.relay.RelayEnvelope;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes notifications to a user's STOMP sessions, wherever they are connected.
+ * <p>
+ * Every send looks the user up in the {@link PresenceRegistry}: sessions on this node are served directly,
+ * other nodes get the already serialized message through the {@link ClusterRelay}. Live sensor data crosses
+ * nodes in the compact {@link BinarySensorCodec} form and is re-encoded by the receiving node, since only
+ * that node knows what its sessions negotiated. If the user is not registered anywhere yet (the CONNECT
+ * is still being processed), the message is sent locally as before.
+ * </p>
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final SensorEncodingRegistry sensorEncodings;
+    private final ClusterRelay clusterRelay;
+    private final PresenceRegistry presenceRegistry;
 
     private static final String TOPIC_ALIVE = "/topic/status/alive";
     private static final String TOPIC_CALIBRATION = "/topic/status/calibration";
     private static final String TOPIC_ORIENTATION = "/topic/status/orientation";
-    private static final String TOPIC_SENSOR_DATA = "/topic/data/sensor";
+    static final String TOPIC_SENSOR_DATA = "/topic/data/sensor";
+    static final String TOPIC_SENSOR_DATA_BINARY = "/topic/data/sensor/bin";
+    static final String TOPIC_SENSOR_DATA_DELTA = "/topic/data/sensor/delta";
+    static final String TOPIC_LIVE_METRICS = "/topic/data/metrics";
+    static final String TOPIC_REPLAY = "/topic/replay";
     private static final String TOPIC_RESULTS_READY = "/topic/status/results";
 
+    @PostConstruct
+    public void init() {
+        clusterRelay.onReceive(this::receive);
+    }
+
     public void sendDeviceAliveToUser(String username, DeviceAliveWebSocketMessage message) {
         try {
             log.info("📡 Sending DEVICE_ALIVE to [{}]: {}", username, message);
-            messagingTemplate.convertAndSendToUser(username, TOPIC_ALIVE, message);
+            send(username, TOPIC_ALIVE, message);
         } catch (Exception e) {
             log.error("❌ Failed to send DEVICE_ALIVE to [{}]: {}", username, e.getMessage());
         }
     }
 
+    /**
+     * Sent once when a kit misses its heartbeats, on the alive topic so existing subscribers see {@code status: false}.
+     */
+    public void sendDeviceOfflineToUser(String username, DeviceAliveWebSocketMessage message) {
+        try {
+            log.info("📡 Sending DEVICE_OFFLINE to [{}]: {}", username, message);
+            send(username, TOPIC_ALIVE, message);
+        } catch (Exception e) {
+            log.error("❌ Failed to send DEVICE_OFFLINE to [{}]: {}", username, e.getMessage());
+        }
+    }
+
     public void sendCalibrationStatusToUser(String username, CalibrationStatusWebSocketMessage message) {
         try {
             log.info("📡 Sending CALIBRATION_STATUS to [{}]: {}", username, message);
-            messagingTemplate.convertAndSendToUser(username, TOPIC_CALIBRATION, message);
+            send(username, TOPIC_CALIBRATION, message);
         } catch (Exception e) {
             log.error("❌ Failed to send CALIBRATION_STATUS to [{}]: {}", username, e.getMessage());
         }
@@ -40,7 +91,7 @@ public class NotificationService {
     public void sendOrientationStatusToUser(String username, OrientationWebSocketMessage message) {
         try {
             log.info("📡 Sending ORIENTATION_CAPTURED to [{}]: {}", username, message);
-            messagingTemplate.convertAndSendToUser(username, TOPIC_ORIENTATION, message);
+            send(username, TOPIC_ORIENTATION, message);
         } catch (Exception e) {
             log.error("❌ Failed to send ORIENTATION_CAPTURED to [{}]: {}", username, e.getMessage());
         }
@@ -48,19 +99,271 @@ public class NotificationService {
 
     public void sendSensorDataToUser(String username, SensorDataWebSocketMessage message) {
         try {
-            log.info("📡 Sending SENSOR_DATA to [{}]: {}", username, message);
-            messagingTemplate.convertAndSendToUser(username, TOPIC_SENSOR_DATA, message);
+            log.debug("📡 Sending SENSOR_DATA to [{}]: {}", username, message);
+            send(username, TOPIC_SENSOR_DATA, message);
         } catch (Exception e) {
             log.error("❌ Failed to send SENSOR_DATA to [{}]: {}", username, e.getMessage());
         }
     }
 
+    /**
+     * Sends one live frame in every encoding the user's subscriptions negotiated (see {@link SensorEncodingRegistry}).
+     * The JSON DTO is only built when someone still wants JSON.
+     */
+    public void sendSensorFrameToUser(String username, SensorFrame frame) {
+        Route route = route(username);
+        if (!route.remoteNodes().isEmpty()) {
+            relay(route, username, RelayEnvelope.Kind.SENSOR_FRAME, null, BinarySensorCodec.encode(frame));
+        }
+        if (route.local()) {
+            deliverSensorFrame(username, frame);
+        }
+    }
+
+    public void sendSensorDataBatchToUser(String username, SensorDataBatchWebSocketMessage message) {
+        Route route = route(username);
+        if (!route.remoteNodes().isEmpty()) {
+            relay(route, username, RelayEnvelope.Kind.SENSOR_BATCH, null, BinarySensorCodec.encode(message));
+        }
+        if (route.local()) {
+            deliverSensorBatch(username, message);
+        }
+    }
+
+    /**
+     * Publishes a frame to the device's spectator channel (see {@link LiveChannelRegistry}). The JSON is built
+     * once, however many viewers there are, and not at all when nobody watches the device.
+     */
+    public void publishLiveFrame(SensorFrame frame) {
+        long deviceId = frame.getDeviceId();
+        Set<String> nodes = presenceRegistry.nodesFor(LiveChannelRegistry.presenceKey(deviceId));
+        if (!nodes.isEmpty()) {
+            publishLive(nodes, deviceId, frame.toWebSocketMessage());
+        }
+    }
+
+    /**
+     * Batch counterpart of {@link #publishLiveFrame(SensorFrame)}.
+     */
+    public void publishLiveBatch(SensorDataBatchWebSocketMessage message) {
+        Set<String> nodes = presenceRegistry.nodesFor(LiveChannelRegistry.presenceKey(message.getDeviceId()));
+        if (!nodes.isEmpty()) {
+            publishLive(nodes, message.getDeviceId(), message);
+        }
+    }
+
+    public void sendLiveMetricsToUser(String username, LiveMetricsWebSocketMessage message) {
+        try {
+            log.debug("📡 Sending LIVE_METRICS to [{}]: {}", username, message);
+            send(username, TOPIC_LIVE_METRICS, message);
+        } catch (Exception e) {
+            log.error("❌ Failed to send LIVE_METRICS to [{}]: {}", username, e.getMessage());
+        }
+    }
+
+    public void sendReplayToUser(String username, ReplayWebSocketMessage message) {
+        try {
+            log.debug("📡 Sending REPLAY_DATA ({} frames, {}) to [{}]",
+                    message.getTimestamps().length, message.getState(), username);
+            send(username, TOPIC_REPLAY, message);
+        } catch (Exception e) {
+            log.error("❌ Failed to send REPLAY_DATA to [{}]: {}", username, e.getMessage());
+        }
+    }
+
     public void sendNotificationToUser(String username, ResultsNotificationMessage message) {
         try {
             log.info("📡 Sending SENSOR_DATA to [{}]: {}", username, message);
-            messagingTemplate.convertAndSendToUser(username, TOPIC_RESULTS_READY, message);
+            send(username, TOPIC_RESULTS_READY, message);
         } catch (Exception e) {
             log.error("❌ Failed to send SENSOR_DATA to [{}]: {}", username, e.getMessage());
         }
     }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    /**
+     * Where a user's sessions are: on this node, on other nodes, or both.
+     */
+    private record Route(boolean local, Set<String> remoteNodes) {
+    }
+
+    private Route route(String username) {
+        Set<String> nodes = presenceRegistry.nodesFor(username);
+        if (nodes.isEmpty()) {
+            return new Route(true, Set.of());
+        }
+        String self = clusterRelay.nodeId();
+        Set<String> remote = nodes.contains(self)
+                ? nodes.stream().filter(node -> !node.equals(self)).collect(Collectors.toUnmodifiableSet())
+                : nodes;
+        return new Route(nodes.contains(self), remote);
+    }
+
+    private void send(String username, String destination, Object message) {
+        Route route = route(username);
+        if (!route.remoteNodes().isEmpty()) {
+            relay(route, username, RelayEnvelope.Kind.MESSAGE, destination, toJson(message));
+        }
+        if (route.local()) {
+            messagingTemplate.convertAndSendToUser(username, destination, message);
+        }
+    }
+
+    private void publishLive(Set<String> nodes, long deviceId, Object message) {
+        String destination = LiveChannelRegistry.destination(deviceId);
+        try {
+            byte[] json = toJson(message);
+            String self = clusterRelay.nodeId();
+            Set<String> remote = nodes.stream().filter(node -> !node.equals(self)).collect(Collectors.toUnmodifiableSet());
+            if (!remote.isEmpty()) {
+                relay(new Route(false, remote), null, RelayEnvelope.Kind.BROADCAST, destination, json);
+            }
+            if (nodes.contains(self)) {
+                messagingTemplate.send(destination, jsonMessage(json));
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to publish live data for device [{}]: {}", deviceId, e.getMessage());
+        }
+    }
+
+    private void relay(Route route, String username, RelayEnvelope.Kind kind, String destination, byte[] payload) {
+        try {
+            clusterRelay.send(route.remoteNodes(),
+                    new RelayEnvelope(clusterRelay.nodeId(), username, kind, destination, payload));
+        } catch (Exception e) {
+            log.error("❌ Failed to relay {} for [{}] to {}: {}", kind, username, route.remoteNodes(), e.getMessage());
+        }
+    }
+
+    /**
+     * Serializes with the template's own converter, so relayed JSON is byte-for-byte what a local send produces.
+     */
+    private byte[] toJson(Object message) {
+        Object payload = messagingTemplate.getMessageConverter().toMessage(message, null).getPayload();
+        return payload instanceof String text ? text.getBytes(StandardCharsets.UTF_8) : (byte[]) payload;
+    }
+
+    /**
+     * Handles an envelope from another node. Delivery is local only, so nothing is relayed twice.
+     */
+    private void receive(RelayEnvelope envelope) {
+        String username = envelope.username();
+        try {
+            switch (envelope.kind()) {
+                case MESSAGE -> messagingTemplate.send(userDestination(username, envelope.destination()),
+                        jsonMessage(envelope.payload()));
+                case BROADCAST -> messagingTemplate.send(envelope.destination(), jsonMessage(envelope.payload()));
+                case SENSOR_FRAME -> {
+                    SensorFrame frame = new SensorFrame();
+                    BinarySensorCodec.decodeFrame(envelope.payload(), frame);
+                    deliverSensorFrame(username, frame);
+                }
+                case SENSOR_BATCH -> deliverSensorBatch(username, BinarySensorCodec.decodeBatch(envelope.payload()));
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to deliver relayed {} from [{}] to [{}]: {}",
+                    envelope.kind(), envelope.originNode(), username, e.getMessage());
+        }
+    }
+
+    private void deliverSensorFrame(String username, SensorFrame frame) {
+        if (sensorEncodings.wantsJson(username)) {
+            try {
+                SensorDataWebSocketMessage message = frame.toWebSocketMessage();
+                log.debug("📡 Sending SENSOR_DATA to [{}]: {}", username, message);
+                messagingTemplate.convertAndSendToUser(username, TOPIC_SENSOR_DATA, message);
+            } catch (Exception e) {
+                log.error("❌ Failed to send SENSOR_DATA to [{}]: {}", username, e.getMessage());
+            }
+        }
+        if (sensorEncodings.wantsBinary(username)) {
+            try {
+                messagingTemplate.convertAndSendToUser(username, TOPIC_SENSOR_DATA_BINARY, BinarySensorCodec.encode(frame));
+            } catch (Exception e) {
+                log.error("❌ Failed to send binary SENSOR_DATA to [{}]: {}", username, e.getMessage());
+            }
+        }
+
+        Collection<SensorEncodingRegistry.DeltaSubscriber> deltaSubscribers = sensorEncodings.deltaSubscribers(username);
+        if (!deltaSubscribers.isEmpty()) {
+            float[] quaternion = Arrays.copyOfRange(frame.getImu(), SensorFrame.Q0, SensorFrame.Q3 + 1);
+            sendDeltas(username, deltaSubscribers, frame.getDeviceId(),
+                    new long[]{frame.getTimestamp()}, new int[][]{frame.getFsr()}, new float[][]{quaternion});
+        }
+    }
+
+    private void deliverSensorBatch(String username, SensorDataBatchWebSocketMessage message) {
+        try {
+            log.debug("📡 Sending SENSOR_DATA_BATCH ({} frames) to [{}] for device [{}]",
+                    message.getTimestamps().length, username, message.getDeviceId());
+            if (sensorEncodings.wantsJson(username)) {
+                messagingTemplate.convertAndSendToUser(username, TOPIC_SENSOR_DATA, message);
+            }
+            if (sensorEncodings.wantsBinary(username)) {
+                messagingTemplate.convertAndSendToUser(username, TOPIC_SENSOR_DATA_BINARY, BinarySensorCodec.encode(message));
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to send SENSOR_DATA_BATCH to [{}]: {}", username, e.getMessage());
+        }
+
+        Collection<SensorEncodingRegistry.DeltaSubscriber> deltaSubscribers = sensorEncodings.deltaSubscribers(username);
+        if (!deltaSubscribers.isEmpty()) {
+            sendDeltas(username, deltaSubscribers, message.getDeviceId(),
+                    message.getTimestamps(), message.getFsr(), message.getQuaternion());
+        }
+    }
+
+    /**
+     * Sends the rows to every delta-mode session of the user, each encoded against that session's own state.
+     * The encoder monitor is held across encode and send so messages leave in {@code seq} order.
+     */
+    private void sendDeltas(String username, Collection<SensorEncodingRegistry.DeltaSubscriber> subscribers,
+                            long deviceId, long[] timestamps, int[][] fsr, float[][] quaternion) {
+        for (SensorEncodingRegistry.DeltaSubscriber subscriber : subscribers) {
+            SensorDeltaEncoder encoder = subscriber.encoder(deviceId);
+            synchronized (encoder) {
+                try {
+                    SensorDataDeltaWebSocketMessage message = encoder.encode(timestamps, fsr, quaternion);
+                    Object payload = subscriber.isBinary() ? BinarySensorCodec.encode(message) : message;
+                    messagingTemplate.convertAndSendToUser(username, TOPIC_SENSOR_DATA_DELTA, payload,
+                            sessionHeaders(subscriber.getSessionId()));
+                } catch (Exception e) {
+                    encoder.requestKeyframe();
+                    log.error("❌ Failed to send SENSOR_DATA_DELTA to [{}]: {}", username, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Wraps a pre-serialized body as a JSON message. It must go out with {@code send}: {@code convertAndSend}
+     * would hand the {@code byte[]} to the JSON converter, which writes it as a base64 string.
+     */
+    private static Message<byte[]> jsonMessage(byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+
+    /**
+     * The destination {@code convertAndSendToUser} would build, for messages that bypass conversion.
+     */
+    private String userDestination(String username, String destination) {
+        return messagingTemplate.getUserDestinationPrefix() + username.replace("/", "%2F")
+                + (destination.startsWith("/") ? destination : "/" + destination);
+    }
+
+    /**
+     * Headers that make a user destination resolve to one STOMP session only.
+     */
+    private static MessageHeaders sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
 }
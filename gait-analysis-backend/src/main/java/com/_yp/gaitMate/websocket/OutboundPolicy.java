@@ -0,0 +1,47 @@
+package com._yp.gaitMate.websocket;
+
+/**
+ * How a queued outbound message is treated when its session falls behind.
+ * Chosen from the STOMP destination of the message.
+ */
+public enum OutboundPolicy {
+
+    /** Status, results and protocol frames: always delivered, in order. */
+    RELIABLE(false),
+
+    /** Live and replayed sensor frames: when the session queue is full the oldest such message is dropped. */
+    DROP_OLDEST(true),
+
+    /** Snapshots such as live metrics: a newer message replaces the queued one for the same destination. */
+    LATEST_VALUE(true);
+
+    private final boolean droppable;
+
+    OutboundPolicy(boolean droppable) {
+        this.droppable = droppable;
+    }
+
+    public boolean isDroppable() {
+        return droppable;
+    }
+
+    /**
+     * @param destination the STOMP {@code destination} header, e.g. {@code /user/topic/data/sensor}; may be null
+     */
+    public static OutboundPolicy forDestination(String destination) {
+        if (destination == null) {
+            return RELIABLE;
+        }
+        if (destination.endsWith(NotificationService.TOPIC_SENSOR_DATA)
+                || destination.endsWith(NotificationService.TOPIC_SENSOR_DATA_BINARY)
+                || destination.endsWith(NotificationService.TOPIC_SENSOR_DATA_DELTA)
+                || destination.endsWith(NotificationService.TOPIC_REPLAY)
+                || destination.startsWith(LiveChannelRegistry.LIVE_PREFIX)) {
+            return DROP_OLDEST;
+        }
+        if (destination.endsWith(NotificationService.TOPIC_LIVE_METRICS)) {
+            return LATEST_VALUE;
+        }
+        return RELIABLE;
+    }
+}
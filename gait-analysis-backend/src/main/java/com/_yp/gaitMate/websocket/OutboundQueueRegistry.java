@@ -0,0 +1,169 @@
+package com._yp.gaitMate.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Puts an {@link OutboundSessionQueue} in front of every STOMP WebSocket session.
+ * <p>
+ * Registered through {@link WebsocketConfig#configureWebSocketTransport} as a handler decorator: the
+ * STOMP handler only ever sees the queued session, so every frame it writes (broker messages,
+ * heartbeats, errors) goes through the queue and is written by one of the {@code ws-session-writer}
+ * threads.
+ * </p>
+ *
+ * <p>Dropping a live sensor message forces a keyframe on the session's delta streams (if any), so a
+ * delta-mode client resyncs by itself after falling behind.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code websocket.outbound.queue.depth} and {@code websocket.outbound.dropped}, tagged with
+ *   {@code session}, for every open session (removed when it closes)</li>
+ *   <li>{@code websocket.outbound.dropped.total} (tag {@code policy}) across all sessions</li>
+ *   <li>{@code websocket.outbound.sessions}</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class OutboundQueueRegistry {
+
+    private final WebSocketTransportProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final SensorEncodingRegistry sensorEncodings;
+
+    private final Map<String, SessionEntry> sessions = new ConcurrentHashMap<>();
+    private final Map<OutboundPolicy, Counter> droppedTotal = new EnumMap<>(OutboundPolicy.class);
+    private final ExecutorService writers;
+
+    public OutboundQueueRegistry(WebSocketTransportProperties properties, MeterRegistry meterRegistry,
+                                 SensorEncodingRegistry sensorEncodings) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.sensorEncodings = sensorEncodings;
+
+        for (OutboundPolicy policy : OutboundPolicy.values()) {
+            if (policy.isDroppable()) {
+                droppedTotal.put(policy, Counter.builder("websocket.outbound.dropped.total")
+                        .tag("policy", policy.name())
+                        .register(meterRegistry));
+            }
+        }
+        Gauge.builder("websocket.outbound.sessions", sessions, Map::size).register(meterRegistry);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(Math.max(1, properties.getWriterThreads()), r -> {
+            Thread thread = new Thread(r, "ws-session-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        writers.shutdownNow();
+    }
+
+    /**
+     * Wraps the STOMP handler so it only sees queued sessions.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(open(session));
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(queued(session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(queued(session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                WebSocketSession queued = queued(session);
+                try {
+                    super.afterConnectionClosed(queued, closeStatus);
+                } finally {
+                    closed(session.getId());
+                }
+            }
+        };
+    }
+
+    /**
+     * The queue of an open session, or {@code null}.
+     */
+    public OutboundSessionQueue get(String sessionId) {
+        SessionEntry entry = sessions.get(sessionId);
+        return entry != null ? entry.queue() : null;
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private OutboundSessionQueue open(WebSocketSession session) {
+        String sessionId = session.getId();
+        Counter dropped = Counter.builder("websocket.outbound.dropped").tag("session", sessionId).register(meterRegistry);
+
+        OutboundSessionQueue queue = new OutboundSessionQueue(session, writers,
+                properties.getSessionQueueCapacity(), properties.getSessionReliableLimit(),
+                policy -> {
+                    dropped.increment();
+                    droppedTotal.get(policy).increment();
+                    if (policy == OutboundPolicy.DROP_OLDEST) {
+                        // A dropped delta breaks the chain; restart the session's delta streams from a keyframe
+                        sensorEncodings.requestKeyframe(sessionId);
+                    }
+                });
+        Gauge depth = Gauge.builder("websocket.outbound.queue.depth", queue, OutboundSessionQueue::depth)
+                .tag("session", sessionId)
+                .register(meterRegistry);
+
+        sessions.put(sessionId, new SessionEntry(queue, List.of(dropped, depth)));
+        return queue;
+    }
+
+    private WebSocketSession queued(WebSocketSession session) {
+        SessionEntry entry = sessions.get(session.getId());
+        return entry != null ? entry.queue() : session;
+    }
+
+    private void closed(String sessionId) {
+        SessionEntry entry = sessions.remove(sessionId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.queue().droppedCount() > 0) {
+            log.info("WebSocket session [{}] closed after dropping {} live messages", sessionId, entry.queue().droppedCount());
+        }
+        entry.meters().forEach(meterRegistry::remove);
+    }
+
+    private record SessionEntry(OutboundSessionQueue queue, List<Meter> meters) {
+    }
+}
@@ -0,0 +1,270 @@
+package com._yp.gaitMate.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded outbound queue in front of one WebSocket session.
+ * <p>
+ * {@link #sendMessage} only enqueues, so the thread delivering broker messages never waits on a
+ * slow socket. A writer thread drains the queue in order. When the client cannot keep up, live
+ * data is shed according to its {@link OutboundPolicy}: the oldest sensor frame is dropped once
+ * {@code capacity} live messages are queued, and a newer live metrics snapshot replaces the queued one.
+ * {@link OutboundPolicy#RELIABLE} messages are never dropped; if more than {@code reliableLimit} of
+ * them pile up the session is closed and the client reconnects.
+ * </p>
+ *
+ * <p>A drain pass writes at most {@value #DRAIN_BATCH} messages before yielding the writer thread,
+ * so one busy session cannot starve the others.</p>
+ */
+@Slf4j
+public class OutboundSessionQueue extends WebSocketSessionDecorator {
+
+    static final int DRAIN_BATCH = 64;
+
+    private static final byte[] DESTINATION_HEADER = "destination:".getBytes(StandardCharsets.US_ASCII);
+
+    private final Executor writer;
+    private final int capacity;
+    private final int reliableLimit;
+    private final Consumer<OutboundPolicy> onDrop;
+
+    private final Deque<Outbound> queue = new ArrayDeque<>();   // guarded by this
+    private int droppable;                                      // guarded by this
+    private boolean draining;                                   // guarded by this
+    private boolean closed;                                     // guarded by this
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param delegate      the underlying session
+     * @param writer        executor running the drain passes
+     * @param capacity      live (droppable) messages allowed in the queue
+     * @param reliableLimit reliable messages allowed in the queue before the session is closed
+     * @param onDrop        called once per dropped message
+     */
+    public OutboundSessionQueue(WebSocketSession delegate, Executor writer, int capacity, int reliableLimit,
+                                Consumer<OutboundPolicy> onDrop) {
+        super(delegate);
+        this.writer = writer;
+        this.capacity = Math.max(1, capacity);
+        this.reliableLimit = Math.max(1, reliableLimit);
+        this.onDrop = onDrop;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        String destination = destinationOf(message);
+        OutboundPolicy policy = OutboundPolicy.forDestination(destination);
+        boolean overflow = false;
+        boolean schedule = false;
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (policy == OutboundPolicy.LATEST_VALUE) {
+                replaceQueued(destination);
+            } else if (policy.isDroppable() && droppable >= capacity) {
+                dropOldestDroppable();
+            } else if (!policy.isDroppable() && queue.size() - droppable >= reliableLimit) {
+                overflow = true;
+            }
+
+            if (!overflow) {
+                queue.addLast(new Outbound(message, policy, destination));
+                if (policy.isDroppable()) {
+                    droppable++;
+                }
+                if (!draining) {
+                    draining = true;
+                    schedule = true;
+                }
+            }
+        }
+
+        if (overflow) {
+            log.warn("⚠️ WebSocket session [{}] has {} undelivered messages, closing it", getId(), reliableLimit);
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } else if (schedule) {
+            writer.execute(this::drain);
+        }
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+            droppable = 0;
+        }
+        super.close(status);
+    }
+
+    /**
+     * Messages waiting to be written.
+     */
+    public synchronized int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Live messages dropped since the session opened.
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void drain() {
+        for (int written = 0; written < DRAIN_BATCH; written++) {
+            Outbound next;
+            synchronized (this) {
+                next = queue.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+                if (next.policy().isDroppable()) {
+                    droppable--;
+                }
+            }
+
+            try {
+                getDelegate().sendMessage(next.message());
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to write to WebSocket session [{}]: {}", getId(), e.getMessage());
+                closeQuietly();
+                synchronized (this) {
+                    draining = false;
+                }
+                return;
+            }
+        }
+
+        // Yield the writer thread; the flag stays set so nobody else schedules a second pass
+        writer.execute(this::drain);
+    }
+
+    private void replaceQueued(String destination) {
+        Iterator<Outbound> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Outbound queued = iterator.next();
+            if (queued.policy() == OutboundPolicy.LATEST_VALUE && destination.equals(queued.destination())) {
+                iterator.remove();
+                droppable--;
+                recordDrop(queued.policy());
+                return;
+            }
+        }
+        if (droppable >= capacity) {
+            dropOldestDroppable();
+        }
+    }
+
+    private void dropOldestDroppable() {
+        Iterator<Outbound> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Outbound queued = iterator.next();
+            if (queued.policy().isDroppable()) {
+                iterator.remove();
+                droppable--;
+                recordDrop(queued.policy());
+                return;
+            }
+        }
+    }
+
+    private void recordDrop(OutboundPolicy policy) {
+        if (dropped.getAndIncrement() == 0) {
+            log.warn("⚠️ WebSocket session [{}] is falling behind, dropping live data", getId());
+        }
+        onDrop.accept(policy);
+    }
+
+    private void closeQuietly() {
+        try {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session [{}]: {}", getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the {@code destination} header of an encoded STOMP frame without decoding the whole frame.
+     */
+    static String destinationOf(WebSocketMessage<?> message) {
+        if (message instanceof BinaryMessage binary) {
+            return destinationOf(binary.getPayload());
+        }
+        if (!(message instanceof TextMessage text)) {
+            return null;
+        }
+        String frame = text.getPayload();
+        int headersEnd = frame.indexOf("\n\n");
+        int start = frame.indexOf("\ndestination:");
+        if (start < 0 || (headersEnd >= 0 && start > headersEnd)) {
+            return null;
+        }
+        start += "\ndestination:".length();
+        int end = frame.indexOf('\n', start);
+        return frame.substring(start, end < 0 ? frame.length() : end);
+    }
+
+    /**
+     * Same as above for binary frames; STOMP headers are always text, the body is not.
+     */
+    private static String destinationOf(ByteBuffer frame) {
+        int limit = frame.limit();
+        int lineStart = frame.position();
+        for (int i = lineStart; i < limit; i++) {
+            if (frame.get(i) != '\n') {
+                continue;
+            }
+            if (i == lineStart) {
+                return null;    // blank line: end of headers
+            }
+            if (startsWith(frame, lineStart, i, DESTINATION_HEADER)) {
+                int start = lineStart + DESTINATION_HEADER.length;
+                byte[] value = new byte[i - start];
+                frame.get(start, value);
+                return new String(value, StandardCharsets.UTF_8);
+            }
+            lineStart = i + 1;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(ByteBuffer frame, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (frame.get(from + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Outbound(WebSocketMessage<?> message, OutboundPolicy policy, String destination) {
+    }
+}
@@ -0,0 +1,39 @@
+package com._yp.gaitMate.websocket;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micro-batching of live sensor frames sent over WebSocket.
+ *
+ * <pre>
+ * websocket:
+ *   sensor-batch:
+ *     enabled: true
+ *     flush-interval-ms: 100
+ *     max-frames: 10
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "websocket.sensor-batch")
+public class SensorBatchProperties {
+
+    /**
+     * When false, every frame is pushed as its own SENSOR_DATA message (the legacy behaviour).
+     */
+    private boolean enabled = false;
+
+    /**
+     * A device's pending frames are flushed at least this often.
+     */
+    private long flushIntervalMs = 100;
+
+    /**
+     * A device's pending frames are flushed as soon as this many have been collected.
+     */
+    private int maxFrames = 10;
+}
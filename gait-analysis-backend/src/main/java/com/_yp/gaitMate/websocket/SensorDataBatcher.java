@@ -0,0 +1,202 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.message.SensorDataBatchWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces live sensor frames per device into {@code SENSOR_DATA_BATCH} WebSocket messages.
+ * <p>
+ * A device's pending frames are flushed when {@code websocket.sensor-batch.max-frames} have been
+ * collected or every {@code websocket.sensor-batch.flush-interval-ms}, whichever comes first.
+ * At 100 Hz with the defaults this turns ten STOMP frames (and ten JSON serializations) into one.
+ * </p>
+ *
+ * <p>When batching is disabled every frame is forwarded immediately as a {@code SENSOR_DATA} message.</p>
+ *
+ * <p>Both paths go out as JSON or {@link BinarySensorCodec} binary, whichever the subscriber negotiated,
+ * and are also published to the device's {@code /topic/live/{deviceId}} spectator channel.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SensorDataBatcher {
+
+    /** Empty per-device buffers are released after this long without frames. */
+    private static final long IDLE_EVICTION_MS = 30_000;
+
+    private final SensorBatchProperties properties;
+    private final NotificationService notificationService;
+
+    private final Map<Long, DeviceBatch> batches = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long interval = Math.max(1, properties.getFlushIntervalMs());
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ws-sensor-batch-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleAtFixedRate(this::flushAllSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Sensor data batching enabled: flush every {} ms or {} frames", interval, maxFrames());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flushAll(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Queues a frame for {@code username}. The frame is copied, so the caller may reuse it.
+     *
+     * @param username the user linked to the frame's device
+     * @param frame    the decoded sensor frame
+     */
+    public void submit(String username, SensorFrame frame) {
+        if (!properties.isEnabled()) {
+            notificationService.sendSensorFrameToUser(username, frame);
+            notificationService.publishLiveFrame(frame);
+            return;
+        }
+
+        while (true) {
+            DeviceBatch batch = batches.computeIfAbsent(frame.getDeviceId(),
+                    id -> new DeviceBatch(id, maxFrames()));
+
+            synchronized (batch) {
+                if (batch.retired) {
+                    continue;
+                }
+                if (batch.size > 0 && !username.equals(batch.username)) {
+                    // The kit was re-linked to another user: never mix their frames in one message
+                    send(batch.drain());
+                }
+                batch.append(username, frame);
+                if (batch.size == batch.timestamps.length) {
+                    send(batch.drain());
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * Flushes every device that has pending frames and releases long-idle buffers.
+     *
+     * @param now the current time in milliseconds
+     */
+    void flushAll(long now) {
+        for (DeviceBatch batch : batches.values()) {
+            synchronized (batch) {
+                if (batch.size > 0) {
+                    send(batch.drain());
+                } else if (now - batch.lastAppendAt > IDLE_EVICTION_MS) {
+                    batch.retired = true;
+                    batches.remove(batch.deviceId, batch);
+                }
+            }
+        }
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void flushAllSafely() {
+        try {
+            flushAll(System.currentTimeMillis());
+        } catch (Exception e) {
+            log.error("❌ Sensor data batch flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void send(Pending pending) {
+        notificationService.sendSensorDataBatchToUser(pending.username(), pending.message());
+        notificationService.publishLiveBatch(pending.message());
+    }
+
+    private int maxFrames() {
+        return Math.max(1, properties.getMaxFrames());
+    }
+
+    private record Pending(String username, SensorDataBatchWebSocketMessage message) {
+    }
+
+    /**
+     * Fixed-capacity columnar buffer for one device. All access is guarded by the instance monitor, which is
+     * also held while a drained batch is sent, so the flusher and the ingest thread cannot reorder a device's
+     * batches on the way out.
+     */
+    private static final class DeviceBatch {
+
+        private final long deviceId;
+        private final long[] timestamps;
+        private final int[][] fsr;
+        private final float[][] quaternion;
+
+        private String username;
+        private int size;
+        private long lastAppendAt;
+        private boolean retired;
+
+        private DeviceBatch(long deviceId, int capacity) {
+            this.deviceId = deviceId;
+            this.timestamps = new long[capacity];
+            this.fsr = new int[capacity][SensorFrame.FSR_CHANNELS];
+            this.quaternion = new float[capacity][4];
+        }
+
+        private void append(String username, SensorFrame frame) {
+            this.username = username;
+            timestamps[size] = frame.getTimestamp();
+            System.arraycopy(frame.getFsr(), 0, fsr[size], 0, SensorFrame.FSR_CHANNELS);
+            System.arraycopy(frame.getImu(), SensorFrame.Q0, quaternion[size], 0, 4);
+            size++;
+            lastAppendAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Copies the pending rows into a new message and empties the buffer.
+         */
+        private Pending drain() {
+            int[][] fsrRows = new int[size][];
+            float[][] quaternionRows = new float[size][];
+            for (int i = 0; i < size; i++) {
+                fsrRows[i] = fsr[i].clone();
+                quaternionRows[i] = quaternion[i].clone();
+            }
+
+            SensorDataBatchWebSocketMessage message = SensorDataBatchWebSocketMessage.builder()
+                    .type(WebSocketMessageType.SENSOR_DATA_BATCH)
+                    .deviceId(deviceId)
+                    .timestamps(Arrays.copyOf(timestamps, size))
+                    .fsr(fsrRows)
+                    .quaternion(quaternionRows)
+                    .build();
+
+            size = 0;
+            return new Pending(username, message);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.message.SensorDataDeltaWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+
+/**
+ * Delta encoder state for one device stream of one STOMP session.
+ * <p>
+ * Remembers the last timestamp and FSR row sent, and starts a message with a keyframe (absolute first row)
+ * on the first message, every {@code keyframeInterval} rows, and after {@link #requestKeyframe()}.
+ * </p>
+ *
+ * <p>Not thread-safe: callers hold the encoder's monitor across {@link #encode} and the send, so messages
+ * leave in {@code seq} order.</p>
+ */
+public class SensorDeltaEncoder {
+
+    private final long deviceId;
+    private final int keyframeInterval;
+
+    private final int[] lastFsr = new int[SensorFrame.FSR_CHANNELS];
+    private long lastTimestamp;
+    private long seq;
+    private int rowsSinceKeyframe;
+    private volatile boolean keyframeDue = true;
+
+    public SensorDeltaEncoder(long deviceId, int keyframeInterval) {
+        this.deviceId = deviceId;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * Encodes consecutive rows against the previous message of this stream.
+     */
+    public SensorDataDeltaWebSocketMessage encode(long[] timestamps, int[][] fsr, float[][] quaternion) {
+        boolean keyframe = keyframeDue || rowsSinceKeyframe >= keyframeInterval;
+        keyframeDue = false;
+
+        int rows = timestamps.length;
+        long[] timestampDeltas = new long[rows];
+        int[][] fsrDeltas = new int[rows][SensorFrame.FSR_CHANNELS];
+        for (int i = 0; i < rows; i++) {
+            boolean absolute = keyframe && i == 0;
+            timestampDeltas[i] = absolute ? timestamps[i] : timestamps[i] - lastTimestamp;
+            for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+                fsrDeltas[i][c] = absolute ? fsr[i][c] : fsr[i][c] - lastFsr[c];
+            }
+            lastTimestamp = timestamps[i];
+            System.arraycopy(fsr[i], 0, lastFsr, 0, SensorFrame.FSR_CHANNELS);
+        }
+        rowsSinceKeyframe = keyframe ? rows : rowsSinceKeyframe + rows;
+
+        return SensorDataDeltaWebSocketMessage.builder()
+                .type(WebSocketMessageType.SENSOR_DATA_DELTA)
+                .deviceId(deviceId)
+                .seq(seq++)
+                .keyframe(keyframe)
+                .timestamps(timestampDeltas)
+                .fsr(fsrDeltas)
+                .quaternion(quaternion)
+                .build();
+    }
+
+    /**
+     * Makes the next message a keyframe, e.g. after the client asked to resync or a message was dropped.
+     */
+    public void requestKeyframe() {
+        keyframeDue = true;
+    }
+}
@@ -0,0 +1,285 @@
+package com._yp.gaitMate.websocket;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Negotiates how live sensor data is sent per subscription and keeps count of who wants what.
+ * <p>
+ * Clients subscribe to {@code /user/topic/data/sensor}; STOMP headers on the SUBSCRIBE frame pick the format:
+ * </p>
+ * <ul>
+ *   <li>no headers: JSON, one absolute message per frame or batch (the default)</li>
+ *   <li>{@code accept:application/octet-stream}: {@link BinarySensorCodec} frames; the subscription is
+ *   rewritten to {@code /user/topic/data/sensor/bin}</li>
+ *   <li>{@code stream-mode:delta} (optionally with {@code keyframe-interval:N}): delta rows from a
+ *   {@link SensorDeltaEncoder} kept for this STOMP session, as JSON or, with the binary {@code accept}
+ *   header, as binary; the subscription is rewritten to {@code /user/topic/data/sensor/delta}</li>
+ * </ul>
+ * <p>
+ * The client still matches rewritten messages by subscription id. Delta state lives and dies with the STOMP
+ * session, so a reconnecting client always starts from a keyframe; {@link #requestKeyframe(String)} resyncs a
+ * live session.
+ * </p>
+ *
+ * <p>
+ * SockJS cannot carry binary WebSocket messages, so binary is only granted on the native {@code /ws} endpoint
+ * (marked by {@link #nativeEndpoint()}); SockJS clients asking for it get JSON.
+ * </p>
+ */
+@Component
+@Slf4j
+public class SensorEncodingRegistry implements ChannelInterceptor {
+
+    public static final String ACCEPT_HEADER = "accept";
+    public static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+    public static final String STREAM_MODE_HEADER = "stream-mode";
+    public static final String DELTA_STREAM_MODE = "delta";
+    public static final String KEYFRAME_INTERVAL_HEADER = "keyframe-interval";
+
+    private static final String SENSOR_DESTINATION = "/user" + NotificationService.TOPIC_SENSOR_DATA;
+    private static final String BINARY_DESTINATION = "/user" + NotificationService.TOPIC_SENSOR_DATA_BINARY;
+    private static final String DELTA_DESTINATION = "/user" + NotificationService.TOPIC_SENSOR_DATA_DELTA;
+    private static final String NATIVE_TRANSPORT_ATTRIBUTE = SensorEncodingRegistry.class.getName() + ".NATIVE";
+
+    private final SensorStreamProperties properties;
+
+    /** sessionId → subscriptionId → subscription */
+    private final Map<String, Map<String, Subscription>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, UserStreams> users = new ConcurrentHashMap<>();
+
+    public SensorEncodingRegistry(SensorStreamProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Handshake interceptor for endpoints whose sessions can receive binary WebSocket messages.
+     */
+    public HandshakeInterceptor nativeEndpoint() {
+        return new HandshakeInterceptor() {
+            @Override
+            public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                           WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                attributes.put(NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+                return true;
+            }
+
+            @Override
+            public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Exception exception) {
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null || accessor.getSessionId() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case SUBSCRIBE -> subscribed(accessor);
+            case UNSUBSCRIBE -> unsubscribed(accessor.getSessionId(), accessor.getSubscriptionId());
+            case DISCONNECT -> disconnected(accessor.getSessionId());
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Whether absolute JSON messages should be sent to {@code username}. True unless every known
+     * sensor subscription of the user negotiated something else.
+     */
+    public boolean wantsJson(String username) {
+        UserStreams streams = users.get(username);
+        return streams == null || streams.json.get() > 0 || (streams.binary.get() == 0 && streams.delta.isEmpty());
+    }
+
+    /**
+     * Whether {@code username} has at least one absolute binary sensor subscription.
+     */
+    public boolean wantsBinary(String username) {
+        UserStreams streams = users.get(username);
+        return streams != null && streams.binary.get() > 0;
+    }
+
+    /**
+     * The user's sessions in delta stream mode.
+     */
+    public Collection<DeltaSubscriber> deltaSubscribers(String username) {
+        UserStreams streams = users.get(username);
+        return streams != null ? streams.delta.values() : List.of();
+    }
+
+    /**
+     * Makes the next delta message of every device stream of the session a keyframe.
+     * No-op for sessions that are not in delta mode.
+     */
+    public void requestKeyframe(String sessionId) {
+        Map<String, Subscription> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions.values()) {
+            if (subscription.delta() != null) {
+                subscription.delta().requestKeyframe();
+            }
+        }
+    }
+
+    /**
+     * A STOMP session in delta stream mode, with one {@link SensorDeltaEncoder} per device it has seen.
+     */
+    @Getter
+    public static final class DeltaSubscriber {
+        private final String sessionId;
+        private final boolean binary;
+        private final int keyframeInterval;
+        private final Map<Long, SensorDeltaEncoder> encoders = new ConcurrentHashMap<>();
+
+        DeltaSubscriber(String sessionId, boolean binary, int keyframeInterval) {
+            this.sessionId = sessionId;
+            this.binary = binary;
+            this.keyframeInterval = keyframeInterval;
+        }
+
+        public SensorDeltaEncoder encoder(long deviceId) {
+            return encoders.computeIfAbsent(deviceId, id -> new SensorDeltaEncoder(id, keyframeInterval));
+        }
+
+        private void requestKeyframe() {
+            encoders.values().forEach(SensorDeltaEncoder::requestKeyframe);
+        }
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void subscribed(StompHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        if (user == null || !SENSOR_DESTINATION.equals(accessor.getDestination())) {
+            return;
+        }
+
+        String sessionId = accessor.getSessionId();
+        boolean binary = BINARY_CONTENT_TYPE.equals(accessor.getFirstNativeHeader(ACCEPT_HEADER))
+                && isNativeTransport(accessor);
+        boolean delta = DELTA_STREAM_MODE.equals(accessor.getFirstNativeHeader(STREAM_MODE_HEADER));
+
+        DeltaSubscriber deltaSubscriber = null;
+        if (delta) {
+            accessor.setDestination(DELTA_DESTINATION);
+            deltaSubscriber = new DeltaSubscriber(sessionId, binary, keyframeInterval(accessor));
+        } else if (binary) {
+            accessor.setDestination(BINARY_DESTINATION);
+        }
+
+        Subscription subscription = new Subscription(user.getName(), sessionId, binary, deltaSubscriber);
+        Subscription previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), subscription);
+        if (previous != null) {
+            release(previous);
+        }
+        users.compute(user.getName(), (name, streams) -> {
+            UserStreams updated = streams != null ? streams : new UserStreams();
+            updated.add(subscription);
+            return updated;
+        });
+        log.debug("Sensor subscription [{}] of [{}] uses {}{}", accessor.getSubscriptionId(), user.getName(),
+                delta ? "delta " : "", binary ? "binary" : "JSON");
+    }
+
+    private void unsubscribed(String sessionId, String subscriptionId) {
+        Map<String, Subscription> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null || subscriptionId == null) {
+            return;
+        }
+        Subscription subscription = subscriptions.remove(subscriptionId);
+        if (subscription != null) {
+            release(subscription);
+        }
+    }
+
+    private void disconnected(String sessionId) {
+        Map<String, Subscription> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void release(Subscription subscription) {
+        users.computeIfPresent(subscription.username(), (name, streams) -> {
+            streams.remove(subscription);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private int keyframeInterval(StompHeaderAccessor accessor) {
+        String requested = accessor.getFirstNativeHeader(KEYFRAME_INTERVAL_HEADER);
+        if (requested == null) {
+            return properties.getKeyframeInterval();
+        }
+        try {
+            return Math.max(1, Math.min(properties.getMaxKeyframeInterval(), Integer.parseInt(requested.trim())));
+        } catch (NumberFormatException e) {
+            return properties.getKeyframeInterval();
+        }
+    }
+
+    private static boolean isNativeTransport(StompHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        return attributes != null && Boolean.TRUE.equals(attributes.get(NATIVE_TRANSPORT_ATTRIBUTE));
+    }
+
+    private record Subscription(String username, String sessionId, boolean binary, DeltaSubscriber delta) {
+    }
+
+    /**
+     * Sensor subscriptions of one user. Only modified inside {@code users.compute*}.
+     */
+    private static final class UserStreams {
+        private final AtomicInteger json = new AtomicInteger();
+        private final AtomicInteger binary = new AtomicInteger();
+        private final Map<String, DeltaSubscriber> delta = new ConcurrentHashMap<>();
+
+        private void add(Subscription subscription) {
+            if (subscription.delta() != null) {
+                delta.put(subscription.sessionId(), subscription.delta());
+            } else {
+                (subscription.binary() ? binary : json).incrementAndGet();
+            }
+        }
+
+        private void remove(Subscription subscription) {
+            if (subscription.delta() != null) {
+                delta.remove(subscription.sessionId(), subscription.delta());
+            } else {
+                (subscription.binary() ? binary : json).decrementAndGet();
+            }
+        }
+
+        private boolean isEmpty() {
+            return json.get() <= 0 && binary.get() <= 0 && delta.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com._yp.gaitMate.websocket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP endpoints for live sensor stream control.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class SensorStreamController {
+
+    private final SensorEncodingRegistry sensorEncodingRegistry;
+
+    /**
+     * A delta-mode client lost track (e.g. it saw a {@code seq} gap): the next message of each of its
+     * device streams is a keyframe.
+     */
+    @MessageMapping("/sensor/resync")
+    public void resync(SimpMessageHeaderAccessor accessor) {
+        log.debug("Delta resync requested by session [{}]", accessor.getSessionId());
+        sensorEncodingRegistry.requestKeyframe(accessor.getSessionId());
+    }
+}
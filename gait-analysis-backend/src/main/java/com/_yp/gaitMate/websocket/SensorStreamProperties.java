@@ -0,0 +1,33 @@
+package com._yp.gaitMate.websocket;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delta stream mode for {@code /user/topic/data/sensor} subscribers (see {@link SensorEncodingRegistry}).
+ *
+ * <pre>
+ * websocket:
+ *   sensor-stream:
+ *     keyframe-interval: 100
+ *     max-keyframe-interval: 1000
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "websocket.sensor-stream")
+public class SensorStreamProperties {
+
+    /**
+     * Rows between keyframes when the client does not ask for a specific interval (1 s at 100 Hz).
+     */
+    private int keyframeInterval = 100;
+
+    /**
+     * Upper bound for a client-requested {@code keyframe-interval} header.
+     */
+    private int maxKeyframeInterval = 1_000;
+}
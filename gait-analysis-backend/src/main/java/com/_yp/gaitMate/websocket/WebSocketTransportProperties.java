@@ -0,0 +1,61 @@
+package com._yp.gaitMate.websocket;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP channel thread pools and per-session outbound queues.
+ *
+ * <pre>
+ * websocket:
+ *   transport:
+ *     inbound-core-pool-size: 2
+ *     inbound-max-pool-size: 4
+ *     inbound-queue-capacity: 1000
+ *     outbound-core-pool-size: 4
+ *     outbound-max-pool-size: 8
+ *     outbound-queue-capacity: 10000
+ *     writer-threads: 8
+ *     session-queue-capacity: 256
+ *     session-reliable-limit: 1000
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "websocket.transport")
+public class WebSocketTransportProperties {
+
+    /**
+     * Threads handling frames sent by browsers (CONNECT, SUBSCRIBE, /app messages).
+     */
+    private int inboundCorePoolSize = 2;
+    private int inboundMaxPoolSize = 4;
+    private int inboundQueueCapacity = 1_000;
+
+    /**
+     * Threads handing broker messages to sessions. They only enqueue into the session's
+     * {@link OutboundSessionQueue}, so they never wait on a slow socket.
+     */
+    private int outboundCorePoolSize = 4;
+    private int outboundMaxPoolSize = 8;
+    private int outboundQueueCapacity = 10_000;
+
+    /**
+     * Threads writing queued messages to sockets. A slow client holds at most one of them at a time.
+     */
+    private int writerThreads = 8;
+
+    /**
+     * Live data messages (sensor frames, live metrics) a session may have queued before the oldest is dropped.
+     */
+    private int sessionQueueCapacity = 256;
+
+    /**
+     * Messages that are never dropped (status, results) a session may have queued before it is closed
+     * as unreliable. The client reconnects and resubscribes.
+     */
+    private int sessionReliableLimit = 1_000;
+}
@@ -22,6 +22,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 
 @Configuration
@@ -33,6 +34,10 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final WebSocketTransportProperties transportProperties;
+    private final OutboundQueueRegistry outboundQueueRegistry;
+    private final SensorEncodingRegistry sensorEncodingRegistry;
+    private final LiveChannelRegistry liveChannelRegistry;
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -43,7 +48,10 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")  // ✅ allow all origins
                 .withSockJS();
 
-        registry.addEndpoint("/ws").setAllowedOriginPatterns("*");  // ✅ allow all origins; // TODO; set this correctly
+        // Native WebSocket endpoint; only these sessions may negotiate binary sensor frames
+        registry.addEndpoint("/ws")
+                .addInterceptors(sensorEncodingRegistry.nativeEndpoint())
+                .setAllowedOriginPatterns("*");  // ✅ allow all origins; // TODO; set this correctly
     }
 
     @Override
@@ -57,8 +65,27 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setApplicationDestinationPrefixes("/app");
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Every session gets its own bounded outbound queue, so a slow browser only delays itself
+        registration.addDecoratorFactory(outboundQueueRegistry::decorate);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(transportProperties.getOutboundCorePoolSize())
+                .maxPoolSize(transportProperties.getOutboundMaxPoolSize())
+                .queueCapacity(transportProperties.getOutboundQueueCapacity());
+    }
+
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(transportProperties.getInboundCorePoolSize())
+                .maxPoolSize(transportProperties.getInboundMaxPoolSize())
+                .queueCapacity(transportProperties.getInboundQueueCapacity());
+
         registration.interceptors(new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -84,6 +111,6 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
                 return message;
             }
 
-        });
+        }, sensorEncodingRegistry, liveChannelRegistry);   // run after authentication, so SUBSCRIBE frames carry the user
     }
 }
\ No newline at end of file
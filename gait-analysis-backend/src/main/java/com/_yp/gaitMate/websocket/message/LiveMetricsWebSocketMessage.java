@@ -0,0 +1,24 @@
+package com._yp.gaitMate.websocket.message;
+
+import com._yp.gaitMate.gait.GaitMetricsSnapshot;
+import lombok.*;
+
+/**
+ * Running gait metrics for an ACTIVE session, pushed about once per second.
+ * The last message of a session has {@code provisional = true}: it is the in-JVM result
+ * shown until the processing service delivers the final one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class LiveMetricsWebSocketMessage {
+    private WebSocketMessageType type;      // Always LIVE_METRICS
+    private Long sessionId;
+    private Long deviceId;
+    private Long timestamp;
+    private boolean provisional;            // true = session stopped, these are the provisional results
+    private GaitMetricsSnapshot metrics;
+}
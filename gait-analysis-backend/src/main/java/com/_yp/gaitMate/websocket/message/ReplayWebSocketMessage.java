@@ -0,0 +1,40 @@
+package com._yp.gaitMate.websocket.message;
+
+import lombok.*;
+
+/**
+ * One tick of a session replay, sent to the user who started it.
+ * <p>
+ * Frames use the same columnar layout as {@link SensorDataBatchWebSocketMessage}; state changes
+ * (pause, seek, end) are sent with empty arrays. {@code positionMs} is the playback position after
+ * the last frame of this message, relative to the first frame of the recording.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ReplayWebSocketMessage {
+
+    private WebSocketMessageType type;   // Always REPLAY_DATA
+    private String replayId;
+    private Long sessionId;
+    private Long deviceId;
+
+    private State state;
+    private double speed;
+    private long positionMs;
+    private long durationMs;
+
+    private long[] timestamps;
+    private int[][] fsr;
+    private float[][] quaternion;
+
+    public enum State {
+        PLAYING,
+        PAUSED,
+        ENDED
+    }
+}
@@ -0,0 +1,26 @@
+package com._yp.gaitMate.websocket.message;
+
+import lombok.*;
+
+/**
+ * A window of consecutive sensor frames from one device, in columnar form.
+ * <p>
+ * Row {@code i} of every array belongs to the same sample, e.g.
+ * {@code timestamps[i]}, {@code fsr[i][0..15]} (FSR_1..FSR_16) and {@code quaternion[i][0..3]} (q0..q3).
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SensorDataBatchWebSocketMessage {
+
+    private WebSocketMessageType type;   // Always SENSOR_DATA_BATCH
+    private Long deviceId;
+
+    private long[] timestamps;
+    private int[][] fsr;
+    private float[][] quaternion;
+}
@@ -0,0 +1,33 @@
+package com._yp.gaitMate.websocket.message;
+
+import lombok.*;
+
+/**
+ * Delta-encoded live sensor rows for subscribers in delta stream mode.
+ * <p>
+ * Row {@code i} holds {@code timestamps[i]}, {@code fsr[i][0..15]} and {@code quaternion[i][0..3]}.
+ * In a keyframe the first row carries absolute timestamp and FSR values; every other row (and every row of a
+ * non-keyframe message) carries the difference to the row before it, across message boundaries.
+ * Quaternions are always absolute.
+ * </p>
+ *
+ * <p>{@code seq} increases by one per message of a device stream. A client that sees a gap must drop rows until
+ * the next keyframe, or ask for one by sending to {@code /app/sensor/resync}.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SensorDataDeltaWebSocketMessage {
+
+    private WebSocketMessageType type;   // Always SENSOR_DATA_DELTA
+    private Long deviceId;
+    private long seq;
+    private boolean keyframe;
+
+    private long[] timestamps;
+    private int[][] fsr;
+    private float[][] quaternion;
+}
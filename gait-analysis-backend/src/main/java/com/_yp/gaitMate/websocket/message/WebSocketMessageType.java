@@ -2,8 +2,13 @@ package com._yp.gaitMate.websocket.message;
 
 public enum WebSocketMessageType {
     DEVICE_ALIVE,
+    DEVICE_OFFLINE,
     CAL_STATUS,
     ORIENTATION_CAPTURED,
     SENSOR_DATA,
+    SENSOR_DATA_BATCH,
+    SENSOR_DATA_DELTA,
+    LIVE_METRICS,
+    REPLAY_DATA,
     RESULTS_READY
 }
@@ -0,0 +1,32 @@
+package com._yp.gaitMate.websocket.relay;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Moves user notifications between backend instances.
+ * <p>
+ * A STOMP session lives on exactly one node, but MQTT messages and result uploads can land on any node.
+ * {@code NotificationService} asks the {@link PresenceRegistry} where a user is connected, delivers to its
+ * own sessions directly and hands the rest to this relay, addressed to the nodes that need it.
+ * </p>
+ *
+ * <p>Implementations must not deliver an envelope back to the node that sent it.</p>
+ */
+public interface ClusterRelay {
+
+    /**
+     * Identity of this node, as used by the {@link PresenceRegistry}.
+     */
+    String nodeId();
+
+    /**
+     * Sends the envelope to each of the given nodes. Unknown nodes are skipped.
+     */
+    void send(Collection<String> nodeIds, RelayEnvelope envelope);
+
+    /**
+     * Registers the handler for envelopes addressed to this node. There is one receiver per node.
+     */
+    void onReceive(Consumer<RelayEnvelope> receiver);
+}
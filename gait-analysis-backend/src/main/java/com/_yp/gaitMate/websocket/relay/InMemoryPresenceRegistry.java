@@ -0,0 +1,43 @@
+package com._yp.gaitMate.websocket.relay;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link PresenceRegistry} held in this JVM. Pairs with {@link InProcessClusterRelay};
+ * a multi-node deployment needs a shared store behind the same interface.
+ */
+@Component
+@ConditionalOnProperty(name = "websocket.relay.type", havingValue = "in-process", matchIfMissing = true)
+public class InMemoryPresenceRegistry implements PresenceRegistry {
+
+    // username → (nodeId → open sessions)
+    private final Map<String, Map<String, Integer>> presence = new ConcurrentHashMap<>();
+
+    @Override
+    public void sessionOpened(String username, String nodeId) {
+        presence.compute(username, (user, nodes) -> {
+            Map<String, Integer> counts = nodes != null ? nodes : new ConcurrentHashMap<>();
+            counts.merge(nodeId, 1, Integer::sum);
+            return counts;
+        });
+    }
+
+    @Override
+    public void sessionClosed(String username, String nodeId) {
+        presence.computeIfPresent(username, (user, nodes) -> {
+            nodes.computeIfPresent(nodeId, (node, count) -> count > 1 ? count - 1 : null);
+            return nodes.isEmpty() ? null : nodes;
+        });
+    }
+
+    @Override
+    public Set<String> nodesFor(String username) {
+        Map<String, Integer> nodes = presence.get(username);
+        return nodes == null ? Set.of() : Set.copyOf(nodes.keySet());
+    }
+}
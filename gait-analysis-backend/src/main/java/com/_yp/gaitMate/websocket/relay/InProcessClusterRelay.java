@@ -0,0 +1,82 @@
+package com._yp.gaitMate.websocket.relay;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterRelay} between nodes of the same JVM, joined through a {@link Hub}. Envelopes are delivered
+ * synchronously on the sending thread.
+ * <p>
+ * The Spring bean gets a hub of its own, i.e. the backend runs as a single node and presence always
+ * resolves to this node. Tests put several nodes on one hub to exercise cross-node delivery.
+ * </p>
+ *
+ * <p>Default; select explicitly with:</p>
+ * <pre>
+ * websocket:
+ *   relay:
+ *     type: in-process
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "websocket.relay.type", havingValue = "in-process", matchIfMissing = true)
+@Slf4j
+public class InProcessClusterRelay implements ClusterRelay {
+
+    private final String nodeId;
+    private final Hub hub;
+
+    @Autowired
+    public InProcessClusterRelay(RelayProperties properties) {
+        this(properties.getNodeId().isBlank()
+                ? "node-" + UUID.randomUUID().toString().substring(0, 8)
+                : properties.getNodeId(), new Hub());
+    }
+
+    public InProcessClusterRelay(String nodeId, Hub hub) {
+        this.nodeId = nodeId;
+        this.hub = hub;
+        log.info("🔗 Cluster relay node [{}] (in-process)", nodeId);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void send(Collection<String> nodeIds, RelayEnvelope envelope) {
+        for (String target : nodeIds) {
+            if (target.equals(nodeId)) {
+                continue;
+            }
+            Consumer<RelayEnvelope> receiver = hub.receivers.get(target);
+            if (receiver == null) {
+                log.warn("⚠️ Relay target [{}] for [{}] is not connected; dropping {}",
+                        target, envelope.username(), envelope.kind());
+                continue;
+            }
+            receiver.accept(envelope);
+        }
+    }
+
+    @Override
+    public void onReceive(Consumer<RelayEnvelope> receiver) {
+        hub.receivers.put(nodeId, receiver);
+    }
+
+    /**
+     * The nodes that can reach each other.
+     */
+    public static final class Hub {
+        private final Map<String, Consumer<RelayEnvelope>> receivers = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,26 @@
+package com._yp.gaitMate.websocket.relay;
+
+import java.util.Set;
+
+/**
+ * Which nodes currently hold at least one STOMP session for a user.
+ * <p>
+ * Kept up to date by {@link PresenceTracker}; read by {@code NotificationService} on every send,
+ * so lookups must be cheap. Open/close calls are counted, a user stays present on a node until
+ * every session opened there has been closed.
+ * </p>
+ *
+ * <p>Besides usernames, {@code LiveChannelRegistry} registers its device channels here under
+ * {@code #live/<deviceId>} keys, so live frames only travel to nodes that have viewers.</p>
+ */
+public interface PresenceRegistry {
+
+    void sessionOpened(String username, String nodeId);
+
+    void sessionClosed(String username, String nodeId);
+
+    /**
+     * @return the nodes the user is connected to, empty if none
+     */
+    Set<String> nodesFor(String username);
+}
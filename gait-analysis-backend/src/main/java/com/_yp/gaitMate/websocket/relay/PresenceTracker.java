@@ -0,0 +1,68 @@
+package com._yp.gaitMate.websocket.relay;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes this node's STOMP sessions to the {@link PresenceRegistry}.
+ * <p>
+ * Spring can raise more than one {@link SessionDisconnectEvent} for a session (client DISCONNECT, then the
+ * socket closing), so sessions are tracked here and each one is released exactly once.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceTracker {
+
+    private final PresenceRegistry presenceRegistry;
+    private final ClusterRelay clusterRelay;
+
+    // sessionId → username
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (user == null || sessionId == null) {
+            return;
+        }
+        if (sessions.putIfAbsent(sessionId, user.getName()) == null) {
+            presenceRegistry.sessionOpened(user.getName(), clusterRelay.nodeId());
+            log.debug("🟢 [{}] connected on [{}] (session {})", user.getName(), clusterRelay.nodeId(), sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        String username = sessions.remove(event.getSessionId());
+        if (username != null) {
+            presenceRegistry.sessionClosed(username, clusterRelay.nodeId());
+            log.debug("🔴 [{}] disconnected from [{}] (session {})", username, clusterRelay.nodeId(), event.getSessionId());
+        }
+    }
+
+    /**
+     * Withdraws every session of this node, so a shared registry does not keep routing to a stopped node.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sessions.keySet().forEach(sessionId -> {
+            String username = sessions.remove(sessionId);
+            if (username != null) {
+                presenceRegistry.sessionClosed(username, clusterRelay.nodeId());
+            }
+        });
+    }
+}
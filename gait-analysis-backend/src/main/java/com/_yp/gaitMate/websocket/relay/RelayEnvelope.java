@@ -0,0 +1,30 @@
+package com._yp.gaitMate.websocket.relay;
+
+/**
+ * One notification on its way to the node that holds the user's STOMP session.
+ * <p>
+ * The payload is already serialized, so receivers never need the sender's classes:
+ * </p>
+ * <ul>
+ *   <li>{@link Kind#MESSAGE} → the JSON body for the user destination {@code destination}, sent as is</li>
+ *   <li>{@link Kind#BROADCAST} → the JSON body for the broker destination {@code destination} (no user),
+ *       e.g. a {@code /topic/live/{deviceId}} channel</li>
+ *   <li>{@link Kind#SENSOR_FRAME} / {@link Kind#SENSOR_BATCH} → a {@code BinarySensorCodec} kind 1 / kind 2
+ *       message; the receiving node re-encodes it for its own subscribers (JSON, binary or delta)</li>
+ * </ul>
+ *
+ * @param originNode  node that created the envelope
+ * @param username    user to deliver to ({@code null} for {@link Kind#BROADCAST})
+ * @param kind        how to interpret the payload
+ * @param destination user or broker destination, e.g. {@code /topic/status/results} (unused for sensor data)
+ * @param payload     serialized body
+ */
+public record RelayEnvelope(String originNode, String username, Kind kind, String destination, byte[] payload) {
+
+    public enum Kind {
+        MESSAGE,
+        BROADCAST,
+        SENSOR_FRAME,
+        SENSOR_BATCH
+    }
+}
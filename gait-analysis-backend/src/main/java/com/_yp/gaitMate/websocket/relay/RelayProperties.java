@@ -0,0 +1,33 @@
+package com._yp.gaitMate.websocket.relay;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cross-node delivery of user notifications (see {@link ClusterRelay}).
+ *
+ * <pre>
+ * websocket:
+ *   relay:
+ *     type: in-process
+ *     node-id: ${NODE_ID:}
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "websocket.relay")
+public class RelayProperties {
+
+    /**
+     * Which {@link ClusterRelay} to use. Only {@code in-process} (single node) ships with the backend.
+     */
+    private String type = "in-process";
+
+    /**
+     * Identity of this backend instance in the presence registry. A random ID is used when blank.
+     */
+    private String nodeId = "";
+}
@@ -0,0 +1,191 @@
+package com._yp.gaitMate.SQS;
+
+import com._yp.gaitMate.model.OutboxMessage;
+import com._yp.gaitMate.repository.OutboxMessageRepository;
+import com._yp.gaitMate.service.testSessionService.DataProcessingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    private static final String QUEUE = "processing";
+    private static final Instant T0 = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final OutboxMessageRepository repository = mock(OutboxMessageRepository.class);
+    private final DataProcessingService dataProcessingService = mock(DataProcessingService.class);
+    private final InMemorySqsGateway gateway = spy(new InMemorySqsGateway());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final List<OutboxMessage> table = new ArrayList<>();
+
+    private Clock clock = Clock.fixed(T0, ZoneOffset.UTC);
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties.setClaimSize(25);
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoffMs(1_000);
+        properties.setMaxBackoffMs(1_500);
+
+        when(repository.claimDue(any(), any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return table.stream()
+                    .filter(m -> m.getStatus() == OutboxMessage.Status.PENDING && !m.getNextAttemptAt().isAfter(now))
+                    .sorted(Comparator.comparing(OutboxMessage::getId))
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+        when(repository.countByStatus(OutboxMessage.Status.PENDING)).thenAnswer(invocation ->
+                table.stream().filter(m -> m.getStatus() == OutboxMessage.Status.PENDING).count());
+        when(repository.findOldestPendingCreatedAt()).thenAnswer(invocation -> table.stream()
+                .filter(m -> m.getStatus() == OutboxMessage.Status.PENDING)
+                .map(OutboxMessage::getCreatedAt)
+                .min(Comparator.naturalOrder()));
+
+        dispatcher = newDispatcher();
+    }
+
+    @Test
+    void drain_shouldSendPendingRowsInBatchesOfTen() {
+        for (long id = 1; id <= 23; id++) {
+            enqueue(id, T0);
+        }
+
+        assertEquals(23, dispatcher.drain());
+
+        verify(gateway, times(3)).sendBatch(eq(QUEUE), anyList());
+        assertEquals(23, gateway.messages(QUEUE).size());
+        assertEquals("{\"sessionId\":1}", gateway.messages(QUEUE).get(0));
+        assertTrue(table.stream().allMatch(m -> m.getStatus() == OutboxMessage.Status.SENT));
+        assertEquals(23, meterRegistry.get("sqs.outbox.dispatched").tag("result", "sent").counter().count());
+        assertEquals(0, meterRegistry.get("sqs.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void drain_shouldRetryWithBackoffAndFailSessionAfterMaxAttempts() {
+        enqueue(1L, T0);
+        gateway.setFailing(true);
+
+        dispatcher.drain();
+        OutboxMessage message = table.get(0);
+        assertEquals(OutboxMessage.Status.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertEquals(T0.plusMillis(1_000), message.getNextAttemptAt());
+        assertNotNull(message.getLastError());
+
+        // not due yet
+        assertEquals(0, dispatcher.drain());
+
+        advance(1_000);
+        dispatcher.drain();
+        assertEquals(2, message.getAttempts());
+        assertEquals(T0.plusMillis(1_000 + 1_500), message.getNextAttemptAt());   // capped at max-backoff-ms
+        assertEquals(1.0, dispatcher.lagSeconds(), 1e-9);     // oldest pending row was created at T0
+
+        advance(1_500);
+        dispatcher.drain();
+        assertEquals(OutboxMessage.Status.FAILED, message.getStatus());
+        verify(dataProcessingService).markSessionAsFailed(1L);
+        assertEquals(2, meterRegistry.get("sqs.outbox.dispatched").tag("result", "retried").counter().count());
+        assertEquals(1, meterRegistry.get("sqs.outbox.dispatched").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void drain_shouldOnlyRetryEntriesRejectedWithinTheBatch() {
+        enqueue(1L, T0);
+        enqueue(2L, T0);
+        doReturn(Map.of("2", "InternalError: try again")).when(gateway).sendBatch(eq(QUEUE), anyList());
+
+        dispatcher.drain();
+
+        assertEquals(OutboxMessage.Status.SENT, table.get(0).getStatus());
+        assertEquals(OutboxMessage.Status.PENDING, table.get(1).getStatus());
+        assertEquals("InternalError: try again", table.get(1).getLastError());
+        verify(dataProcessingService, never()).markSessionAsFailed(anyLong());
+    }
+
+    @Test
+    void drain_shouldResumePendingRowsLeftByAPreviousRun() {
+        OutboxMessage leftOver = enqueue(7L, T0.minusSeconds(30));
+        leftOver.setAttempts(1);
+        leftOver.setNextAttemptAt(T0.minusSeconds(20));
+
+        // a fresh dispatcher, as after a restart
+        dispatcher = newDispatcher();
+        dispatcher.drain();
+
+        assertEquals(OutboxMessage.Status.SENT, leftOver.getStatus());
+        assertEquals(2, leftOver.getAttempts());
+        assertEquals(T0, leftOver.getSentAt());
+        assertEquals(1, gateway.messages(QUEUE).size());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private OutboxDispatcher newDispatcher() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new OutboxDispatcher(properties, repository, gateway, transactionTemplate,
+                dataProcessingService, meterRegistry, new DelegatingClock());
+    }
+
+    private OutboxMessage enqueue(long sessionId, Instant createdAt) {
+        OutboxMessage message = OutboxMessage.builder()
+                .id((long) table.size() + 1)
+                .queueName(QUEUE)
+                .sessionId(sessionId)
+                .payload("{\"sessionId\":" + sessionId + "}")
+                .status(OutboxMessage.Status.PENDING)
+                .createdAt(createdAt)
+                .nextAttemptAt(createdAt)
+                .build();
+        table.add(message);
+        return message;
+    }
+
+    private void advance(long millis) {
+        clock = Clock.offset(clock, Duration.ofMillis(millis));
+    }
+
+    /**
+     * Lets the test move time after the dispatcher has been built.
+     */
+    private class DelegatingClock extends Clock {
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return clock.instant();
+        }
+    }
+}
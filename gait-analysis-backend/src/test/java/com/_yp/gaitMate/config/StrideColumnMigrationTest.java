@@ -0,0 +1,82 @@
+package com._yp.gaitMate.config;
+
+import com._yp.gaitMate.util.PackedDoubleArrayConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrideColumnMigrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private StrideColumnMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migration = new StrideColumnMigration(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    @Test
+    void start_shouldPackLegacyTextColumnsAndClearThem() {
+        createTable(true);
+        for (long id = 1; id <= StrideColumnMigration.BATCH_SIZE + 2; id++) {
+            jdbcTemplate.update("INSERT INTO processed_test_results (id, stride_times, stride_lengths) VALUES (?, ?, ?)",
+                    id, "1.1,1.2", id == 1 ? "0.75" : "");
+        }
+        jdbcTemplate.update("INSERT INTO processed_test_results (id, stride_times_packed) VALUES (?, ?)",
+                1000L, PackedDoubleArrayConverter.pack(new double[]{0.9}));
+
+        migration.start();
+
+        assertArrayEquals(new double[]{1.1, 1.2}, packed("stride_times_packed", 1L));
+        assertArrayEquals(new double[]{0.75}, packed("stride_lengths_packed", 1L));
+        assertArrayEquals(new double[]{1.1, 1.2}, packed("stride_times_packed", 502L));
+        assertEquals(0, packed("stride_lengths_packed", 502L).length);
+        assertArrayEquals(new double[]{0.9}, packed("stride_times_packed", 1000L));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM processed_test_results WHERE stride_times IS NOT NULL OR stride_lengths IS NOT NULL",
+                Integer.class));
+        assertEquals(0, migration.migrateBatch());
+    }
+
+    @Test
+    void getPhase_shouldStartBeforeTheWebServer() {
+        // WebServerStartStopLifecycle runs in phase Integer.MAX_VALUE - 2048
+        assertTrue(migration.getPhase() < Integer.MAX_VALUE - 2048);
+    }
+
+    @Test
+    void start_shouldSkipSchemaWithoutLegacyColumns() {
+        createTable(false);
+
+        migration.start();
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_test_results", Integer.class));
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void createTable(boolean withLegacyColumns) {
+        jdbcTemplate.execute("CREATE TABLE processed_test_results (id BIGINT PRIMARY KEY"
+                + (withLegacyColumns ? ", stride_times TEXT, stride_lengths TEXT" : "")
+                + ", stride_times_packed VARBINARY, stride_lengths_packed VARBINARY)");
+    }
+
+    private double[] packed(String column, long id) {
+        byte[] bytes = jdbcTemplate.queryForObject(
+                "SELECT " + column + " FROM processed_test_results WHERE id = ?", byte[].class, id);
+        return PackedDoubleArrayConverter.unpack(bytes);
+    }
+}
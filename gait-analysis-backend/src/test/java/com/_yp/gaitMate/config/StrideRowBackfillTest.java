@@ -0,0 +1,103 @@
+package com._yp.gaitMate.config;
+
+import com._yp.gaitMate.model.Stride;
+import com._yp.gaitMate.repository.StrideRepository;
+import com._yp.gaitMate.util.PackedDoubleArrayConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StrideRowBackfillTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 1, 9, 30);
+
+    private JdbcTemplate jdbcTemplate;
+    private StrideRepository strideRepository;
+    private StrideRowBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        strideRepository = mock(StrideRepository.class);
+        backfill = new StrideRowBackfill(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), strideRepository);
+
+        jdbcTemplate.execute("CREATE TABLE test_session (id BIGINT PRIMARY KEY, patient_id BIGINT, start_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE processed_test_results (id BIGINT PRIMARY KEY, session_id BIGINT,"
+                + " stride_times_packed VARBINARY, stride_lengths_packed VARBINARY)");
+        jdbcTemplate.execute("CREATE TABLE stride (id BIGINT PRIMARY KEY, session_id BIGINT)");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_shouldExpandPackedArraysOfSessionsWithoutStrideRows() {
+        // result 1: no rows yet, result 2: already has rows, result 3: no strides, result 4: unreadable
+        for (long id = 1; id <= 4; id++) {
+            jdbcTemplate.update("INSERT INTO test_session VALUES (?, ?, ?)", 10 + id, 7L, START.plusDays(id));
+        }
+        insertResult(1L, 11L, PackedDoubleArrayConverter.pack(new double[]{1.1, 1.2, 1.3}),
+                PackedDoubleArrayConverter.pack(new double[]{0.7, 0.8}));
+        insertResult(2L, 12L, PackedDoubleArrayConverter.pack(new double[]{1.0}), null);
+        insertResult(3L, 13L, null, null);
+        insertResult(4L, 14L, new byte[]{9, 0}, null);
+        jdbcTemplate.update("INSERT INTO stride VALUES (1, 12)");
+
+        backfill.start();
+
+        ArgumentCaptor<List<Stride>> saved = ArgumentCaptor.forClass(List.class);
+        verify(strideRepository).saveAll(saved.capture());
+        List<Stride> strides = saved.getValue();
+        assertEquals(3, strides.size());
+        assertEquals(List.of(0, 1, 2), strides.stream().map(Stride::getStrideIndex).toList());
+        assertEquals(List.of(1.1, 1.2, 1.3), strides.stream().map(Stride::getStrideTime).toList());
+        assertEquals(0.8, strides.get(1).getStrideLength());
+        assertNull(strides.get(2).getStrideLength());
+        assertEquals(11L, strides.get(0).getSessionId());
+        assertEquals(7L, strides.get(0).getPatientId());
+        assertEquals(START.plusDays(1), strides.get(0).getSessionStart());
+    }
+
+    @Test
+    void backfillBatch_shouldResumeAfterTheLastClaimedResult() {
+        for (long id = 1; id <= StrideRowBackfill.BATCH_SIZE + 1; id++) {
+            jdbcTemplate.update("INSERT INTO test_session VALUES (?, ?, ?)", id, 7L, START);
+            insertResult(id, id, PackedDoubleArrayConverter.pack(new double[]{1.0}), null);
+        }
+
+        StrideRowBackfill.Batch first = backfill.backfillBatch(0);
+        StrideRowBackfill.Batch second = backfill.backfillBatch(first.lastId());
+
+        assertEquals(StrideRowBackfill.BATCH_SIZE, first.results());
+        assertEquals(StrideRowBackfill.BATCH_SIZE, first.lastId());
+        assertEquals(1, second.results());
+        assertNull(backfill.backfillBatch(second.lastId()));
+    }
+
+    @Test
+    void getPhase_shouldRunAfterColumnMigrationAndBeforeTheWebServer() {
+        assertTrue(backfill.getPhase() > StrideColumnMigration.PHASE);
+        assertTrue(backfill.getPhase() < Integer.MAX_VALUE - 2048);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void insertResult(long id, long sessionId, byte[] strideTimes, byte[] strideLengths) {
+        jdbcTemplate.update("INSERT INTO processed_test_results VALUES (?, ?, ?, ?)",
+                id, sessionId, strideTimes, strideLengths);
+    }
+}
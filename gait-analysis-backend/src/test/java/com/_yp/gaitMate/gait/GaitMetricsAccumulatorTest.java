@@ -0,0 +1,82 @@
+package com._yp.gaitMate.gait;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GaitMetricsAccumulatorTest {
+
+    private static final int[] REARFOOT = {2, 3};
+    private static final int[] FOREFOOT = {4, 5, 6, 7, 8, 11, 14, 15};
+
+    @Test
+    void accept_shouldDetectOneStepPerStride() {
+        GaitMetricsAccumulator accumulator = new GaitMetricsAccumulator();
+        // 60 s of walking at 100 Hz with a 1.1 s stride → 54 full strides
+        walk(accumulator, 6000, 1100, new Random(7));
+
+        GaitMetricsSnapshot snapshot = accumulator.snapshot();
+        assertEquals(55, snapshot.getInitialContacts());
+        assertEquals(54, snapshot.getToeOffs());
+        assertEquals(54, snapshot.getSteps());
+        assertEquals(60.0, snapshot.getDurationSeconds(), 0.1);
+        assertEquals(54, snapshot.getStrideTimes().size());
+        snapshot.getStrideTimes().forEach(stride -> assertEquals(1.1, stride, 0.03));
+        assertEquals(0.66, snapshot.getAvgStanceTime(), 0.01);
+        assertEquals(0.44, snapshot.getAvgSwingTime(), 0.01);
+    }
+
+    @Test
+    void accept_shouldTrackForcesAndPeak() {
+        GaitMetricsAccumulator accumulator = new GaitMetricsAccumulator();
+        walk(accumulator, 2200, 1100, new Random(3));
+
+        GaitMetricsSnapshot snapshot = accumulator.snapshot();
+        assertTrue(snapshot.getAvgHeelForce() > 0);
+        assertTrue(snapshot.getAvgToeForce() > 0);
+        assertEquals(0.0, snapshot.getAvgMidfootForce(), 1.0);
+        assertTrue(snapshot.getPeakImpact() >= 2900 && snapshot.getPeakImpact() <= 3100);
+        assertTrue(snapshot.getBalanceScore() > 0 && snapshot.getBalanceScore() <= 1);
+    }
+
+    @Test
+    void snapshot_shouldBeEmptyWithoutFrames() {
+        GaitMetricsSnapshot snapshot = new GaitMetricsAccumulator().snapshot();
+        assertEquals(0, snapshot.getSteps());
+        assertEquals(0.0, snapshot.getCadence());
+        assertTrue(snapshot.getStrideTimes().isEmpty());
+    }
+
+    /**
+     * Heel loads during the first 30 % of each stride, forefoot during 25–60 %, nothing in swing.
+     */
+    private static void walk(GaitMetricsAccumulator accumulator, int samples, int strideMs, Random random) {
+        SensorFrame frame = new SensorFrame();
+        for (int i = 0; i < samples; i++) {
+            long t = i * 10L;
+            double phase = (t % strideMs) / (double) strideMs;
+            frame.setTimestamp(1_718_000_000_000L + t);
+            java.util.Arrays.fill(frame.getFsr(), 0);
+            int heel = load(phase, 0.0, 0.30, random);
+            int toe = load(phase, 0.25, 0.60, random);
+            for (int c : REARFOOT) {
+                frame.getFsr()[c] = heel;
+            }
+            for (int c : FOREFOOT) {
+                frame.getFsr()[c] = toe;
+            }
+            accumulator.accept(frame);
+        }
+    }
+
+    private static int load(double phase, double from, double to, Random random) {
+        if (phase < from || phase > to) {
+            return 0;
+        }
+        double value = Math.sin(Math.PI * (phase - from) / (to - from)) * 3000;
+        return Math.max(0, (int) (value + random.nextGaussian() * 5));
+    }
+}
@@ -0,0 +1,58 @@
+package com._yp.gaitMate.mqtt.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeviceTopicDispatcherTest {
+
+    @Test
+    void dispatch_shouldPassParsedDeviceIdToMatchingListener() {
+        AbstractTopicListener sensor = listener("sensor_data");
+        AbstractTopicListener alive = listener("status/alive");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DeviceTopicDispatcher dispatcher = new DeviceTopicDispatcher(List.of(sensor, alive), registry);
+        byte[] payload = {1};
+
+        assertTrue(dispatcher.dispatch("device/34/status/alive", payload));
+        assertTrue(dispatcher.dispatch("device/7/sensor_data", payload));
+
+        verify(alive).deliver(34L, "device/34/status/alive", payload);
+        verify(sensor).deliver(7L, "device/7/sensor_data", payload);
+        assertEquals(0.0, registry.counter("mqtt.dispatch.unrouted").count());
+    }
+
+    @Test
+    void dispatch_shouldCountUnroutedAndMalformedTopics() {
+        AbstractTopicListener sensor = listener("sensor_data");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DeviceTopicDispatcher dispatcher = new DeviceTopicDispatcher(List.of(sensor), registry);
+
+        assertFalse(dispatcher.dispatch("device/34/status/unknown", new byte[0]));
+        assertFalse(dispatcher.dispatch("device/abc/sensor_data", new byte[0]));
+        assertFalse(dispatcher.dispatch("device//sensor_data", new byte[0]));
+        assertFalse(dispatcher.dispatch("device/34", new byte[0]));
+
+        verify(sensor, never()).deliver(anyLong(), anyString(), any());
+        assertEquals(4.0, registry.counter("mqtt.dispatch.unrouted").count());
+    }
+
+    @Test
+    void parseDeviceId_shouldRejectNonDigits() {
+        String topic = "device/1234/x";
+        assertEquals(1234L, DeviceTopicDispatcher.parseDeviceId(topic, 7, 11));
+        assertEquals(-1L, DeviceTopicDispatcher.parseDeviceId("device/12a4/x", 7, 11));
+        assertEquals(-1L, DeviceTopicDispatcher.parseDeviceId(topic, 7, 7));
+    }
+
+    private static AbstractTopicListener listener(String filter) {
+        AbstractTopicListener listener = mock(AbstractTopicListener.class);
+        when(listener.deviceTopicFilter()).thenReturn(filter);
+        return listener;
+    }
+}
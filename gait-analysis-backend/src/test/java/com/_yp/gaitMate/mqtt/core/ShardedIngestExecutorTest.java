@@ -0,0 +1,88 @@
+package com._yp.gaitMate.mqtt.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedIngestExecutorTest {
+
+    private ShardedIngestExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void execute_shouldKeepOrderPerKey() throws InterruptedException {
+        executor = new ShardedIngestExecutor("test", 4, 1000, OverflowPolicy.BLOCK, new SimpleMeterRegistry());
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(500);
+
+        for (int i = 0; i < 500; i++) {
+            int value = i;
+            executor.execute(42L, () -> {
+                seen.add(value);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void execute_shouldDropOldestWhenShardIsFull() throws InterruptedException {
+        executor = new ShardedIngestExecutor("test", 1, 2, OverflowPolicy.DROP_OLDEST, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+
+        executor.execute(1L, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch done = new CountDownLatch(2);
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            executor.execute(1L, () -> {
+                seen.add(value);
+                done.countDown();
+            });
+        }
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(3, 4), seen);
+        assertEquals(3, executor.droppedCount());
+    }
+
+    @Test
+    void deviceKey_shouldOnlyDependOnDeviceSegment() {
+        assertEquals(AbstractTopicListener.deviceKey("device/34/sensor_data"),
+                AbstractTopicListener.deviceKey("device/34/status/alive"));
+        assertNotEquals(AbstractTopicListener.deviceKey("device/34/sensor_data"),
+                AbstractTopicListener.deviceKey("device/35/sensor_data"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
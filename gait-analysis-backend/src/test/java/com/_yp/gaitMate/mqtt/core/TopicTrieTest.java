@@ -0,0 +1,54 @@
+package com._yp.gaitMate.mqtt.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicTrieTest {
+
+    @Test
+    void match_shouldPreferExactOverWildcards() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("status/alive", "alive");
+        trie.add("status/+", "anyStatus");
+        trie.add("#", "everything");
+
+        assertEquals("alive", trie.match("status/alive"));
+        assertEquals("anyStatus", trie.match("status/calibration"));
+        assertEquals("everything", trie.match("sensor_data"));
+        assertEquals("everything", trie.match("status/alive/extra"));
+    }
+
+    @Test
+    void match_shouldStartAtOffset() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("sensor_data", "sensor");
+        trie.add("status/orientation", "orientation");
+
+        String topic = "device/34/status/orientation";
+        assertEquals("orientation", trie.match(topic, "device/34/".length()));
+        assertEquals("sensor", trie.match("device/7/sensor_data", "device/7/".length()));
+        assertNull(trie.match("device/7/sensor", "device/7/".length()));
+        assertNull(trie.match("device/7/status", "device/7/".length()));
+    }
+
+    @Test
+    void match_multiLevelWildcardShouldMatchParentLevel() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("status/#", "status");
+
+        assertEquals("status", trie.match("status"));
+        assertEquals("status", trie.match("status/alive/x"));
+        assertNull(trie.match("statusx"));
+    }
+
+    @Test
+    void add_shouldRejectInvalidFilters() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("status/alive", "alive");
+
+        assertThrows(IllegalArgumentException.class, () -> trie.add("status/alive", "again"));
+        assertThrows(IllegalArgumentException.class, () -> trie.add("#/alive", "bad"));
+        assertThrows(IllegalArgumentException.class, () -> trie.add("status/al+", "bad"));
+    }
+}
@@ -0,0 +1,57 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import com._yp.gaitMate.model.StreamCompleteness;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceStreamsTest {
+
+    private final StreamProperties properties = new StreamProperties();
+    private final DeviceStreams streams = new DeviceStreams(properties);
+    private final List<Long> emitted = new ArrayList<>();
+
+    @Test
+    void beginSession_shouldAcceptFramesBehindThePreviousSession() {
+        properties.setReorderWindowFrames(0);
+        for (long t : new long[]{90_000, 90_010}) {
+            streams.accept(frame(1, t), f -> emitted.add(f.getTimestamp()));
+        }
+
+        // the kit rebooted between sessions; 100 ms is far below the restart threshold
+        streams.beginSession(1L);
+        streams.accept(frame(1, 89_900), f -> emitted.add(f.getTimestamp()));
+        streams.accept(frame(1, 89_910), f -> emitted.add(f.getTimestamp()));
+        StreamCompleteness report = streams.endSession(1L);
+
+        assertEquals(List.of(90_000L, 90_010L, 89_900L, 89_910L), emitted);
+        assertEquals(2, report.getFramesAccepted());
+        assertEquals(0, report.getLateFrames());
+    }
+
+    @Test
+    void evictIdle_shouldForgetIdleDevicesOutsideASession() {
+        List<Long> flushedDevices = new ArrayList<>();
+        streams.accept(frame(1, 100), f -> flushedDevices.add(f.getDeviceId()));
+        streams.accept(frame(2, 100), f -> flushedDevices.add(f.getDeviceId()));
+        streams.beginSession(2L);
+
+        streams.evictIdle(System.currentTimeMillis() + properties.getIdleEvictionMs() + 1);
+
+        assertEquals(1, streams.size());
+        // device 2 was flushed when its session began, device 1 when it was evicted
+        assertEquals(List.of(2L, 1L), flushedDevices);
+        assertNull(streams.endSession(1L));
+        assertNotNull(streams.endSession(2L));
+    }
+
+    private static SensorFrame frame(long deviceId, long timestamp) {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(deviceId);
+        frame.setTimestamp(timestamp);
+        return frame;
+    }
+}
@@ -0,0 +1,101 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import com._yp.gaitMate.model.StreamCompleteness;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReorderBufferTest {
+
+    private final List<Long> emitted = new ArrayList<>();
+
+    @Test
+    void push_shouldEmitInTimestampOrderAndDropDuplicates() {
+        ReorderBuffer buffer = new ReorderBuffer(3, 10, 1000);
+
+        for (long t : new long[]{10, 30, 20, 20, 40, 60, 50, 70}) {
+            buffer.push(frame(t), f -> emitted.add(f.getTimestamp()));
+        }
+        buffer.flush(f -> emitted.add(f.getTimestamp()));
+
+        assertEquals(List.of(10L, 20L, 30L, 40L, 50L, 60L, 70L), emitted);
+        StreamCompleteness report = buffer.getQuality().toReport();
+        assertEquals(8, report.getFramesReceived());
+        assertEquals(7, report.getFramesAccepted());
+        assertEquals(1, report.getDuplicateFrames());
+        assertEquals(0, report.getGapCount());
+        assertEquals(1.0, report.getCompleteness());
+        assertEquals(100.0, report.getEffectiveSampleRateHz());
+    }
+
+    @Test
+    void push_shouldCountLateFramesAndRedeliveriesOfEmittedFrames() {
+        ReorderBuffer buffer = new ReorderBuffer(1, 10, 1000);
+
+        for (long t : new long[]{10, 20, 30, 10, 15, 40}) {
+            buffer.push(frame(t), f -> emitted.add(f.getTimestamp()));
+        }
+
+        assertEquals(List.of(10L, 20L, 30L), emitted);
+        assertEquals(1, buffer.getQuality().getDuplicates());
+        assertEquals(1, buffer.getQuality().getLate());
+    }
+
+    @Test
+    void push_shouldReportGapsAndMissingFrames() {
+        ReorderBuffer buffer = new ReorderBuffer(0, 10, 1000);
+
+        for (long t : new long[]{0, 10, 20, 60, 70, 71}) {
+            buffer.push(frame(t), f -> emitted.add(f.getTimestamp()));
+        }
+
+        StreamCompleteness report = buffer.getQuality().toReport();
+        assertEquals(1, report.getGapCount());
+        assertEquals(3, report.getMissingFrames());
+        assertEquals(40, report.getLargestGapMs());
+        assertEquals(6.0 / 9.0, report.getCompleteness(), 0.0001);
+    }
+
+    @Test
+    void push_shouldRestartOrderingWhenTheDeviceClockGoesBack() {
+        ReorderBuffer buffer = new ReorderBuffer(1, 10, 1000);
+
+        // the kit rebooted before time sync and counts from 0 again
+        for (long t : new long[]{5000, 5010, 5020, 0, 10, 20}) {
+            buffer.push(frame(t), f -> emitted.add(f.getTimestamp()));
+        }
+        buffer.flush(f -> emitted.add(f.getTimestamp()));
+
+        assertEquals(List.of(5000L, 5010L, 5020L, 0L, 10L, 20L), emitted);
+        StreamCompleteness report = buffer.getQuality().toReport();
+        assertEquals(1, buffer.getQuality().getRestarts());
+        assertEquals(0, report.getLateFrames());
+        assertEquals(0, report.getGapCount());
+        assertEquals(100.0, report.getEffectiveSampleRateHz());
+    }
+
+    @Test
+    void restart_shouldAcceptFramesBehindTheLastEmittedOne() {
+        ReorderBuffer buffer = new ReorderBuffer(0, 10, 1000);
+
+        for (long t : new long[]{1000, 1010, 600}) {
+            buffer.push(frame(t), f -> emitted.add(f.getTimestamp()));
+        }
+        buffer.restart(f -> emitted.add(f.getTimestamp()));
+        buffer.push(frame(600), f -> emitted.add(f.getTimestamp()));
+
+        assertEquals(List.of(1000L, 1010L, 600L), emitted);
+        assertEquals(1, buffer.getQuality().getLate());
+        assertEquals(0, buffer.getQuality().getRestarts());
+    }
+
+    private static SensorFrame frame(long timestamp) {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(1);
+        frame.setTimestamp(timestamp);
+        return frame;
+    }
+}
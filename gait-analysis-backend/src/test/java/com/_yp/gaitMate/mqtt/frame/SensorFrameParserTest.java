@@ -0,0 +1,78 @@
+package com._yp.gaitMate.mqtt.frame;
+
+import com._yp.gaitMate.mqtt.listeners.ListenerUtil;
+import com._yp.gaitMate.websocket.message.SensorDataWebSocketMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensorFrameParserTest {
+
+    private static final String TOPIC = "device/34/sensor_data";
+
+    private static final String PAYLOAD = "{ \"type\": \"sensor_data\", \"device_id\": \"34\", \"timestamp\": 1718000000123"
+            + ", \"FSR_1\": 812, \"FSR_2\": 1650, \"FSR_3\": 1702, \"FSR_4\": 1533, \"FSR_5\": 402"
+            + ", \"FSR_6\": 95, \"FSR_7\": 130, \"FSR_8\": 88, \"FSR_9\": 101, \"FSR_10\": 1490"
+            + ", \"FSR_11\": 377, \"FSR_12\": 265, \"FSR_13\": 310, \"FSR_14\": 288, \"FSR_15\": 199, \"FSR_16\": 64"
+            + ", \"yaw\": 12.54, \"pitch\": -3.12, \"roll\": 0.87"
+            + ", \"q0\": 0.99, \"q1\": 0.02, \"q2\": -0.03, \"q3\": 1.1e-2"
+            + ", \"ax\": 0.123456789, \"ay\": -45, \"az\": 9.78"
+            + ", \"gx\": 0.01, \"gy\": -0.02, \"gz\": 0.35"
+            + ", \"sys_cal\": 3, \"gyro_cal\": 3, \"accel_cal\": 1, \"mag_cal\": 2 }";
+
+    @Test
+    void parse_shouldMatchTreeBasedExtraction() {
+        SensorFrame frame = new SensorFrame();
+        SensorFrameParser.parse(TOPIC, PAYLOAD.getBytes(StandardCharsets.UTF_8), frame);
+
+        SensorDataWebSocketMessage expected = ListenerUtil.extractSensorData(TOPIC, PAYLOAD);
+        SensorDataWebSocketMessage actual = frame.toWebSocketMessage();
+
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(34L, frame.getDeviceId());
+        assertEquals(1718000000123L, frame.getTimestamp());
+    }
+
+    @Test
+    void parse_shouldReuseFrameAcrossMessages() {
+        SensorFrame frame = new SensorFrame();
+        SensorFrameParser.parse(TOPIC, PAYLOAD.getBytes(StandardCharsets.UTF_8), frame);
+
+        String next = PAYLOAD.replace("\"FSR_1\": 812", "\"FSR_1\": 5").replace("1718000000123", "1718000000133");
+        SensorFrameParser.parse("device/7/sensor_data", next.getBytes(StandardCharsets.UTF_8), frame);
+
+        assertEquals(7L, frame.getDeviceId());
+        assertEquals(1718000000133L, frame.getTimestamp());
+        assertEquals(5, frame.getFsr()[0]);
+    }
+
+    @Test
+    void parse_shouldRejectWrongType() {
+        String payload = PAYLOAD.replace("sensor_data", "device_alive");
+        SensorFrame frame = new SensorFrame();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SensorFrameParser.parse(TOPIC, payload.getBytes(StandardCharsets.UTF_8), frame));
+    }
+
+    @Test
+    void parse_shouldRejectMissingFields() {
+        String payload = PAYLOAD.replace(", \"mag_cal\": 2", "");
+        SensorFrame frame = new SensorFrame();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SensorFrameParser.parse(TOPIC, payload.getBytes(StandardCharsets.UTF_8), frame));
+        assertTrue(e.getMessage().contains("mag_cal"));
+    }
+
+    @Test
+    void parseDecimal_shouldMatchJdk() {
+        String[] samples = {"0.1", "-3.12", "9.78", "1e-3", "12345.678901", "-0.0", "6.02E2", "0.30000000000000004"};
+        for (String sample : samples) {
+            char[] chars = sample.toCharArray();
+            assertEquals(Double.parseDouble(sample), SensorFrameParser.parseDecimal(chars, 0, chars.length), sample);
+        }
+    }
+}
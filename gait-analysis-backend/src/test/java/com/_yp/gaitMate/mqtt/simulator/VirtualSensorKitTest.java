@@ -0,0 +1,46 @@
+package com._yp.gaitMate.mqtt.simulator;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.mqtt.frame.SensorFrameParser;
+import com._yp.gaitMate.mqtt.listeners.ListenerUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualSensorKitTest {
+
+    @Test
+    void sensorDataPayload_shouldParseBackToGeneratedFrame() {
+        VirtualSensorKit kit = new VirtualSensorKit(34, 10, 1_718_000_000_000L, 7);
+        VirtualSensorKit twin = new VirtualSensorKit(34, 10, 1_718_000_000_000L, 7);
+        SensorFrame expected = new SensorFrame();
+        SensorFrame parsed = new SensorFrame();
+
+        for (int i = 0; i < 300; i++) {
+            byte[] payload = kit.nextSensorDataPayload();
+            twin.next(expected);
+            SensorFrameParser.parse("device/34/sensor_data", payload, parsed);
+
+            assertEquals(expected.getTimestamp(), parsed.getTimestamp());
+            assertEquals(expected.getTimestamp(), kit.lastFrameTimestamp());
+            assertArrayEquals(expected.getFsr(), parsed.getFsr());
+            assertArrayEquals(expected.getImu(), parsed.getImu());
+            assertArrayEquals(expected.getCal(), parsed.getCal());
+        }
+    }
+
+    @Test
+    void statusPayloads_shouldBeAcceptedByListenerParsing() {
+        VirtualSensorKit kit = new VirtualSensorKit(5, 10, 1_000L, 1);
+
+        String alive = new String(kit.alivePayload(), StandardCharsets.UTF_8);
+        assertTrue(ListenerUtil.extractAliveStatus(5L, alive).isStatus());
+
+        String calibrating = new String(kit.calibrationPayload(false), StandardCharsets.UTF_8);
+        assertFalse(ListenerUtil.extractCalibrationStatus(5L, calibrating).isStatus());
+        assertEquals(3, ListenerUtil.extractCalibrationStatus(5L,
+                new String(kit.calibrationPayload(true), StandardCharsets.UTF_8)).getMag());
+    }
+}
@@ -0,0 +1,57 @@
+package com._yp.gaitMate.mqtt.transport;
+
+import com.amazonaws.services.iot.client.AWSIotMessage;
+import com.amazonaws.services.iot.client.AWSIotQos;
+import com.amazonaws.services.iot.client.AWSIotTopic;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoopbackMqttTransportTest {
+
+    @Test
+    void publish_shouldDeliverToEveryMatchingSubscription() {
+        LoopbackMqttTransport transport = new LoopbackMqttTransport();
+        List<String> devices = new ArrayList<>();
+        List<String> alive = new ArrayList<>();
+        transport.subscribe(recording("device/+/#", devices));
+        transport.subscribe(recording("device/+/status/alive", alive));
+
+        transport.publish("device/3/status/alive", AWSIotQos.QOS1, "a".getBytes());
+        transport.publish("device/3/sensor_data", AWSIotQos.QOS1, "s".getBytes());
+        transport.publish("test/topic", AWSIotQos.QOS1, "t".getBytes());
+
+        assertEquals(List.of("device/3/status/alive:a", "device/3/sensor_data:s"), devices);
+        assertEquals(List.of("device/3/status/alive:a"), alive);
+    }
+
+    @Test
+    void publishAsync_shouldReportSuccess() {
+        LoopbackMqttTransport transport = new LoopbackMqttTransport();
+        List<String> received = new ArrayList<>();
+        transport.subscribe(recording("test/topic", received));
+        boolean[] succeeded = new boolean[1];
+
+        transport.publishAsync(new AWSIotMessage("test/topic", AWSIotQos.QOS1, "x") {
+            @Override
+            public void onSuccess() {
+                succeeded[0] = true;
+            }
+        }, 1000);
+
+        assertEquals(List.of("test/topic:x"), received);
+        assertTrue(succeeded[0]);
+    }
+
+    private static AWSIotTopic recording(String filter, List<String> sink) {
+        return new AWSIotTopic(filter, AWSIotQos.QOS1) {
+            @Override
+            public void onMessage(AWSIotMessage message) {
+                sink.add(message.getTopic() + ":" + message.getStringPayload());
+            }
+        };
+    }
+}
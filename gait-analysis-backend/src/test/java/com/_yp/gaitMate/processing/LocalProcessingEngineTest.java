@@ -0,0 +1,130 @@
+package com._yp.gaitMate.processing;
+
+import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
+import com._yp.gaitMate.dto.testSession.ProcessingRequestDto;
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.recording.SegmentWriter;
+import com._yp.gaitMate.service.processedTestResultsService.ProcessedTestResultsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LocalProcessingEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ProcessedTestResultsService resultsService = mock(ProcessedTestResultsService.class);
+    private final ExecutorService executor = mock(ExecutorService.class);
+    private final List<Runnable> queued = new ArrayList<>();
+    private final ProcessingProperties properties = new ProcessingProperties();
+
+    @Test
+    void submit_shouldAnalyseRecordingAndSaveResults() throws IOException {
+        LocalProcessingEngine engine = newEngine();
+        Path segment = writeWalk(tempDir.resolve("session-5.seg"), 5L);
+
+        engine.submit(request(5L, segment));
+        runQueued();
+
+        ProcessedTestResultsRequestDto results = savedResults();
+        assertTrue(results.getStatus());
+        assertEquals(5L, results.getSessionId());
+        assertEquals(4.0, results.getDurationSeconds());
+        assertTrue(results.getSteps() > 0);
+        assertTrue(results.getStrideTimes().length > 0);
+        assertNull(results.getStrideLengths());
+        assertEquals("", results.getPressureResultsPath());
+    }
+
+    @Test
+    void submit_shouldFailSessionWithoutRecording() {
+        LocalProcessingEngine engine = newEngine();
+
+        engine.submit(request(6L, null));
+        runQueued();
+
+        ProcessedTestResultsRequestDto results = savedResults();
+        assertFalse(results.getStatus());
+        assertEquals(6L, results.getSessionId());
+    }
+
+    @Test
+    void submit_shouldFailSessionsBeyondMaxQueued() throws IOException {
+        properties.setMaxQueued(1);
+        LocalProcessingEngine engine = newEngine();
+        Path segment = writeWalk(tempDir.resolve("session-7.seg"), 7L);
+
+        engine.submit(request(7L, segment));
+        engine.submit(request(8L, segment));
+
+        // the second session is rejected right away, before the first has run
+        ProcessedTestResultsRequestDto rejected = savedResults();
+        assertEquals(8L, rejected.getSessionId());
+        assertFalse(rejected.getStatus());
+        assertEquals(1, queued.size());
+
+        runQueued();
+        engine.submit(request(9L, segment));
+        assertEquals(1, queued.size());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private LocalProcessingEngine newEngine() {
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(executor).execute(any());
+        return new LocalProcessingEngine(properties, resultsService, executor, new SimpleMeterRegistry());
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private ProcessedTestResultsRequestDto savedResults() {
+        ArgumentCaptor<ProcessedTestResultsRequestDto> captor = ArgumentCaptor.forClass(ProcessedTestResultsRequestDto.class);
+        verify(resultsService, atLeastOnce()).saveResults(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ProcessingRequestDto request(Long sessionId, Path segment) {
+        return ProcessingRequestDto.builder()
+                .sessionId(sessionId)
+                .sensorId(34L)
+                .rawDataPath(segment != null ? segment.toString() : null)
+                .build();
+    }
+
+    /**
+     * 4 s at 100 Hz of a heel-strike → flat foot → toe-off cycle every second.
+     */
+    private static Path writeWalk(Path path, long sessionId) throws IOException {
+        SegmentWriter writer = new SegmentWriter(path, sessionId, 34L, 16);
+        SensorFrame frame = new SensorFrame();
+        for (int i = 0; i <= 400; i++) {
+            int phase = i % 100;
+            int heel = phase < 30 ? 3000 : 0;
+            int toe = phase >= 20 && phase < 60 ? 3000 : 0;
+            frame.setTimestamp(10_000L + i * 10L);
+            for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+                frame.getFsr()[c] = c == 2 || c == 3 ? heel : toe;
+            }
+            writer.append(frame);
+        }
+        return writer.seal();
+    }
+}
@@ -0,0 +1,234 @@
+package com._yp.gaitMate.processing;
+
+import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
+import com._yp.gaitMate.dto.testSession.ProcessingRequestDto;
+import com._yp.gaitMate.model.ProcessingJob;
+import com._yp.gaitMate.model.TestSession;
+import com._yp.gaitMate.repository.ProcessingJobRepository;
+import com._yp.gaitMate.repository.TestSessionRepository;
+import com._yp.gaitMate.service.processedTestResultsService.ProcessedTestResultsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProcessingJobTrackerTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final ProcessingJobRepository repository = mock(ProcessingJobRepository.class);
+    private final TestSessionRepository testSessionRepository = mock(TestSessionRepository.class);
+    private final ProcessingEngine engine = mock(ProcessingEngine.class);
+    private final ProcessedTestResultsService resultsService = mock(ProcessedTestResultsService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProcessingJobProperties properties = new ProcessingJobProperties();
+    private final List<ProcessingJob> table = new ArrayList<>();
+    private final TestSession session = new TestSession();
+
+    private Clock clock = Clock.fixed(T0, ZoneOffset.UTC);
+    private ProcessingJobTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTimeoutMs(60_000);
+        properties.setMaxAttempts(2);
+        properties.setInitialBackoffMs(10_000);
+
+        session.setStatus(TestSession.Status.PROCESSING);
+        when(testSessionRepository.findById(any())).thenReturn(Optional.of(session));
+
+        when(repository.save(any())).thenAnswer(invocation -> {
+            ProcessingJob job = invocation.getArgument(0);
+            table.add(job);
+            return job;
+        });
+        when(repository.findBySessionIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> sessionIds = invocation.getArgument(0);
+            return table.stream().filter(job -> sessionIds.contains(job.getSessionId())).toList();
+        });
+        when(repository.claimDue(any(), any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return table.stream()
+                    .filter(job -> isOpen(job) && !job.getDeadline().isAfter(now))
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+        when(repository.findOpenCreatedAt()).thenAnswer(invocation -> table.stream()
+                .filter(ProcessingJobTrackerTest::isOpen)
+                .map(ProcessingJob::getCreatedAt)
+                .sorted(Comparator.naturalOrder())
+                .toList());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        tracker = new ProcessingJobTracker(properties, repository, testSessionRepository, engine, resultsService,
+                new ObjectMapper(), transactionTemplate, meterRegistry, new DelegatingClock());
+    }
+
+    @Test
+    void dispatch_shouldRecordJobAndSubmitRequest() {
+        ProcessingRequestDto request = request(1L);
+
+        tracker.dispatch(request);
+
+        ProcessingJob job = table.get(0);
+        assertEquals(ProcessingJob.Status.RUNNING, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertEquals(T0.plusSeconds(60), job.getDeadline());
+        verify(engine).submit(request);
+    }
+
+    @Test
+    void check_shouldRedispatchTimedOutJobAfterBackoff() {
+        tracker.dispatch(request(1L));
+        ProcessingJob job = table.get(0);
+
+        advance(Duration.ofSeconds(59));
+        assertEquals(0, tracker.check());
+
+        advance(Duration.ofSeconds(1));
+        tracker.check();
+        assertEquals(ProcessingJob.Status.RETRY_PENDING, job.getStatus());
+        assertEquals(T0.plusSeconds(70), job.getDeadline());
+
+        advance(Duration.ofSeconds(10));
+        tracker.check();
+        assertEquals(ProcessingJob.Status.RUNNING, job.getStatus());
+        assertEquals(2, job.getAttempts());
+        ArgumentCaptor<ProcessingRequestDto> resubmitted = ArgumentCaptor.forClass(ProcessingRequestDto.class);
+        verify(engine, times(2)).submit(resubmitted.capture());
+        assertEquals(1L, resubmitted.getValue().getSessionId());
+        assertEquals("/data/session-1.seg", resubmitted.getValue().getRawDataPath());
+        assertEquals(1, meterRegistry.get("processing.job.retries").counter().count());
+    }
+
+    @Test
+    void check_shouldFailSessionAfterMaxAttempts() {
+        tracker.dispatch(request(1L));
+        ProcessingJob job = table.get(0);
+
+        advance(Duration.ofSeconds(60));
+        tracker.check();
+        advance(Duration.ofSeconds(10));
+        tracker.check();
+        advance(Duration.ofSeconds(60));
+        tracker.check();
+
+        assertEquals(ProcessingJob.Status.FAILED, job.getStatus());
+        ArgumentCaptor<ProcessedTestResultsRequestDto> results = ArgumentCaptor.forClass(ProcessedTestResultsRequestDto.class);
+        verify(resultsService).saveResults(results.capture());
+        assertFalse(results.getValue().getStatus());
+        assertEquals(1L, results.getValue().getSessionId());
+        assertEquals(1, meterRegistry.get("processing.job.latency").tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    void onProcessingFinished_shouldCloseJobAndRecordLatency() {
+        tracker.dispatch(request(1L));
+        advance(Duration.ofSeconds(3));
+
+        tracker.onProcessingFinished(ProcessingFinishedEvent.of(1L, true));
+
+        ProcessingJob job = table.get(0);
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(T0.plusSeconds(3), job.getCompletedAt());
+        assertEquals(3.0, meterRegistry.get("processing.job.latency").tag("outcome", "completed").timer()
+                .totalTime(TimeUnit.SECONDS), 1e-9);
+
+        // a late result for a closed job changes nothing
+        tracker.onProcessingFinished(ProcessingFinishedEvent.of(1L, false));
+        assertEquals(ProcessingJob.Status.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    void check_shouldCloseJobWhoseSessionLeftProcessing() {
+        tracker.dispatch(request(1L));
+        session.setStatus(TestSession.Status.FAILED);
+
+        advance(Duration.ofSeconds(60));
+        tracker.check();
+
+        assertEquals(ProcessingJob.Status.FAILED, table.get(0).getStatus());
+        verify(engine, times(1)).submit(any());
+        verifyNoInteractions(resultsService);
+    }
+
+    @Test
+    void queueAgeSeconds_shouldReportQuantilesOfOpenJobs() {
+        for (long id = 1; id <= 10; id++) {
+            tracker.dispatch(request(id));
+            advance(Duration.ofSeconds(1));
+        }
+        tracker.onProcessingFinished(ProcessingFinishedEvent.of(10L, true));
+
+        tracker.check();
+
+        // open jobs are 10 s .. 2 s old
+        assertEquals(6.0, tracker.queueAgeSeconds(0.5));
+        assertEquals(10.0, tracker.queueAgeSeconds(0.9));
+        assertEquals(10.0, tracker.queueAgeSeconds(1.0));
+        assertEquals(9, meterRegistry.get("processing.job.open").gauge().value());
+        assertEquals(10.0, meterRegistry.get("processing.job.queue.age").tag("quantile", "0.99").gauge().value());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static ProcessingRequestDto request(Long sessionId) {
+        return ProcessingRequestDto.builder()
+                .sessionId(sessionId)
+                .sensorId(34L)
+                .rawDataPath("/data/session-" + sessionId + ".seg")
+                .build();
+    }
+
+    private static boolean isOpen(ProcessingJob job) {
+        return job.getStatus() == ProcessingJob.Status.RUNNING || job.getStatus() == ProcessingJob.Status.RETRY_PENDING;
+    }
+
+    private void advance(Duration duration) {
+        clock = Clock.offset(clock, duration);
+    }
+
+    /**
+     * Lets the test move time after the tracker has been built.
+     */
+    private class DelegatingClock extends Clock {
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return clock.instant();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarBlockCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void encode_shouldRoundTripFramesExactly() {
+        List<SensorFrame> frames = randomFrames(500, 1L);
+        ColumnarBlockEncoder encoder = new ColumnarBlockEncoder(1024);
+        frames.forEach(encoder::add);
+
+        List<SensorFrame> decoded = new ArrayList<>();
+        int count = new ColumnarBlockDecoder().decode(ByteBuffer.wrap(encoder.encode()), f -> decoded.add(f.copy()));
+
+        assertEquals(frames.size(), count);
+        for (int i = 0; i < frames.size(); i++) {
+            assertFrameEquals(frames.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    void decode_shouldRejectCorruptedPayload() {
+        ColumnarBlockEncoder encoder = new ColumnarBlockEncoder(64);
+        randomFrames(64, 2L).forEach(encoder::add);
+        byte[] block = encoder.encode();
+        block[block.length - 1] ^= 0x01;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ColumnarBlockDecoder().decode(ByteBuffer.wrap(block), f -> { }));
+    }
+
+    @Test
+    void columnarFile_shouldRoundTripSealedSegment() throws IOException {
+        Path segmentPath = tempDir.resolve("session-1.seg");
+        SegmentWriter writer = new SegmentWriter(segmentPath, 1L, 34L, 256);
+        List<SensorFrame> frames = randomFrames(1000, 3L);
+        for (SensorFrame frame : frames) {
+            writer.append(frame);
+        }
+        writer.seal();
+
+        Path columnarPath = tempDir.resolve("session-1.gcol");
+        long size = ColumnarSessionFile.write(new SegmentReader(segmentPath), columnarPath, 300);
+        assertEquals(Files.size(columnarPath), size);
+        assertTrue(size < Files.size(segmentPath));
+
+        List<SensorFrame> decoded = new ArrayList<>();
+        assertEquals(1000, ColumnarSessionFile.read(columnarPath, f -> decoded.add(f.copy())));
+        for (int i = 0; i < frames.size(); i++) {
+            assertFrameEquals(frames.get(i), decoded.get(i));
+        }
+    }
+
+    private static List<SensorFrame> randomFrames(int count, long seed) {
+        Random random = new Random(seed);
+        List<SensorFrame> frames = new ArrayList<>();
+        long timestamp = 1_718_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            SensorFrame frame = new SensorFrame();
+            frame.setDeviceId(34);
+            timestamp += 10 + random.nextInt(3) - 1;
+            frame.setTimestamp(timestamp);
+            for (int c = 0; c < SensorFrame.FSR_CHANNELS; c++) {
+                frame.getFsr()[c] = random.nextInt(4096);
+            }
+            for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+                // Mix of repeated, rounded and arbitrary values to hit every XOR branch
+                frame.getImu()[c] = switch (i % 3) {
+                    case 0 -> i > 0 ? frames.get(i - 1).getImu()[c] : 1.0f;
+                    case 1 -> Math.round(random.nextGaussian() * 1000) / 100f;
+                    default -> Float.intBitsToFloat(random.nextInt());
+                };
+            }
+            for (int c = 0; c < SensorFrame.CAL_CHANNELS; c++) {
+                frame.getCal()[c] = (byte) random.nextInt(4);
+            }
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private static void assertFrameEquals(SensorFrame expected, SensorFrame actual) {
+        assertEquals(expected.getDeviceId(), actual.getDeviceId());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertArrayEquals(expected.getFsr(), actual.getFsr());
+        for (int c = 0; c < SensorFrame.IMU_CHANNELS; c++) {
+            assertEquals(Float.floatToRawIntBits(expected.getImu()[c]), Float.floatToRawIntBits(actual.getImu()[c]));
+        }
+        assertArrayEquals(expected.getCal(), actual.getCal());
+    }
+}
@@ -0,0 +1,163 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.exception.ApiException;
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.NotificationService;
+import com._yp.gaitMate.websocket.message.ReplayWebSocketMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReplaySchedulerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private final AtomicLong clock = new AtomicLong(1_000 * MS);
+    private final ReplayProperties properties = new ReplayProperties();
+    private ReplayScheduler scheduler;
+    private Path segment;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        doReturn(mock(ScheduledFuture.class)).when(executor).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+        scheduler = new ReplayScheduler(properties, notificationService, executor, clock::get);
+
+        // 100 frames at 100 Hz → 990 ms of recording
+        segment = tempDir.resolve("session-1.seg");
+        SegmentWriter writer = new SegmentWriter(segment, 1L, 34L, 16);
+        SensorFrame frame = new SensorFrame();
+        for (int i = 0; i < 100; i++) {
+            frame.setTimestamp(5_000L + i * 10);
+            frame.getFsr()[0] = i;
+            writer.append(frame);
+        }
+        writer.seal();
+    }
+
+    @Test
+    void tick_shouldEmitFramesDueAtPlaybackSpeed() throws IOException {
+        Replay replay = scheduler.start("bob", 1L, segment, 2.0, 0);
+        assertEquals(990, replay.getDurationMs());
+
+        advance(replay, 50);    // 50 ms at 2x → recording time 0..100 ms
+
+        ReplayWebSocketMessage message = lastMessage();
+        assertEquals(ReplayWebSocketMessage.State.PLAYING, message.getState());
+        assertEquals(11, message.getTimestamps().length);
+        assertEquals(5_000L, message.getTimestamps()[0]);
+        assertEquals(10, message.getFsr()[10][0]);
+        assertEquals(100, message.getPositionMs());
+    }
+
+    @Test
+    void pause_shouldStopTheClockUntilResumed() throws IOException {
+        Replay replay = scheduler.start("bob", 1L, segment, 1.0, 0);
+        advance(replay, 25);
+        scheduler.pause(replay);
+        clear();
+
+        advance(replay, 500);
+        assertEquals(ReplayWebSocketMessage.State.PAUSED, replay.getState());
+        verify(notificationService, never()).sendReplayToUser(any(), any());
+
+        scheduler.resume(replay);
+        advance(replay, 10);
+        assertArrayEquals(new long[]{5_030L}, lastMessage().getTimestamps());
+        assertEquals(35, replay.getPositionMs());
+    }
+
+    @Test
+    void seek_shouldJumpToFirstFrameAtPosition() throws IOException {
+        Replay replay = scheduler.start("bob", 1L, segment, 1.0, 0);
+
+        scheduler.seek(replay, 505);
+        advance(replay, 20);
+
+        long[] timestamps = lastMessage().getTimestamps();
+        assertEquals(5_510L, timestamps[0]);
+        assertEquals(5_520L, timestamps[timestamps.length - 1]);
+    }
+
+    @Test
+    void tick_shouldEndAndReleaseTheSegmentAtTheEnd() throws IOException {
+        Replay first = scheduler.start("bob", 1L, segment, 8.0, 900);
+        Replay second = scheduler.start("alice", 1L, segment, 1.0, 0);
+        assertSame(first.reader, second.reader, "replays of one session share the mapped segment");
+
+        advance(first, 20);
+
+        assertEquals(ReplayWebSocketMessage.State.ENDED, first.getState());
+        assertEquals(ReplayWebSocketMessage.State.ENDED, lastMessage().getState());
+        assertTrue(scheduler.find(first.getId()).isEmpty());
+        assertTrue(scheduler.find(second.getId()).isPresent());
+    }
+
+    @Test
+    void tick_shouldCapFramesPerMessageAndSlowDown() throws IOException {
+        properties.setMaxFramesPerTick(5);
+        Replay replay = scheduler.start("bob", 1L, segment, 8.0, 0);
+
+        advance(replay, 100);
+
+        assertEquals(5, lastMessage().getTimestamps().length);
+        assertEquals(40, replay.getPositionMs());
+    }
+
+    @Test
+    void start_shouldEnforceSpeedAndPerUserLimits() throws IOException {
+        assertThrows(ApiException.class, () -> scheduler.start("bob", 1L, segment, 16.0, 0));
+        assertThrows(ApiException.class, () -> scheduler.start("bob", 1L, segment, 0.25, 0));
+
+        properties.setMaxReplaysPerUser(1);
+        scheduler.start("bob", 1L, segment, 1.0, 0);
+        assertThrows(ApiException.class, () -> scheduler.start("bob", 1L, segment, 1.0, 0));
+    }
+
+    @Test
+    void tick_shouldStopReplaysPausedForTooLong() throws IOException {
+        properties.setIdleTimeoutMs(1_000);
+        Replay replay = scheduler.start("bob", 1L, segment, 1.0, 0);
+        scheduler.pause(replay);
+
+        advance(replay, 1_001);
+
+        assertEquals(ReplayWebSocketMessage.State.ENDED, replay.getState());
+        assertTrue(scheduler.find(replay.getId()).isEmpty());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void advance(Replay replay, long millis) {
+        scheduler.tick(replay, clock.addAndGet(millis * MS));
+    }
+
+    private ReplayWebSocketMessage lastMessage() {
+        ArgumentCaptor<ReplayWebSocketMessage> captor = ArgumentCaptor.forClass(ReplayWebSocketMessage.class);
+        verify(notificationService, atLeastOnce()).sendReplayToUser(any(), captor.capture());
+        List<ReplayWebSocketMessage> messages = captor.getAllValues();
+        return messages.get(messages.size() - 1);
+    }
+
+    private void clear() {
+        clearInvocations(notificationService);
+    }
+}
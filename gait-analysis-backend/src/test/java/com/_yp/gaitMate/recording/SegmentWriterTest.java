@@ -0,0 +1,67 @@
+package com._yp.gaitMate.recording;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void seal_shouldProduceReadableSegmentAcrossMappedWindows() throws IOException {
+        Path path = tempDir.resolve("session-1.seg");
+        // Tiny windows so the writer has to remap several times
+        SegmentWriter writer = new SegmentWriter(path, 1L, 34L, 4);
+
+        SensorFrame frame = new SensorFrame();
+        for (int i = 0; i < 10; i++) {
+            frame.setTimestamp(1000L + i * 10);
+            frame.getFsr()[15] = i;
+            frame.getImu()[SensorFrame.GZ] = i * 0.5f;
+            frame.getCal()[SensorFrame.MAG_CAL] = (byte) (i % 4);
+            writer.append(frame);
+        }
+        writer.seal();
+
+        assertEquals(SegmentFormat.HEADER_BYTES + 10L * SegmentFormat.RECORD_BYTES, Files.size(path));
+
+        SegmentReader reader = new SegmentReader(path);
+        assertEquals(1L, reader.getSessionId());
+        assertEquals(34L, reader.getDeviceId());
+        assertEquals(10L, reader.getFrameCount());
+
+        SensorFrame read = new SensorFrame();
+        reader.read(7, read);
+        assertEquals(34L, read.getDeviceId());
+        assertEquals(1070L, read.getTimestamp());
+        assertEquals(7, read.getFsr()[15]);
+        assertEquals(3.5f, read.getImu()[SensorFrame.GZ]);
+        assertEquals(3, read.getCal()[SensorFrame.MAG_CAL]);
+    }
+
+    @Test
+    void append_shouldFailAfterSeal() throws IOException {
+        SegmentWriter writer = new SegmentWriter(tempDir.resolve("session-2.seg"), 2L, 7L, 8);
+        writer.seal();
+
+        assertThrows(IllegalStateException.class, () -> writer.append(new SensorFrame()));
+    }
+
+    @Test
+    void reader_shouldRejectUnsealedSegment() throws IOException {
+        Path path = tempDir.resolve("session-3.seg");
+        SegmentWriter writer = new SegmentWriter(path, 3L, 7L, 8);
+        writer.append(new SensorFrame());
+
+        assertThrows(IOException.class, () -> new SegmentReader(path));
+        writer.seal();
+    }
+}
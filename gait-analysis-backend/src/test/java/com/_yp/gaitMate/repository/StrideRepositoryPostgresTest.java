@@ -0,0 +1,124 @@
+package com._yp.gaitMate.repository;
+
+import com._yp.gaitMate.model.Stride;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native statistics queries and their projections against a real PostgreSQL, which folds unquoted
+ * aliases to lower case and provides {@code PERCENTILE_CONT} and {@code WIDTH_BUCKET}. Skipped without Docker.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class StrideRepositoryPostgresTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 4, 1, 0, 0);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    // @EnableJpaAuditing on the application class needs it; the JPA slice does not load JpaAuditorAwareImpl
+    @MockitoBean(name = "auditorProvider")
+    private AuditorAware<String> auditorProvider;
+
+    @Autowired
+    private StrideRepository strideRepository;
+
+    @BeforeEach
+    void setUp() {
+        // session 1: 1.0 .. 1.4, session 2: 1.1 .. 1.5, session 3 is another patient
+        strideRepository.saveAll(List.of(
+                stride(1L, 7L, FROM.plusDays(1), 0, 1.0), stride(1L, 7L, FROM.plusDays(1), 1, 1.2),
+                stride(1L, 7L, FROM.plusDays(1), 2, 1.4),
+                stride(2L, 7L, FROM.plusDays(2), 0, 1.1), stride(2L, 7L, FROM.plusDays(2), 1, 1.3),
+                stride(2L, 7L, FROM.plusDays(2), 2, 1.5),
+                stride(3L, 8L, FROM.plusDays(2), 0, 9.0)));
+        strideRepository.flush();
+    }
+
+    @Test
+    void computeStatistics_shouldFillEveryProjectionProperty() {
+        StrideRepository.Statistics stats = strideRepository.computeStatistics(7L, "STRIDE_TIME", FROM, TO);
+
+        assertEquals(6, stats.getCount());
+        assertEquals(2, stats.getSessions());
+        assertEquals(1.25, stats.getMean(), 1e-9);
+        assertEquals(Math.sqrt(0.035), stats.getStdDev(), 1e-9);
+        assertEquals(Math.sqrt(0.035) / 1.25, stats.getCv(), 1e-9);
+        assertEquals(1.0, stats.getMin());
+        assertEquals(1.5, stats.getMax());
+        assertEquals(1.25, stats.getP50(), 1e-9);
+        assertNotNull(stats.getP05());
+        assertNotNull(stats.getP95());
+    }
+
+    @Test
+    void computeSessionStatistics_shouldReturnSessionIdAndStart() {
+        List<StrideRepository.SessionStatistics> sessions =
+                strideRepository.computeSessionStatistics(7L, "STRIDE_TIME", FROM, TO);
+
+        assertEquals(List.of(1L, 2L), sessions.stream().map(StrideRepository.SessionStatistics::getSessionId).toList());
+        assertEquals(FROM.plusDays(1), sessions.get(0).getSessionStart());
+        assertEquals(3, sessions.get(0).getCount());
+        assertEquals(0.2, sessions.get(0).getStdDev(), 1e-9);
+        assertEquals(1.2, sessions.get(0).getMedian(), 1e-9);
+    }
+
+    @Test
+    void computeHistogram_shouldCountPerBucketWithUpperBoundInLastBucket() {
+        List<StrideRepository.Bucket> buckets =
+                strideRepository.computeHistogram(7L, "STRIDE_TIME", FROM, TO, 0.95, 1.5, 3);
+
+        // [0.95, 1.133) 1.0, 1.1 | [1.133, 1.317) 1.2, 1.3 | [1.317, 1.5] 1.4, 1.5
+        assertEquals(List.of(1, 2, 3), buckets.stream().map(StrideRepository.Bucket::getBucket).toList());
+        assertEquals(List.of(2L, 2L, 2L), buckets.stream().map(StrideRepository.Bucket::getCount).toList());
+    }
+
+    @Test
+    void computeStatistics_shouldIgnoreStridesWithoutTheMetric() {
+        StrideRepository.Statistics stats = strideRepository.computeStatistics(7L, "STRIDE_LENGTH", FROM, TO);
+
+        assertEquals(0, stats.getCount());
+        assertNull(stats.getMean());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static Stride stride(Long sessionId, Long patientId, LocalDateTime sessionStart, int index, double time) {
+        return Stride.builder()
+                .sessionId(sessionId)
+                .patientId(patientId)
+                .sessionStart(sessionStart)
+                .strideIndex(index)
+                .strideTime(time)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com._yp.gaitMate.security.jwt;
+
+import com._yp.gaitMate.security.config.ServiceTokenProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTokenFilterTest {
+
+    private final ServiceTokenProperties properties = new ServiceTokenProperties();
+    private final ServiceTokenFilter filter = new ServiceTokenFilter(properties);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_shouldAuthenticateMatchingToken() throws Exception {
+        properties.setToken("s3cret");
+
+        MockFilterChain chain = filter("s3cret");
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(ServiceTokenFilter.PRINCIPAL, authentication.getPrincipal());
+        assertEquals("ROLE_PROCESSING_SERVICE", authentication.getAuthorities().iterator().next().getAuthority());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_shouldNotAuthenticateWrongOrMissingToken() throws Exception {
+        properties.setToken("s3cret");
+
+        filter("guess");
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        MockFilterChain chain = filter(null);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_shouldStayClosedWhenNoTokenIsConfigured() throws Exception {
+        filter("");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private MockFilterChain filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/results/batch");
+        if (token != null) {
+            request.addHeader("X-Service-Token", token);
+        }
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
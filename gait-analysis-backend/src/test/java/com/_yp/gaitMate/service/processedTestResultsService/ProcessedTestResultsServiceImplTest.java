@@ -0,0 +1,200 @@
+package com._yp.gaitMate.service.processedTestResultsService;
+
+import com._yp.gaitMate.dto.results.ProcessedTestResultsBatchResponseDto;
+import com._yp.gaitMate.dto.results.ProcessedTestResultsRequestDto;
+import com._yp.gaitMate.gait.LiveGaitMetricsService;
+import com._yp.gaitMate.model.Patient;
+import com._yp.gaitMate.model.ProcessedTestResults;
+import com._yp.gaitMate.model.Stride;
+import com._yp.gaitMate.model.TestSession;
+import com._yp.gaitMate.processing.ProcessingFinishedEvent;
+import com._yp.gaitMate.repository.ProcessedTestResultsRepository;
+import com._yp.gaitMate.repository.StrideRepository;
+import com._yp.gaitMate.repository.TestSessionRepository;
+import com._yp.gaitMate.security.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedTestResultsServiceImplTest {
+
+    @InjectMocks
+    private ProcessedTestResultsServiceImpl processedTestResultsService;
+
+    @Mock
+    private TestSessionRepository testSessionRepository;
+
+    @Mock
+    private ProcessedTestResultsRepository processedTestResultsRepository;
+
+    @Mock
+    private StrideRepository strideRepository;
+
+    @Mock
+    private LiveGaitMetricsService liveGaitMetricsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void saveResultsBatch_shouldLoadSessionsOnceAndApplyEveryOutcome() {
+        TestSession first = session(1L, "alice");
+        TestSession second = session(2L, "bob");
+        when(testSessionRepository.findAllForResultsByIdIn(anyCollection())).thenReturn(List.of(first, second));
+        ProcessedTestResultsRequestDto completed = results(1L, true);
+        completed.setStrideTimes(new double[]{1.1, 1.2});
+        completed.setStrideLengths(new double[]{0.7});
+
+        ProcessedTestResultsBatchResponseDto response = processedTestResultsService.saveResultsBatch(List.of(
+                completed, results(2L, false)));
+
+        assertEquals(2, response.getAccepted());
+        assertTrue(response.getRejected().isEmpty());
+        assertEquals(TestSession.Status.COMPLETED, first.getStatus());
+        assertEquals(42, first.getResults().getSteps());
+        assertEquals(TestSession.Status.FAILED, second.getStatus());
+
+        verify(testSessionRepository, times(1)).findAllForResultsByIdIn(anyCollection());
+        verify(testSessionRepository, never()).findById(any());
+        ArgumentCaptor<List<ProcessedTestResults>> saved = ArgumentCaptor.captor();
+        verify(processedTestResultsRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        ArgumentCaptor<List<Stride>> strides = ArgumentCaptor.captor();
+        verify(strideRepository).saveAll(strides.capture());
+        assertEquals(List.of(1.1, 1.2), strides.getValue().stream().map(Stride::getStrideTime).toList());
+        assertEquals(1, strides.getValue().get(1).getStrideIndex());
+        assertEquals(0.7, strides.getValue().get(0).getStrideLength());
+        assertNull(strides.getValue().get(1).getStrideLength());
+        assertEquals(10L, strides.getValue().get(0).getPatientId());
+        verify(liveGaitMetricsService).discardProvisionalResult(1L);
+
+        ProcessingFinishedEvent finished = published(ProcessingFinishedEvent.class);
+        assertEquals(Map.of(1L, true, 2L, false), finished.outcomes());
+        ResultsReadyEvent ready = published(ResultsReadyEvent.class);
+        assertEquals(List.of("alice", "bob"), ready.notifications().stream()
+                .map(ResultsReadyEvent.Notification::username).toList());
+        assertTrue(ready.notifications().get(0).message().getStatus());
+    }
+
+    @Test
+    void saveResultsBatch_shouldRejectUnknownDuplicateAndAlreadyCompletedSessions() {
+        TestSession fresh = session(1L, "alice");
+        TestSession done = session(3L, "carol");
+        done.setResults(new ProcessedTestResults());
+        when(testSessionRepository.findAllForResultsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertEquals(List.of(1L, 2L, 3L), List.copyOf(ids));
+            return List.of(fresh, done);
+        });
+
+        ProcessedTestResultsBatchResponseDto response = processedTestResultsService.saveResultsBatch(List.of(
+                results(1L, true), results(2L, true), results(1L, false), results(3L, true)));
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(List.of(1L, 2L, 3L), response.getRejected().stream()
+                .map(ProcessedTestResultsBatchResponseDto.RejectedResult::getSessionId).toList());
+        assertEquals(TestSession.Status.COMPLETED, fresh.getStatus());
+        assertEquals(TestSession.Status.PROCESSING, done.getStatus());
+    }
+
+    @Test
+    void saveResultsBatch_shouldPublishNothingWhenAllEntriesAreRejected() {
+        when(testSessionRepository.findAllForResultsByIdIn(anyCollection())).thenReturn(List.of());
+
+        ProcessedTestResultsBatchResponseDto response = processedTestResultsService.saveResultsBatch(
+                List.of(results(9L, true)));
+
+        assertEquals(0, response.getAccepted());
+        assertEquals("Session not found", response.getRejected().get(0).getReason());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveResults_shouldIgnoreRepeatedSuccessForSessionWithResults() {
+        TestSession session = session(1L, "alice");
+        session.setResults(new ProcessedTestResults());
+        session.setStatus(TestSession.Status.COMPLETED);
+        when(testSessionRepository.findById(1L)).thenReturn(Optional.of(session));
+
+        processedTestResultsService.saveResults(results(1L, true));
+
+        verifyNoInteractions(processedTestResultsRepository, strideRepository, eventPublisher);
+        verify(testSessionRepository, never()).save(any());
+    }
+
+    @Test
+    void saveResults_shouldNotOverwriteSessionThatAlreadyFailed() {
+        TestSession session = session(1L, "alice");
+        session.setStatus(TestSession.Status.FAILED);
+        when(testSessionRepository.findById(1L)).thenReturn(Optional.of(session));
+
+        processedTestResultsService.saveResults(results(1L, true));
+        processedTestResultsService.saveResults(results(1L, false));
+
+        assertEquals(TestSession.Status.FAILED, session.getStatus());
+        assertNull(session.getResults());
+        verifyNoInteractions(processedTestResultsRepository, strideRepository, eventPublisher);
+    }
+
+    @Test
+    void saveResultsBatch_shouldRejectSessionsNoLongerProcessing() {
+        TestSession failed = session(1L, "alice");
+        failed.setStatus(TestSession.Status.FAILED);
+        when(testSessionRepository.findAllForResultsByIdIn(anyCollection())).thenReturn(List.of(failed));
+
+        ProcessedTestResultsBatchResponseDto response = processedTestResultsService.saveResultsBatch(
+                List.of(results(1L, true)));
+
+        assertEquals(0, response.getAccepted());
+        assertEquals("Session is not in PROCESSING state", response.getRejected().get(0).getReason());
+        assertEquals(TestSession.Status.FAILED, failed.getStatus());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private <T> T published(Class<T> type) {
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        return events.getAllValues().stream().filter(type::isInstance).map(type::cast).findFirst().orElseThrow();
+    }
+
+    private static TestSession session(Long id, String username) {
+        User user = new User();
+        user.setUsername(username);
+        Patient patient = new Patient();
+        patient.setId(id * 10);
+        patient.setUser(user);
+
+        TestSession session = new TestSession();
+        session.setId(id);
+        session.setStatus(TestSession.Status.PROCESSING);
+        session.setPatient(patient);
+        return session;
+    }
+
+    private static ProcessedTestResultsRequestDto results(Long sessionId, boolean status) {
+        ProcessedTestResultsRequestDto dto = new ProcessedTestResultsRequestDto();
+        dto.setSessionId(sessionId);
+        dto.setStatus(status);
+        dto.setSteps(42);
+        dto.setCadence(100.0);
+        dto.setPressureResultsPath("s3://reports/" + sessionId + ".png");
+        return dto;
+    }
+}
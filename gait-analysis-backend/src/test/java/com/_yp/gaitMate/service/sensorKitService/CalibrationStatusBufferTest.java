@@ -0,0 +1,106 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+import com._yp.gaitMate.repository.SensorKitRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CalibrationStatusBufferTest {
+
+    private SensorKitRepository repository;
+    private DeviceRoutingTable routingTable;
+    private SimpleMeterRegistry registry;
+    private CalibrationStatusBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SensorKitRepository.class);
+        when(repository.updateCalibrationStatus(anyCollection(), anyBoolean()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        routingTable = mock(DeviceRoutingTable.class);
+        when(routingTable.hasUser(anyLong())).thenReturn(true);
+        registry = new SimpleMeterRegistry();
+
+        // The flush thread is not started; the test flushes explicitly
+        buffer = new CalibrationStatusBuffer(new CalibrationProperties(), repository, routingTable, registry);
+    }
+
+    @Test
+    void record_shouldCoalesceRepeatedStateIntoOneWrite() {
+        for (int i = 0; i < 20; i++) {
+            buffer.record(34L, true);
+        }
+
+        assertTrue(buffer.getCalibrationStatus(34L));
+        assertEquals(1, buffer.flush());
+        assertEquals(0, buffer.flush());
+
+        verify(repository, times(1)).updateCalibrationStatus(List.of(34L), true);
+        assertEquals(19.0, registry.counter("sensorkit.calibration.updates", "result", "coalesced").count());
+    }
+
+    @Test
+    void flush_shouldBatchKitsByTargetValue() {
+        buffer.record(1L, true);
+        buffer.record(2L, true);
+        buffer.record(3L, false);
+
+        assertEquals(3, buffer.flush());
+
+        verify(repository).updateCalibrationStatus(argThat(ids -> ids.containsAll(List.of(1L, 2L)) && ids.size() == 2), eq(true));
+        verify(repository).updateCalibrationStatus(List.of(3L), false);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void flush_shouldWriteEachTransition() {
+        buffer.record(34L, true);
+        buffer.flush();
+        buffer.record(34L, false);
+        buffer.record(34L, false);
+        buffer.flush();
+
+        assertFalse(buffer.getCalibrationStatus(34L));
+        verify(repository).updateCalibrationStatus(List.of(34L), true);
+        verify(repository).updateCalibrationStatus(List.of(34L), false);
+    }
+
+    @Test
+    void flush_shouldKeepKitsDirtyWhenUpdateFails() {
+        when(repository.updateCalibrationStatus(anyCollection(), anyBoolean()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+        buffer.record(34L, true);
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals(1, buffer.flush());
+        verify(repository, times(2)).updateCalibrationStatus(List.of(34L), true);
+    }
+
+    @Test
+    void getCalibrationStatus_shouldBeNullForUnknownKit() {
+        assertNull(buffer.getCalibrationStatus(99L));
+    }
+
+    @Test
+    void record_shouldDropKitsUnknownToRoutingAndDatabase() {
+        when(routingTable.hasUser(anyLong())).thenReturn(false);
+        when(repository.existsById(5L)).thenReturn(true);
+
+        buffer.record(99L, true);
+        buffer.record(5L, true);
+        buffer.record(5L, false);
+
+        assertNull(buffer.getCalibrationStatus(99L));
+        assertFalse(buffer.getCalibrationStatus(5L));
+        assertEquals(1, buffer.flush());
+        verify(repository).updateCalibrationStatus(List.of(5L), false);
+        verify(repository, times(1)).existsById(5L);
+    }
+}
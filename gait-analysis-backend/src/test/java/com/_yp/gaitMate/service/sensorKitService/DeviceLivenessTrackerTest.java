@@ -0,0 +1,106 @@
+package com._yp.gaitMate.service.sensorKitService;
+
+import com._yp.gaitMate.websocket.NotificationService;
+import com._yp.gaitMate.websocket.message.DeviceAliveWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeviceLivenessTrackerTest {
+
+    private static final long TIMEOUT_MS = 1000;
+
+    private NotificationService notificationService;
+    private SimpleMeterRegistry registry;
+    private DeviceLivenessTracker tracker;
+    private long base;
+
+    @BeforeEach
+    void setUp() {
+        LivenessProperties properties = new LivenessProperties();
+        properties.setHeartbeatTimeoutMs(TIMEOUT_MS);
+        properties.setTickMs(100);
+        properties.setWheelSize(16);
+
+        DeviceRoutingTable routingTable = mock(DeviceRoutingTable.class);
+        when(routingTable.getUsername(34L)).thenReturn("patient");
+        notificationService = mock(NotificationService.class);
+        registry = new SimpleMeterRegistry();
+
+        // The ticker thread is not started; the test drives the clock through tick()
+        tracker = new DeviceLivenessTracker(properties, routingTable, notificationService, registry);
+        base = System.currentTimeMillis();
+    }
+
+    @Test
+    void isOnline_shouldBeFalseForUnknownKit() {
+        assertFalse(tracker.isOnline(34L));
+        assertFalse(tracker.isKnownOffline(34L));
+        assertNull(tracker.getLastSeen(34L));
+    }
+
+    @Test
+    void tick_shouldExpireSilentKitOnceAndNotifyUser() {
+        tracker.heartbeat(34L, base);
+        tracker.tick(base + 500);
+        assertTrue(tracker.isOnline(34L));
+
+        tracker.tick(base + TIMEOUT_MS + 300);
+        tracker.tick(base + 3 * TIMEOUT_MS);
+        assertFalse(tracker.isOnline(34L));
+        assertTrue(tracker.isKnownOffline(34L));
+        assertEquals(base, tracker.getLastSeen(34L));
+
+        ArgumentCaptor<DeviceAliveWebSocketMessage> message = ArgumentCaptor.forClass(DeviceAliveWebSocketMessage.class);
+        verify(notificationService, times(1)).sendDeviceOfflineToUser(eq("patient"), message.capture());
+        assertEquals(WebSocketMessageType.DEVICE_OFFLINE, message.getValue().getType());
+        assertFalse(message.getValue().isStatus());
+        assertEquals(1.0, registry.counter("device.liveness.offline.events").count());
+    }
+
+    @Test
+    void tick_shouldKeepKitOnlineWhileHeartbeatsArrive() {
+        tracker.heartbeat(34L, base);
+        tracker.heartbeat(34L, base + 800);
+
+        tracker.tick(base + TIMEOUT_MS + 300);
+        assertTrue(tracker.isOnline(34L));
+
+        tracker.tick(base + 800 + TIMEOUT_MS + 300);
+        assertFalse(tracker.isOnline(34L));
+    }
+
+    @Test
+    void markOffline_shouldNotifyOnceAndHeartbeatShouldRevive() {
+        tracker.heartbeat(34L, base);
+        tracker.markOffline(34L, base + 100);
+        tracker.markOffline(34L, base + 200);
+        assertFalse(tracker.isOnline(34L));
+        verify(notificationService, times(1)).sendDeviceOfflineToUser(eq("patient"), any());
+
+        tracker.heartbeat(34L, base + 300);
+        assertTrue(tracker.isOnline(34L));
+
+        // The timer armed by the first heartbeat re-arms itself for the newer one
+        tracker.tick(base + TIMEOUT_MS + 200);
+        assertTrue(tracker.isOnline(34L));
+        tracker.tick(base + 300 + TIMEOUT_MS + 200);
+        assertFalse(tracker.isOnline(34L));
+        verify(notificationService, times(2)).sendDeviceOfflineToUser(eq("patient"), any());
+    }
+
+    @Test
+    void tick_shouldNotNotifyWhenKitHasNoUser() {
+        tracker.heartbeat(99L, base);
+        tracker.tick(base + 2 * TIMEOUT_MS);
+
+        assertFalse(tracker.isOnline(99L));
+        verifyNoInteractions(notificationService);
+    }
+}
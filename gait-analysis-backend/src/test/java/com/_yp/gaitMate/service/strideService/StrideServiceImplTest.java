@@ -0,0 +1,119 @@
+package com._yp.gaitMate.service.strideService;
+
+import com._yp.gaitMate.dto.stride.StrideHistogramDto;
+import com._yp.gaitMate.exception.ApiException;
+import com._yp.gaitMate.model.Doctor;
+import com._yp.gaitMate.model.Patient;
+import com._yp.gaitMate.model.Stride;
+import com._yp.gaitMate.repository.PatientRepository;
+import com._yp.gaitMate.repository.StrideRepository;
+import com._yp.gaitMate.security.model.User;
+import com._yp.gaitMate.security.utils.AuthUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StrideServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 4, 1, 0, 0);
+
+    @InjectMocks
+    private StrideServiceImpl strideService;
+
+    @Mock
+    private StrideRepository strideRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private AuthUtil authUtil;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = new Patient();
+        patient.setId(7L);
+        patient.setUser(user(100L));
+        Doctor doctor = new Doctor();
+        doctor.setUser(user(200L));
+        patient.setDoctor(doctor);
+        lenient().when(patientRepository.findById(7L)).thenReturn(Optional.of(patient));
+    }
+
+    @Test
+    void getHistogram_shouldListEveryBinIncludingEmptyOnes() {
+        when(authUtil.loggedInUserId()).thenReturn(200L);
+        List<StrideRepository.Bucket> buckets = List.of(bucket(1, 3), bucket(4, 5));
+        when(strideRepository.computeHistogram(7L, "STRIDE_TIME", FROM, TO, 1.0, 1.4, 4)).thenReturn(buckets);
+
+        StrideHistogramDto histogram = strideService.getHistogram(7L, Stride.Metric.STRIDE_TIME, FROM, TO, 4, 1.0, 1.4);
+
+        assertEquals(List.of(3L, 0L, 0L, 5L), histogram.getBins().stream().map(StrideHistogramDto.Bin::getCount).toList());
+        assertEquals(0.1, histogram.getBinWidth(), 1e-12);
+        assertEquals(1.1, histogram.getBins().get(1).getLower(), 1e-12);
+        assertEquals(1.4, histogram.getBins().get(3).getUpper());
+    }
+
+    @Test
+    void getHistogram_shouldDefaultBoundsToValuesInRange() {
+        when(authUtil.loggedInUserId()).thenReturn(100L);
+        StrideRepository.Statistics stats = mock(StrideRepository.Statistics.class);
+        when(stats.getCount()).thenReturn(12L);
+        when(stats.getMin()).thenReturn(0.9);
+        when(stats.getMax()).thenReturn(1.3);
+        when(strideRepository.computeStatistics(7L, "STRIDE_TIME", FROM, TO)).thenReturn(stats);
+
+        StrideHistogramDto histogram = strideService.getHistogram(7L, Stride.Metric.STRIDE_TIME, FROM, TO, 2, null, null);
+
+        verify(strideRepository).computeHistogram(7L, "STRIDE_TIME", FROM, TO, 0.9, 1.3, 2);
+        assertEquals(2, histogram.getBins().size());
+    }
+
+    @Test
+    void getStatistics_shouldRejectUsersOtherThanThePatientAndTheirDoctor() {
+        when(authUtil.loggedInUserId()).thenReturn(300L);
+
+        assertThrows(ApiException.class,
+                () -> strideService.getStatistics(7L, Stride.Metric.STRIDE_TIME, FROM, TO));
+        verifyNoInteractions(strideRepository);
+    }
+
+    @Test
+    void getStatistics_shouldRejectEmptyRange() {
+        when(authUtil.loggedInUserId()).thenReturn(100L);
+
+        assertThrows(ApiException.class,
+                () -> strideService.getStatistics(7L, Stride.Metric.STRIDE_TIME, TO, FROM));
+        verify(strideRepository, never()).computeStatistics(anyLong(), anyString(), any(), any());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static User user(Long userId) {
+        User user = new User();
+        user.setUserId(userId);
+        return user;
+    }
+
+    private static StrideRepository.Bucket bucket(int bucket, long count) {
+        StrideRepository.Bucket b = mock(StrideRepository.Bucket.class);
+        when(b.getBucket()).thenReturn(bucket);
+        when(b.getCount()).thenReturn(count);
+        return b;
+    }
+}
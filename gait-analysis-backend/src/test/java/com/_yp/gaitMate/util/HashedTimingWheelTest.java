@@ -0,0 +1,76 @@
+package com._yp.gaitMate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void advance_shouldExpireItemsOnTheirTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 100);
+
+        wheel.advance(99, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("b"), expired);
+
+        wheel.advance(299, expired::add);
+        assertEquals(List.of("b"), expired);
+
+        wheel.advance(300, expired::add);
+        assertEquals(List.of("b", "a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_shouldWaitFullRotationsForLongDelays() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 4, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("late", 95);     // 10 ticks on a 4-slot wheel
+
+        wheel.advance(90, expired::add);
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void advance_shouldAllowRescheduleFromCallback() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 4, 0);
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule("x", 10);
+
+        for (long now = 10; now <= 50; now += 10) {
+            long at = now;
+            wheel.advance(now, item -> {
+                fired.add(at);
+                wheel.schedule(item, 20);
+            });
+        }
+
+        assertEquals(List.of(10L, 30L, 50L), fired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void constructor_shouldRoundWheelSizeUpToPowerOfTwo() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(1, 5, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 8);     // would collide with tick 3 on a 5-slot wheel
+
+        wheel.advance(7, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(8, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+}
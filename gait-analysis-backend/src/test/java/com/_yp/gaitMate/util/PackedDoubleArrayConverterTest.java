@@ -0,0 +1,44 @@
+package com._yp.gaitMate.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedDoubleArrayConverterTest {
+
+    private final PackedDoubleArrayConverter converter = new PackedDoubleArrayConverter();
+
+    @Test
+    void roundTrip_shouldKeepEveryBit() {
+        double[] strides = {1.1, 1.0999999999999999, -0.0, Double.MIN_VALUE, Double.NaN, 1e300};
+
+        byte[] column = converter.convertToDatabaseColumn(strides);
+
+        assertEquals(1 + strides.length * Double.BYTES, column.length);
+        assertEquals(PackedDoubleArrayConverter.VERSION_FLOAT64, column[0]);
+        assertArrayEquals(strides, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void convertToDatabaseColumn_shouldWriteLittleEndianDoubles() {
+        byte[] column = converter.convertToDatabaseColumn(new double[]{1.0});
+
+        // 1.0 is 0x3FF0000000000000
+        assertArrayEquals(new byte[]{1, 0, 0, 0, 0, 0, 0, (byte) 0xF0, 0x3F}, column);
+    }
+
+    @Test
+    void emptyValues_shouldBeStoredAsNullAndReadAsEmptyArray() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToDatabaseColumn(new double[0]));
+        assertEquals(0, converter.convertToEntityAttribute(null).length);
+    }
+
+    @Test
+    void convertToEntityAttribute_shouldRejectUnknownVersionAndTruncatedValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.convertToEntityAttribute(new byte[]{2, 0, 0, 0, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.convertToEntityAttribute(new byte[]{1, 0, 0, 0, 0}));
+    }
+}
@@ -0,0 +1,123 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.message.SensorDataBatchWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySensorCodecTest {
+
+    @Test
+    void encode_shouldWriteFrameInDocumentedLayout() {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(34);
+        frame.setTimestamp(1718000000123L);
+        for (int i = 0; i < SensorFrame.FSR_CHANNELS; i++) {
+            frame.getFsr()[i] = 4000 + i;
+        }
+        for (int i = 0; i < SensorFrame.IMU_CHANNELS; i++) {
+            frame.getImu()[i] = i * 0.5f - 3;
+        }
+        frame.getCal()[SensorFrame.MAG_CAL] = 2;
+
+        byte[] bytes = BinarySensorCodec.encode(frame);
+        assertEquals(BinarySensorCodec.HEADER_BYTES + BinarySensorCodec.FRAME_RECORD_BYTES, bytes.length);
+        assertEquals(108, bytes.length);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(BinarySensorCodec.VERSION, buffer.get());
+        assertEquals(BinarySensorCodec.KIND_FRAMES, buffer.get());
+        assertEquals(1, buffer.getShort());
+        assertEquals(34L, buffer.getLong());
+        assertEquals(1718000000123L, buffer.getLong());
+        for (int i = 0; i < SensorFrame.FSR_CHANNELS; i++) {
+            assertEquals(4000 + i, Short.toUnsignedInt(buffer.getShort()));
+        }
+        for (int i = 0; i < SensorFrame.IMU_CHANNELS; i++) {
+            assertEquals(i * 0.5f - 3, buffer.getFloat());
+        }
+        assertEquals(0, buffer.get());
+        buffer.position(buffer.position() + 2);
+        assertEquals(2, buffer.get());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void encode_shouldWriteBatchRows() {
+        SensorDataBatchWebSocketMessage batch = SensorDataBatchWebSocketMessage.builder()
+                .type(WebSocketMessageType.SENSOR_DATA_BATCH)
+                .deviceId(7L)
+                .timestamps(new long[]{100, 110})
+                .fsr(new int[][]{new int[SensorFrame.FSR_CHANNELS], filled(70_000)})
+                .quaternion(new float[][]{{1, 0, 0, 0}, {0.5f, 0.5f, 0.5f, 0.5f}})
+                .build();
+
+        ByteBuffer buffer = ByteBuffer.wrap(BinarySensorCodec.encode(batch)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(BinarySensorCodec.HEADER_BYTES + 2 * BinarySensorCodec.BATCH_RECORD_BYTES, buffer.remaining());
+        assertEquals(BinarySensorCodec.KIND_BATCH, buffer.get(1));
+        assertEquals(2, buffer.getShort(2));
+
+        int second = BinarySensorCodec.HEADER_BYTES + BinarySensorCodec.BATCH_RECORD_BYTES;
+        assertEquals(110L, buffer.getLong(second));
+        assertEquals(0xFFFF, Short.toUnsignedInt(buffer.getShort(second + 8)));     // clamped
+        assertEquals(0.5f, buffer.getFloat(second + 40));
+    }
+
+    private static int[] filled(int value) {
+        int[] fsr = new int[SensorFrame.FSR_CHANNELS];
+        java.util.Arrays.fill(fsr, value);
+        return fsr;
+    }
+
+    @Test
+    void decodeFrame_shouldRoundTripEncode() {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(34);
+        frame.setTimestamp(1718000000123L);
+        for (int i = 0; i < SensorFrame.FSR_CHANNELS; i++) {
+            frame.getFsr()[i] = 4000 + i;
+        }
+        for (int i = 0; i < SensorFrame.IMU_CHANNELS; i++) {
+            frame.getImu()[i] = i * 0.5f - 3;
+        }
+        frame.getCal()[SensorFrame.SYS_CAL] = 3;
+
+        SensorFrame decoded = new SensorFrame();
+        BinarySensorCodec.decodeFrame(BinarySensorCodec.encode(frame), decoded);
+
+        assertEquals(frame.toWebSocketMessage().toString(), decoded.toWebSocketMessage().toString());
+    }
+
+    @Test
+    void decodeBatch_shouldRoundTripEncode() {
+        SensorDataBatchWebSocketMessage batch = SensorDataBatchWebSocketMessage.builder()
+                .type(WebSocketMessageType.SENSOR_DATA_BATCH)
+                .deviceId(7L)
+                .timestamps(new long[]{10, 20})
+                .fsr(new int[][]{new int[SensorFrame.FSR_CHANNELS], filled(4095)})
+                .quaternion(new float[][]{{1, 0, 0, 0}, {0.5f, 0.5f, -0.5f, 0.5f}})
+                .build();
+
+        SensorDataBatchWebSocketMessage decoded = BinarySensorCodec.decodeBatch(BinarySensorCodec.encode(batch));
+
+        assertEquals(WebSocketMessageType.SENSOR_DATA_BATCH, decoded.getType());
+        assertEquals(7L, decoded.getDeviceId());
+        assertArrayEquals(batch.getTimestamps(), decoded.getTimestamps());
+        assertArrayEquals(batch.getFsr()[1], decoded.getFsr()[1]);
+        assertArrayEquals(batch.getQuaternion()[1], decoded.getQuaternion()[1]);
+    }
+
+    @Test
+    void decode_shouldRejectOtherKinds() {
+        SensorFrame frame = new SensorFrame();
+        byte[] bytes = BinarySensorCodec.encode(frame);
+
+        assertThrows(IllegalArgumentException.class, () -> BinarySensorCodec.decodeBatch(bytes));
+        assertThrows(IllegalArgumentException.class, () -> BinarySensorCodec.decodeFrame(new byte[4], frame));
+    }
+}
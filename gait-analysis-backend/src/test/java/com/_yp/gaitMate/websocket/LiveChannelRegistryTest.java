@@ -0,0 +1,94 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.repository.SensorKitRepository;
+import com._yp.gaitMate.websocket.relay.InMemoryPresenceRegistry;
+import com._yp.gaitMate.websocket.relay.InProcessClusterRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LiveChannelRegistryTest {
+
+    private final SensorKitRepository sensorKitRepository = mock(SensorKitRepository.class);
+    private final InMemoryPresenceRegistry presence = new InMemoryPresenceRegistry();
+    private final LiveChannelRegistry registry = new LiveChannelRegistry(sensorKitRepository, presence,
+            new InProcessClusterRelay("node-a", new InProcessClusterRelay.Hub()));
+
+    @Test
+    void subscribe_shouldCheckAccessOnceAndRegisterViewer() {
+        when(sensorKitRepository.hasLiveAccess(7L, "dr.who")).thenReturn(true);
+
+        send(StompCommand.SUBSCRIBE, "s1", "sub-0", "/topic/live/7", "dr.who");
+        send(StompCommand.SUBSCRIBE, "s2", "sub-0", "/topic/live/7", "dr.who");
+
+        assertEquals(2, registry.viewerCount(7));
+        assertEquals(Set.of("node-a"), presence.nodesFor(LiveChannelRegistry.presenceKey(7)));
+        verify(sensorKitRepository, times(2)).hasLiveAccess(7L, "dr.who");
+
+        send(StompCommand.UNSUBSCRIBE, "s1", "sub-0", null, null);
+        assertEquals(1, registry.viewerCount(7));
+
+        send(StompCommand.DISCONNECT, "s2", null, null, null);
+        assertEquals(0, registry.viewerCount(7));
+        assertTrue(presence.nodesFor(LiveChannelRegistry.presenceKey(7)).isEmpty());
+    }
+
+    @Test
+    void subscribe_shouldRejectUnauthorizedUsers() {
+        when(sensorKitRepository.hasLiveAccess(7L, "mallory")).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class,
+                () -> send(StompCommand.SUBSCRIBE, "s1", "sub-0", "/topic/live/7", "mallory"));
+        assertEquals(0, registry.viewerCount(7));
+    }
+
+    @Test
+    void subscribe_shouldRejectPatternsThatCouldMatchLiveChannels() {
+        assertThrows(AccessDeniedException.class,
+                () -> send(StompCommand.SUBSCRIBE, "s1", "sub-0", "/topic/live/*", "dr.who"));
+        assertThrows(AccessDeniedException.class,
+                () -> send(StompCommand.SUBSCRIBE, "s1", "sub-1", "/topic/**", "dr.who"));
+        verifyNoInteractions(sensorKitRepository);
+    }
+
+    @Test
+    void send_shouldRejectClientPublishesToLiveChannels() {
+        assertThrows(AccessDeniedException.class,
+                () -> send(StompCommand.SEND, "s1", null, "/topic/live/7", "dr.who"));
+    }
+
+    @Test
+    void subscribe_shouldIgnoreOtherDestinations() {
+        send(StompCommand.SUBSCRIBE, "s1", "sub-0", "/user/topic/data/sensor", "bob");
+
+        verifyNoInteractions(sensorKitRepository);
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private void send(StompCommand command, String sessionId, String subscriptionId, String destination, String username) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+        }
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        if (username != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(username, null));
+        }
+        accessor.setLeaveMutable(true);
+        registry.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+}
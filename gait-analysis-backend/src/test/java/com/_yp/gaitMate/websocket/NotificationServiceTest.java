@@ -0,0 +1,234 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.message.ResultsNotificationMessage;
+import com._yp.gaitMate.websocket.message.SensorDataDeltaWebSocketMessage;
+import com._yp.gaitMate.websocket.message.SensorDataWebSocketMessage;
+import com._yp.gaitMate.websocket.relay.InMemoryPresenceRegistry;
+import com._yp.gaitMate.websocket.relay.InProcessClusterRelay;
+import com._yp.gaitMate.websocket.relay.PresenceRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.DefaultContentTypeResolver;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+    private final SensorEncodingRegistry encodings = mock(SensorEncodingRegistry.class);
+    private final NotificationService notificationService = new NotificationService(template, encodings,
+            new InProcessClusterRelay("node-a", new InProcessClusterRelay.Hub()), new InMemoryPresenceRegistry());
+
+    @Test
+    void sendSensorFrameToUser_shouldOnlyEncodeNegotiatedFormats() {
+        when(encodings.wantsJson("bob")).thenReturn(false);
+        when(encodings.wantsBinary("bob")).thenReturn(true);
+        when(encodings.deltaSubscribers("bob")).thenReturn(List.of());
+
+        notificationService.sendSensorFrameToUser("bob", frame(100));
+
+        verify(template).convertAndSendToUser(eq("bob"), eq("/topic/data/sensor/bin"), any(byte[].class));
+        verify(template, never()).convertAndSendToUser(any(), any(), any(SensorDataWebSocketMessage.class));
+    }
+
+    @Test
+    void sendSensorFrameToUser_shouldSendDeltasToEachSessionSeparately() {
+        when(encodings.wantsJson("bob")).thenReturn(false);
+        when(encodings.deltaSubscribers("bob")).thenReturn(List.of(
+                new SensorEncodingRegistry.DeltaSubscriber("s1", false, 100),
+                new SensorEncodingRegistry.DeltaSubscriber("s2", true, 100)));
+
+        notificationService.sendSensorFrameToUser("bob", frame(100));
+
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(template, times(2)).convertAndSendToUser(eq("bob"), eq("/topic/data/sensor/delta"),
+                payloads.capture(), headers.capture());
+
+        assertInstanceOf(SensorDataDeltaWebSocketMessage.class, payloads.getAllValues().get(0));
+        assertTrue(((SensorDataDeltaWebSocketMessage) payloads.getAllValues().get(0)).isKeyframe());
+        assertInstanceOf(byte[].class, payloads.getAllValues().get(1));
+        assertEquals("s1", SimpMessageHeaderAccessor.getSessionId(headers.getAllValues().get(0)));
+        assertEquals("s2", SimpMessageHeaderAccessor.getSessionId(headers.getAllValues().get(1)));
+    }
+
+    @Test
+    void sendNotificationToUser_shouldRelayJsonToTheNodeHoldingTheSession() {
+        InProcessClusterRelay.Hub hub = new InProcessClusterRelay.Hub();
+        InMemoryPresenceRegistry presence = new InMemoryPresenceRegistry();
+        List<Message<?>> sentA = new ArrayList<>();
+        List<Message<?>> sentB = new ArrayList<>();
+        NotificationService nodeA = node("node-a", hub, presence, brokerTemplate(sentA), encodings);
+        node("node-b", hub, presence, brokerTemplate(sentB), encodings);
+        presence.sessionOpened("bob", "node-b");
+
+        nodeA.sendNotificationToUser("bob", ResultsNotificationMessage.builder().sessionId(5L).status(true).build());
+
+        assertTrue(sentA.isEmpty());
+        assertEquals(1, sentB.size());
+        assertEquals("/user/bob/topic/status/results", SimpMessageHeaderAccessor.getDestination(sentB.get(0).getHeaders()));
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, sentB.get(0).getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        String wire = new String((byte[]) sentB.get(0).getPayload(), StandardCharsets.UTF_8);
+        assertTrue(wire.startsWith("{"), wire);
+        assertTrue(wire.contains("\"sessionId\":5"), wire);
+    }
+
+    @Test
+    void sendSensorFrameToUser_shouldReEncodeOnTheReceivingNode() {
+        InProcessClusterRelay.Hub hub = new InProcessClusterRelay.Hub();
+        InMemoryPresenceRegistry presence = new InMemoryPresenceRegistry();
+        SimpMessagingTemplate templateA = mock(SimpMessagingTemplate.class);
+        SimpMessagingTemplate templateB = mock(SimpMessagingTemplate.class);
+        SensorEncodingRegistry encodingsB = mock(SensorEncodingRegistry.class);
+        when(encodingsB.wantsJson("bob")).thenReturn(true);
+        when(encodingsB.deltaSubscribers("bob")).thenReturn(List.of());
+        NotificationService nodeA = node("node-a", hub, presence, templateA, encodings);
+        node("node-b", hub, presence, templateB, encodingsB);
+        presence.sessionOpened("bob", "node-a");
+        presence.sessionOpened("bob", "node-b");
+        when(encodings.deltaSubscribers("bob")).thenReturn(List.of());
+
+        SensorFrame frame = frame(100);
+        frame.getFsr()[3] = 1234;
+        nodeA.sendSensorFrameToUser("bob", frame);
+
+        ArgumentCaptor<SensorDataWebSocketMessage> message = ArgumentCaptor.forClass(SensorDataWebSocketMessage.class);
+        verify(templateB).convertAndSendToUser(eq("bob"), eq("/topic/data/sensor"), message.capture());
+        assertEquals(1234, message.getValue().getFSR_4());
+        assertEquals(7L, message.getValue().getDeviceId());
+        verify(encodings).wantsJson("bob");
+    }
+
+    @Test
+    void sendSensorFrameToUser_shouldStayLocalWhenUserIsOnlyOnThisNode() {
+        InProcessClusterRelay.Hub hub = new InProcessClusterRelay.Hub();
+        InMemoryPresenceRegistry presence = new InMemoryPresenceRegistry();
+        SimpMessagingTemplate templateB = mock(SimpMessagingTemplate.class);
+        SensorEncodingRegistry encodingsB = mock(SensorEncodingRegistry.class);
+        NotificationService nodeA = node("node-a", hub, presence, template, encodings);
+        node("node-b", hub, presence, templateB, encodingsB);
+        presence.sessionOpened("bob", "node-a");
+        when(encodings.deltaSubscribers("bob")).thenReturn(List.of());
+
+        nodeA.sendSensorFrameToUser("bob", frame(100));
+
+        verify(encodings).wantsJson("bob");
+        verifyNoInteractions(templateB, encodingsB);
+    }
+
+    @Test
+    void publishLiveFrame_shouldSerializeOnceForLocalAndRemoteViewers() {
+        InProcessClusterRelay.Hub hub = new InProcessClusterRelay.Hub();
+        InMemoryPresenceRegistry presence = new InMemoryPresenceRegistry();
+        SimpMessagingTemplate templateA = mock(SimpMessagingTemplate.class);
+        SimpMessagingTemplate templateB = mock(SimpMessagingTemplate.class);
+        MappingJackson2MessageConverter converter = spy(new MappingJackson2MessageConverter());
+        when(templateA.getMessageConverter()).thenReturn(converter);
+        NotificationService nodeA = node("node-a", hub, presence, templateA, encodings);
+        node("node-b", hub, presence, templateB, encodings);
+        presence.sessionOpened(LiveChannelRegistry.presenceKey(7), "node-a");
+        presence.sessionOpened(LiveChannelRegistry.presenceKey(7), "node-b");
+
+        nodeA.publishLiveFrame(frame(100));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<?>> localMessage = ArgumentCaptor.forClass(Message.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<?>> remoteMessage = ArgumentCaptor.forClass(Message.class);
+        verify(templateA).send(eq("/topic/live/7"), localMessage.capture());
+        verify(templateB).send(eq("/topic/live/7"), remoteMessage.capture());
+        verify(converter, times(1)).toMessage(any(), any());
+        assertSame(localMessage.getValue().getPayload(), remoteMessage.getValue().getPayload());
+    }
+
+    @Test
+    void publishLiveFrame_shouldSendTheJsonItselfThroughTheBrokerConverters() {
+        List<Message<?>> sent = new ArrayList<>();
+        InMemoryPresenceRegistry presence = new InMemoryPresenceRegistry();
+        NotificationService service = node("node-a", new InProcessClusterRelay.Hub(), presence,
+                brokerTemplate(sent), encodings);
+        presence.sessionOpened(LiveChannelRegistry.presenceKey(7), "node-a");
+
+        service.publishLiveFrame(frame(100));
+
+        assertEquals(1, sent.size());
+        assertEquals("/topic/live/7", SimpMessageHeaderAccessor.getDestination(sent.get(0).getHeaders()));
+        String wire = new String((byte[]) sent.get(0).getPayload(), StandardCharsets.UTF_8);
+        assertTrue(wire.startsWith("{"), wire);
+        assertTrue(wire.contains("\"deviceId\":7"), wire);
+    }
+
+    @Test
+    void publishLiveFrame_shouldSendTheJsonItselfOnTheReceivingNode() {
+        InProcessClusterRelay.Hub hub = new InProcessClusterRelay.Hub();
+        InMemoryPresenceRegistry presence = new InMemoryPresenceRegistry();
+        List<Message<?>> sentB = new ArrayList<>();
+        NotificationService nodeA = node("node-a", hub, presence, brokerTemplate(new ArrayList<>()), encodings);
+        node("node-b", hub, presence, brokerTemplate(sentB), encodings);
+        presence.sessionOpened(LiveChannelRegistry.presenceKey(7), "node-b");
+
+        nodeA.publishLiveFrame(frame(100));
+
+        assertEquals(1, sentB.size());
+        assertEquals("/topic/live/7", SimpMessageHeaderAccessor.getDestination(sentB.get(0).getHeaders()));
+        String wire = new String((byte[]) sentB.get(0).getPayload(), StandardCharsets.UTF_8);
+        assertTrue(wire.startsWith("{"), wire);
+        assertTrue(wire.contains("\"deviceId\":7"), wire);
+    }
+
+    @Test
+    void publishLiveFrame_shouldSkipDevicesWithoutViewers() {
+        notificationService.publishLiveFrame(frame(100));
+
+        verifyNoInteractions(template);
+    }
+
+    private static NotificationService node(String nodeId, InProcessClusterRelay.Hub hub, PresenceRegistry presence,
+                                            SimpMessagingTemplate template, SensorEncodingRegistry encodings) {
+        NotificationService service = new NotificationService(template, encodings,
+                new InProcessClusterRelay(nodeId, hub), presence);
+        service.init();
+        return service;
+    }
+
+    /**
+     * A real template with the converters Spring registers for the broker channel: String, byte[] for
+     * octet-stream, then Jackson with JSON as the default content type.
+     */
+    private static SimpMessagingTemplate brokerTemplate(List<Message<?>> sent) {
+        DefaultContentTypeResolver resolver = new DefaultContentTypeResolver();
+        resolver.setDefaultMimeType(MimeTypeUtils.APPLICATION_JSON);
+        MappingJackson2MessageConverter jackson = new MappingJackson2MessageConverter();
+        jackson.setContentTypeResolver(resolver);
+
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        template.setMessageConverter(new CompositeMessageConverter(
+                List.of(new StringMessageConverter(), new ByteArrayMessageConverter(), jackson)));
+        return template;
+    }
+
+    private static SensorFrame frame(long timestamp) {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(7);
+        frame.setTimestamp(timestamp);
+        return frame;
+    }
+}
@@ -0,0 +1,145 @@
+package com._yp.gaitMate.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboundSessionQueueTest {
+
+    private final Deque<Runnable> writer = new ArrayDeque<>();
+    private final List<String> written = new ArrayList<>();
+    private final List<OutboundPolicy> drops = new ArrayList<>();
+    private WebSocketSession session;
+    private OutboundSessionQueue queue;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        doAnswer(invocation -> {
+            written.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).when(session).sendMessage(any());
+
+        queue = new OutboundSessionQueue(session, writer::add, 3, 2, drops::add);
+    }
+
+    @Test
+    void sendMessage_shouldWriteInOrderOnWriterThread() throws Exception {
+        queue.sendMessage(frame("/user/topic/status/alive", "a"));
+        queue.sendMessage(frame("/user/topic/data/sensor", "b"));
+
+        assertTrue(written.isEmpty());
+        assertEquals(1, writer.size());     // one drain pass for both messages
+        runWriter();
+
+        assertEquals(List.of("a", "b"), bodies());
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void sendMessage_shouldDropOldestSensorFrameWhenFull() throws Exception {
+        queue.sendMessage(frame("/user/topic/status/results", "results"));
+        for (int i = 1; i <= 5; i++) {
+            queue.sendMessage(frame("/user/topic/data/sensor", "frame" + i));
+        }
+        runWriter();
+
+        assertEquals(List.of("results", "frame3", "frame4", "frame5"), bodies());
+        assertEquals(2, queue.droppedCount());
+        assertEquals(List.of(OutboundPolicy.DROP_OLDEST, OutboundPolicy.DROP_OLDEST), drops);
+    }
+
+    @Test
+    void sendMessage_shouldKeepOnlyLatestMetricsSnapshot() throws Exception {
+        queue.sendMessage(frame("/user/topic/data/metrics", "m1"));
+        queue.sendMessage(frame("/user/topic/data/sensor", "f1"));
+        queue.sendMessage(frame("/user/topic/data/metrics", "m2"));
+        runWriter();
+
+        assertEquals(List.of("f1", "m2"), bodies());
+        assertEquals(List.of(OutboundPolicy.LATEST_VALUE), drops);
+    }
+
+    @Test
+    void sendMessage_shouldNeverDropReliableMessagesButCloseWhenTheyPileUp() throws Exception {
+        queue.sendMessage(frame("/user/topic/status/calibration", "c1"));
+        queue.sendMessage(frame("/user/topic/status/results", "r1"));
+        for (int i = 0; i < 5; i++) {
+            queue.sendMessage(frame("/user/topic/data/sensor", "f" + i));
+        }
+        assertEquals(5, queue.depth());
+        assertTrue(drops.stream().allMatch(OutboundPolicy::isDroppable));
+
+        queue.sendMessage(frame("/user/topic/status/alive", "a1"));
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void drain_shouldYieldAfterBatch() throws Exception {
+        queue = new OutboundSessionQueue(session, writer::add, 3, 1000, drops::add);
+        for (int i = 0; i < OutboundSessionQueue.DRAIN_BATCH + 1; i++) {
+            queue.sendMessage(frame("/user/topic/status/alive", "a" + i));
+        }
+
+        writer.poll().run();
+        assertEquals(OutboundSessionQueue.DRAIN_BATCH, written.size());
+        assertEquals(1, writer.size());
+
+        runWriter();
+        assertEquals(OutboundSessionQueue.DRAIN_BATCH + 1, written.size());
+    }
+
+    @Test
+    void destinationOf_shouldReadStompHeader() {
+        assertEquals("/user/topic/data/sensor", OutboundSessionQueue.destinationOf(frame("/user/topic/data/sensor", "x")));
+        assertNull(OutboundSessionQueue.destinationOf(new TextMessage("CONNECTED\nversion:1.2\n\n\u0000")));
+        assertNull(OutboundSessionQueue.destinationOf(new TextMessage("\n")));
+
+        byte[] body = {1, 0, 1, 0, '\n', '\n', 34};
+        byte[] headers = "MESSAGE\ncontent-type:application/octet-stream\ndestination:/user/topic/data/sensor/bin\n\n"
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = Arrays.copyOf(headers, headers.length + body.length);
+        System.arraycopy(body, 0, frame, headers.length, body.length);
+        assertEquals("/user/topic/data/sensor/bin", OutboundSessionQueue.destinationOf(new BinaryMessage(frame)));
+        assertEquals(OutboundPolicy.DROP_OLDEST, OutboundPolicy.forDestination("/user/topic/data/sensor/bin"));
+        assertEquals(OutboundPolicy.DROP_OLDEST, OutboundPolicy.forDestination("/topic/live/7"));
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private static WebSocketMessage<?> frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:sub-0\n\n" + body + "\u0000");
+    }
+
+    private void runWriter() {
+        while (!writer.isEmpty()) {
+            writer.poll().run();
+        }
+    }
+
+    private List<String> bodies() {
+        return written.stream()
+                .map(frame -> frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1))
+                .toList();
+    }
+}
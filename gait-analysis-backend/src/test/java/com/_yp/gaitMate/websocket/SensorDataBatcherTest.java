@@ -0,0 +1,133 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.mqtt.frame.SensorFrame;
+import com._yp.gaitMate.websocket.message.SensorDataBatchWebSocketMessage;
+import com._yp.gaitMate.websocket.message.WebSocketMessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SensorDataBatcherTest {
+
+    private NotificationService notificationService;
+    private SensorBatchProperties properties;
+    private SensorDataBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        properties = new SensorBatchProperties();
+        properties.setEnabled(true);
+        properties.setMaxFrames(3);
+        // Not started: flushes are driven by the test
+        batcher = new SensorDataBatcher(properties, notificationService);
+    }
+
+    @Test
+    void submit_shouldFlushColumnarBatchWhenFull() {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(34);
+        for (int i = 0; i < 3; i++) {
+            frame.setTimestamp(1000 + i * 10);
+            frame.getFsr()[0] = i;
+            frame.getImu()[SensorFrame.Q0] = i + 0.5f;
+            batcher.submit("alice", frame);
+        }
+
+        ArgumentCaptor<SensorDataBatchWebSocketMessage> captor =
+                ArgumentCaptor.forClass(SensorDataBatchWebSocketMessage.class);
+        verify(notificationService).sendSensorDataBatchToUser(eq("alice"), captor.capture());
+
+        SensorDataBatchWebSocketMessage message = captor.getValue();
+        assertEquals(WebSocketMessageType.SENSOR_DATA_BATCH, message.getType());
+        assertEquals(34L, message.getDeviceId());
+        assertArrayEquals(new long[]{1000, 1010, 1020}, message.getTimestamps());
+        assertEquals(2, message.getFsr()[2][0]);
+        assertEquals(1.5f, message.getQuaternion()[1][0]);
+        verify(notificationService).publishLiveBatch(message);
+    }
+
+    @Test
+    void flushAll_shouldSendPartialBatchOnce() {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(7);
+        batcher.submit("bob", frame);
+
+        batcher.flushAll(System.currentTimeMillis());
+        batcher.flushAll(System.currentTimeMillis());
+
+        ArgumentCaptor<SensorDataBatchWebSocketMessage> captor =
+                ArgumentCaptor.forClass(SensorDataBatchWebSocketMessage.class);
+        verify(notificationService, times(1)).sendSensorDataBatchToUser(eq("bob"), captor.capture());
+        assertEquals(1, captor.getValue().getTimestamps().length);
+    }
+
+    @Test
+    void submit_shouldNotMixUsersInOneBatch() {
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(7);
+        batcher.submit("bob", frame);
+        batcher.submit("carol", frame);
+        batcher.flushAll(System.currentTimeMillis());
+
+        verify(notificationService).sendSensorDataBatchToUser(eq("bob"), any());
+        verify(notificationService).sendSensorDataBatchToUser(eq("carol"), any());
+    }
+
+    @Test
+    void submit_shouldSendSingleFramesWhenDisabled() {
+        properties.setEnabled(false);
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(7);
+        batcher.submit("bob", frame);
+
+        verify(notificationService).sendSensorFrameToUser(eq("bob"), any(SensorFrame.class));
+        verify(notificationService).publishLiveFrame(any(SensorFrame.class));
+        verify(notificationService, never()).sendSensorDataBatchToUser(any(), any());
+    }
+
+    @Test
+    void flushAll_shouldNotOvertakeBatchesCutByTheIngestThread() throws InterruptedException {
+        List<Long> firstTimestamps = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            SensorDataBatchWebSocketMessage message = invocation.getArgument(1);
+            if (Thread.currentThread().getName().equals("flusher")) {
+                Thread.sleep(2); // meanwhile the ingest thread fills and sends the next batch
+            }
+            firstTimestamps.add(message.getTimestamps()[0]);
+            return null;
+        }).when(notificationService).sendSensorDataBatchToUser(any(), any());
+
+        AtomicBoolean done = new AtomicBoolean();
+        Thread flusher = new Thread(() -> {
+            while (!done.get()) {
+                batcher.flushAll(System.currentTimeMillis());
+            }
+        }, "flusher");
+        flusher.start();
+        SensorFrame frame = new SensorFrame();
+        frame.setDeviceId(7);
+        for (int i = 0; i < 1_500; i++) {
+            frame.setTimestamp(i);
+            batcher.submit("bob", frame);
+        }
+        done.set(true);
+        flusher.join();
+        batcher.flushAll(System.currentTimeMillis());
+
+        List<Long> sent = List.copyOf(firstTimestamps);
+        for (int i = 1; i < sent.size(); i++) {
+            assertTrue(sent.get(i) > sent.get(i - 1), "batch starting at " + sent.get(i) + " sent after " + sent.get(i - 1));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com._yp.gaitMate.websocket;
+
+import com._yp.gaitMate.websocket.message.SensorDataDeltaWebSocketMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensorDeltaEncoderTest {
+
+    @Test
+    void encode_shouldReconstructAbsoluteValuesAcrossMessages() {
+        Random random = new Random(42);
+        SensorDeltaEncoder encoder = new SensorDeltaEncoder(34, 25);
+        long[] timestamps = new long[100];
+        int[][] fsr = new int[100][16];
+        for (int i = 0; i < 100; i++) {
+            timestamps[i] = 1_718_000_000_000L + i * 10L;
+            for (int c = 0; c < 16; c++) {
+                fsr[i][c] = i == 0 ? 2000 : fsr[i - 1][c] + random.nextInt(21) - 10;
+            }
+        }
+
+        List<SensorDataDeltaWebSocketMessage> messages = new ArrayList<>();
+        for (int start = 0; start < 100; start += 10) {
+            messages.add(encoder.encode(slice(timestamps, start), slice(fsr, start), new float[10][4]));
+        }
+
+        long timestamp = 0;
+        int[] current = new int[16];
+        int row = 0;
+        for (SensorDataDeltaWebSocketMessage message : messages) {
+            assertEquals(row / 10, message.getSeq());
+            for (int i = 0; i < message.getTimestamps().length; i++, row++) {
+                boolean absolute = message.isKeyframe() && i == 0;
+                timestamp = absolute ? message.getTimestamps()[i] : timestamp + message.getTimestamps()[i];
+                for (int c = 0; c < 16; c++) {
+                    current[c] = absolute ? message.getFsr()[i][c] : current[c] + message.getFsr()[i][c];
+                }
+                assertEquals(timestamps[row], timestamp);
+                assertArrayEquals(fsr[row], current);
+            }
+        }
+    }
+
+    @Test
+    void encode_shouldEmitKeyframeEveryIntervalRows() {
+        SensorDeltaEncoder encoder = new SensorDeltaEncoder(34, 3);
+        List<Boolean> keyframes = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            keyframes.add(encoder.encode(new long[]{i}, new int[][]{new int[16]}, new float[][]{new float[4]}).isKeyframe());
+        }
+
+        assertEquals(List.of(true, false, false, true, false, false, true), keyframes);
+    }
+
+    @Test
+    void binaryDelta_shouldUseOneBytePerSmallFsrDelta() {
+        SensorDeltaEncoder encoder = new SensorDeltaEncoder(34, 100);
+        int[] first = new int[16];
+        int[] second = new int[16];
+        for (int c = 0; c < 16; c++) {
+            first[c] = 1000 + c;
+            second[c] = first[c] + (c % 2 == 0 ? 3 : -3);
+        }
+        encoder.encode(new long[]{1_000}, new int[][]{first}, new float[][]{new float[4]});
+        SensorDataDeltaWebSocketMessage delta = encoder.encode(new long[]{1_010}, new int[][]{second}, new float[][]{{1, 0, 0, 0}});
+
+        byte[] bytes = BinarySensorCodec.encode(delta);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(BinarySensorCodec.KIND_DELTA, buffer.get(1));
+        assertEquals(1, buffer.getInt(12));     // seq
+        assertEquals(0, buffer.get(16));        // not a keyframe
+        assertEquals(BinarySensorCodec.HEADER_BYTES + 5 + 1 + 16 + 16, bytes.length);
+        assertEquals(20, bytes[17]);            // zigzag(10)
+        assertEquals(6, bytes[18]);             // zigzag(3)
+        assertEquals(5, bytes[19]);             // zigzag(-3)
+    }
+
+    private static long[] slice(long[] values, int start) {
+        long[] slice = new long[10];
+        System.arraycopy(values, start, slice, 0, 10);
+        return slice;
+    }
+
+    private static int[][] slice(int[][] values, int start) {
+        int[][] slice = new int[10][];
+        System.arraycopy(values, start, slice, 0, 10);
+        return slice;
+    }
+}
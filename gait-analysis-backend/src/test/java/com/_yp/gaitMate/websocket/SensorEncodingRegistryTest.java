@@ -0,0 +1,130 @@
+package com._yp.gaitMate.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensorEncodingRegistryTest {
+
+    private final SensorEncodingRegistry registry = new SensorEncodingRegistry(new SensorStreamProperties());
+
+    @Test
+    void wantsJson_shouldDefaultToJsonForUnknownUser() {
+        assertTrue(registry.wantsJson("bob"));
+        assertFalse(registry.wantsBinary("bob"));
+    }
+
+    @Test
+    void subscribe_shouldRewriteBinarySubscriptionOnNativeEndpoint() throws Exception {
+        Message<?> message = subscribe("s1", "sub-0", "bob", true, true);
+
+        assertEquals("/user/topic/data/sensor/bin", StompHeaderAccessor.wrap(message).getDestination());
+        assertTrue(registry.wantsBinary("bob"));
+        assertFalse(registry.wantsJson("bob"));
+    }
+
+    @Test
+    void subscribe_shouldKeepJsonForSockJsSessions() throws Exception {
+        Message<?> message = subscribe("s1", "sub-0", "bob", true, false);
+
+        assertEquals("/user/topic/data/sensor", StompHeaderAccessor.wrap(message).getDestination());
+        assertFalse(registry.wantsBinary("bob"));
+        assertTrue(registry.wantsJson("bob"));
+    }
+
+    @Test
+    void wants_shouldFollowSubscriptionsAcrossSessions() throws Exception {
+        subscribe("s1", "sub-0", "bob", true, true);
+        subscribe("s2", "sub-0", "bob", false, true);
+        assertTrue(registry.wantsBinary("bob"));
+        assertTrue(registry.wantsJson("bob"));
+
+        send(StompCommand.UNSUBSCRIBE, "s2", "sub-0");
+        assertFalse(registry.wantsJson("bob"));
+
+        send(StompCommand.DISCONNECT, "s1", null);
+        assertFalse(registry.wantsBinary("bob"));
+        assertTrue(registry.wantsJson("bob"));
+    }
+
+    @Test
+    void subscribe_shouldKeepDeltaStateForSessionOnly() throws Exception {
+        Message<?> message = subscribe("s1", "sub-0", "bob", false, true,
+                Map.of(SensorEncodingRegistry.STREAM_MODE_HEADER, "delta", SensorEncodingRegistry.KEYFRAME_INTERVAL_HEADER, "20"));
+        subscribe("s2", "sub-0", "bob", false, true);
+
+        assertEquals("/user/topic/data/sensor/delta", StompHeaderAccessor.wrap(message).getDestination());
+        assertEquals(1, registry.deltaSubscribers("bob").size());
+        SensorEncodingRegistry.DeltaSubscriber subscriber = registry.deltaSubscribers("bob").iterator().next();
+        assertEquals("s1", subscriber.getSessionId());
+        assertEquals(20, subscriber.getKeyframeInterval());
+        assertFalse(subscriber.isBinary());
+        assertTrue(registry.wantsJson("bob"));
+
+        send(StompCommand.UNSUBSCRIBE, "s2", "sub-0");
+        assertFalse(registry.wantsJson("bob"));     // only the delta subscriber is left
+
+        send(StompCommand.DISCONNECT, "s1", null);
+        assertTrue(registry.deltaSubscribers("bob").isEmpty());
+    }
+
+    @Test
+    void requestKeyframe_shouldResetSessionDeltaStreams() throws Exception {
+        subscribe("s1", "sub-0", "bob", false, true, Map.of(SensorEncodingRegistry.STREAM_MODE_HEADER, "delta"));
+        SensorDeltaEncoder encoder = registry.deltaSubscribers("bob").iterator().next().encoder(7);
+        int[][] fsr = {new int[16]};
+        float[][] quaternion = {new float[4]};
+
+        assertTrue(encoder.encode(new long[]{1}, fsr, quaternion).isKeyframe());
+        assertFalse(encoder.encode(new long[]{2}, fsr, quaternion).isKeyframe());
+
+        registry.requestKeyframe("s1");
+        assertTrue(encoder.encode(new long[]{3}, fsr, quaternion).isKeyframe());
+    }
+
+    // =====================================
+    // 🔽 PRIVATE HELPERS
+    // =====================================
+
+    private Message<?> subscribe(String sessionId, String subscriptionId, String username, boolean binary, boolean nativeTransport) throws Exception {
+        return subscribe(sessionId, subscriptionId, username, binary, nativeTransport, Map.of());
+    }
+
+    private Message<?> subscribe(String sessionId, String subscriptionId, String username, boolean binary,
+                                 boolean nativeTransport, Map<String, String> headers) throws Exception {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        headers.forEach(accessor::setNativeHeader);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination("/user/topic/data/sensor");
+        accessor.setUser(new UsernamePasswordAuthenticationToken(username, null));
+        if (binary) {
+            accessor.setNativeHeader(SensorEncodingRegistry.ACCEPT_HEADER, SensorEncodingRegistry.BINARY_CONTENT_TYPE);
+        }
+        Map<String, Object> attributes = new HashMap<>();
+        if (nativeTransport) {
+            registry.nativeEndpoint().beforeHandshake(null, null, null, attributes);
+        }
+        accessor.setSessionAttributes(attributes);
+        accessor.setLeaveMutable(true);
+        return registry.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+
+    private void send(StompCommand command, String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+        }
+        accessor.setLeaveMutable(true);
+        registry.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+}
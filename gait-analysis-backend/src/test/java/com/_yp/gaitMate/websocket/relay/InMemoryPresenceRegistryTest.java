@@ -0,0 +1,38 @@
+package com._yp.gaitMate.websocket.relay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryPresenceRegistryTest {
+
+    private final InMemoryPresenceRegistry registry = new InMemoryPresenceRegistry();
+
+    @Test
+    void nodesFor_shouldListEveryNodeWithAnOpenSession() {
+        registry.sessionOpened("bob", "node-a");
+        registry.sessionOpened("bob", "node-b");
+        registry.sessionOpened("alice", "node-b");
+
+        assertEquals(Set.of("node-a", "node-b"), registry.nodesFor("bob"));
+        assertEquals(Set.of("node-b"), registry.nodesFor("alice"));
+        assertTrue(registry.nodesFor("carol").isEmpty());
+    }
+
+    @Test
+    void sessionClosed_shouldKeepNodeUntilLastSessionCloses() {
+        registry.sessionOpened("bob", "node-a");
+        registry.sessionOpened("bob", "node-a");
+
+        registry.sessionClosed("bob", "node-a");
+        assertEquals(Set.of("node-a"), registry.nodesFor("bob"));
+
+        registry.sessionClosed("bob", "node-a");
+        assertTrue(registry.nodesFor("bob").isEmpty());
+
+        registry.sessionClosed("bob", "node-a");
+        assertTrue(registry.nodesFor("bob").isEmpty());
+    }
+}